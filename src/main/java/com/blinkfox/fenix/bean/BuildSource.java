@@ -1,10 +1,15 @@
 package com.blinkfox.fenix.bean;
 
 import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.core.plan.FenixPlanCompiler;
+import com.blinkfox.fenix.core.plan.TagStep;
+import com.blinkfox.fenix.exception.FenixException;
 import java.util.Map;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.dom4j.Element;
 import org.dom4j.Node;
 
 /**
@@ -33,9 +38,20 @@ public final class BuildSource {
 
     /**
      * Dom4j 对应的 XML 节点.
+     *
+     * <p>注：v3.2.0 版本开始，XML 节点会被预编译成渲染计划，内置的标签处理器改为使用 {@link #tagStep}，其值为 {@code null}；
+     * 自定义的标签处理器中该值是一份脱离了原 XML 文档的节点副本.</p>
      */
     private Node node;
 
+    /**
+     * 当前标签预编译后的渲染步骤，其中包含了该标签的属性和子步骤等信息.
+     *
+     * @since v3.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private TagStep tagStep;
+
     /**
      * 解析表达式或者渲染模版时需要的上下文参数（一般是 Bean 或者 map）.
      */
@@ -86,6 +102,26 @@ public final class BuildSource {
         resetSymbol();
     }
 
+    /**
+     * 获取当前标签预编译后的渲染步骤.
+     *
+     * <p>如果没有设置渲染步骤（如：外部直接使用 dom4j 节点来调用内置的标签处理器），就根据 dom4j 节点实时编译一次.</p>
+     *
+     * @return {@link TagStep} 实例
+     * @throws FenixException 渲染步骤和 dom4j 元素节点都不存在时抛出此异常
+     * @since v3.2.0
+     */
+    public TagStep getTagStep() {
+        if (this.tagStep == null) {
+            if (!(this.node instanceof Element)) {
+                throw new FenixException("【Fenix 异常】构建 SQL 片段时，BuildSource 中的 tagStep 和 node 都为空或者 node "
+                        + "不是 XML 元素节点，请检查！");
+            }
+            this.tagStep = FenixPlanCompiler.compileTag((Element) this.node);
+        }
+        return this.tagStep;
+    }
+
     /**
      * 重置前缀为默认一个空格.
      *
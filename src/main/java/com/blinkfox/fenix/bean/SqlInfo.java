@@ -48,6 +48,15 @@ public class SqlInfo {
      */
     private boolean prependWhere;
 
+    /**
+     * 是否是用于原生 SQL 查询的，原生 SQL 中无法使用 {@code array_contains} 等 JPQL 函数.
+     *
+     * <p>用于在 IN 查询的参数集合超过 {@code inArrayThreshold} 阈值时，改为拆分成多个 IN 条件，而不是以单个数组参数来绑定.</p>
+     *
+     * @since v3.2.0
+     */
+    private boolean nativeQuery;
+
     /**
      * 默认构造方法.
      */
@@ -64,7 +73,7 @@ public class SqlInfo {
      * @return {@code SqlInfo} 实例
      */
     public SqlInfo removeIfExist(String subSql) {
-        this.sql = subSql != null && sql.contains(subSql) ? sql.replaceAll(subSql, "") : sql;
+        this.sql = subSql != null && sql.contains(subSql) ? sql.replace(subSql, "") : sql;
         return this;
     }
 
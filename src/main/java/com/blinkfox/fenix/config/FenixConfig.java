@@ -2,12 +2,15 @@ package com.blinkfox.fenix.config;
 
 import com.blinkfox.fenix.config.entity.TagHandler;
 import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.consts.ExpressionOptimizerEnum;
 import com.blinkfox.fenix.consts.SymbolConst;
+import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.FenixHandlerFactory;
 import com.blinkfox.fenix.core.concrete.BetweenHandler;
 import com.blinkfox.fenix.core.concrete.ChooseHandler;
 import com.blinkfox.fenix.core.concrete.EndsWithHandler;
+import com.blinkfox.fenix.core.concrete.ForeachHandler;
 import com.blinkfox.fenix.core.concrete.ImportHandler;
 import com.blinkfox.fenix.core.concrete.InHandler;
 import com.blinkfox.fenix.core.concrete.IsNullHandler;
@@ -18,6 +21,10 @@ import com.blinkfox.fenix.core.concrete.StartsWithHandler;
 import com.blinkfox.fenix.core.concrete.TextHandler;
 import com.blinkfox.fenix.core.concrete.TrimWhereHandler;
 import com.blinkfox.fenix.core.concrete.WhereHandler;
+import com.blinkfox.fenix.core.plan.FenixPlan;
+import com.blinkfox.fenix.expression.ExpressionEngine;
+import com.blinkfox.fenix.helper.StringHelper;
+import com.blinkfox.fenix.helper.XmlNodeHelper;
 import com.blinkfox.fenix.specification.handler.AbstractPredicateHandler;
 import com.blinkfox.fenix.specification.handler.impl.BetweenPredicateHandler;
 import com.blinkfox.fenix.specification.handler.impl.EndsWithPredicateHandler;
@@ -64,10 +71,12 @@ import com.blinkfox.fenix.specification.handler.impl.OrNotStartsWithPredicateHan
 import com.blinkfox.fenix.specification.handler.impl.OrStartsWithPredicateHandler;
 import com.blinkfox.fenix.specification.handler.impl.StartsWithPredicateHandler;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import lombok.Getter;
 import org.dom4j.Node;
 
@@ -120,22 +129,159 @@ public class FenixConfig {
     private String underscoreTransformerPrefix;
 
     /**
-     * 所有 Fenix XML 文档的缓存 map.
+     * 缓存已编译的 MVEL 表达式和模板的最大数量（两者分别缓存），默认为 {@link Const#DEFAULT_EXPRESSION_CACHE_SIZE}.
      *
-     * <p>该 Map 的 key 是资源的路径（将 XML 命名空间和 fenixId 用"."号分割），value 是 dom4j 的文档节点 Node.</p>
+     * @since v3.2.0
      */
-    @Getter
-    private static final Map<String, Node> fenixs = new HashMap<>();
+    private int expressionCacheSize = Const.DEFAULT_EXPRESSION_CACHE_SIZE;
 
     /**
-     * 所有 Fenix XML 命名空间 namespace 和 XML 文件的 URL 映射关系的 Map.
+     * 执行已编译的 MVEL 表达式时所使用的属性访问优化器，为 {@code null} 时表示使用 MVEL 默认的优化器.
      *
-     * <p>该 Map 的 key 是 XML 文件命名空间 namespace 的值，value 是 XML 文件的 URL.</p>
+     * @since v3.2.0
+     */
+    private ExpressionOptimizerEnum expressionOptimizer;
+
+    /**
+     * 计算 XML 标签中 match、value 等属性表达式时所使用的表达式引擎，为 {@code null} 时表示使用默认的 MVEL 表达式引擎.
      *
-     * @since v2.4.1
+     * <p>你可以设置为内置的 {@link com.blinkfox.fenix.expression.FastExpressionEngine}，它会快速计算常见的简单表达式，
+     * 不能快速计算的表达式仍然交由 MVEL 计算；也可以设置为你自定义的 {@link ExpressionEngine} 实现.</p>
+     *
+     * @since v3.2.0
+     */
+    private ExpressionEngine expressionEngine;
+
+    /**
+     * 是否开启 Fenix XML 文件的热加载功能，默认为 {@code false}.
+     *
+     * <p>开启之后，会在后台监听文件系统中各个 Fenix XML 文件的变化，只重新解析和编译发生了变化的文件，
+     * 然后整体替换掉内存中的注册表，查询时不会有任何文件读取操作，所以也可以在生产环境中开启.
+     * 注：只能监听到文件系统中的 XML 文件，jar 包中的 XML 文件不会被监听.</p>
+     *
+     * @since v3.2.0
+     */
+    private boolean hotReload;
+
+    /**
+     * 是否按需延迟加载各个命名空间的 Fenix XML 文件，默认为 {@code false}.
+     *
+     * <p>开启之后，启动时只会快速读取各个 XML 文件的根节点，建立命名空间和 XML 文件的索引，
+     * 直到某个命名空间中的 fenix 节点第一次被使用时，才会解析和编译该命名空间下的所有 XML 文件，
+     * 所以启动耗时和内存占用只和实际使用到的命名空间有关. 注：XML 文件中的错误也会延迟到第一次使用时才会暴露出来.</p>
+     *
+     * @since v3.2.0
+     */
+    private boolean lazyLoad;
+
+    /**
+     * 每个 fenix 节点缓存的已规范化 SQL 形态的最大数量，默认为 {@link Const#DEFAULT_SQL_SHAPE_CACHE_SIZE}.
+     *
+     * <p>同一个 fenix 节点中，只要成立的 match 条件及模板变量的值相同，生成的 SQL 就相同，
+     * 命中缓存时会直接复用已规范化的 SQL 字符串，只重新绑定参数值；小于等于 0 时表示不缓存.</p>
+     *
+     * <p>每个 {@code @QueryFenix} 查询方法按 SQL 形态缓存的分页 count 语句和 SQL 结构信息，也使用该最大数量.</p>
+     *
+     * @since v3.2.0
+     */
+    private int sqlShapeCacheSize = Const.DEFAULT_SQL_SHAPE_CACHE_SIZE;
+
+    /**
+     * 缓存 Java API 拼接出的已规范化 SQL 的最大数量，默认为 {@link Const#DEFAULT_JAVA_SQL_CACHE_SIZE}，小于等于 0 时表示不缓存.
+     *
+     * @since v3.2.0
+     */
+    private int javaSqlCacheSize = Const.DEFAULT_JAVA_SQL_CACHE_SIZE;
+
+    /**
+     * 是否在启动时预热各个 fenix 节点的 SQL 形态，默认为 {@code false}.
+     *
+     * <p>开启之后，启动时会遍历各个 fenix 节点中 match 等条件的分支组合，枚举并渲染出所有可能的 SQL 形态，
+     * 并将标注了 {@code @QueryFenix} 注解的 JPQL 查询方法的各个 SQL 形态交给 {@code EntityManager.createQuery} 来解析，
+     * 从而提前预热 SQL 形态缓存和 JPA 的查询计划缓存，无效的 JPQL 语句也会在启动时就打印出错误日志.</p>
+     *
+     * @since v3.2.0
+     */
+    private boolean prewarm;
+
+    /**
+     * 启动预热时每个 fenix 节点最多遍历的条件分支组合数量，默认为 {@link Const#DEFAULT_PREWARM_MAX_COMBINATIONS}.
+     *
+     * @since v3.2.0
+     */
+    private int prewarmMaxCombinations = Const.DEFAULT_PREWARM_MAX_COMBINATIONS;
+
+    /**
+     * 是否将 IN 查询的参数集合补齐到固定的桶大小，默认为 {@code false}.
+     *
+     * <p>开启之后，IN 查询的参数集合会通过重复最后一个元素的方式，补齐到 {@link #inPaddingBuckets} 中不小于其长度的桶大小，
+     * 未配置桶大小时则补齐到 2 的幂次方，从而使不同长度的参数集合生成的 SQL 形态数量有限，
+     * 以便更好的复用 JPA 的查询计划缓存和数据库的预编译语句缓存. XML 标签中的 {@code padding} 属性或者注解中的
+     * {@code padding} 属性可以单独开启.</p>
+     *
+     * @since v3.2.0
+     */
+    private boolean inPadding;
+
+    /**
+     * IN 查询的参数集合补齐时使用的、从小到大排列的桶大小，为空时表示补齐到 2 的幂次方.
+     *
+     * <p>超出最大桶大小的集合会补齐到最大桶大小的整数倍.</p>
+     *
+     * @since v3.2.0
+     */
+    private int[] inPaddingBuckets;
+
+    /**
+     * IN 查询的参数集合拆分成多个 OR 连接的 IN 条件的阈值，默认为 {@code 0}，表示不拆分.
+     *
+     * <p>参数集合的长度大于该阈值时，会按该阈值的大小拆分成多个 IN 条件，如：{@code (u.id IN :ids_0 OR u.id IN :ids_1)}，
+     * NOT IN 条件则使用 AND 来连接，以避免超出部分数据库对单个 IN 条件中元素数量的限制（如：Oracle 的 1000 个）.</p>
+     *
+     * @since v3.2.0
+     */
+    private int inChunkThreshold;
+
+    /**
+     * IN 查询的参数集合以单个数组参数来绑定的阈值，默认为 {@code 0}，表示不使用数组参数，优先级高于 {@link #inChunkThreshold}.
+     *
+     * <p>参数集合的长度大于该阈值时，会生成 {@code array_contains(:ids, u.id)} 的 JPQL 条件，整个集合只绑定一个数组参数，
+     * 由 Hibernate 根据数据库方言来翻译成对应的 SQL，从而避免超出数据库的参数数量限制，并减少 SQL 的解析开销.
+     * 注意：仅适用于 JPQL 语句和 Specification 查询，原生 SQL 中会改为拆分成多个 IN 条件，
+     * 拆分的大小优先使用 {@link #inChunkThreshold}，没有配置时就使用本阈值.</p>
+     *
+     * @since v3.2.0
+     */
+    private int inArrayThreshold;
+
+    /**
+     * 返回值为 {@code Stream} 的 {@code @QueryFenix} 查询方法每次从数据库游标中获取的记录数，
+     * 默认为 {@link Const#DEFAULT_STREAM_FETCH_SIZE}，小于等于 0 时表示使用 JDBC 驱动的默认值.
+     *
+     * <p>查询方法上通过 {@code @QueryHints} 注解设置了 {@code org.hibernate.fetchSize} 时，以注解中的值为准.</p>
+     *
+     * @since v3.2.0
+     */
+    private int streamFetchSize = Const.DEFAULT_STREAM_FETCH_SIZE;
+
+    /**
+     * 流式查询时移除已读取实体的间隔记录数，默认为 {@link Const#DEFAULT_STREAM_FETCH_SIZE}，小于等于 0 时表示不移除.
+     *
+     * <p>流式查询时，每读取该数量的记录，就会将开始查询之后才进入持久化上下文的实体逐个移除（evict），包括急加载的关联实体，
+     * 使已读取过的实体都变为游离状态，从而使内存占用不随结果集的大小而增长. 开始查询之前就已受管理的实体不受影响，也不会先刷新（flush），
+     * 所以对已移除实体未保存的修改将不会再同步到数据库中.</p>
+     *
+     * @since v3.2.0
+     */
+    private int streamClearInterval = Const.DEFAULT_STREAM_FETCH_SIZE;
+
+    /**
+     * 所有 Fenix XML 文件预编译后的不可变注册表快照，加载或热加载 XML 文件时会通过一次 volatile 写操作整体替换.
+     *
+     * @since v3.2.0
      */
     @Getter
-    private static final Map<String, Set<URL>> xmlUrlMap = new HashMap<>();
+    private static volatile FenixRegistry fenixRegistry = FenixRegistry.EMPTY;
 
     /**
      * 初始化默认的一些标签和 TagHandler 实例到 HashMap 集合中，key 是标签字符串,value 是 TagHandler 实例.
@@ -243,13 +389,14 @@ public class FenixConfig {
         add("andIsNotNull", SymbolConst.AND, IsNullHandler::new, SymbolConst.IS_NOT_NULL);
         add("orIsNotNull", SymbolConst.OR, IsNullHandler::new, SymbolConst.IS_NOT_NULL);
 
-        // 其他标签：text、import、choose.
+        // 其他标签：text、import、choose、set、where、trimWhere、foreach.
         add("text", TextHandler::new);
         add("import", ImportHandler::new);
         add("choose", ChooseHandler::new);
         add("set", SetHandler::new);
         add("where", WhereHandler::new);
         add("trimWhere", TrimWhereHandler::new);
+        add("foreach", ForeachHandler::new);
     }
 
     /**
@@ -375,6 +522,286 @@ public class FenixConfig {
         return this;
     }
 
+    /**
+     * 设置缓存已编译的 MVEL 表达式和模板的最大数量.
+     *
+     * @param expressionCacheSize 缓存的最大数量
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setExpressionCacheSize(int expressionCacheSize) {
+        this.expressionCacheSize = expressionCacheSize;
+        return this;
+    }
+
+    /**
+     * 设置是否开启 Fenix XML 文件的热加载功能.
+     *
+     * @param hotReload 是否开启热加载
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setHotReload(boolean hotReload) {
+        this.hotReload = hotReload;
+        return this;
+    }
+
+    /**
+     * 设置是否按需延迟加载各个命名空间的 Fenix XML 文件.
+     *
+     * @param lazyLoad 是否延迟加载
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setLazyLoad(boolean lazyLoad) {
+        this.lazyLoad = lazyLoad;
+        return this;
+    }
+
+    /**
+     * 设置执行已编译的 MVEL 表达式时所使用的属性访问优化器，如：ASM 字节码优化器或者反射优化器.
+     *
+     * @param expressionOptimizer 属性访问优化器的类型
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setExpressionOptimizer(ExpressionOptimizerEnum expressionOptimizer) {
+        this.expressionOptimizer = expressionOptimizer;
+        return this;
+    }
+
+    /**
+     * 设置计算 XML 标签中 match、value 等属性表达式时所使用的表达式引擎.
+     *
+     * @param expressionEngine 表达式引擎，为 {@code null} 时表示使用默认的 MVEL 表达式引擎
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setExpressionEngine(ExpressionEngine expressionEngine) {
+        this.expressionEngine = expressionEngine;
+        return this;
+    }
+
+    /**
+     * 设置每个 fenix 节点缓存的已规范化 SQL 形态的最大数量，小于等于 0 时表示不缓存.
+     *
+     * @param sqlShapeCacheSize 缓存的最大数量
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setSqlShapeCacheSize(int sqlShapeCacheSize) {
+        this.sqlShapeCacheSize = sqlShapeCacheSize;
+        return this;
+    }
+
+    /**
+     * 设置缓存 Java API 拼接出的已规范化 SQL 的最大数量，小于等于 0 时表示不缓存.
+     *
+     * @param javaSqlCacheSize 缓存的最大数量
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setJavaSqlCacheSize(int javaSqlCacheSize) {
+        this.javaSqlCacheSize = javaSqlCacheSize;
+        return this;
+    }
+
+    /**
+     * 设置是否在启动时预热各个 fenix 节点的 SQL 形态.
+     *
+     * @param prewarm 是否预热
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setPrewarm(boolean prewarm) {
+        this.prewarm = prewarm;
+        return this;
+    }
+
+    /**
+     * 设置启动预热时每个 fenix 节点最多遍历的条件分支组合数量.
+     *
+     * @param prewarmMaxCombinations 最多遍历的分支组合数量
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setPrewarmMaxCombinations(int prewarmMaxCombinations) {
+        this.prewarmMaxCombinations = prewarmMaxCombinations;
+        return this;
+    }
+
+    /**
+     * 设置是否将 IN 查询的参数集合补齐到固定的桶大小.
+     *
+     * @param inPadding 是否补齐
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setInPadding(boolean inPadding) {
+        this.inPadding = inPadding;
+        return this;
+    }
+
+    /**
+     * 设置 IN 查询的参数集合补齐时使用的桶大小，会自动去除非正数并按从小到大排序.
+     *
+     * @param inPaddingBuckets 桶大小
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setInPaddingBuckets(int... inPaddingBuckets) {
+        this.inPaddingBuckets = inPaddingBuckets == null
+                ? null
+                : Arrays.stream(inPaddingBuckets).filter(bucket -> bucket > 0).distinct().sorted().toArray();
+        return this;
+    }
+
+    /**
+     * 设置 IN 查询的参数集合拆分成多个 OR 连接的 IN 条件的阈值.
+     *
+     * @param inChunkThreshold 阈值，小于等于 0 时表示不拆分
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setInChunkThreshold(int inChunkThreshold) {
+        this.inChunkThreshold = inChunkThreshold;
+        return this;
+    }
+
+    /**
+     * 设置 IN 查询的参数集合以单个数组参数来绑定的阈值.
+     *
+     * @param inArrayThreshold 阈值，小于等于 0 时表示不使用数组参数
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setInArrayThreshold(int inArrayThreshold) {
+        this.inArrayThreshold = inArrayThreshold;
+        return this;
+    }
+
+    /**
+     * 设置流式查询时每次从数据库游标中获取的记录数.
+     *
+     * @param streamFetchSize 记录数，小于等于 0 时表示使用 JDBC 驱动的默认值
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setStreamFetchSize(int streamFetchSize) {
+        this.streamFetchSize = streamFetchSize;
+        return this;
+    }
+
+    /**
+     * 设置流式查询时移除已读取实体的间隔记录数.
+     *
+     * @param streamClearInterval 间隔记录数，小于等于 0 时表示不移除
+     * @return {@link FenixConfig} 实例自身
+     * @since v3.2.0
+     */
+    public FenixConfig setStreamClearInterval(int streamClearInterval) {
+        this.streamClearInterval = streamClearInterval;
+        return this;
+    }
+
+    /**
+     * 获取所有 Fenix XML 文档中 fenix 节点的 Map.
+     *
+     * <p>该 Map 的 key 是资源的路径（将 XML 命名空间和 fenixId 用"."号分割），value 是 dom4j 的文档节点 Node.</p>
+     *
+     * <p>注：v3.2.0 版本开始，fenix 节点会在加载时被预编译成渲染计划，内存中不再缓存 dom4j 节点，
+     * 所以每次调用本方法都会根据 {@link #getXmlUrlMap()} 重新读取和解析所有的 XML 文件，请勿在性能敏感的地方调用，
+     * 渲染 SQL 时请使用 {@link #getFenixPlans()} 中预编译的渲染计划.</p>
+     *
+     * @return fenix 节点的 Map
+     */
+    public static Map<String, Node> getFenixs() {
+        Map<String, Node> fenixNodes = new HashMap<>();
+        fenixRegistry.getXmlUrlMap().forEach((namespace, urls) -> urls.forEach(url -> {
+            for (Node fenixNode : XmlNodeHelper.readDocument(url).selectNodes(XpathConst.FENIX_TAG)) {
+                fenixNodes.put(StringHelper.concat(namespace, Const.DOT,
+                        XmlNodeHelper.getNodeAttrText(fenixNode, XpathConst.ATTR_ID)), fenixNode);
+            }
+        }));
+        return fenixNodes;
+    }
+
+    /**
+     * 获取所有 fenix 节点预编译后的渲染计划的 Map.
+     *
+     * <p>该 Map 的 key 是将 XML 命名空间和 fenixId 用"."号分割的字符串，value 是该节点预编译后的 {@link FenixPlan}.</p>
+     *
+     * <p>注：返回的是当前注册表快照中不可修改的 Map，热加载之后需要重新获取.</p>
+     *
+     * @return 渲染计划的 Map
+     * @since v3.2.0
+     */
+    public static Map<String, FenixPlan> getFenixPlans() {
+        return fenixRegistry.getFenixPlans();
+    }
+
+    /**
+     * 根据命名空间和 fenixId 获取预编译后的渲染计划，如果该命名空间是延迟加载的且还未加载，就会先加载该命名空间.
+     *
+     * @param namespace XML 命名空间
+     * @param fenixId XML 中的 fenixId
+     * @return 渲染计划，如果不存在则返回 {@code null}
+     * @since v3.2.0
+     */
+    public static FenixPlan getFenixPlan(String namespace, String fenixId) {
+        FenixRegistry registry = fenixRegistry;
+        if (registry.getLazyXmlUrls(namespace) != null) {
+            FenixLazyLoader.load(namespace);
+            registry = fenixRegistry;
+        }
+        return registry.getFenixPlans().get(StringHelper.concat(namespace, Const.DOT, fenixId));
+    }
+
+    /**
+     * 判断某个命名空间是否是延迟加载模式下还未加载的命名空间，本方法不会触发该命名空间的加载.
+     *
+     * @param namespace XML 命名空间
+     * @return 布尔值
+     * @since v3.2.0
+     */
+    public static boolean isLazyNamespace(String namespace) {
+        return fenixRegistry.getLazyXmlUrls(namespace) != null;
+    }
+
+    /**
+     * 获取所有 Fenix XML 命名空间 namespace 和 XML 文件的 URL 映射关系的 Map.
+     *
+     * <p>该 Map 的 key 是 XML 文件命名空间 namespace 的值，value 是 XML 文件的 URL.</p>
+     *
+     * <p>注：v3.2.0 版本开始，无论是否开启 debug 模式都会记录该映射关系，且返回的是当前注册表快照中不可修改的 Map.</p>
+     *
+     * @return XML 命名空间和 XML 文件 URL 的 Map
+     * @since v2.4.1
+     */
+    public static Map<String, Set<URL>> getXmlUrlMap() {
+        return fenixRegistry.getXmlUrlMap();
+    }
+
+    /**
+     * 替换 Fenix XML 文件预编译后的注册表快照.
+     *
+     * @param registry 新的注册表
+     * @since v3.2.0
+     */
+    static synchronized void setFenixRegistry(FenixRegistry registry) {
+        fenixRegistry = registry;
+    }
+
+    /**
+     * 基于当前的注册表构建出新的注册表并替换掉旧的注册表，多个线程同时更新时会依次进行，不会丢失其他线程的更新.
+     *
+     * @param updater 根据当前的注册表构建出新的注册表的函数
+     * @since v3.2.0
+     */
+    static synchronized void updateFenixRegistry(UnaryOperator<FenixRegistry> updater) {
+        fenixRegistry = updater.apply(fenixRegistry);
+    }
+
     /**
      * 添加自定义标签和该 SQL 片段对应的 {@link TagHandler} 处理器实现的 class.
      *
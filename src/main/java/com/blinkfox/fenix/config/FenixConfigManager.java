@@ -1,20 +1,26 @@
 package com.blinkfox.fenix.config;
 
+import com.blinkfox.fenix.config.FenixRegistry.XmlPlans;
 import com.blinkfox.fenix.config.scanner.TaggerScanner;
 import com.blinkfox.fenix.config.scanner.XmlResource;
 import com.blinkfox.fenix.config.scanner.XmlScanner;
 import com.blinkfox.fenix.consts.Const;
-import com.blinkfox.fenix.consts.XpathConst;
+import com.blinkfox.fenix.consts.ExpressionOptimizerEnum;
+import com.blinkfox.fenix.core.plan.SqlShapeEnumerator;
 import com.blinkfox.fenix.exception.FenixException;
-import com.blinkfox.fenix.exception.NodeNotFoundException;
+import com.blinkfox.fenix.expression.ExpressionEngine;
+import com.blinkfox.fenix.expression.MvelExpressionEngine;
+import com.blinkfox.fenix.helper.ParallelHelper;
 import com.blinkfox.fenix.helper.ParamWrapper;
 import com.blinkfox.fenix.helper.ParseHelper;
 import com.blinkfox.fenix.helper.StringHelper;
-import com.blinkfox.fenix.helper.XmlNodeHelper;
+import com.blinkfox.fenix.jpa.FenixQueryPrewarmer;
 import com.blinkfox.fenix.jpa.transformer.PrefixUnderscoreTransformer;
 import java.net.URL;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -22,7 +28,8 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.dom4j.Node;
+import org.mvel2.optimizers.OptimizerFactory;
+import org.springframework.core.NativeDetector;
 
 /**
  * Fenix 的配置信息管理器单例类，用于加载 Fenix 所需的各种配置信息到内存中.
@@ -53,6 +60,13 @@ public final class FenixConfigManager {
     @Getter
     private FenixConfig fenixConfig;
 
+    /**
+     * Fenix XML 文件的热加载器，未开启热加载时为 {@code null}.
+     *
+     * @since v3.2.0
+     */
+    private FenixXmlReloader xmlReloader;
+
     /**
      * 初始化的 {@link FenixConfigManager} 单实例.
      */
@@ -83,9 +97,17 @@ public final class FenixConfigManager {
         // 初始化设置 FenixConfig 实例和其中的一些属性.
         this.initFenixConfig(fenixConfig);
 
-        // 初始化加载 Fenix XML 文件和自定义的标签处理器类.
-        this.cachingFenixXmlResources(new XmlScanner().scan(this.fenixConfig.getXmlLocations()));
+        // 初始化加载自定义的标签处理器类和 Fenix XML 文件，
+        // 由于 XML 中的 fenix 节点会被预编译成渲染计划，所以须要先加载自定义的标签处理器.
+        // 如果开启了延迟加载，启动时就只建立命名空间和 XML 文件的索引，各个命名空间会在第一次使用时再解析和编译.
         new TaggerScanner().scan(this.fenixConfig.getHandlerLocations());
+        if (this.fenixConfig.isLazyLoad()) {
+            this.indexFenixXmlNamespaces(new XmlScanner().scanNamespaces(this.fenixConfig.getXmlLocations()));
+        } else {
+            this.cachingFenixXmlResources(new XmlScanner().scan(this.fenixConfig.getXmlLocations()));
+        }
+        this.tryStartXmlReloader();
+        this.tryPrewarm();
 
         // 初次测试表达式引擎是否能够正确工作和打印 banner 信息.
         this.asyncTestFirstEvaluate();
@@ -105,6 +127,21 @@ public final class FenixConfigManager {
         // 尝试根据配置的前缀来设置结果转换器的前缀.
         this.trySetUnderscoreTransformerPrefix(fenixConfig.getUnderscoreTransformerPrefix());
 
+        // 根据配置来初始化表达式引擎、已编译的 MVEL 模板的缓存，以及表达式的属性访问优化器.
+        ParseHelper.initCache(fenixConfig.getExpressionCacheSize());
+        ExpressionEngine expressionEngine = fenixConfig.getExpressionEngine();
+        ParseHelper.setExpressionEngine(expressionEngine == null
+                ? new MvelExpressionEngine(fenixConfig.getExpressionCacheSize())
+                : expressionEngine);
+        // 原生镜像中无法在运行时生成字节码，所以未配置属性访问优化器时，默认使用反射优化器.
+        ExpressionOptimizerEnum expressionOptimizer = fenixConfig.getExpressionOptimizer();
+        if (expressionOptimizer == null && NativeDetector.inNativeImage()) {
+            expressionOptimizer = ExpressionOptimizerEnum.REFLECTIVE;
+        }
+        if (expressionOptimizer != null) {
+            OptimizerFactory.setDefaultOptimizer(expressionOptimizer.getOptimizer());
+        }
+
         // 扫描和缓存 Fenix XML 文件资源信息、扫描和配置自定义的 Fenix 标签处理器实例类.
         String xmlLocations = fenixConfig.getXmlLocations();
         fenixConfig.setXmlLocations(StringHelper.isBlank(xmlLocations) ? Const.DEFAULT_FENIX_XML_DIR : xmlLocations);
@@ -136,7 +173,9 @@ public final class FenixConfigManager {
     }
 
     /**
-     * 将每个 Fenix XML 配置文件的 key 和文档缓存到 ConcurrentHashMap 内存缓存中.
+     * 将每个 Fenix XML 配置文件中的 fenix 节点预编译成渲染计划，并构建出注册表缓存到内存中.
+     *
+     * <p>注：v3.2.0 版本开始，不再缓存 dom4j 的文档节点，编译完成之后 XML 文档即可被回收.</p>
      *
      * @param xmlResourceMap XML 资源的 Map 集合
      */
@@ -145,45 +184,76 @@ public final class FenixConfigManager {
             log.debug("【Fenix 提示】扫描到了这些 Fenix XML 文件：【{}】.", xmlResourceMap.keySet());
         }
 
-        // 是否开启了 debug 模式.
-        final boolean debug = this.fenixConfig.isDebug();
-        Map<String, Set<URL>> xmlUrlMap = FenixConfig.getXmlUrlMap();
-
-        // 遍历各个 XML 资源文件信息，将 fenixId 和 对应的 Node 节点缓存起来.
-        Collection<XmlResource> xmlResources = xmlResourceMap.values();
-        for (XmlResource xmlResource : xmlResources) {
-            String namespace = xmlResource.getNamespace();
-            for (Node fenixNode : xmlResource.getDocument().selectNodes(XpathConst.FENIX_TAG)) {
-                String fenixId = XmlNodeHelper.getNodeText(fenixNode.selectSingleNode(XpathConst.ATTR_ID));
-                if (StringHelper.isBlank(fenixId)) {
-                    throw new NodeNotFoundException("【Fenix 异常提示】命名空间为【" + namespace + "】的 Fenix XML 文件中有"
-                            + " fenix 节点的 id 属性为空，请检查！文件位置在【" + xmlResource.getUrl().getPath() + "】.");
-                }
-
-                // 判断 fenixId 是否有 '.' 号，如果有的话，就抛出异常提示.
-                if (fenixId.contains(Const.DOT)) {
-                    throw new FenixException("【Fenix 异常提示】命名空间为【" + namespace + "】的 XML 文件中，fenix 节点 id"
-                            + "【" + fenixId + "】不能包含 '.' 号，请修正！文件位置在【" + xmlResource.getUrl().getPath() + "】.");
-                }
-
-                // 将 fenix 节点缓存到 Map 中，key 是由 namespace 和 fenixId 组成，用 "." 号分隔，value 是 fenixNode.
-                FenixConfig.getFenixs().put(StringHelper.concat(namespace, Const.DOT, fenixId), fenixNode);
-
-                // v2.4.1 版本新增，如果开启了 debug 模式，就建立 namespace 和 xml 路径的映射关系，便于实时读取 XML 文件中的内容.
-                if (debug) {
-                    Set<URL> urlSet = xmlUrlMap.computeIfAbsent(namespace, k -> new HashSet<>());
-                    urlSet.add(xmlResource.getUrl());
-                }
-            }
+        // 并行地将各个 XML 资源文件中的 fenix 节点预编译成渲染计划，再按扫描到的顺序合并，
+        // 然后构建出新的注册表，构建时会链接各个 <import /> 标签，如果 fenix 节点之间存在循环导入，就直接抛出异常.
+        List<String> paths = new ArrayList<>(xmlResourceMap.keySet());
+        List<XmlPlans> xmlPlansList = ParallelHelper.mapInOrder(paths,
+                path -> FenixRegistry.compile(xmlResourceMap.get(path)));
+        Map<String, XmlPlans> xmlPlansMap = new LinkedHashMap<>();
+        for (int i = 0, len = paths.size(); i < len; i++) {
+            xmlPlansMap.put(paths.get(i), xmlPlansList.get(i));
+        }
+        FenixConfig.setFenixRegistry(FenixRegistry.build(xmlPlansMap));
+    }
+
+    /**
+     * 延迟加载模式下，只根据扫描到的命名空间和 XML 文件的索引来构建注册表，不会解析和编译任何 XML 文件.
+     *
+     * @param namespaceUrlMap 命名空间和 XML 文件 URL 集合的 Map
+     * @since v3.2.0
+     */
+    private void indexFenixXmlNamespaces(Map<String, Set<URL>> namespaceUrlMap) {
+        if (log.isDebugEnabled()) {
+            log.debug("【Fenix 提示】扫描到了这些将延迟加载的 Fenix XML 命名空间：【{}】.", namespaceUrlMap.keySet());
+        }
+        FenixConfig.setFenixRegistry(FenixRegistry.build(Collections.emptyMap(), namespaceUrlMap));
+    }
+
+    /**
+     * 如果开启了热加载功能，就启动 Fenix XML 文件的热加载器.
+     */
+    private void tryStartXmlReloader() {
+        this.stopXmlReloader();
+        if (this.fenixConfig.isHotReload()) {
+            this.xmlReloader = FenixXmlReloader.start(FenixConfig.getFenixRegistry());
+        }
+    }
+
+    private void stopXmlReloader() {
+        if (this.xmlReloader != null) {
+            this.xmlReloader.stop();
+            this.xmlReloader = null;
+        }
+    }
+
+    /**
+     * 如果开启了预热功能，就枚举并渲染出各个已加载的 fenix 节点的 SQL 形态，
+     * 并将 {@code @QueryFenix} 查询方法的各个 SQL 形态交给 JPA 来解析，从而预热 JPA 的查询计划缓存.
+     *
+     * <p>注：debug 模式下每次都会重新编译 fenix 节点，所以不会预热.</p>
+     *
+     * @since v3.2.0
+     */
+    private void tryPrewarm() {
+        if (this.fenixConfig.isPrewarm() && !this.fenixConfig.isDebug()) {
+            long start = System.currentTimeMillis();
+            int maxCombinations = this.fenixConfig.getPrewarmMaxCombinations();
+            List<Integer> shapeCounts = ParallelHelper.mapInOrder(new ArrayList<>(FenixConfig.getFenixPlans().values()),
+                    plan -> SqlShapeEnumerator.enumerate(plan, maxCombinations).size());
+            log.info("【Fenix 提示】预热了【{}】个 fenix 节点的【{}】种 SQL 形态，耗时【{}】ms.", shapeCounts.size(),
+                    shapeCounts.stream().mapToInt(Integer::intValue).sum(), System.currentTimeMillis() - start);
         }
+        FenixQueryPrewarmer.prewarmPendingQueries(this.fenixConfig);
     }
 
     /**
-     * 清空 Fenix 所有内存缓存中的内容，包括 XML 命名空间路径缓存、XML节点缓存.
+     * 清空 Fenix 所有内存缓存中的内容，包括 XML 注册表、标签处理器、已编译的表达式和模板缓存，并停止热加载器.
      */
     public void clear() {
-        FenixConfig.getFenixs().clear();
+        this.stopXmlReloader();
+        FenixConfig.setFenixRegistry(FenixRegistry.EMPTY);
         FenixConfig.getTagHandlerMap().clear();
+        ParseHelper.clearCache();
     }
 
     /**
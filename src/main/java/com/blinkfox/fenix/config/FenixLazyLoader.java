@@ -0,0 +1,70 @@
+package com.blinkfox.fenix.config;
+
+import com.blinkfox.fenix.config.FenixRegistry.XmlPlans;
+import com.blinkfox.fenix.config.scanner.XmlResource;
+import com.blinkfox.fenix.config.scanner.XmlScanner;
+import com.blinkfox.fenix.exception.FenixException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 延迟加载模式下，在某个命名空间第一次被使用时，解析和编译该命名空间下所有 Fenix XML 文件的加载器.
+ *
+ * <p>每个命名空间都有自己的锁，同一个命名空间只会被加载一次，并发请求同一个命名空间时，其他线程会等待其加载完成；
+ * 不同命名空间之间的加载互不阻塞，只有最后替换注册表时才会依次进行.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixConfig#getFenixPlan(String, String)
+ * @since v3.2.0
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class FenixLazyLoader {
+
+    /**
+     * 各个命名空间的加载锁.
+     */
+    private static final Map<String, Object> lockMap = new ConcurrentHashMap<>();
+
+    /**
+     * 加载某个还未加载的命名空间，如果已经被其他线程加载过了，就直接返回.
+     *
+     * @param namespace 命名空间
+     * @throws FenixException 读取 XML 文件出错或者 fenix 节点之间存在循环导入时抛出此异常
+     */
+    static void load(String namespace) {
+        synchronized (lockMap.computeIfAbsent(namespace, k -> new Object())) {
+            Set<URL> urls = FenixConfig.getFenixRegistry().getLazyXmlUrls(namespace);
+            if (urls == null) {
+                return;
+            }
+
+            Map<String, XmlPlans> xmlPlansMap = new LinkedHashMap<>();
+            for (URL url : urls) {
+                XmlResource xmlResource = readXmlResource(url);
+                if (xmlResource != null) {
+                    xmlPlansMap.put(url.getPath(), FenixRegistry.compile(xmlResource.setUrl(url)));
+                }
+            }
+            FenixConfig.updateFenixRegistry(registry -> registry.loadNamespace(namespace, xmlPlansMap));
+            log.info("【Fenix 提示】已延迟加载了命名空间为【{}】的 Fenix XML 文件：【{}】.", namespace, xmlPlansMap.keySet());
+        }
+    }
+
+    private static XmlResource readXmlResource(URL url) {
+        try (InputStream in = url.openStream()) {
+            return XmlScanner.getFenixXmlResource(in, url.getPath());
+        } catch (IOException e) {
+            throw new FenixException("【Fenix 异常】延迟加载读取【" + url + "】的 Fenix XML 文件出错，请检查！", e);
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+package com.blinkfox.fenix.config;
+
+import com.blinkfox.fenix.config.scanner.XmlResource;
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.consts.XpathConst;
+import com.blinkfox.fenix.core.plan.FenixPlan;
+import com.blinkfox.fenix.core.plan.FenixPlanCompiler;
+import com.blinkfox.fenix.core.plan.FenixPlanLinker;
+import com.blinkfox.fenix.exception.FenixException;
+import com.blinkfox.fenix.exception.NodeNotFoundException;
+import com.blinkfox.fenix.helper.StringHelper;
+import com.blinkfox.fenix.helper.XmlNodeHelper;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.dom4j.Node;
+
+/**
+ * 所有 Fenix XML 文件预编译后的不可变注册表快照.
+ *
+ * <p>注册表一旦创建就不会再被修改，加载或热加载 XML 文件时，总是会先构建出一个新的注册表，
+ * 再通过一次 volatile 写操作整体替换掉 {@link FenixConfig} 中的旧注册表，所以查询时无需加锁，
+ * 也不会读取到只更新了一半的数据.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixConfig#getFenixRegistry()
+ * @see FenixXmlReloader
+ * @since v3.2.0
+ */
+@Getter
+public final class FenixRegistry {
+
+    /**
+     * 空的注册表.
+     */
+    public static final FenixRegistry EMPTY = new FenixRegistry(Collections.emptyMap(), Collections.emptyMap());
+
+    /**
+     * 所有 fenix 节点预编译后的渲染计划的不可变 Map.
+     *
+     * <p>该 Map 的 key 是将 XML 命名空间和 fenixId 用"."号分割的字符串，value 是该节点预编译后的 {@link FenixPlan}.</p>
+     */
+    private final Map<String, FenixPlan> fenixPlans;
+
+    /**
+     * 所有 Fenix XML 命名空间 namespace 和 XML 文件的 URL 映射关系的不可变 Map，也包含了还未加载的命名空间.
+     */
+    private final Map<String, Set<URL>> xmlUrlMap;
+
+    /**
+     * 各个 XML 文件预编译后的渲染计划的 Map，key 是 XML 文件的路径，用于热加载时只替换发生了变化的文件.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, XmlPlans> xmlPlansMap;
+
+    /**
+     * 延迟加载模式下，还未加载的各个命名空间和其 XML 文件 URL 的 Map.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Set<URL>> lazyXmlUrlMap;
+
+    /**
+     * 根据各个 XML 文件预编译后的渲染计划和还未加载的命名空间来构造注册表实例.
+     *
+     * @param xmlPlansMap 各个 XML 文件预编译后的渲染计划的 Map
+     * @param lazyXmlUrlMap 还未加载的各个命名空间和其 XML 文件 URL 的 Map
+     */
+    private FenixRegistry(Map<String, XmlPlans> xmlPlansMap, Map<String, Set<URL>> lazyXmlUrlMap) {
+        Map<String, FenixPlan> planMap = new HashMap<>();
+        Map<String, Set<URL>> urlMap = new HashMap<>();
+        for (XmlPlans xmlPlans : xmlPlansMap.values()) {
+            for (FenixPlan plan : xmlPlans.plans) {
+                planMap.put(StringHelper.concat(plan.getNamespace(), Const.DOT, plan.getFenixId()), plan);
+            }
+            urlMap.computeIfAbsent(xmlPlans.namespace, k -> new LinkedHashSet<>()).add(xmlPlans.url);
+        }
+        lazyXmlUrlMap.forEach((namespace, urls) -> urlMap.computeIfAbsent(namespace, k -> new LinkedHashSet<>())
+                .addAll(urls));
+        urlMap.replaceAll((k, v) -> Collections.unmodifiableSet(v));
+
+        this.fenixPlans = Collections.unmodifiableMap(planMap);
+        this.xmlUrlMap = Collections.unmodifiableMap(urlMap);
+        this.xmlPlansMap = Collections.unmodifiableMap(xmlPlansMap);
+        this.lazyXmlUrlMap = Collections.unmodifiableMap(lazyXmlUrlMap);
+    }
+
+    /**
+     * 根据各个 XML 文件预编译后的渲染计划来构建新的注册表，并链接其中所有的 {@code <import />} 标签.
+     *
+     * @param xmlPlansMap 各个 XML 文件预编译后的渲染计划的 Map，key 是 XML 文件的路径
+     * @return 新的注册表
+     * @throws FenixException fenix 节点之间存在循环导入时抛出此异常
+     */
+    static FenixRegistry build(Map<String, XmlPlans> xmlPlansMap) {
+        return build(xmlPlansMap, Collections.emptyMap());
+    }
+
+    /**
+     * 根据各个 XML 文件预编译后的渲染计划和还未加载的命名空间来构建新的注册表，并链接其中所有的 {@code <import />} 标签.
+     *
+     * @param xmlPlansMap 各个 XML 文件预编译后的渲染计划的 Map，key 是 XML 文件的路径
+     * @param lazyXmlUrlMap 还未加载的各个命名空间和其 XML 文件 URL 的 Map
+     * @return 新的注册表
+     * @throws FenixException fenix 节点之间存在循环导入时抛出此异常
+     */
+    static FenixRegistry build(Map<String, XmlPlans> xmlPlansMap, Map<String, Set<URL>> lazyXmlUrlMap) {
+        FenixRegistry registry = new FenixRegistry(new LinkedHashMap<>(xmlPlansMap), new HashMap<>(lazyXmlUrlMap));
+        FenixPlanLinker.link(registry.fenixPlans);
+        return registry;
+    }
+
+    /**
+     * 基于本注册表，替换掉发生了变化的 XML 文件、移除掉已删除的 XML 文件之后，构建出新的注册表，本注册表不会被修改.
+     *
+     * @param changedXmlPlansMap 发生了变化的各个 XML 文件预编译后的渲染计划的 Map，key 是 XML 文件的路径
+     * @param removedPaths 已删除的 XML 文件的路径集合
+     * @return 新的注册表
+     * @throws FenixException fenix 节点之间存在循环导入时抛出此异常
+     */
+    FenixRegistry reload(Map<String, XmlPlans> changedXmlPlansMap, Collection<String> removedPaths) {
+        return this.reload(changedXmlPlansMap, Collections.emptyMap(), removedPaths);
+    }
+
+    /**
+     * 基于本注册表，替换掉发生了变化的 XML 文件、更新还未加载的命名空间中发生了变化的 XML 文件的 URL、移除掉已删除的 XML 文件之后，
+     * 构建出新的注册表，本注册表不会被修改.
+     *
+     * <p>还未加载的命名空间只会更新其 XML 文件的 URL 索引，等到该命名空间第一次被使用时，才会读取文件中最新的内容来编译.</p>
+     *
+     * @param changedXmlPlansMap 发生了变化的各个 XML 文件预编译后的渲染计划的 Map，key 是 XML 文件的路径
+     * @param changedLazyXmlUrlMap 还未加载的命名空间中发生了变化的各个命名空间和其 XML 文件 URL 的 Map
+     * @param removedPaths 已删除的 XML 文件的路径集合
+     * @return 新的注册表
+     * @throws FenixException fenix 节点之间存在循环导入时抛出此异常
+     * @since v3.2.0
+     */
+    FenixRegistry reload(Map<String, XmlPlans> changedXmlPlansMap, Map<String, Set<URL>> changedLazyXmlUrlMap,
+            Collection<String> removedPaths) {
+        // 发生了变化的 XML 文件可能更换了命名空间，所以需要先从已加载和还未加载的索引中都移除掉这些文件.
+        Set<String> stalePaths = new HashSet<>(removedPaths);
+        changedLazyXmlUrlMap.values().forEach(urls -> urls.forEach(url -> stalePaths.add(url.getPath())));
+        Map<String, XmlPlans> newXmlPlansMap = new LinkedHashMap<>(this.xmlPlansMap);
+        newXmlPlansMap.keySet().removeAll(stalePaths);
+        newXmlPlansMap.putAll(changedXmlPlansMap);
+
+        stalePaths.addAll(changedXmlPlansMap.keySet());
+
+        Map<String, Set<URL>> newLazyXmlUrlMap = new HashMap<>();
+        this.lazyXmlUrlMap.forEach((namespace, urls) -> {
+            Set<URL> newUrls = new LinkedHashSet<>(urls);
+            newUrls.removeIf(url -> stalePaths.contains(url.getPath()));
+            if (!newUrls.isEmpty()) {
+                newLazyXmlUrlMap.put(namespace, newUrls);
+            }
+        });
+        changedLazyXmlUrlMap.forEach((namespace, urls) ->
+                newLazyXmlUrlMap.computeIfAbsent(namespace, k -> new LinkedHashSet<>()).addAll(urls));
+        return build(newXmlPlansMap, newLazyXmlUrlMap);
+    }
+
+    /**
+     * 基于本注册表，加入某个延迟加载的命名空间中各个 XML 文件预编译后的渲染计划之后，构建出新的注册表，本注册表不会被修改.
+     *
+     * @param namespace 命名空间
+     * @param namespaceXmlPlansMap 该命名空间中各个 XML 文件预编译后的渲染计划的 Map，key 是 XML 文件的路径
+     * @return 新的注册表
+     * @throws FenixException fenix 节点之间存在循环导入时抛出此异常
+     */
+    FenixRegistry loadNamespace(String namespace, Map<String, XmlPlans> namespaceXmlPlansMap) {
+        Map<String, XmlPlans> newXmlPlansMap = new LinkedHashMap<>(this.xmlPlansMap);
+        newXmlPlansMap.putAll(namespaceXmlPlansMap);
+        Map<String, Set<URL>> newLazyXmlUrlMap = new HashMap<>(this.lazyXmlUrlMap);
+        newLazyXmlUrlMap.remove(namespace);
+        return build(newXmlPlansMap, newLazyXmlUrlMap);
+    }
+
+    /**
+     * 获取某个还未加载的命名空间中所有 XML 文件的 URL 集合，如果该命名空间不存在或者已经加载过了，就返回 {@code null}.
+     *
+     * @param namespace 命名空间
+     * @return URL 集合
+     */
+    Set<URL> getLazyXmlUrls(String namespace) {
+        return this.lazyXmlUrlMap.get(namespace);
+    }
+
+    /**
+     * 判断本注册表中是否包含了某个路径的 XML 文件，包括还未加载的 XML 文件.
+     *
+     * @param path XML 文件的路径
+     * @return 布尔值
+     */
+    boolean containsXml(String path) {
+        return this.xmlPlansMap.containsKey(path) || this.lazyXmlUrlMap.values().stream()
+                .anyMatch(urls -> urls.stream().anyMatch(url -> url.getPath().equals(path)));
+    }
+
+    /**
+     * 获取本注册表中所有 XML 文件的 URL 集合，包括还未加载的 XML 文件.
+     *
+     * @return URL 集合
+     */
+    List<URL> getXmlUrls() {
+        List<URL> urls = new ArrayList<>(this.xmlPlansMap.size());
+        this.xmlPlansMap.values().forEach(xmlPlans -> urls.add(xmlPlans.url));
+        this.lazyXmlUrlMap.values().forEach(urls::addAll);
+        return urls;
+    }
+
+    /**
+     * 将某个 Fenix XML 文件中的所有 fenix 节点预编译成渲染计划.
+     *
+     * @param xmlResource XML 资源
+     * @return 该 XML 文件预编译后的渲染计划
+     */
+    static XmlPlans compile(XmlResource xmlResource) {
+        String namespace = xmlResource.getNamespace();
+        List<FenixPlan> plans = new ArrayList<>();
+        for (Node fenixNode : xmlResource.getDocument().selectNodes(XpathConst.FENIX_TAG)) {
+            String fenixId = XmlNodeHelper.getNodeText(fenixNode.selectSingleNode(XpathConst.ATTR_ID));
+            if (StringHelper.isBlank(fenixId)) {
+                throw new NodeNotFoundException("【Fenix 异常提示】命名空间为【" + namespace + "】的 Fenix XML 文件中有"
+                        + " fenix 节点的 id 属性为空，请检查！文件位置在【" + xmlResource.getUrl().getPath() + "】.");
+            }
+
+            // 判断 fenixId 是否有 '.' 号，如果有的话，就抛出异常提示.
+            if (fenixId.contains(Const.DOT)) {
+                throw new FenixException("【Fenix 异常提示】命名空间为【" + namespace + "】的 XML 文件中，fenix 节点 id"
+                        + "【" + fenixId + "】不能包含 '.' 号，请修正！文件位置在【" + xmlResource.getUrl().getPath() + "】.");
+            }
+            plans.add(FenixPlanCompiler.compile(namespace, fenixNode));
+        }
+        return new XmlPlans(xmlResource.getUrl(), namespace, Collections.unmodifiableList(plans));
+    }
+
+    /**
+     * 某个 XML 文件预编译后的所有渲染计划.
+     */
+    static final class XmlPlans {
+
+        /**
+         * XML 文件的 URL.
+         */
+        private final URL url;
+
+        /**
+         * XML 文件的命名空间.
+         */
+        private final String namespace;
+
+        /**
+         * XML 文件中所有 fenix 节点预编译后的渲染计划.
+         */
+        private final List<FenixPlan> plans;
+
+        XmlPlans(URL url, String namespace, List<FenixPlan> plans) {
+            this.url = url;
+            this.namespace = namespace;
+            this.plans = plans;
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.blinkfox.fenix.config;
+
+import com.blinkfox.fenix.jpa.QueryFenix;
+import org.springframework.beans.factory.aot.BeanRegistrationAotContribution;
+import org.springframework.beans.factory.aot.BeanRegistrationAotProcessor;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 在 Spring AOT 构建期间，为各个 Repository 接口中 {@link QueryFenix} 查询方法注册运行时反射提示信息的处理器.
+ *
+ * <p>Spring Data 会将每个 Repository 注册为 {@link RepositoryFactoryBeanSupport} 的 Bean，
+ * 其第一个构造参数就是 Repository 接口，本类据此调用 {@link FenixRuntimeHints#registerQueryFenixHints} 来注册提示信息.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixRuntimeHints
+ * @since v3.2.0
+ */
+public class FenixRepositoryAotProcessor implements BeanRegistrationAotProcessor {
+
+    /**
+     * 如果该 Bean 是 Repository 的工厂 Bean，就返回注册其 Repository 接口中查询方法反射提示信息的贡献者.
+     *
+     * @param registeredBean 已注册的 Bean
+     * @return {@link BeanRegistrationAotContribution} 实例，不是 Repository 时返回 {@code null}
+     */
+    @Override
+    public BeanRegistrationAotContribution processAheadOfTime(RegisteredBean registeredBean) {
+        Class<?> repositoryInterface = getRepositoryInterface(registeredBean);
+        return repositoryInterface == null
+                ? null
+                : (generationContext, code) -> FenixRuntimeHints.registerQueryFenixHints(
+                        generationContext.getRuntimeHints(), repositoryInterface);
+    }
+
+    /**
+     * 获取 Repository 工厂 Bean 所对应的 Repository 接口，如果不是 Repository 的工厂 Bean，就返回 {@code null}.
+     *
+     * @param registeredBean 已注册的 Bean
+     * @return Repository 接口
+     */
+    private static Class<?> getRepositoryInterface(RegisteredBean registeredBean) {
+        if (!RepositoryFactoryBeanSupport.class.isAssignableFrom(registeredBean.getBeanClass())) {
+            return null;
+        }
+
+        ValueHolder holder = registeredBean.getMergedBeanDefinition()
+                .getConstructorArgumentValues().getIndexedArgumentValue(0, null);
+        Object value = holder == null ? null : holder.getValue();
+        if (value instanceof Class) {
+            return (Class<?>) value;
+        }
+        return value instanceof String
+                ? ClassUtils.resolveClassName((String) value, registeredBean.getBeanFactory().getBeanClassLoader())
+                : null;
+    }
+
+}
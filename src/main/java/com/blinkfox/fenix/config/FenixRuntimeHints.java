@@ -0,0 +1,152 @@
+package com.blinkfox.fenix.config;
+
+import com.blinkfox.fenix.config.entity.TagHandler;
+import com.blinkfox.fenix.config.scanner.XmlResource;
+import com.blinkfox.fenix.config.scanner.XmlScanner;
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.consts.XpathConst;
+import com.blinkfox.fenix.exception.FenixException;
+import com.blinkfox.fenix.helper.StringHelper;
+import com.blinkfox.fenix.jpa.QueryFenix;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.dom4j.Node;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * 用于 Spring AOT 和 GraalVM 原生镜像 (native-image) 的 Fenix 运行时提示信息注册器.
+ *
+ * <p>Spring AOT 在构建期间会通过 {@code META-INF/spring/aot.factories} 调用本类，并据此生成原生镜像所需的反射和资源元数据，
+ * 包括：</p>
+ * <ul>
+ *     <li>默认 {@code fenix} 目录下的所有 Fenix XML 文件，以及这些 XML 文件中 fenix 节点的 {@code resultType} 结果类；</li>
+ *     <li>编译期间生成的标签处理器索引文件 {@link Const#TAGGER_INDEX_LOCATION}，以及索引中各个标签处理器类的构造方法和注解，
+ *     原生镜像中无法遍历类路径下的目录和 jar 包，所以自定义的标签处理器须要通过该索引来加载；</li>
+ *     <li>已注册的基于 class 的标签处理器的构造方法；</li>
+ *     <li>Fenix 动态条件查询注解中会被反射调用的 {@code value}、{@code allowNull}、{@code padding} 等方法.</li>
+ * </ul>
+ *
+ * <p>各个 Repository 接口中 {@link QueryFenix} 查询方法所使用的 provider、resultType 和 resultTransformer 类，
+ * 会由 {@link FenixRepositoryAotProcessor} 调用 {@link #registerQueryFenixHints(RuntimeHints, Class)} 来注册.</p>
+ *
+ * <p>注：如果你的 Fenix XML 文件不在默认的 {@code fenix} 目录下，须要自行注册这些 XML 文件的资源提示信息.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+@Slf4j
+public class FenixRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * 注册 Fenix 运行时所需的资源和反射提示信息.
+     *
+     * @param hints 运行时提示信息
+     * @param classLoader 类加载器
+     */
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources()
+                .registerPattern(Const.DEFAULT_FENIX_XML_DIR + "/*.xml")
+                .registerPattern(Const.DEFAULT_FENIX_XML_DIR + "/**/*.xml")
+                .registerPattern(Const.TAGGER_INDEX_LOCATION);
+
+        // 动态条件查询注解中的方法会在构建条件时被反射调用，基于 class 注册的标签处理器会通过构造方法来实例化.
+        ReflectionHints reflection = hints.reflection();
+        FenixConfig.getSpecificationHandlerMap().keySet()
+                .forEach(annotation -> reflection.registerType(annotation, MemberCategory.INVOKE_PUBLIC_METHODS));
+        FenixConfig.getTagHandlerMap().values().stream()
+                .map(TagHandler::getHandlerCls)
+                .filter(Objects::nonNull)
+                .forEach(cls -> reflection.registerType(cls, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+        registerXmlResultTypeHints(reflection);
+
+        if (classLoader != null) {
+            registerTaggerIndexHints(reflection, classLoader);
+        }
+    }
+
+    /**
+     * 注册某个 Repository 接口中所有标注了 {@link QueryFenix} 注解的查询方法在运行时需要反射访问的类.
+     *
+     * <p>包括：提供 SQL 的 provider 类的构造方法和公共方法、resultType 结果类的构造方法和公共方法（用于设置属性值），
+     * 以及 resultTransformer 结果转换器类的构造方法.</p>
+     *
+     * @param hints 运行时提示信息
+     * @param repositoryInterface Repository 接口
+     */
+    public static void registerQueryFenixHints(RuntimeHints hints, Class<?> repositoryInterface) {
+        ReflectionHints reflection = hints.reflection();
+        for (Method method : repositoryInterface.getMethods()) {
+            QueryFenix queryFenix = method.getAnnotation(QueryFenix.class);
+            if (queryFenix == null) {
+                continue;
+            }
+
+            if (queryFenix.provider() != Void.class) {
+                reflection.registerType(queryFenix.provider(),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            if (queryFenix.resultType() != Void.class) {
+                reflection.registerType(queryFenix.resultType(),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            reflection.registerType(queryFenix.resultTransformer(), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+    }
+
+    /**
+     * 注册默认 {@code fenix} 目录下的 XML 文件中，各个 fenix 节点的 {@code resultType} 结果类的构造方法和公共方法.
+     *
+     * @param reflection 反射提示信息
+     */
+    private static void registerXmlResultTypeHints(ReflectionHints reflection) {
+        try {
+            for (XmlResource xmlResource : new XmlScanner().scan(Const.DEFAULT_FENIX_XML_DIR).values()) {
+                for (Node fenixNode : xmlResource.getDocument().selectNodes(XpathConst.FENIX_TAG)) {
+                    String resultType = fenixNode.valueOf(XpathConst.ATTR_RESULT_TYPE);
+                    if (StringHelper.isNotBlank(resultType)) {
+                        reflection.registerType(TypeReference.of(resultType.trim()),
+                                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+                    }
+                }
+            }
+        } catch (FenixException e) {
+            log.warn("【Fenix 警告】读取默认目录【" + Const.DEFAULT_FENIX_XML_DIR + "】下的 Fenix XML 文件出错，"
+                    + "将不会注册其中结果类的反射提示信息.", e);
+        }
+    }
+
+    /**
+     * 注册类路径下所有标签处理器索引文件中各个类的构造方法.
+     *
+     * @param reflection 反射提示信息
+     * @param classLoader 类加载器
+     */
+    private static void registerTaggerIndexHints(ReflectionHints reflection, ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urlEnum = classLoader.getResources(Const.TAGGER_INDEX_LOCATION);
+            while (urlEnum.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(urlEnum.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines().map(String::trim).filter(line -> !line.isEmpty())
+                            .forEach(className -> reflection.registerType(TypeReference.of(className),
+                                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("【Fenix 警告】读取 Fenix 标签处理器的索引文件【" + Const.TAGGER_INDEX_LOCATION + "】出错.", e);
+        }
+    }
+
+}
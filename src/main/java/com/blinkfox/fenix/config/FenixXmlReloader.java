@@ -0,0 +1,252 @@
+package com.blinkfox.fenix.config;
+
+import com.blinkfox.fenix.config.FenixRegistry.XmlPlans;
+import com.blinkfox.fenix.config.scanner.XmlResource;
+import com.blinkfox.fenix.config.scanner.XmlScanner;
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.exception.FenixException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.dom4j.Document;
+import org.dom4j.io.SAXReader;
+
+/**
+ * 基于 {@link WatchService} 的 Fenix XML 文件热加载器.
+ *
+ * <p>该加载器会在后台的守护线程中监听各个 Fenix XML 文件所在的目录，一旦有 XML 文件新增、修改或删除，
+ * 就只重新解析和编译这些发生了变化的文件，并基于当前的注册表构建出新的 {@link FenixRegistry}，
+ * 然后通过一次 volatile 写操作替换掉 {@link FenixConfig} 中的旧注册表.</p>
+ *
+ * <p>注：</p>
+ * <ul>
+ *     <li>只能监听文件系统中的 XML 文件，jar 包中的 XML 文件不会被监听；</li>
+ *     <li>如果某个文件解析失败（如：文件正在被写入）或者编译、链接失败（如：存在循环导入），
+ *     将打印错误日志，并继续使用之前的注册表.</li>
+ * </ul>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixRegistry
+ * @since v3.2.0
+ */
+@Slf4j
+final class FenixXmlReloader implements Runnable {
+
+    /**
+     * XML 文件的后缀.
+     */
+    private static final String XML_SUFFIX = ".xml";
+
+    /**
+     * 文件系统的监听服务.
+     */
+    private final WatchService watchService;
+
+    /**
+     * 已注册监听的目录集合.
+     */
+    private final Set<Path> watchedDirs = new HashSet<>();
+
+    /**
+     * 是否正在运行中.
+     */
+    private volatile boolean running;
+
+    /**
+     * 根据当前注册表中的所有 XML 文件来构造热加载器实例，并注册监听这些文件所在的目录.
+     *
+     * @param registry 当前的注册表
+     * @throws IOException IO 异常
+     */
+    private FenixXmlReloader(FenixRegistry registry) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        for (URL url : registry.getXmlUrls()) {
+            Path file = toFilePath(url);
+            if (file != null && this.watchedDirs.add(file.getParent())) {
+                file.getParent().register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    /**
+     * 创建并启动热加载器，会在后台的守护线程中监听 XML 文件的变化.
+     *
+     * @param registry 当前的注册表
+     * @return 热加载器实例
+     */
+    static FenixXmlReloader start(FenixRegistry registry) {
+        FenixXmlReloader reloader;
+        try {
+            reloader = new FenixXmlReloader(registry);
+        } catch (IOException e) {
+            throw new FenixException("【Fenix 异常】创建 Fenix XML 文件的热加载监听服务失败！", e);
+        }
+
+        reloader.running = true;
+        Thread thread = new Thread(reloader, "fenix-xml-reloader");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("【Fenix 提示】已开启 Fenix XML 文件的热加载功能，监听的目录为：【{}】.", reloader.watchedDirs);
+        return reloader;
+    }
+
+    /**
+     * 停止热加载器.
+     */
+    void stop() {
+        this.running = false;
+        try {
+            this.watchService.close();
+        } catch (IOException e) {
+            log.warn("【Fenix 警示】关闭 Fenix XML 文件的热加载监听服务失败！", e);
+        }
+    }
+
+    /**
+     * 在后台循环监听 XML 文件的变化，同一批（间隔 {@link Const#HOT_RELOAD_DELAY_MILLIS} 毫秒内）的变化会被合并成一次加载.
+     */
+    @Override
+    public void run() {
+        try {
+            while (this.running) {
+                Set<Path> changedFiles = new LinkedHashSet<>();
+                this.collectChangedFiles(this.watchService.take(), changedFiles);
+                WatchKey key;
+                while ((key = this.watchService.poll(Const.HOT_RELOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    this.collectChangedFiles(key, changedFiles);
+                }
+
+                if (!changedFiles.isEmpty() && this.running) {
+                    reload(changedFiles);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("【Fenix 提示】Fenix XML 文件的热加载监听服务已关闭.");
+        }
+    }
+
+    private void collectChangedFiles(WatchKey key, Set<Path> changedFiles) {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // 事件溢出时，无法得知具体哪些文件发生了变化，就将该目录下所有已加载的 XML 文件都视为发生了变化.
+                FenixConfig.getFenixRegistry().getXmlUrls().stream()
+                        .map(FenixXmlReloader::toFilePath)
+                        .filter(file -> file != null && dir.equals(file.getParent()))
+                        .forEach(changedFiles::add);
+                continue;
+            }
+
+            Path file = dir.resolve((Path) event.context());
+            if (file.getFileName().toString().endsWith(XML_SUFFIX)) {
+                changedFiles.add(file);
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * 重新加载发生了变化的 XML 文件，构建出新的注册表，并替换掉旧的注册表.
+     *
+     * <p>延迟加载模式下还未加载的命名空间中的 XML 文件不会被编译，只会更新该命名空间的 XML 文件 URL 索引，
+     * 等到该命名空间第一次被使用时再读取最新的文件内容来编译.</p>
+     *
+     * @param changedFiles 发生了变化的 XML 文件集合
+     */
+    static void reload(Set<Path> changedFiles) {
+        FenixRegistry registry = FenixConfig.getFenixRegistry();
+        Map<String, XmlPlans> changedXmlPlansMap = new HashMap<>();
+        List<XmlResource> lazyXmlResources = new ArrayList<>();
+        List<String> removedPaths = new ArrayList<>();
+        try {
+            for (Path file : changedFiles) {
+                URL url = file.toUri().toURL();
+                String path = url.getPath();
+                XmlResource xmlResource = Files.isRegularFile(file) ? readXmlResource(file, path) : null;
+                if (xmlResource == null) {
+                    if (!Files.exists(file) && registry.containsXml(path)) {
+                        removedPaths.add(path);
+                    }
+                } else if (registry.getLazyXmlUrls(xmlResource.getNamespace()) != null) {
+                    lazyXmlResources.add(xmlResource.setUrl(url));
+                } else {
+                    changedXmlPlansMap.put(path, FenixRegistry.compile(xmlResource.setUrl(url)));
+                }
+            }
+
+            if (!changedXmlPlansMap.isEmpty() || !lazyXmlResources.isEmpty() || !removedPaths.isEmpty()) {
+                Map<String, Set<URL>> changedLazyXmlUrlMap = new HashMap<>();
+                FenixConfig.updateFenixRegistry(current -> {
+                    // 在此期间该命名空间可能已经被延迟加载了，这时就需要编译该 XML 文件.
+                    for (XmlResource xmlResource : lazyXmlResources) {
+                        if (current.getLazyXmlUrls(xmlResource.getNamespace()) != null) {
+                            changedLazyXmlUrlMap.computeIfAbsent(xmlResource.getNamespace(),
+                                    k -> new LinkedHashSet<>()).add(xmlResource.getUrl());
+                        } else {
+                            changedXmlPlansMap.put(xmlResource.getUrl().getPath(),
+                                    FenixRegistry.compile(xmlResource));
+                        }
+                    }
+                    return current.reload(changedXmlPlansMap, changedLazyXmlUrlMap, removedPaths);
+                });
+                log.info("【Fenix 提示】已热加载这些 Fenix XML 文件：【{}】，已更新这些延迟加载的命名空间的 XML 文件索引：【{}】，"
+                        + "已移除这些 Fenix XML 文件：【{}】.", changedXmlPlansMap.keySet(), changedLazyXmlUrlMap, removedPaths);
+            }
+        } catch (Exception e) {
+            log.error("【Fenix 错误警示】热加载 Fenix XML 文件【" + changedFiles + "】失败，将继续使用之前的 XML 内容！", e);
+        }
+    }
+
+    /**
+     * 读取和解析 XML 文件，如果文件解析失败（如：文件正在被写入）或不是 Fenix XML 文件，就返回 {@code null}.
+     *
+     * @param file XML 文件
+     * @param path XML 文件的路径
+     * @return XML 资源
+     */
+    private static XmlResource readXmlResource(Path file, String path) {
+        Document document;
+        try (InputStream in = Files.newInputStream(file)) {
+            document = new SAXReader().read(in);
+        } catch (Exception e) {
+            log.warn("【Fenix 警示】热加载时解析 XML 文件【{}】失败，将忽略本次修改.", path);
+            return null;
+        }
+        return XmlScanner.getFenixXmlResource(document, path);
+    }
+
+    private static Path toFilePath(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
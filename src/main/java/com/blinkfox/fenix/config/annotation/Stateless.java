@@ -0,0 +1,27 @@
+package com.blinkfox.fenix.config.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 用于标注某个 {@link com.blinkfox.fenix.core.FenixHandler} 标签处理器实现类是无状态的、可以被共享的注解.
+ *
+ * <p>默认情况下，每次渲染某个标签时，都会新建一个该标签处理器的实例. 如果你的标签处理器中没有会在
+ * {@code buildSqlInfo} 方法中被修改的成员变量，可以在该类上标注此注解，这样每个标签只会实例化一次，
+ * 之后所有的请求和线程都共享这一个实例. Fenix 内置的标签处理器都标注了此注解.</p>
+ *
+ * <p>注：该注解不会被子类继承，子类如果也是无状态的，需要再单独标注此注解.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see com.blinkfox.fenix.config.entity.TagHandler
+ * @since v3.2.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Stateless {
+
+}
@@ -0,0 +1,127 @@
+package com.blinkfox.fenix.config.annotation;
+
+import com.blinkfox.fenix.consts.Const;
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.NoSuchFileException;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * 在编译期间为标注了 {@link Tagger} 或 {@link Taggers} 注解的类生成索引文件的注解处理器.
+ *
+ * <p>索引文件位于 {@link Const#TAGGER_INDEX_LOCATION}，每行是一个类的全路径名.
+ * 启动时 {@link com.blinkfox.fenix.config.scanner.TaggerScanner} 会优先读取该索引文件，只加载索引中的类，
+ * 而不用再遍历目录或 jar 包，加载包下所有的类.</p>
+ *
+ * <p>增量编译时，本轮只会处理被重新编译的类，所以会先读取编译输出目录中已有的索引文件，
+ * 保留其中仍然存在且仍标注了 {@link Tagger} 或 {@link Taggers} 注解的类，再与本轮处理的类合并后写入.</p>
+ *
+ * <p>注：本处理器已通过 {@code META-INF/services} 注册，只要 Fenix 在编译期的类路径中就会自动执行；
+ * 如果你的项目使用 {@code annotationProcessorPaths} 显式配置了注解处理器，也须要将 Fenix 添加进去.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+@SupportedAnnotationTypes({
+        "com.blinkfox.fenix.config.annotation.Tagger",
+        "com.blinkfox.fenix.config.annotation.Taggers"})
+public class TaggerIndexProcessor extends AbstractProcessor {
+
+    /**
+     * 所有标注了 {@link Tagger} 或 {@link Taggers} 注解的类的全路径名.
+     */
+    private final Set<String> classNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    this.classNames.add(super.processingEnv.getElementUtils()
+                            .getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !this.classNames.isEmpty()) {
+            this.mergeExistingIndex();
+            this.writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * 读取编译输出目录中已有的索引文件，并将其中仍然有效的类合并到本轮处理的类中.
+     */
+    private void mergeExistingIndex() {
+        try {
+            FileObject file = super.processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", Const.TAGGER_INDEX_LOCATION);
+            try (Reader reader = file.openReader(true); BufferedReader bufferedReader = new BufferedReader(reader)) {
+                bufferedReader.lines().map(String::trim)
+                        .filter(this::isValidIndexedClass)
+                        .forEach(this.classNames::add);
+            }
+        } catch (FileNotFoundException | NoSuchFileException expected) {
+            // 首次编译时还不存在索引文件，直接忽略即可.
+        } catch (IOException e) {
+            super.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "【Fenix 警告】读取已有的 Fenix 标签处理器索引文件【" + Const.TAGGER_INDEX_LOCATION + "】失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 判断已有索引中的类是否仍然有效，即该类仍然存在，且仍标注了 {@link Tagger} 或 {@link Taggers} 注解.
+     *
+     * @param className 类的全路径名
+     * @return 布尔值
+     */
+    private boolean isValidIndexedClass(String className) {
+        if (className.isEmpty()) {
+            return false;
+        }
+
+        TypeElement element = super.processingEnv.getElementUtils().getTypeElement(className.replace('$', '.'));
+        return element != null
+                && (element.getAnnotation(Tagger.class) != null || element.getAnnotation(Taggers.class) != null);
+    }
+
+    /**
+     * 将所有类的全路径名写入到索引文件中.
+     */
+    private void writeIndex() {
+        try {
+            FileObject file = super.processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", Const.TAGGER_INDEX_LOCATION);
+            try (Writer writer = file.openWriter()) {
+                for (String className : this.classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            super.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "【Fenix 警告】生成 Fenix 标签处理器的索引文件【" + Const.TAGGER_INDEX_LOCATION + "】失败：" + e.getMessage());
+        }
+    }
+
+}
@@ -1,8 +1,16 @@
 package com.blinkfox.fenix.config.entity;
 
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.FenixHandlerFactory;
+import com.blinkfox.fenix.core.concrete.NormalHandler;
+import com.blinkfox.fenix.exception.FenixException;
+import com.blinkfox.fenix.helper.StringHelper;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import lombok.Getter;
 
 /**
@@ -14,6 +22,11 @@ import lombok.Getter;
  */
 public class TagHandler {
 
+    /**
+     * Fenix 内置标签处理器所在的包名.
+     */
+    private static final String BUILT_IN_HANDLER_PACKAGE = NormalHandler.class.getPackage().getName();
+
     /**
      * 生成 SQL 片段的前缀，如: 'and', 'or' 等.
      */
@@ -40,6 +53,34 @@ public class TagHandler {
     @Getter
     private String symbol;
 
+    /**
+     * 标签处理器实现类标注了 {@link Stateless} 注解时，所有请求和线程共享的标签处理器实例，会在首次使用时初始化.
+     *
+     * @since v3.2.0
+     */
+    private volatile FenixHandler sharedHandler;
+
+    /**
+     * 是否已确定标签处理器实现类没有标注 {@link Stateless} 注解，即每次渲染都需要新建实例.
+     *
+     * @since v3.2.0
+     */
+    private volatile boolean stateful;
+
+    /**
+     * 标签处理器 class 的无参构造方法所对应的 {@link MethodHandle}，会在首次使用时初始化.
+     *
+     * @since v3.2.0
+     */
+    private volatile MethodHandle constructor;
+
+    /**
+     * 标签处理器是否是 Fenix 内置的标签处理器，会在首次判断时确定.
+     *
+     * @since v3.2.0
+     */
+    private volatile Boolean builtIn;
+
     /**
      * 仅标签对应的标签处理器 class 的构造方法.
      *
@@ -132,4 +173,90 @@ public class TagHandler {
         this.symbol = symbol;
     }
 
+    /**
+     * 获取用于执行该标签的 {@link FenixHandler} 标签处理器实例.
+     *
+     * <p>默认每次都会新建一个实例，其中基于 class 的标签处理器会通过缓存的构造方法 {@link MethodHandle} 来实例化，
+     * 不再每次都通过反射查找构造方法；如果标签处理器实现类标注了 {@link Stateless} 注解，首次创建实例之后，
+     * 之后每次都会直接返回这个共享的实例.</p>
+     *
+     * @return {@link FenixHandler} 实例
+     * @since v3.2.0
+     */
+    public FenixHandler getFenixHandler() {
+        FenixHandler handler = this.sharedHandler;
+        if (handler != null) {
+            return handler;
+        }
+
+        handler = this.newFenixHandler();
+        if (!this.stateful) {
+            if (handler.getClass().isAnnotationPresent(Stateless.class)) {
+                this.sharedHandler = handler;
+            } else {
+                this.stateful = true;
+            }
+        }
+        return handler;
+    }
+
+    /**
+     * 判断该标签的标签处理器是否是 Fenix 内置的标签处理器.
+     *
+     * <p>基于工厂的标签处理器须要创建一次实例才能得知其实现类，所以判断结果会被缓存下来，每个标签只会判断一次.</p>
+     *
+     * @return 布尔值
+     * @since v3.2.0
+     */
+    public boolean isBuiltIn() {
+        Boolean result = this.builtIn;
+        if (result == null) {
+            Class<?> cls = this.handlerCls != null ? this.handlerCls : this.getFenixHandler().getClass();
+            result = BUILT_IN_HANDLER_PACKAGE.equals(cls.getPackage().getName());
+            this.builtIn = result;
+        }
+        return result;
+    }
+
+    /**
+     * 新建一个 {@link FenixHandler} 标签处理器实例.
+     *
+     * @return {@link FenixHandler} 实例
+     */
+    private FenixHandler newFenixHandler() {
+        if (this.handlerFactory != null) {
+            return this.handlerFactory.newInstance();
+        }
+
+        try {
+            MethodHandle handle = this.constructor;
+            if (handle == null) {
+                handle = this.findConstructor().asType(MethodType.methodType(FenixHandler.class));
+                this.constructor = handle;
+            }
+            return (FenixHandler) handle.invokeExact();
+        } catch (Throwable e) {
+            throw new FenixException(StringHelper.format("【Fenix 异常】访问或实例化【{}】class 出错!",
+                    this.handlerCls.getName()), e);
+        }
+    }
+
+    /**
+     * 查找标签处理器 class 的无参构造方法，非 public 的类或构造方法也能够被查找到.
+     *
+     * @return 构造方法对应的 {@link MethodHandle}
+     * @throws ReflectiveOperationException 反射查找构造方法时的异常
+     */
+    private MethodHandle findConstructor() throws ReflectiveOperationException {
+        try {
+            return MethodHandles.privateLookupIn(this.handlerCls, MethodHandles.lookup())
+                    .findConstructor(this.handlerCls, MethodType.methodType(void.class));
+        } catch (IllegalAccessException e) {
+            // 无法获取该类所在模块的私有访问权限时，就退回到通过反射来获取构造方法.
+            Constructor<? extends FenixHandler> ctor = this.handlerCls.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(ctor);
+        }
+    }
+
 }
@@ -8,15 +8,20 @@ import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.helper.CollectionHelper;
 import com.blinkfox.fenix.helper.StringHelper;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -64,6 +69,7 @@ public final class TaggerScanner {
         // 对配置的 XML 路径按逗号分割的规则来解析，如果是 XML 文件则直接将该 XML 文件存放到 classSet 的 Set 集合中.
         // 否则就代表是 XML 资源目录，并解析目录下所有的 XML 文件，将这些 XML 文件存放到 xmlPaths 的 Set 集合中.
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Map<String, Set<String>> taggerIndexMap = this.readTaggerIndex(classLoader);
         String[] locationArr = handlerLocations.split(Const.COMMA);
         for (String location : locationArr) {
             if (StringHelper.isBlank(location)) {
@@ -71,18 +77,83 @@ public final class TaggerScanner {
             }
 
             // 判断文件如果是具体的 Java 文件或 class 文件，如果是的话，就将文件解析成 Class 对象.
-            // 如果都不是，则视其为包,然后解析该包及子包下面的所有 class 文件.
+            // 如果都不是，则视其为包，该包所在的目录或 jar 包中有编译期间生成的索引时，就从索引中加载该包及子包下的类，否则扫描该包下面的所有 class 文件.
             String handlerLocation = location.trim();
             if (StringHelper.isJavaFile(handlerLocation) || StringHelper.isClassFile(handlerLocation)) {
                 this.addClassByName(classLoader, handlerLocation.substring(0, handlerLocation.lastIndexOf(Const.DOT)));
             } else {
-                this.addClassByPackage(classLoader, handlerLocation);
+                this.addClassByPackage(classLoader, handlerLocation, taggerIndexMap);
             }
         }
 
         this.addTagHanderInMap();
     }
 
+    /**
+     * 读取类路径下所有编译期间生成的 {@link Tagger} 索引文件.
+     *
+     * <p>返回的 Map 中，key 是索引文件所在的类路径根目录或 jar 包的 URL，value 是该索引中所有类的全路径名集合.
+     * 索引只描述了与它位于同一个根目录或 jar 包中的类，其他没有索引的根目录或 jar 包仍然需要扫描.</p>
+     *
+     * @param classLoader ClassLoader 实例
+     * @return 各个根目录或 jar 包中的索引 Map
+     * @since v3.2.0
+     */
+    private Map<String, Set<String>> readTaggerIndex(ClassLoader classLoader) {
+        Map<String, Set<String>> taggerIndexMap = new HashMap<>();
+        try {
+            Enumeration<URL> urlEnum = classLoader.getResources(Const.TAGGER_INDEX_LOCATION);
+            while (urlEnum.hasMoreElements()) {
+                URL url = urlEnum.nextElement();
+                Set<String> classNames = new LinkedHashSet<>();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines().map(String::trim).filter(StringHelper::isNotBlank).forEach(classNames::add);
+                }
+                taggerIndexMap.put(getRootUrl(url, Const.TAGGER_INDEX_LOCATION), classNames);
+            }
+        } catch (IOException e) {
+            log.warn("【Fenix 警告】读取 Fenix 标签处理器的索引文件【" + Const.TAGGER_INDEX_LOCATION + "】出错，将扫描包下所有的类.", e);
+            taggerIndexMap.clear();
+        }
+        return taggerIndexMap;
+    }
+
+    /**
+     * 根据资源的 URL 和该资源相对于类路径根目录的路径，得到其所在的根目录或 jar 包的 URL 字符串.
+     *
+     * @param url 资源的 URL
+     * @param relativePath 资源相对于根目录的路径
+     * @return 根目录或 jar 包的 URL 字符串
+     * @since v3.2.0
+     */
+    private static String getRootUrl(URL url, String relativePath) {
+        String urlText = url.toString();
+        if (urlText.endsWith("/")) {
+            urlText = urlText.substring(0, urlText.length() - 1);
+        }
+        return urlText.endsWith(relativePath)
+                ? urlText.substring(0, urlText.length() - relativePath.length())
+                : urlText;
+    }
+
+    /**
+     * 从索引中加载某个包及子包下的类.
+     *
+     * @param classLoader ClassLoader 实例
+     * @param indexedClassNames 索引中所有类的全路径名集合
+     * @param packageName 包名
+     * @since v3.2.0
+     */
+    private void addClassByIndex(ClassLoader classLoader, Set<String> indexedClassNames, String packageName) {
+        String packagePrefix = packageName + Const.DOT;
+        for (String className : indexedClassNames) {
+            if (className.startsWith(packagePrefix)) {
+                this.addClassByName(classLoader, className);
+            }
+        }
+    }
+
     /**
      * 根据 classLoader 和 className 找到对应的 class 对象.
      *
@@ -101,10 +172,14 @@ public final class TaggerScanner {
     /**
      * 根据包名和 Classloader 实例，将该包下的所有 Class 存放到 classSet 集合中.
      *
+     * <p>该包所在的根目录或 jar 包中有索引文件时，直接从索引中加载该包下的类，否则扫描该包下的所有 class 文件.</p>
+     *
      * @param classLoader ClassLoader 实例
      * @param packageName 包名
+     * @param taggerIndexMap 各个根目录或 jar 包中的索引 Map
      */
-    private void addClassByPackage(ClassLoader classLoader, String packageName) {
+    private void addClassByPackage(ClassLoader classLoader, String packageName,
+            Map<String, Set<String>> taggerIndexMap) {
         // 根据包名和 Classloader 实例，得到该包的 URL Enumeration.
         String packageDirName = packageName.replace('.', '/');
         Enumeration<URL> urlEnum = this.getUrlsByPackge(classLoader, packageDirName);
@@ -114,6 +189,13 @@ public final class TaggerScanner {
 
         while (urlEnum.hasMoreElements()) {
             URL url = urlEnum.nextElement();
+            Set<String> indexedClassNames = taggerIndexMap.get(getRootUrl(url, packageDirName));
+            if (indexedClassNames != null) {
+                log.debug("【Fenix 提示】将从索引文件中加载【{}】中的 Fenix 标签处理器类.", url);
+                this.addClassByIndex(classLoader, indexedClassNames, packageName);
+                continue;
+            }
+
             String protocol = url.getProtocol();
             if (FILE_PROTOCOL.equals(protocol)) {
                 try {
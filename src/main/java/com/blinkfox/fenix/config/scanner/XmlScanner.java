@@ -4,14 +4,22 @@ import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.exception.ConfigNotFoundException;
 import com.blinkfox.fenix.exception.FenixException;
+import com.blinkfox.fenix.helper.ParallelHelper;
 import com.blinkfox.fenix.helper.StringHelper;
 import com.blinkfox.fenix.helper.XmlNodeHelper;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import lombok.extern.slf4j.Slf4j;
 import org.dom4j.Document;
 import org.dom4j.Node;
@@ -34,6 +42,23 @@ public class XmlScanner {
      */
     private static final String DIR_XML_PATTERN = "**/*.xml";
 
+    /**
+     * 每个线程复用的 dom4j {@link SAXReader} 实例，{@link SAXReader} 不是线程安全的，但可以在同一个线程中重复使用.
+     */
+    private static final ThreadLocal<SAXReader> SAX_READER = ThreadLocal.withInitial(SAXReader::new);
+
+    /**
+     * 用于快速读取 XML 根节点的 StAX 工厂，{@link XMLInputFactory} 配置完成之后是线程安全的.
+     */
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
     /**
      * 扫描指定路径下的相关文件(可以是目录，也可以是具体的文件)，并配置存储起来.
      *
@@ -41,9 +66,52 @@ public class XmlScanner {
      * @return XML 资源的 Map
      */
     public Map<String, XmlResource> scan(String xmlLocations) {
-        Map<String, XmlResource> xmlResourceMap = new HashMap<>();
+        // 先并行查找各个位置下的 XML 资源，再并行读取和解析这些 XML 文件，
+        // 最后仍然按照扫描到的顺序存入 Map 中，使得加载结果和异常信息都与串行加载时保持一致.
+        Map<String, XmlResource> xmlResourceMap = new LinkedHashMap<>();
+        try {
+            for (XmlResource xmlResource : ParallelHelper.mapInOrder(this.scanResources(xmlLocations),
+                    XmlScanner::readXmlResource)) {
+                if (xmlResource != null) {
+                    xmlResourceMap.put(xmlResource.getUrl().getPath(), xmlResource);
+                }
+            }
+        } finally {
+            SAX_READER.remove();
+        }
+        return xmlResourceMap;
+    }
+
+    /**
+     * 扫描指定路径下的相关文件(可以是目录，也可以是具体的文件)，但只快速读取各个 XML 文件的根节点，
+     * 建立起 Fenix XML 命名空间和 XML 文件 URL 的索引，不会解析整个 XML 文件，用于延迟加载.
+     *
+     * @param xmlLocations 文件位置路径，可以是多个，用逗号隔开
+     * @return 命名空间和 XML 文件 URL 集合的 Map
+     * @since v3.2.0
+     */
+    public Map<String, Set<URL>> scanNamespaces(String xmlLocations) {
+        List<ScannedResource> scannedResources = this.scanResources(xmlLocations);
+        List<String> namespaces = ParallelHelper.mapInOrder(scannedResources, XmlScanner::sniffNamespace);
+        Map<String, Set<URL>> namespaceUrlMap = new LinkedHashMap<>();
+        for (int i = 0, len = namespaces.size(); i < len; i++) {
+            if (namespaces.get(i) != null) {
+                namespaceUrlMap.computeIfAbsent(namespaces.get(i), k -> new LinkedHashSet<>())
+                        .add(scannedResources.get(i).url);
+            }
+        }
+        return namespaceUrlMap;
+    }
+
+    /**
+     * 并行查找指定路径下的所有 XML 资源，并按配置的顺序合并去重.
+     *
+     * @param xmlLocations 文件位置路径，可以是多个，用逗号隔开
+     * @return 扫描到的 XML 资源集合
+     */
+    private List<ScannedResource> scanResources(String xmlLocations) {
         if (StringHelper.isBlank(xmlLocations)) {
-            return xmlResourceMap;
+            return new ArrayList<>();
         }
 
         // 对配置的 XML 路径按逗号分割的规则来解析.
@@ -52,57 +120,114 @@ public class XmlScanner {
             log.debug("【Fenix 提示】将扫描这些位置的 Fenix XML 文件：【{}】", Arrays.asList(xmlLocationArr));
         }
 
+        List<String> locations = new ArrayList<>(xmlLocationArr.length);
         for (String xmlLocation : xmlLocationArr) {
             if (StringHelper.isBlank(xmlLocation)) {
                 continue;
             }
 
             // 将该 XML 位置去除两边空白. 如果是 XML 文件则直接查找该 XML 文件，否则替换掉 '.' 号为 '/' 号，就代表资源目录.
-            // 然后解析该目录下所有的 XML 文件，将这些 Fenix XML 文件解析出来，然后构建出 XmlResource 的集合，
             String location = xmlLocation.trim();
             if (StringHelper.isXmlFile(location)) {
-                this.buildXmlResourcesByLocation(xmlResourceMap, location);
+                locations.add(location);
             } else {
                 location = location.replace(Const.DOT, Const.SLASH);
                 location = location.endsWith(Const.SLASH) ? location : location + Const.SLASH;
-                this.buildXmlResourcesByLocation(xmlResourceMap, location + DIR_XML_PATTERN);
+                locations.add(location + DIR_XML_PATTERN);
             }
         }
-        return xmlResourceMap;
+
+        List<Resource[]> resourcesList = ParallelHelper.mapInOrder(locations, this::getResourcesByLocation);
+        Map<String, ScannedResource> scannedMap = new LinkedHashMap<>();
+        for (int i = 0, len = locations.size(); i < len; i++) {
+            this.collectResources(scannedMap, locations.get(i), resourcesList.get(i));
+        }
+        return new ArrayList<>(scannedMap.values());
     }
 
     /**
-     * 根据指定的一个包扫描其下所有的 XML 文件.
+     * 将某个位置下查找到的 XML 资源按顺序收集到 Map 中，已经扫描过的 XML 文件将被跳过.
      *
-     * @param xmlResourceMap XML 资源文件 Map
+     * @param scannedMap 已扫描到的 XML 资源的 Map
      * @param location XML 位置，可以是一个包，也可以是一个具体的文件路径
+     * @param resources 该位置下的 XML 资源数组
      */
-    private void buildXmlResourcesByLocation(Map<String, XmlResource> xmlResourceMap, String location) {
-        // 根据位置获取对应的 XML 资源实例.
-        Resource[] resources = this.getResourcesByLocation(location);
-
+    private void collectResources(Map<String, ScannedResource> scannedMap, String location, Resource[] resources) {
         try {
             for (Resource resource : resources) {
                 URL url = resource.getURL();
                 String path = url.getPath();
-                if (xmlResourceMap.containsKey(path)) {
+                if (scannedMap.containsKey(path)) {
                     log.debug("【Fenix 提示】已经扫描过了【" + path + "】文件，将跳过该 XML 文件的初始化加载.");
                     continue;
                 }
-
-                // 获取该资源文件中的 Fenix XML 文件的 Document 对象，并存入到 Map 中.
-                try (InputStream in = resource.getInputStream()) {
-                    XmlResource xmlResource = getFenixXmlResource(in, path);
-                    if (xmlResource != null) {
-                        xmlResourceMap.put(path, xmlResource.setUrl(url));
-                    }
-                }
+                scannedMap.put(path, new ScannedResource(location, resource, url));
             }
         } catch (IOException e) {
             throw new FenixException("【Fenix 异常】初始化读取【" + location + "】下的 Fenix XML 文件出错，请检查！", e);
         }
     }
 
+    /**
+     * 读取和解析某个 XML 资源，如果不是 Fenix XML 文件，则返回 {@code null}.
+     *
+     * @param scanned 扫描到的 XML 资源
+     * @return Fenix XML 资源
+     */
+    private static XmlResource readXmlResource(ScannedResource scanned) {
+        // 获取该资源文件中的 Fenix XML 文件的 Document 对象.
+        try (InputStream in = scanned.resource.getInputStream()) {
+            XmlResource xmlResource = getFenixXmlResource(in, scanned.url.getPath(), SAX_READER.get());
+            return xmlResource == null ? null : xmlResource.setUrl(scanned.url);
+        } catch (IOException e) {
+            throw new FenixException("【Fenix 异常】初始化读取【" + scanned.location
+                    + "】下的 Fenix XML 文件出错，请检查！", e);
+        }
+    }
+
+    /**
+     * 使用 StAX 只读取 XML 资源的根节点，如果是 Fenix XML 文件就返回其命名空间，否则返回 {@code null}.
+     *
+     * @param scanned 扫描到的 XML 资源
+     * @return 命名空间
+     */
+    private static String sniffNamespace(ScannedResource scanned) {
+        String path = scanned.url.getPath();
+        XMLStreamReader reader = null;
+        try (InputStream in = scanned.resource.getInputStream()) {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            reader.nextTag();
+            if (!XpathConst.FENIX_ROOT_NAME.equals(reader.getLocalName())) {
+                return null;
+            }
+
+            String namespace = reader.getAttributeValue(null, XpathConst.NAMESPACE_NAME);
+            if (StringHelper.isBlank(namespace)) {
+                throw new ConfigNotFoundException("【Fenix 警示】Fenix XML 文件 " + path + " 的根节点 namespace "
+                        + "命名空间属性未配置，请配置!");
+            }
+            return namespace;
+        } catch (XMLStreamException expected) {
+            log.info("【Fenix 提示】解析路径为:【" + path + "】的 Fenix XML 文件异常，将忽略此文件!");
+            return null;
+        } catch (IOException e) {
+            throw new FenixException("【Fenix 异常】初始化读取【" + scanned.location
+                    + "】下的 Fenix XML 文件出错，请检查！", e);
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException expected) {
+                log.debug("【Fenix 提示】关闭 XML 读取器失败.", expected);
+            }
+        }
+    }
+
     /**
      * 根据资源文件位置的匹配规则查找到其下对应的 Fenix XML 文件资源的数组.
      *
@@ -127,15 +252,31 @@ public class XmlScanner {
      * @return Fenix XML 资源
      */
     public static XmlResource getFenixXmlResource(InputStream in, String path) {
+        return getFenixXmlResource(in, path, new SAXReader());
+    }
+
+    private static XmlResource getFenixXmlResource(InputStream in, String path, SAXReader saxReader) {
         Document doc;
         try {
-            doc = new SAXReader().read(in);
+            doc = saxReader.read(in);
         } catch (Exception expected) {
             // 由于只是判断该文件是否能被正确解析，所有这里就不抛出异常堆栈信息了.
             log.info("【Fenix 提示】解析路径为:【" + path + "】的 Fenix XML 文件异常，将忽略此文件!");
             return null;
         }
 
+        return getFenixXmlResource(doc, path);
+    }
+
+    /**
+     * 根据已经解析好的 XML 文档获取 Fenix 的 XML 文件资源信息，如果不是 Fenix XML 文件，则返回 {@code null}.
+     *
+     * @param doc dom4j 文档
+     * @param path 文件路径
+     * @return Fenix XML 资源
+     * @since v3.2.0
+     */
+    public static XmlResource getFenixXmlResource(Document doc, String path) {
         // 获取 XML 文件的根节点，如果根节点是 '<fenixs></fenixs>'，说明是 Fenix XML 文件
         // 然后获取其属性 namespace 的值，如果命名空间为空，就抛出异常.
         Node root = doc.getRootElement();
@@ -151,4 +292,23 @@ public class XmlScanner {
         return null;
     }
 
+    /**
+     * 扫描到的、还未解析的 XML 资源.
+     */
+    private static final class ScannedResource {
+
+        private final String location;
+
+        private final Resource resource;
+
+        private final URL url;
+
+        private ScannedResource(String location, Resource resource, URL url) {
+            this.location = location;
+            this.resource = resource;
+            this.url = url;
+        }
+
+    }
+
 }
@@ -91,4 +91,53 @@ public final class Const {
      */
     public static final int DEFAULT_BATCH_SIZE = 500;
 
+    /**
+     * 默认缓存已编译的 MVEL 表达式或模板的最大数量.
+     *
+     * @since v3.2.0
+     */
+    public static final int DEFAULT_EXPRESSION_CACHE_SIZE = 1024;
+
+    /**
+     * 默认每个 fenix 节点缓存的已规范化 SQL 形态的最大数量.
+     *
+     * @since v3.2.0
+     */
+    public static final int DEFAULT_SQL_SHAPE_CACHE_SIZE = 64;
+
+    /**
+     * 默认启动预热时每个 fenix 节点最多遍历的条件分支组合数量.
+     *
+     * @since v3.2.0
+     */
+    public static final int DEFAULT_PREWARM_MAX_COMBINATIONS = 64;
+
+    /**
+     * 默认流式查询时每次从数据库游标中获取的记录数，同时也是默认移除已读取实体的间隔记录数.
+     *
+     * @since v3.2.0
+     */
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * 默认缓存 Java API 拼接出的已规范化 SQL 的最大数量.
+     *
+     * @since v3.2.0
+     */
+    public static final int DEFAULT_JAVA_SQL_CACHE_SIZE = 1024;
+
+    /**
+     * 热加载 Fenix XML 文件时，合并同一批文件变更事件的等待时间，单位为毫秒.
+     *
+     * @since v3.2.0
+     */
+    public static final long HOT_RELOAD_DELAY_MILLIS = 200L;
+
+    /**
+     * 编译期间生成的 Fenix 标签处理器类的索引文件的位置.
+     *
+     * @since v3.2.0
+     */
+    public static final String TAGGER_INDEX_LOCATION = "META-INF/fenix/taggers.idx";
+
 }
@@ -0,0 +1,44 @@
+package com.blinkfox.fenix.consts;
+
+import lombok.Getter;
+import org.mvel2.optimizers.OptimizerFactory;
+
+/**
+ * MVEL 执行已编译表达式时所使用的属性访问优化器的类型.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public enum ExpressionOptimizerEnum {
+
+    /**
+     * 动态优化器，先使用反射访问属性，在执行达到一定次数之后再生成 ASM 字节码来访问，这也是 MVEL 默认的优化器.
+     */
+    DYNAMIC(OptimizerFactory.DYNAMIC),
+
+    /**
+     * ASM 字节码优化器，直接生成字节码来访问属性，执行速度最快，但首次执行时生成字节码的开销较大.
+     */
+    ASM("ASM"),
+
+    /**
+     * 安全的反射优化器，只使用反射来访问属性，不会生成任何字节码.
+     */
+    REFLECTIVE(OptimizerFactory.SAFE_REFLECTIVE);
+
+    /**
+     * MVEL 中 {@link OptimizerFactory} 所对应的优化器名称.
+     */
+    @Getter
+    private final String optimizer;
+
+    /**
+     * 构造方法.
+     *
+     * @param optimizer MVEL 中的优化器名称
+     */
+    ExpressionOptimizerEnum(String optimizer) {
+        this.optimizer = optimizer;
+    }
+
+}
@@ -27,6 +27,20 @@ public final class XpathConst {
      */
     public static final String ATTR_NAMESPACE = "attribute::namespace";
 
+    /**
+     * FENIX XML 根节点中命名空间属性的名称.
+     *
+     * @since v3.2.0
+     */
+    public static final String NAMESPACE_NAME = "namespace";
+
+    /**
+     * 标签属性的 XPATH 前缀常量.
+     *
+     * @since v3.2.0
+     */
+    public static final String ATTR_PREFIX = "attribute::";
+
     /**
      * 查找标签子节点的 XPATH 常量.
      */
@@ -125,4 +139,53 @@ public final class XpathConst {
      */
     public static final String ATTR_ELSE = "attribute::else";
 
+    /**
+     * 用于表示 “collection” 的属性 XPATH 常量.
+     *
+     * @since v3.2.0
+     */
+    public static final String ATTR_COLLECTION = "attribute::collection";
+
+    /**
+     * 用于表示 “item” 的属性 XPATH 常量.
+     *
+     * @since v3.2.0
+     */
+    public static final String ATTR_ITEM = "attribute::item";
+
+    /**
+     * 用于表示 “index” 的属性 XPATH 常量.
+     *
+     * @since v3.2.0
+     */
+    public static final String ATTR_INDEX = "attribute::index";
+
+    /**
+     * 用于表示 “open” 的属性 XPATH 常量.
+     *
+     * @since v3.2.0
+     */
+    public static final String ATTR_OPEN = "attribute::open";
+
+    /**
+     * 用于表示 “separator” 的属性 XPATH 常量.
+     *
+     * @since v3.2.0
+     */
+    public static final String ATTR_SEPARATOR = "attribute::separator";
+
+    /**
+     * 用于表示 “close” 的属性 XPATH 常量.
+     *
+     * @since v3.2.0
+     */
+    public static final String ATTR_CLOSE = "attribute::close";
+
+    /**
+     * 用于表示 “padding” 的属性 XPATH 常量.
+     *
+     * @since v3.2.0
+     */
+    public static final String ATTR_PADDING = "attribute::padding";
+
 }
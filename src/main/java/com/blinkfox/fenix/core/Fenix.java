@@ -4,6 +4,7 @@ import com.blinkfox.fenix.bean.BuildSource;
 import com.blinkfox.fenix.bean.SqlInfo;
 import com.blinkfox.fenix.config.FenixConfig;
 import com.blinkfox.fenix.config.FenixConfigManager;
+import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.consts.SqlKeyConst;
 import com.blinkfox.fenix.consts.SymbolConst;
 import com.blinkfox.fenix.core.builder.JavaSqlInfoBuilder;
@@ -11,10 +12,12 @@ import com.blinkfox.fenix.core.concrete.EndsWithHandler;
 import com.blinkfox.fenix.core.concrete.StartsWithHandler;
 import com.blinkfox.fenix.exception.FenixException;
 import com.blinkfox.fenix.helper.SqlInfoPrinter;
+import com.blinkfox.fenix.helper.SqlNormalizer;
 import com.blinkfox.fenix.helper.StringHelper;
 import java.util.Collection;
 import java.util.Map;
 import java.util.function.Consumer;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * 使用 XML 或者 Java 链式写法来拼接 JPQL 或者 SQL 语句和对应命名参数的 {@link com.blinkfox.fenix.bean.SqlInfo} 信息的核心 API 类.
@@ -46,6 +49,14 @@ public final class Fenix {
      */
     private BuildSource source;
 
+    /**
+     * 缓存 Java API 拼接出的原始 SQL 和规范化之后的 SQL 的映射关系的 LRU 缓存，容量取自配置的
+     * {@link FenixConfig#getJavaSqlCacheSize()}，首次使用或者配置的容量变化时才会（重新）创建.
+     *
+     * @since v3.2.0
+     */
+    private static volatile ConcurrentLruCache<String, String> sqlCache;
+
     /**
      * 私有构造方法，构造时就初始化 {@link BuildSource} 相应的参数信息.
      */
@@ -69,16 +80,48 @@ public final class Fenix {
      */
     public SqlInfo end() {
         SqlInfo sqlInfo = this.source.getSqlInfo();
-        sqlInfo.setSql(StringHelper.replaceWhereAndOr(StringHelper.replaceBlank(sqlInfo.getJoin().toString())));
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        String rawSql = sqlInfo.getJoin().toString();
+        int cacheSize = fenixConfig == null ? Const.DEFAULT_JAVA_SQL_CACHE_SIZE : fenixConfig.getJavaSqlCacheSize();
+        sqlInfo.setSql(cacheSize <= 0 ? normalizeSql(rawSql) : getSqlCache(cacheSize).get(rawSql));
 
         // 判断是否打印 SqlInfo 信息.
-        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
         if (fenixConfig != null && fenixConfig.isPrintSqlInfo()) {
             new SqlInfoPrinter().print(sqlInfo);
         }
         return sqlInfo;
     }
 
+    /**
+     * 获取指定容量的 Java API SQL 缓存，如果缓存还未创建或者容量与配置的不一致，就重新创建.
+     *
+     * @param cacheSize 缓存的最大数量
+     * @return LRU 缓存
+     */
+    private static ConcurrentLruCache<String, String> getSqlCache(int cacheSize) {
+        ConcurrentLruCache<String, String> cache = sqlCache;
+        if (cache == null || cache.capacity() != cacheSize) {
+            synchronized (Fenix.class) {
+                cache = sqlCache;
+                if (cache == null || cache.capacity() != cacheSize) {
+                    cache = new ConcurrentLruCache<>(cacheSize, Fenix::normalizeSql);
+                    sqlCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * 规范化 Java API 拼接出的原始 SQL，即去除多余的空白字符、去除 {@code WHERE} 后多余的 {@code AND} 或者 {@code OR} 等.
+     *
+     * @param rawSql 原始 SQL
+     * @return 规范化之后的 SQL
+     */
+    private static String normalizeSql(String rawSql) {
+        return SqlNormalizer.normalize(rawSql);
+    }
+
     /**
      * 通过传入 fullFenixId（命名空间和 Fenix 节点的 ID）和上下文参数，
      * 来简单快速的生成和获取 {@link SqlInfo} 信息(有参的SQL).
@@ -104,6 +147,23 @@ public final class Fenix {
         return FenixXmlBuilder.getXmlSqlInfo(namespace, fenixId, context);
     }
 
+    /**
+     * 通过传入 Fenix XML 文件对应的命名空间、Fenix 节点的 ID、上下文参数对象以及是否是原生 SQL，
+     * 来生成和获取 {@link SqlInfo} 信息(有参的SQL).
+     *
+     * <p>原生 SQL 中超大的 IN 查询参数集合不会以 {@code array_contains} 的数组参数来绑定，而是拆分成多个 IN 条件.</p>
+     *
+     * @param namespace XML 命名空间
+     * @param fenixId XML 中的 fenixId
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     * @param nativeQuery 是否是原生 SQL
+     * @return 返回 {@link SqlInfo} 对象
+     * @since v3.2.0
+     */
+    public static SqlInfo getXmlSqlInfo(String namespace, String fenixId, Object context, boolean nativeQuery) {
+        return FenixXmlBuilder.getXmlSqlInfo(namespace, fenixId, context, nativeQuery);
+    }
+
     /**
      * 连接字符串.
      *
@@ -120,6 +180,18 @@ public final class Fenix {
         return this;
     }
 
+    /**
+     * 标记当前拼接的是原生 SQL，之后拼接的超大 IN 查询参数集合不会以 {@code array_contains} 的数组参数来绑定，
+     * 而是拆分成多个 IN 条件，须在拼接 IN 条件之前调用.
+     *
+     * @return {@link Fenix} 实例
+     * @since v3.2.0
+     */
+    public Fenix nativeQuery() {
+        this.source.getSqlInfo().setNativeQuery(true);
+        return this;
+    }
+
     /**
      * 拼接并带上 'INSERT INTO' 关键字的字符串.
      *
@@ -6,10 +6,9 @@ import com.blinkfox.fenix.config.FenixConfig;
 import com.blinkfox.fenix.config.entity.TagHandler;
 import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.consts.SymbolConst;
-import com.blinkfox.fenix.exception.FenixException;
+import com.blinkfox.fenix.core.plan.TagStep;
 import com.blinkfox.fenix.exception.NodeNotFoundException;
 import com.blinkfox.fenix.helper.StringHelper;
-import java.lang.reflect.InvocationTargetException;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.util.StringUtils;
@@ -58,35 +57,24 @@ public final class FenixContext {
     }
 
     /**
-     * 根据标签名称和对应的构建参数构造出对应标签的 JPQL (或者 SQL)与参数.
-     * <p>获取所有配置的标签和标签处理器的全局 map 对象，并得到对应标签的标签处理器.
+     * 根据预编译的标签步骤和对应的构建参数构造出对应标签的 JPQL (或者 SQL)与参数.
+     * <p>优先使用编译时就已解析好的标签处理器，如果编译时该标签还未注册，才从全局的标签处理器 map 对象中查找.
      * 如果有对应的 handler 处理器，就执行该标签中对应 handler 对象的方法.</p>
      *
      * @param source 构建所需的资源对象
-     * @param tag 标签名称
+     * @param step 标签步骤
+     * @since v3.2.0
      */
-    static void buildSqlInfo(BuildSource source, String tag) {
-        TagHandler handler = FenixConfig.getTagHandlerMap().get(tag);
-        if (handler == null) {
-            throw new NodeNotFoundException(StringHelper.format("【Fenix 异常】未找到该【<{}>】标签对应的处理器.", tag));
+    public static void buildSqlInfo(BuildSource source, TagStep step) {
+        TagHandler handler = step.getTagHandler();
+        if (handler == null && (handler = FenixConfig.getTagHandlerMap().get(step.getName())) == null) {
+            throw new NodeNotFoundException(StringHelper.format("【Fenix 异常】未找到该【<{}>】标签对应的处理器.",
+                    step.getName()));
         }
 
-        // 首先获取 FenixHandlerFactory 对象，并判断其是否为空，如果不为空就直接调用 newInstance 来创建 FenixHandler 实例.
+        // 获取该标签对应的处理器实例并执行，标注了 @Stateless 注解的处理器会被共享，不会每次都新建实例.
         source.setPrefix(handler.getPrefix()).setSymbol(handler.getSymbol());
-        FenixHandlerFactory handlerFactory = handler.getHandlerFactory();
-        if (handlerFactory != null) {
-            handlerFactory.newInstance().buildSqlInfo(source);
-            return;
-        }
-
-        try {
-            // 否则就调用 getHandlerCls() 方法来使用反射获取该 Handler 对应的实例，并执行方法.
-            handler.getHandlerCls().getDeclaredConstructor().newInstance().buildSqlInfo(source);
-        } catch (InstantiationException | IllegalAccessException
-                | NoSuchMethodException | InvocationTargetException e) {
-            throw new FenixException(StringHelper.format("【Fenix 异常】访问或实例化【{}】class 出错!",
-                    handler.getHandlerCls().getName()), e);
-        }
+        handler.getFenixHandler().buildSqlInfo(source);
     }
 
 }
@@ -1,19 +1,23 @@
 package com.blinkfox.fenix.core;
 
-import com.blinkfox.fenix.bean.BuildSource;
 import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.FenixConfig;
 import com.blinkfox.fenix.config.FenixConfigManager;
 import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.consts.XpathConst;
+import com.blinkfox.fenix.core.plan.FenixPlan;
+import com.blinkfox.fenix.core.plan.FenixPlanCompiler;
+import com.blinkfox.fenix.core.plan.PlanStep;
+import com.blinkfox.fenix.core.plan.SqlShape;
 import com.blinkfox.fenix.exception.FenixException;
 import com.blinkfox.fenix.exception.NodeNotFoundException;
+import com.blinkfox.fenix.helper.ExpressionMemo;
 import com.blinkfox.fenix.helper.ParseHelper;
 import com.blinkfox.fenix.helper.SqlInfoPrinter;
 import com.blinkfox.fenix.helper.StringHelper;
 import com.blinkfox.fenix.helper.XmlNodeHelper;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.dom4j.Node;
@@ -29,11 +33,6 @@ import org.dom4j.Node;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class FenixXmlBuilder {
 
-    /**
-     * 用于解析出 '#{' 和 '}' 符号之间文本内容的正则表达式 Pattern（包含 '#{' 和 '}').
-     */
-    private static final Pattern PATTERN = Pattern.compile("(#\\{[^}]+})");
-
     /**
      * {@link FenixConfigManager} 对象的引用.
      */
@@ -68,19 +67,34 @@ public final class FenixXmlBuilder {
      * @return 返回 {@link SqlInfo} 对象
      */
     static SqlInfo getXmlSqlInfo(String namespace, String fenixId, Object context) {
+        return getXmlSqlInfo(namespace, fenixId, context, false);
+    }
+
+    /**
+     * 通过传入 Fenix XML 文件对应的命名空间、Fenix 节点的 ID、上下文参数对象以及是否是原生 SQL，
+     * 来生成和获取 {@link SqlInfo} 信息(有参的SQL).
+     *
+     * @param namespace XML 命名空间
+     * @param fenixId XML 中的 fenixId
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     * @param nativeQuery 是否是原生 SQL
+     * @return 返回 {@link SqlInfo} 对象
+     * @since v3.2.0
+     */
+    static SqlInfo getXmlSqlInfo(String namespace, String fenixId, Object context, boolean nativeQuery) {
         if (StringHelper.isBlank(namespace) || StringHelper.isBlank(fenixId)) {
             throw new FenixException("【Fenix 异常】请输入有效的 namespace 或者 fenixId 的值，两者之间用点号('.')隔开!");
         }
 
-        // 获取 namespace 文档中的指定的 fenixId 的节点对应的 Node 节点，如果是 debug 模式，则实时获取；否则从缓存中获取.
-        Node fenixNode = XmlNodeHelper.getNodeBySpaceAndId(namespace, fenixId);
-        if (fenixNode == null) {
+        // 获取 namespace 文档中的指定的 fenixId 的节点对应的渲染计划，如果是 debug 模式，则实时编译；否则从缓存中获取.
+        FenixPlan fenixPlan = getFenixPlan(namespace, fenixId);
+        if (fenixPlan == null) {
             throw new NodeNotFoundException(StringHelper.format("【Fenix 异常】未找到 namespace 为:【{}】,"
                     + " fenixId 为:【{}】的 XML 节点!", namespace, fenixId));
         }
 
         // 生成新的 SqlInfo 信息并打印出来.
-        SqlInfo sqlInfo = buildNewSqlInfo(namespace, fenixNode, context);
+        SqlInfo sqlInfo = buildNewSqlInfo(fenixPlan, context, nativeQuery);
         if (fenixConfigManager.getFenixConfig().isPrintSqlInfo()) {
             new SqlInfoPrinter().print(sqlInfo, namespace, fenixId);
         }
@@ -88,23 +102,75 @@ public final class FenixXmlBuilder {
     }
 
     /**
-     * 构建新的、完整的 {@link SqlInfo} 对象.
-     * <p>获取所有子节点，并分别将其使用 StringBuilder 拼接起来.</p>
-     * <ul>
-     *     <li>如果子节点 node 是文本节点，则直接获取其文本.</li>
-     *     <li>如果子节点 node 是元素节点，则再判断其是什么元素，动态判断条件和参数.</li>
-     * </ul>
+     * 判断是否存在 namespace 文档中指定 fenixId 的 fenix 节点.
      *
      * @param namespace XML 命名空间
-     * @param node dom4j 对象节点
+     * @param fenixId XML 中的 fenixId
+     * @return 布尔值
+     * @since v3.2.0
+     */
+    public static boolean hasFenixNode(String namespace, String fenixId) {
+        return getFenixPlan(namespace, fenixId) != null;
+    }
+
+    /**
+     * 获取 namespace 文档中的指定的 fenixId 的节点所对应的 {@link FenixPlan} 渲染计划.
+     *
+     * <p>如果是 debug 模式，则实时读取 XML 文件中的节点并编译；否则从预编译好的缓存中获取，延迟加载的命名空间会在第一次获取时加载.</p>
+     *
+     * @param namespace XML 命名空间
+     * @param fenixId XML 中的 fenixId
+     * @return {@link FenixPlan} 渲染计划，如果不存在则返回 {@code null}
+     * @since v3.2.0
+     */
+    public static FenixPlan getFenixPlan(String namespace, String fenixId) {
+        if (fenixConfigManager.getFenixConfig().isDebug()) {
+            Node fenixNode = XmlNodeHelper.getNodeBySpaceAndId(namespace, fenixId);
+            return fenixNode == null ? null : FenixPlanCompiler.compile(namespace, fenixNode);
+        }
+        return FenixConfig.getFenixPlan(namespace, fenixId);
+    }
+
+    /**
+     * 根据 {@link FenixPlan} 渲染计划构建新的、完整的 {@link SqlInfo} 对象.
+     *
+     * @param fenixPlan 渲染计划
      * @param context 上下文参数（一般是 Bean 或者 map）
+     * @param nativeQuery 是否是原生 SQL
      * @return 返回 {@link SqlInfo} 对象
      */
-    private static SqlInfo buildNewSqlInfo(String namespace, Node node, Object context) {
-        // 创建 SqlInfo 对象，并获取设置 resultType 的属性值.
+    private static SqlInfo buildNewSqlInfo(FenixPlan fenixPlan, Object context, boolean nativeQuery) {
+        // 创建 SqlInfo 对象，并设置 resultType 和 nativeQuery 的属性值，然后依次渲染各个步骤.
         SqlInfo sqlInfo = new SqlInfo();
-        sqlInfo.setResultType(XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_RESULT_TYPE));
-        return buildSqlInfo(namespace, sqlInfo, node, context);
+        sqlInfo.setResultType(fenixPlan.getResultType());
+        sqlInfo.setNativeQuery(nativeQuery);
+        renderPlanSteps(fenixPlan, sqlInfo, context);
+
+        // 渲染 SQL 中的 MVEL 模板之后，以得到的原始 SQL 文本作为 SQL 形态的 key，从缓存中获取已规范化的 SQL 并绑定最新的参数.
+        return fenixPlan.getSqlShape(ParseHelper.parseTemplate(sqlInfo.getJoin().toString(), context))
+                .bind(sqlInfo, context);
+    }
+
+    /**
+     * 依次渲染渲染计划中的各个步骤，如果该节点中有重复出现的表达式，则本次渲染中每个重复的表达式都只会计算一次.
+     *
+     * @param fenixPlan 渲染计划
+     * @param sqlInfo {@link SqlInfo} 信息
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     */
+    private static void renderPlanSteps(FenixPlan fenixPlan, SqlInfo sqlInfo, Object context) {
+        Map<String, Integer> expressionSlots = fenixPlan.getExpressionSlots();
+        if (expressionSlots.isEmpty()) {
+            renderSteps(fenixPlan.getNamespace(), sqlInfo, fenixPlan.getSteps(), context);
+            return;
+        }
+
+        ExpressionMemo previous = ParseHelper.startMemo(expressionSlots, context);
+        try {
+            renderSteps(fenixPlan.getNamespace(), sqlInfo, fenixPlan.getSteps(), context);
+        } finally {
+            ParseHelper.endMemo(previous);
+        }
     }
 
     /**
@@ -114,58 +180,41 @@ public final class FenixXmlBuilder {
      *     <li>如果子节点 node 是元素节点，则再判断其是什么元素，动态判断条件和参数.</li>
      * </ul>
      *
+     * <p>注：v3.2.0 版本开始，该方法会先将节点编译成渲染步骤再渲染，Fenix 内部已经直接使用预编译的渲染计划，
+     * 该方法仅为兼容自定义的标签处理器而保留.</p>
+     *
      * @param namespace XML 命名空间
      * @param sqlInfo {@link SqlInfo} 信息
      * @param node dom4j 对象节点
      * @param context 上下文参数（一般是 Bean 或者 map）
      * @return 返回 {@link SqlInfo} 对象
+     * @throws FenixException dom4j 节点为空时抛出此异常
      */
     public static SqlInfo buildSqlInfo(String namespace, SqlInfo sqlInfo, Node node, Object context) {
-        List<Node> nodes = node.selectNodes(XpathConst.ATTR_CHILD);
-        for (Node n : nodes) {
-            String nodeTypeName = n.getNodeTypeName();
-            if (Const.NODETYPE_TEXT.equals(nodeTypeName)) {
-                FenixContext.buildPlainTextSqlInfo(sqlInfo, n.getText());
-            } else if (Const.NODETYPE_ELEMENT.equals(nodeTypeName)) {
-                FenixContext.buildSqlInfo(new BuildSource(namespace, sqlInfo, n, context), n.getName());
-            }
+        if (node == null) {
+            throw new FenixException("【Fenix 异常】构建 SQL 信息时，传入的 dom4j 节点不能为空，请检查！");
         }
 
-        // 根据标签拼接得到 SqlInfo 信息，如果有 MVEL 的模板表达式，则执行计算出该表达式，并移除多余的空白字符.
-        // 如果 fenix 节点中，removeIfExist 属性值内容不为空，就移除指定的内容.
-        renderSqlAndOtherParams(sqlInfo, context);
-        String removeText = XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_REMOVE);
-        return StringHelper.isNotBlank(removeText) ? sqlInfo.removeIfExist(removeText) : sqlInfo;
+        renderSteps(namespace, sqlInfo, FenixPlanCompiler.compileSteps(node), context);
+        return SqlShape.of(ParseHelper.parseTemplate(sqlInfo.getJoin().toString(), context),
+                XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_REMOVE)).bind(sqlInfo, context);
     }
 
     /**
-     * 根据构建出的 {@link SqlInfo} 信息再做最后的模板渲染，SQL 内容去多余的空白，替换其他命名参数等.
+     * 依次渲染各个预编译的步骤，并将生成的 JPQL 或者 SQL 片段及参数追加到 {@link SqlInfo} 中.
      *
-     * <p>该方法主要做如下操作：</p>
-     * <ul>
-     *     <li>1. 使用 MVEL 渲染 SQL 字符串模板；</li>
-     *     <li>2. 替换多余的空白、换行符等为一个空格；</li>
-     *     <li>3. 替换 '#{xxx}' 中的内容为 ':xxx' 形式的命名参数；</li>
-     * </ul>
+     * <p>注：本方法不会做最后的模板渲染、去空白等操作，这些操作仅在最外层的 fenix 节点渲染完成之后做一次即可.</p>
      *
+     * @param namespace XML 命名空间
      * @param sqlInfo {@link SqlInfo} 信息
+     * @param steps 预编译的步骤集合
      * @param context 上下文参数（一般是 Bean 或者 map）
+     * @since v3.2.0
      */
-    private static void renderSqlAndOtherParams(SqlInfo sqlInfo, Object context) {
-        String sql = StringHelper.replaceBlank(ParseHelper.parseTemplate(sqlInfo.getJoin().toString(), context));
-
-        // 获取并替换 SQL 字符串中 '#{xxx}' 的内容，并更换成命名参数的方式.
-        Matcher matcher = PATTERN.matcher(sql);
-        while (matcher.find()) {
-            String hashTagText = matcher.group(1);
-            String text = hashTagText.substring(2, hashTagText.length() - 1);
-            String namedText = StringHelper.fixDot(text);
-            sqlInfo.getParams().put(namedText, ParseHelper.parseExpressWithException(text, context));
-            sql = sql.replace(hashTagText, Const.COLON + namedText);
+    public static void renderSteps(String namespace, SqlInfo sqlInfo, List<PlanStep> steps, Object context) {
+        for (PlanStep step : steps) {
+            step.render(namespace, sqlInfo, context);
         }
-
-        // 替换掉 'WHERE AND' 或者 'WHERE OR' 中的字符串为 'WHERE'.
-        sqlInfo.setSql(StringHelper.replaceWhereAndOr(sql));
     }
 
 }
@@ -2,13 +2,16 @@ package com.blinkfox.fenix.core.builder;
 
 import com.blinkfox.fenix.bean.BuildSource;
 import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.FenixConfigManager;
 import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.consts.LikeTypeEnum;
 import com.blinkfox.fenix.consts.SymbolConst;
+import com.blinkfox.fenix.helper.CollectionHelper;
 import com.blinkfox.fenix.helper.StringHelper;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -196,22 +199,83 @@ public class SqlInfoBuilder {
      * @param obj IN 查询范围的值，如果不是集合或数组，就将单个的值包装数组
      */
     public void buildInSql(String fieldText, String name, Object obj) {
+        this.buildInSql(fieldText, name, obj, FenixConfigManager.getInstance().getFenixConfig().isInPadding());
+    }
+
+    /**
+     * 追加构建 'IN' 范围查询 SQL 片段的 {@link SqlInfo} 信息，并指定是否将参数集合补齐到固定的桶大小.
+     *
+     * @param fieldText 字段文本
+     * @param name JPA 命名参数的占位名称
+     * @param obj IN 查询范围的值，如果不是集合或数组，就将单个的值包装数组
+     * @param padding 是否将参数集合补齐到固定的桶大小，以减少不同长度的集合生成的 SQL 形态数量
+     * @since v3.2.0
+     */
+    public void buildInSql(String fieldText, String name, Object obj, boolean padding) {
         // 对如果是有 where 标签的情况进行处理，添加 WHERE 关键字，去掉其后的 AND 或者 OR.
         this.doPrependWhere();
 
-        sqlInfo.getJoin().append(prefix).append(fieldText).append(this.symbol)
-                .append(Const.COLON).append(name);
-
         // 封装 IN 查询的参数，如果解析到的值是一个数组，需要转换成 List 集合，不然 JPA 执行会报错，
-        // 如果只有单个元素就包装成 List 集合.
-        if (obj instanceof Collection) {
-            sqlInfo.getParams().put(name, obj);
-        } else if (obj.getClass().isArray()) {
-            sqlInfo.getParams().put(name, Arrays.asList((Object[]) obj));
+        // 基本类型的数组会包装成不复制、不预先装箱的 List 视图，如果只有单个元素（包括 byte[] 和 char[]）就包装成 List 集合.
+        Object value = CollectionHelper.arrayToList(obj);
+        Collection<?> values = value instanceof Collection
+                ? (Collection<?>) value
+                : Collections.singletonList(value);
+
+        // 超大的参数集合，根据配置的阈值，以单个数组参数来绑定，或者拆分成多个 IN 条件.
+        // 原生 SQL 中无法使用 array_contains 函数，就改为拆分成多个 IN 条件，没有配置拆分的阈值时就按数组参数的阈值来拆分.
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        int arrayThreshold = fenixConfig.getInArrayThreshold();
+        int chunkThreshold = fenixConfig.getInChunkThreshold();
+        if (sqlInfo.isNativeQuery()) {
+            chunkThreshold = chunkThreshold > 0 ? chunkThreshold : arrayThreshold;
+            arrayThreshold = 0;
+        }
+
+        if (CollectionHelper.isOverThreshold(values, arrayThreshold)) {
+            this.buildArrayInSql(fieldText, name, values);
+        } else if (CollectionHelper.isOverThreshold(values, chunkThreshold)) {
+            this.buildChunkedInSql(fieldText, name, CollectionHelper.chunk(values, chunkThreshold, padding));
         } else {
-            // 如果只有一个元素就创建一个 List 集合.
-            sqlInfo.getParams().put(name, Collections.singletonList(obj));
+            sqlInfo.getJoin().append(prefix).append(fieldText).append(this.symbol)
+                    .append(Const.COLON).append(name);
+            sqlInfo.getParams().put(name, padding
+                    ? CollectionHelper.padInValues(values, fenixConfig.getInPaddingBuckets())
+                    : values);
+        }
+    }
+
+    /**
+     * 以单个数组参数来绑定 IN 查询的参数集合，生成如：{@code array_contains(:ids, u.id)} 的 JPQL 片段.
+     *
+     * @param fieldText 字段文本
+     * @param name JPA 命名参数的占位名称
+     * @param values 参数集合
+     */
+    private void buildArrayInSql(String fieldText, String name, Collection<?> values) {
+        sqlInfo.getJoin().append(prefix).append(SymbolConst.NOT_IN.equals(this.symbol) ? "NOT " : Const.EMPTY)
+                .append("array_contains(").append(Const.COLON).append(name).append(", ").append(fieldText).append(')');
+        sqlInfo.getParams().put(name, CollectionHelper.toTypedArray(values));
+    }
+
+    /**
+     * 将 IN 查询拆分成多个 IN 条件，IN 条件之间用 OR 连接，NOT IN 条件之间用 AND 连接，并用括号包起来.
+     *
+     * @param fieldText 字段文本
+     * @param name JPA 命名参数的占位名称，各个子条件的命名参数会追加 "_下标" 的后缀
+     * @param chunks 拆分后的参数集合
+     */
+    private void buildChunkedInSql(String fieldText, String name, List<Collection<?>> chunks) {
+        String joiner = SymbolConst.NOT_IN.equals(this.symbol) ? SymbolConst.AND : SymbolConst.OR;
+        StringBuilder join = sqlInfo.getJoin().append(prefix).append('(');
+        Map<String, Object> params = sqlInfo.getParams();
+        for (int i = 0, n = chunks.size(); i < n; i++) {
+            String chunkName = name + Const.UNDERLINE + i;
+            join.append(i == 0 ? Const.EMPTY : joiner).append(fieldText).append(this.symbol)
+                    .append(Const.COLON).append(chunkName);
+            params.put(chunkName, chunks.get(i));
         }
+        join.append(')');
     }
 
     /**
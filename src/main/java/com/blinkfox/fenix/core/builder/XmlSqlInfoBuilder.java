@@ -2,10 +2,11 @@ package com.blinkfox.fenix.core.builder;
 
 import com.blinkfox.fenix.bean.BuildSource;
 import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.FenixConfigManager;
 import com.blinkfox.fenix.exception.FenixException;
+import com.blinkfox.fenix.helper.CollectionHelper;
 import com.blinkfox.fenix.helper.ParseHelper;
 import com.blinkfox.fenix.helper.StringHelper;
-import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -85,9 +86,25 @@ public final class XmlSqlInfoBuilder extends SqlInfoBuilder {
      * @param valueText IN 所要查找的范围文本值
      */
     public void buildInSql(String fieldText, String name, String valueText) {
+        this.buildInSql(fieldText, name, valueText, null);
+    }
+
+    /**
+     * 追加构建 'IN' 的范围查询的 {@link SqlInfo} 信息，并根据 padding 属性的值来决定是否将参数集合补齐到固定的桶大小.
+     *
+     * @param fieldText 字段文本值
+     * @param name JPA 命名参数的占位名称
+     * @param valueText IN 所要查找的范围文本值
+     * @param paddingText 是否补齐参数集合的文本值，为空时使用全局配置中的值
+     * @since v3.2.0
+     */
+    public void buildInSql(String fieldText, String name, String valueText, String paddingText) {
         Object obj = ParseHelper.parseExpressWithException(valueText, context);
         if (obj != null) {
-            super.buildInSql(fieldText, StringHelper.isBlank(name) ? StringHelper.fixDot(valueText) : name, obj);
+            super.buildInSql(fieldText, StringHelper.isBlank(name) ? StringHelper.fixDot(valueText) : name, obj,
+                    StringHelper.isBlank(paddingText)
+                            ? FenixConfigManager.getInstance().getFenixConfig().isInPadding()
+                            : Boolean.parseBoolean(paddingText.trim()));
         }
     }
 
@@ -116,10 +133,8 @@ public final class XmlSqlInfoBuilder extends SqlInfoBuilder {
         // Map 的 key 是 JPQL 的命名参数，是死字符串，value 是 JPQL 中对应的参数值，会被动态解析.
         Map<String, Object> params = super.sqlInfo.getParams();
         for (Map.Entry<String, Object> entry : ((Map<String, Object>) obj).entrySet()) {
-            // 如果 value 是数组，就需要转换成集合，否则 JPA 的执行会报错.
-            Object value = entry.getValue();
-            params.put(entry.getKey(),
-                    value != null && value.getClass().isArray() ? Arrays.asList((Object[]) value) : value);
+            // 如果 value 是数组（包括基本类型的数组，但 byte[] 和 char[] 除外），就需要转换成集合，否则 JPA 的执行会报错.
+            params.put(entry.getKey(), CollectionHelper.arrayToList(entry.getValue()));
         }
     }
 
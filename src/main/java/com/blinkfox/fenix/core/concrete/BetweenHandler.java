@@ -1,12 +1,12 @@
 package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.builder.XmlSqlInfoBuilder;
+import com.blinkfox.fenix.core.plan.TagStep;
 import com.blinkfox.fenix.helper.ParseHelper;
-import com.blinkfox.fenix.helper.XmlNodeHelper;
-import org.dom4j.Node;
 
 /**
  * 用于生成 'BETWEEN :start AND :end'、'大于等于'、'小于等于' 区间查询
@@ -34,6 +34,7 @@ import org.dom4j.Node;
  * @see InHandler
  * @since v1.0.0
  */
+@Stateless
 public class BetweenHandler implements FenixHandler {
 
     /**
@@ -45,14 +46,14 @@ public class BetweenHandler implements FenixHandler {
      */
     @Override
     public void buildSqlInfo(BuildSource source) {
-        Node node = source.getNode();
-        if (ParseHelper.isMatch(XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_MATCH), source.getContext())) {
-            String[] valueTextArr = XmlNodeHelper.getRangeCheckNodeText(node);
+        TagStep step = source.getTagStep();
+        if (ParseHelper.isMatch(step.getAttrText(XpathConst.ATTR_MATCH), source.getContext())) {
+            String[] valueTextArr = step.getRangeCheckAttrText();
             new XmlSqlInfoBuilder(source).buildBetweenSql(
-                    XmlNodeHelper.getAndCheckNodeText(node, XpathConst.ATTR_FIELD),
-                    XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_START_NAME),
+                    step.getAndCheckAttrText(XpathConst.ATTR_FIELD),
+                    step.getAttrText(XpathConst.ATTR_START_NAME),
                     valueTextArr[0],
-                    XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_END_NAME),
+                    step.getAttrText(XpathConst.ATTR_END_NAME),
                     valueTextArr[1]);
         }
     }
@@ -1,6 +1,7 @@
 package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.consts.LikeTypeEnum;
 import com.blinkfox.fenix.core.FenixHandler;
@@ -30,6 +31,7 @@ import lombok.Getter;
  * @see StartsWithHandler
  * @since v1.0.0
  */
+@Stateless
 public class EndsWithHandler extends LikeHandler {
 
     /**
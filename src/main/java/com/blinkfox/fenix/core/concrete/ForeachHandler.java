@@ -0,0 +1,328 @@
+package com.blinkfox.fenix.core.concrete;
+
+import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.annotation.Stateless;
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.consts.XpathConst;
+import com.blinkfox.fenix.core.FenixContext;
+import com.blinkfox.fenix.core.FenixHandler;
+import com.blinkfox.fenix.core.FenixXmlBuilder;
+import com.blinkfox.fenix.core.plan.PlanStep;
+import com.blinkfox.fenix.core.plan.TagStep;
+import com.blinkfox.fenix.exception.FenixException;
+import com.blinkfox.fenix.helper.ParseHelper;
+import com.blinkfox.fenix.helper.StringHelper;
+import java.lang.reflect.Array;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+/**
+ * 'foreach' 标签是用于遍历集合、数组或 Map 来循环生成 JPQL 或者 SQL 片段的 {@link FenixHandler} 接口的实现类.
+ *
+ * <p>XML 标签示例如：</p>
+ * <ul>
+ *     <li>{@code <foreach match="" collection="" item="" index="" open="" separator="" close="">...</foreach>}</li>
+ * </ul>
+ * <p>注：</p>
+ * <ul>
+ *     <li>仅 collection 是必填属性，其值为集合、数组或者 Map 的表达式，为 {@code null} 或者没有元素时，不生成任何 SQL 片段；</li>
+ *     <li>item 和 index 分别是循环体中当前元素和当前下标（遍历 Map 时为 key）的变量名，默认为 {@code item} 和 {@code index}；</li>
+ *     <li>open、separator、close 分别是整个循环的开头、各次循环之间的分隔符和整个循环的结尾，默认均为空；</li>
+ *     <li>循环体中可以使用 {@code #{item.xxx}} 形式的参数和其他的 Fenix 标签，每次循环生成的命名参数都会追加 "_下标" 的后缀，
+ *     如：{@code :item_name_0}、{@code :item_name_1}，表达式中不能用于参数名的字符会被替换为下划线，与已有参数重名时还会再追加序号，
+ *     从而保证参数不会重复，且参数值均会以绑定参数的形式传递；</li>
+ *     <li>上下文参数是 Java Bean 时，循环体中仍然可以访问该 Java Bean 的属性；</li>
+ *     <li>循环体中的 MVEL 模板（如：{@code @{xxx}}）会在整个 fenix 节点渲染完成之后才计算，所以无法访问 item 和 index 变量.</li>
+ * </ul>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see ImportHandler
+ * @see WhereHandler
+ * @since v3.2.0
+ */
+@Stateless
+public class ForeachHandler implements FenixHandler {
+
+    /**
+     * 默认的循环元素的变量名.
+     */
+    private static final String DEFAULT_ITEM = "item";
+
+    /**
+     * 默认的循环下标的变量名.
+     */
+    private static final String DEFAULT_INDEX = "index";
+
+    /**
+     * 由表达式生成的参数名不是以字母开头时，所追加的参数名前缀.
+     */
+    private static final String PARAM_PREFIX = "fe_";
+
+    /**
+     * 根据 {@link BuildSource} 参数构建 '&lt;foreach&gt;' 标签中的 JPQL 或者 SQL 语句片段的信息.
+     *
+     * @param source {@link BuildSource} 构建资源参数
+     */
+    @Override
+    public void buildSqlInfo(BuildSource source) {
+        TagStep step = source.getTagStep();
+        Object context = source.getContext();
+        if (ParseHelper.isNotMatch(step.getAttrText(XpathConst.ATTR_MATCH), context)) {
+            return;
+        }
+
+        Object collection = ParseHelper.parseExpressWithException(
+                step.getAndCheckAttrText(XpathConst.ATTR_COLLECTION), context);
+        if (collection == null) {
+            return;
+        }
+
+        // 循环体的上下文参数在外层上下文参数的基础上增加了 item 和 index 变量，每次循环时只需要覆盖这两个变量的值即可.
+        ForeachLoop loop = new ForeachLoop(source, context);
+        if (collection instanceof Iterable) {
+            for (Object item : (Iterable<?>) collection) {
+                loop.render(loop.count, item);
+            }
+        } else if (collection instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) collection).entrySet()) {
+                loop.render(entry.getKey(), entry.getValue());
+            }
+        } else if (collection.getClass().isArray()) {
+            for (int i = 0, len = Array.getLength(collection); i < len; i++) {
+                loop.render(i, Array.get(collection, i));
+            }
+        } else {
+            throw new FenixException("【Fenix 异常提示】namespace 为【" + source.getNamespace() + "】的 XML 中，"
+                    + "<foreach> 标签中 collection 属性的值不是集合、数组或者 Map 类型，请检查！");
+        }
+
+        // 如果有循环生成的内容，就再追加整个循环的结尾，并作为普通文本追加到 SQL 中，以便正确处理 <where> 标签的情况.
+        if (loop.count > 0) {
+            FenixContext.buildPlainTextSqlInfo(source.getSqlInfo(),
+                    loop.out.append(step.getAttrText(XpathConst.ATTR_CLOSE)).toString());
+        }
+    }
+
+    /**
+     * 单次 {@code <foreach>} 标签渲染过程中的循环状态.
+     */
+    private static final class ForeachLoop {
+
+        private final String namespace;
+
+        private final List<PlanStep> children;
+
+        private final Map<String, Object> params;
+
+        private final String itemName;
+
+        private final String indexName;
+
+        private final String separator;
+
+        private final Map<String, Object> loopContext;
+
+        /**
+         * 循环生成的 SQL 片段，以整个循环的开头作为起始内容.
+         */
+        private final StringBuilder out;
+
+        /**
+         * 已经循环的次数，也用作命名参数的后缀.
+         */
+        private int count;
+
+        ForeachLoop(BuildSource source, Object context) {
+            TagStep step = source.getTagStep();
+            this.namespace = source.getNamespace();
+            this.children = step.getChildren();
+            this.params = source.getSqlInfo().getParams();
+            String item = step.getAttrText(XpathConst.ATTR_ITEM);
+            String index = step.getAttrText(XpathConst.ATTR_INDEX);
+            this.itemName = StringHelper.isBlank(item) ? DEFAULT_ITEM : item.trim();
+            this.indexName = StringHelper.isBlank(index) ? DEFAULT_INDEX : index.trim();
+            this.separator = step.getAttrText(XpathConst.ATTR_SEPARATOR);
+            this.loopContext = newLoopContext(context);
+            this.out = new StringBuilder(step.getAttrText(XpathConst.ATTR_OPEN));
+        }
+
+        /**
+         * 基于外层的上下文参数创建循环体的上下文参数，上下文参数是 Java Bean 时，循环体中没有的变量会再从该 Java Bean 中读取.
+         *
+         * @param context 外层的上下文参数
+         * @return 循环体的上下文参数
+         */
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> newLoopContext(Object context) {
+            if (context instanceof BeanLoopContext) {
+                return new BeanLoopContext((BeanLoopContext) context);
+            } else if (context instanceof Map) {
+                return new HashMap<>((Map<String, Object>) context);
+            }
+            return context == null ? new HashMap<>(4) : new BeanLoopContext(context);
+        }
+
+        /**
+         * 渲染一次循环体，并将生成的 SQL 片段中的命名参数都追加上本次循环的下标后缀.
+         *
+         * @param index 当前下标，遍历 Map 时为 key
+         * @param item 当前元素
+         */
+        void render(Object index, Object item) {
+            this.loopContext.put(this.itemName, item);
+            this.loopContext.put(this.indexName, index);
+            SqlInfo bodySqlInfo = new SqlInfo();
+            FenixXmlBuilder.renderSteps(this.namespace, bodySqlInfo, this.children, this.loopContext);
+
+            if (this.count > 0) {
+                this.out.append(this.separator);
+            }
+            this.appendBody(bodySqlInfo.getJoin(), bodySqlInfo.getParams(), Const.UNDERLINE + this.count);
+            this.count++;
+        }
+
+        /**
+         * 单趟扫描循环体生成的 SQL 片段：将 {@code #{xxx}} 计算后替换为带后缀的命名参数，
+         * 并给循环体中其他标签生成的命名参数也追加上后缀，所有新生成的参数名都不会与已有的参数重名.
+         *
+         * @param body 循环体生成的 SQL 片段
+         * @param bodyParams 循环体中其他标签生成的参数
+         * @param suffix 命名参数的后缀
+         */
+        private void appendBody(CharSequence body, Map<String, Object> bodyParams, String suffix) {
+            Map<String, String> renamedParams = new HashMap<>(bodyParams.size() * 2);
+            bodyParams.forEach((name, value) -> {
+                String newName = this.newParamName(name + suffix);
+                renamedParams.put(name, newName);
+                this.params.put(newName, value);
+            });
+
+            for (int i = 0, n = body.length(); i < n; i++) {
+                char c = body.charAt(i);
+                if (c == '#' && i + 1 < n && body.charAt(i + 1) == '{') {
+                    int end = indexOf(body, '}', i + 2);
+                    if (end > i + 2) {
+                        String exp = body.subSequence(i + 2, end).toString();
+                        String name = this.newParamName(toParamName(exp) + suffix);
+                        this.params.put(name, ParseHelper.parseExpressWithException(exp, this.loopContext));
+                        this.out.append(Const.COLON).append(name);
+                        i = end;
+                        continue;
+                    }
+                } else if (c == ':' && i + 1 < n && isNameChar(body.charAt(i + 1))
+                        && (i == 0 || body.charAt(i - 1) != ':')) {
+                    int end = i + 1;
+                    while (end < n && isNameChar(body.charAt(end))) {
+                        end++;
+                    }
+                    String newName = renamedParams.get(body.subSequence(i + 1, end).toString());
+                    if (newName != null) {
+                        this.out.append(Const.COLON).append(newName);
+                        i = end - 1;
+                        continue;
+                    }
+                }
+                this.out.append(c);
+            }
+        }
+
+        /**
+         * 获取不与已有参数重名的参数名，重名时会再追加 "_序号" 的后缀.
+         *
+         * @param name 期望的参数名
+         * @return 不重名的参数名
+         */
+        private String newParamName(String name) {
+            String newName = name;
+            for (int i = 1; this.params.containsKey(newName); i++) {
+                newName = name + Const.UNDERLINE + i;
+            }
+            return newName;
+        }
+
+        /**
+         * 将 {@code #{xxx}} 中的表达式转换为合法的参数名，不能用于参数名的连续字符会被替换为一个下划线，
+         * 不是以字母开头时，还会追加 {@link #PARAM_PREFIX} 前缀.
+         *
+         * @param exp 表达式
+         * @return 参数名
+         */
+        private static String toParamName(String exp) {
+            StringBuilder sb = new StringBuilder(exp.length());
+            for (int i = 0, n = exp.length(); i < n; i++) {
+                char c = exp.charAt(i);
+                if (isNameChar(c)) {
+                    sb.append(c);
+                } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '_') {
+                    sb.append('_');
+                }
+            }
+
+            int len = sb.length();
+            if (len > 0 && sb.charAt(len - 1) == '_') {
+                sb.setLength(len - 1);
+            }
+            return sb.length() > 0 && Character.isLetter(sb.charAt(0)) ? sb.toString() : PARAM_PREFIX + sb;
+        }
+
+        private static int indexOf(CharSequence s, char c, int from) {
+            for (int i = from, n = s.length(); i < n; i++) {
+                if (s.charAt(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_';
+        }
+
+    }
+
+    /**
+     * 上下文参数是 Java Bean 时，循环体所使用的上下文参数 Map，Map 中没有的变量会再从该 Java Bean 的可读属性中读取.
+     */
+    private static final class BeanLoopContext extends HashMap<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 外层上下文参数 Java Bean 的包装对象.
+         */
+        private final transient BeanWrapper beanWrapper;
+
+        BeanLoopContext(Object bean) {
+            super(8);
+            this.beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(bean);
+        }
+
+        BeanLoopContext(BeanLoopContext parent) {
+            super(parent);
+            this.beanWrapper = parent.beanWrapper;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return super.containsKey(key) || this.isBeanProperty(key);
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (super.containsKey(key)) {
+                return super.get(key);
+            }
+            return this.isBeanProperty(key) ? this.beanWrapper.getPropertyValue((String) key) : null;
+        }
+
+        private boolean isBeanProperty(Object key) {
+            return key instanceof String && this.beanWrapper.isReadableProperty((String) key);
+        }
+
+    }
+
+}
@@ -1,14 +1,15 @@
 package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.FenixXmlBuilder;
+import com.blinkfox.fenix.core.plan.FenixPlan;
+import com.blinkfox.fenix.core.plan.TagStep;
 import com.blinkfox.fenix.exception.NodeNotFoundException;
 import com.blinkfox.fenix.helper.ParseHelper;
 import com.blinkfox.fenix.helper.StringHelper;
-import com.blinkfox.fenix.helper.XmlNodeHelper;
-import org.dom4j.Node;
 
 /**
  * 'import' 标签是用于导入其它或公共 fenix 节点的 JPQL 或者 SQL 片段的 {@link FenixHandler} 接口的实现类.
@@ -31,6 +32,7 @@ import org.dom4j.Node;
  * @see TextHandler
  * @since v1.0.0
  */
+@Stateless
 public class ImportHandler implements FenixHandler {
 
     /**
@@ -43,32 +45,48 @@ public class ImportHandler implements FenixHandler {
     @Override
     public void buildSqlInfo(BuildSource source) {
         // 判断 match 中计算的结果是 false，则不生成 此 JPQL 或者 SQL 片段.
-        if (ParseHelper.isNotMatch(XmlNodeHelper.getNodeAttrText(source.getNode(), XpathConst.ATTR_MATCH),
-                source.getContext())) {
+        TagStep step = source.getTagStep();
+        if (ParseHelper.isNotMatch(step.getAttrText(XpathConst.ATTR_MATCH), source.getContext())) {
             return;
         }
 
-        // 获取命名空间的值，如果 import 中的命名空间是空的，则视为从本 XML 中的命名空间中去查找 fenixId.
-        String nameSpaceText = XmlNodeHelper.getNodeAttrText(source.getNode(), XpathConst.ATTR_NAME_SPACE);
-        String nameSpace = StringHelper.isNotBlank(nameSpaceText) ? nameSpaceText : source.getNamespace();
+        // 优先使用加载 XML 时就已经链接好的渲染计划，如果没有链接（如：debug 模式下），才实时查找被导入的 fenix 节点.
+        FenixPlan plan = step.getImportPlan();
+        String nameSpace;
+        if (plan != null) {
+            nameSpace = plan.getNamespace();
+        } else {
+            // 获取命名空间的值，如果 import 中的命名空间是空的，则视为从本 XML 中的命名空间中去查找 fenixId.
+            String nameSpaceText = step.getAttrText(XpathConst.ATTR_NAME_SPACE);
+            nameSpace = StringHelper.isNotBlank(nameSpaceText) ? nameSpaceText : source.getNamespace();
+            plan = getImportPlan(nameSpace, step.getAttrText(XpathConst.ATTR_FENIX_ID));
+        }
 
-        // 获取 fenixId 及该 fenixId 所对应的 XML 节点.
-        String fenixId = XmlNodeHelper.getNodeAttrText(source.getNode(), XpathConst.ATTR_FENIX_ID);
+        // 获取 valueText 值，如果 valueText 不为空，则视为将此 valueText 的解析值再次传入到引入的模板中作为新的上下文参数.
+        // 否则使用默认上下文参数对象传入到待解析的引入模板中.
+        String valueText = step.getAttrText(XpathConst.ATTR_VALUE);
+        FenixXmlBuilder.renderSteps(nameSpace, source.getSqlInfo(), plan.getSteps(), StringHelper.isNotBlank(valueText)
+                ? ParseHelper.parseExpressWithException(valueText, source.getContext()) : source.getContext());
+    }
+
+    /**
+     * 实时查找 {@code <import />} 标签所导入的 fenix 节点的渲染计划.
+     *
+     * @param nameSpace 命名空间
+     * @param fenixId fenix 节点的 ID
+     * @return 渲染计划
+     */
+    private static FenixPlan getImportPlan(String nameSpace, String fenixId) {
         if (StringHelper.isBlank(fenixId)) {
             throw new NodeNotFoundException("【Fenix 异常提示】<import /> 标签中存在 fenixId 为空的情况，请检查！");
         }
 
-        Node node = XmlNodeHelper.getNodeBySpaceAndId(nameSpace, fenixId);
-        if (node == null) {
+        FenixPlan plan = FenixXmlBuilder.getFenixPlan(nameSpace, fenixId);
+        if (plan == null) {
             throw new NodeNotFoundException("【Fenix 异常提示】从 <import /> 标签中，未找到 namespace 为【" + nameSpace
                     + "】，fenixId 为【" + fenixId + "】的 XML 节点，请检查！");
         }
-
-        // 获取 valueText 值，如果 valueText 不为空，则视为将此 valueText 的解析值再次传入到引入的模板中作为新的上下文参数.
-        // 否则使用默认上下文参数对象传入到待解析的引入模板中.
-        String valueText = XmlNodeHelper.getNodeAttrText(source.getNode(), XpathConst.ATTR_VALUE);
-        FenixXmlBuilder.buildSqlInfo(nameSpace, source.getSqlInfo(), node, StringHelper.isNotBlank(valueText)
-                ? ParseHelper.parseExpressWithException(valueText, source.getContext()) : source.getContext());
+        return plan;
     }
 
 }
@@ -1,19 +1,19 @@
 package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.builder.XmlSqlInfoBuilder;
+import com.blinkfox.fenix.core.plan.TagStep;
 import com.blinkfox.fenix.helper.ParseHelper;
-import com.blinkfox.fenix.helper.XmlNodeHelper;
-import org.dom4j.Node;
 
 /**
  * 用于生成 'In' 范围查询的动态 JPQL 或者 SQL 片段的 {@link FenixHandler} 接口的实现类.
  *
  * <p>XML 标签示例如：</p>
  * <ul>
- *     <li>{@code <in match="" field="" name="" value="" />}</li>
+ *     <li>{@code <in match="" field="" name="" value="" padding="" />}</li>
  *     <li>{@code <andIn match="" field="" name="" value="" />}</li>
  *     <li>{@code <orIn match="" field="" name="" value="" />}</li>
  * </ul>
@@ -24,6 +24,7 @@ import org.dom4j.Node;
  *     <li>field 和 value 的值必填，match 和 name 的值非必填；</li>
  *     <li>value 的值可以是数组，也可以是 Collection 集合，还可以是单个的值；</li>
  *     <li>如果 value 的值是单个的值，本处理器会将该单个的值封装成数组；</li>
+ *     <li>padding 的值为 true 或 false，表示是否将参数集合补齐到固定的桶大小，为空时使用全局配置，v3.2.0 版本新增；</li>
  * </ul>
  *
  * @author blinkfox on 2019-08-07.
@@ -32,6 +33,7 @@ import org.dom4j.Node;
  * @see BetweenHandler
  * @since v1.0.0
  */
+@Stateless
 public class InHandler implements FenixHandler {
 
     /**
@@ -43,12 +45,13 @@ public class InHandler implements FenixHandler {
      */
     @Override
     public void buildSqlInfo(BuildSource source) {
-        Node node = source.getNode();
-        if (ParseHelper.isMatch(XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_MATCH), source.getContext())) {
+        TagStep step = source.getTagStep();
+        if (ParseHelper.isMatch(step.getAttrText(XpathConst.ATTR_MATCH), source.getContext())) {
             new XmlSqlInfoBuilder(source).buildInSql(
-                    XmlNodeHelper.getAndCheckNodeText(node, XpathConst.ATTR_FIELD),
-                    XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_NAME),
-                    XmlNodeHelper.getAndCheckNodeText(node, XpathConst.ATTR_VALUE));
+                    step.getAndCheckAttrText(XpathConst.ATTR_FIELD),
+                    step.getAttrText(XpathConst.ATTR_NAME),
+                    step.getAndCheckAttrText(XpathConst.ATTR_VALUE),
+                    step.getAttrText(XpathConst.ATTR_PADDING));
         }
     }
 
@@ -1,12 +1,12 @@
 package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.builder.XmlSqlInfoBuilder;
+import com.blinkfox.fenix.core.plan.TagStep;
 import com.blinkfox.fenix.helper.ParseHelper;
-import com.blinkfox.fenix.helper.XmlNodeHelper;
-import org.dom4j.Node;
 
 /**
  * 用于生成 'IS NULL' 的动态 JPQL 或者 SQL 片段的 {@link FenixHandler} 接口的实现类.
@@ -28,6 +28,7 @@ import org.dom4j.Node;
  * @see InHandler
  * @since v1.0.0
  */
+@Stateless
 public class IsNullHandler implements FenixHandler {
 
     /**
@@ -39,10 +40,10 @@ public class IsNullHandler implements FenixHandler {
      */
     @Override
     public void buildSqlInfo(BuildSource source) {
-        Node node = source.getNode();
-        if (ParseHelper.isMatch(XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_MATCH), source.getContext())) {
+        TagStep step = source.getTagStep();
+        if (ParseHelper.isMatch(step.getAttrText(XpathConst.ATTR_MATCH), source.getContext())) {
             new XmlSqlInfoBuilder(source)
-                    .buildIsNullSql(XmlNodeHelper.getAndCheckNodeText(node, XpathConst.ATTR_FIELD));
+                    .buildIsNullSql(step.getAndCheckAttrText(XpathConst.ATTR_FIELD));
         }
     }
 
@@ -1,12 +1,12 @@
 package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.builder.XmlSqlInfoBuilder;
+import com.blinkfox.fenix.core.plan.TagStep;
 import com.blinkfox.fenix.helper.ParseHelper;
-import com.blinkfox.fenix.helper.XmlNodeHelper;
-import org.dom4j.Node;
 
 /**
  * 用于生成常规动态 JPQL 或者 SQL 片段的 {@link FenixHandler} 接口的实现类.
@@ -29,6 +29,7 @@ import org.dom4j.Node;
  * @see LikeHandler
  * @since v1.0.0
  */
+@Stateless
 public class NormalHandler implements FenixHandler {
 
     /**
@@ -40,12 +41,12 @@ public class NormalHandler implements FenixHandler {
      */
     @Override
     public void buildSqlInfo(BuildSource source) {
-        Node node = source.getNode();
-        if (ParseHelper.isMatch(XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_MATCH), source.getContext())) {
+        TagStep step = source.getTagStep();
+        if (ParseHelper.isMatch(step.getAttrText(XpathConst.ATTR_MATCH), source.getContext())) {
             new XmlSqlInfoBuilder(source).buildNormalSql(
-                    XmlNodeHelper.getAndCheckNodeText(node, XpathConst.ATTR_FIELD),
-                    XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_NAME),
-                    XmlNodeHelper.getAndCheckNodeText(node, XpathConst.ATTR_VALUE));
+                    step.getAndCheckAttrText(XpathConst.ATTR_FIELD),
+                    step.getAttrText(XpathConst.ATTR_NAME),
+                    step.getAndCheckAttrText(XpathConst.ATTR_VALUE));
         }
         source.resetPrefix();
     }
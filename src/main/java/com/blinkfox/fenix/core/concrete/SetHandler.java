@@ -1,16 +1,16 @@
 package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.consts.SymbolConst;
 import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.core.FenixHandler;
+import com.blinkfox.fenix.core.plan.TagStep;
 import com.blinkfox.fenix.exception.FenixException;
 import com.blinkfox.fenix.helper.ParseHelper;
 import com.blinkfox.fenix.helper.StringHelper;
-import com.blinkfox.fenix.helper.XmlNodeHelper;
 import java.util.Map;
-import org.dom4j.Node;
 
 /**
  * 'set' 标签是用于动态生成多个更新语句（'set = ?'）的 JPQL 或者 SQL 片段的 {@link FenixHandler} 接口的实现类.
@@ -32,6 +32,7 @@ import org.dom4j.Node;
  * @see ChooseHandler
  * @since v1.0.0
  */
+@Stateless
 public class SetHandler implements FenixHandler {
 
     /**
@@ -48,7 +49,7 @@ public class SetHandler implements FenixHandler {
         String namespace = source.getNamespace();
         StringBuilder join = source.getSqlInfo().getJoin();
         Map<String, Object> params = source.getSqlInfo().getParams();
-        Node node = source.getNode();
+        TagStep step = source.getTagStep();
 
         // 每次循环加 1，如果是第一个，则，match-field-value 添加的后缀为空字符串.
         int i = 0;
@@ -58,14 +59,13 @@ public class SetHandler implements FenixHandler {
             String x = i == 1 ? "" : Integer.toString(i);
 
             // 获取第 i 个 field 属性，如果不存在就跳出循环.
-            Node fieldNode = node.selectSingleNode(XpathConst.ATTR_FIELD + x);
-            if (fieldNode == null) {
+            if (!step.hasAttr(XpathConst.ATTR_FIELD + x)) {
                 break;
             }
 
             // 如果 match 匹配，就拼接 field-value 的 set 语句.
-            if (ParseHelper.isMatch(XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_MATCH + x), context)) {
-                String fieldText = getAndCheckFieldText(fieldNode, namespace, i);
+            if (ParseHelper.isMatch(step.getAttrText(XpathConst.ATTR_MATCH + x), context)) {
+                String fieldText = getAndCheckFieldText(step.getAttrText(XpathConst.ATTR_FIELD + x), namespace, i);
 
                 if (!isSet) {
                     join.append(SymbolConst.SET);
@@ -75,22 +75,21 @@ public class SetHandler implements FenixHandler {
                 }
 
                 // 然后拼接 'field = :value' 的 SQL 和命名参数.
-                Node valueNode = node.selectSingleNode(XpathConst.ATTR_VALUE + x);
+                String valueAttr = XpathConst.ATTR_VALUE + x;
                 join.append(fieldText).append(SymbolConst.EQUAL).append(Const.COLON).append(fieldText);
-                params.put(fieldText, valueNode == null ? null :
-                        ParseHelper.parseExpressWithException(valueNode.getText(), context));
+                params.put(fieldText, step.hasAttr(valueAttr)
+                        ? ParseHelper.parseExpressWithException(step.getAttrText(valueAttr), context) : null);
             }
         }
     }
 
     /**
-     * 根据 field 的 Node 节点获取其文本值.
+     * 检查 field 属性的文本值，如果为空，则抛出 {@link FenixException} 异常.
      *
-     * @param fieldNode 字段节点
+     * @param fieldText 字段文本值
      * @return 字段文本值
      */
-    private String getAndCheckFieldText(Node fieldNode, String namespace, int i) {
-        String fieldText = fieldNode.getText();
+    private String getAndCheckFieldText(String fieldText, String namespace, int i) {
         if (StringHelper.isBlank(fieldText)) {
             throw new FenixException("【Fenix 异常提示】namespace 为【" + namespace + "】的 XML 中，"
                     + "<set /> 标签中第【" + i + "】个 field 属性内容是空的，请检查！");
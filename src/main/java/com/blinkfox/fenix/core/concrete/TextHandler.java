@@ -2,15 +2,16 @@ package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
 import com.blinkfox.fenix.bean.SqlInfo;
-import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.core.FenixContext;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.builder.XmlSqlInfoBuilder;
+import com.blinkfox.fenix.core.plan.PlanStep;
+import com.blinkfox.fenix.core.plan.TagStep;
+import com.blinkfox.fenix.core.plan.TextStep;
 import com.blinkfox.fenix.exception.FenixException;
 import com.blinkfox.fenix.helper.ParseHelper;
-import com.blinkfox.fenix.helper.XmlNodeHelper;
-import org.dom4j.Node;
 
 /**
  * 用于生成 '任意' 文本的 JPQL 或者 SQL 片段的 {@link FenixHandler} 接口的实现类.
@@ -33,6 +34,7 @@ import org.dom4j.Node;
  * @see InHandler
  * @since v1.0.0
  */
+@Stateless
 public class TextHandler implements FenixHandler {
 
     /**
@@ -44,22 +46,21 @@ public class TextHandler implements FenixHandler {
      */
     @Override
     public void buildSqlInfo(BuildSource source) {
-        Node node = source.getNode();
-        if (ParseHelper.isMatch(XmlNodeHelper.getNodeAttrText(node, XpathConst.ATTR_MATCH), source.getContext())) {
-            // 获取所有子节点，如果子节点 node 是文本节点，则直接获取其文本，并将其拼接起来.
+        TagStep step = source.getTagStep();
+        if (ParseHelper.isMatch(step.getAttrText(XpathConst.ATTR_MATCH), source.getContext())) {
+            // 获取所有子步骤，如果子步骤是文本步骤，则直接获取其文本，并将其拼接起来.
             SqlInfo sqlInfo = source.getSqlInfo();
-            for (Node n : node.selectNodes(XpathConst.ATTR_CHILD)) {
-                if (Const.NODETYPE_TEXT.equals(n.getNodeTypeName())) {
-                    FenixContext.buildPlainTextSqlInfo(sqlInfo, n.getText());
+            for (PlanStep child : step.getChildren()) {
+                if (child instanceof TextStep) {
+                    FenixContext.buildPlainTextSqlInfo(sqlInfo, ((TextStep) child).getText());
                 } else {
-                    throw new FenixException("【Fenix 异常提示】<text></text> 标签中包含了【" + n.getName() + "】的 XML 标签，"
-                            + "只能是文本元素，请检查！");
+                    throw new FenixException("【Fenix 异常提示】<text></text> 标签中包含了【" + ((TagStep) child).getName()
+                            + "】的 XML 标签，只能是文本元素，请检查！");
                 }
             }
 
             // 获取、解析并拼接 JPQL 的参数.
-            new XmlSqlInfoBuilder(source)
-                    .buildTextSqlParams(XmlNodeHelper.getNodeAttrText(source.getNode(), XpathConst.ATTR_VALUE));
+            new XmlSqlInfoBuilder(source).buildTextSqlParams(step.getAttrText(XpathConst.ATTR_VALUE));
         }
     }
 
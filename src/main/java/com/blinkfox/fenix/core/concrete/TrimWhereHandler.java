@@ -2,6 +2,7 @@ package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
 import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.FenixXmlBuilder;
 
@@ -21,6 +22,7 @@ import com.blinkfox.fenix.core.FenixXmlBuilder;
  * @see WhereHandler
  * @since v2.5.0
  */
+@Stateless
 public class TrimWhereHandler implements FenixHandler {
 
     /**
@@ -35,7 +37,8 @@ public class TrimWhereHandler implements FenixHandler {
         // 在各个动态标签或文本标签中，如果处理了 WHERE 标签的情况之后，就再将 prependWhere 设置为 false 即可.
         SqlInfo sqlInfo = source.getSqlInfo();
         sqlInfo.setPrependWhere(true);
-        FenixXmlBuilder.buildSqlInfo(source.getNamespace(), sqlInfo, source.getNode(), source.getContext());
+        FenixXmlBuilder.renderSteps(source.getNamespace(), sqlInfo, source.getTagStep().getChildren(),
+                source.getContext());
 
         // 如果 '<trimWhere></trimWhere>' 标签中的内容构建完成之后，任然是 true 时，就设置为 false.
         if (sqlInfo.isPrependWhere()) {
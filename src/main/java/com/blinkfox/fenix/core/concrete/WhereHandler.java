@@ -2,6 +2,7 @@ package com.blinkfox.fenix.core.concrete;
 
 import com.blinkfox.fenix.bean.BuildSource;
 import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.annotation.Stateless;
 import com.blinkfox.fenix.core.FenixHandler;
 import com.blinkfox.fenix.core.FenixXmlBuilder;
 
@@ -19,6 +20,7 @@ import com.blinkfox.fenix.core.FenixXmlBuilder;
  * @see TrimWhereHandler
  * @since v2.1.0
  */
+@Stateless
 public class WhereHandler implements FenixHandler {
 
     /**
@@ -33,7 +35,8 @@ public class WhereHandler implements FenixHandler {
         // 在各个动态标签或文本标签中，如果处理了 WHERE 标签的情况之后，就再将 prependWhere 设置为 false 即可.
         SqlInfo sqlInfo = source.getSqlInfo();
         sqlInfo.setPrependWhere(true);
-        FenixXmlBuilder.buildSqlInfo(source.getNamespace(), sqlInfo, source.getNode(), source.getContext());
+        FenixXmlBuilder.renderSteps(source.getNamespace(), sqlInfo, source.getTagStep().getChildren(),
+                source.getContext());
     }
 
 }
@@ -0,0 +1,87 @@
+package com.blinkfox.fenix.core.plan;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * 一个 {@code <fenix>} 节点预编译后的不可变渲染计划.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixPlanCompiler
+ * @since v3.2.0
+ */
+@Getter
+public final class FenixPlan {
+
+    /**
+     * XML 命名空间.
+     */
+    private final String namespace;
+
+    /**
+     * fenix 节点的 ID.
+     */
+    private final String fenixId;
+
+    /**
+     * fenix 节点中 {@code resultType} 属性的值.
+     */
+    private final String resultType;
+
+    /**
+     * fenix 节点中 {@code removeIfExist} 属性的值.
+     */
+    private final String removeIfExist;
+
+    /**
+     * fenix 节点下所有的子步骤.
+     */
+    private final List<PlanStep> steps;
+
+    /**
+     * 该 fenix 节点中重复出现的、无副作用的表达式及其槽位下标的 Map，每次渲染时这些表达式都只会计算一次.
+     */
+    private final Map<String, Integer> expressionSlots;
+
+    /**
+     * 该 fenix 节点各个"形态"下规范化 SQL 结果的缓存，key 是渲染过 MVEL 模板之后的原始 SQL 文本.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ConcurrentLruCache<String, SqlShape> shapeCache;
+
+    /**
+     * 全构造方法.
+     *
+     * @param namespace XML 命名空间
+     * @param fenixId fenix 节点的 ID
+     * @param resultType 结果类型
+     * @param removeIfExist 需要移除的 SQL 片段
+     * @param steps 子步骤集合
+     * @param expressionSlots 重复出现的表达式及其槽位下标的 Map
+     * @param shapeCacheSize 缓存 SQL 形态的最大数量，为 0 时表示不缓存
+     */
+    public FenixPlan(String namespace, String fenixId, String resultType, String removeIfExist,
+            List<PlanStep> steps, Map<String, Integer> expressionSlots, int shapeCacheSize) {
+        this.namespace = namespace;
+        this.fenixId = fenixId;
+        this.resultType = resultType;
+        this.removeIfExist = removeIfExist;
+        this.steps = steps;
+        this.expressionSlots = expressionSlots;
+        this.shapeCache = new ConcurrentLruCache<>(Math.max(shapeCacheSize, 0), sql -> SqlShape.of(sql, removeIfExist));
+    }
+
+    /**
+     * 根据渲染过 MVEL 模板之后的原始 SQL 文本获取对应形态的 {@link SqlShape}，缓存中不存在时会生成并缓存起来.
+     *
+     * @param rawSql 渲染过 MVEL 模板之后的原始 SQL 文本
+     * @return {@link SqlShape} 实例
+     */
+    public SqlShape getSqlShape(String rawSql) {
+        return this.shapeCache.get(rawSql);
+    }
+
+}
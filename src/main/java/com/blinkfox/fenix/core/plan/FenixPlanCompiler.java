@@ -0,0 +1,199 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.FenixConfigManager;
+import com.blinkfox.fenix.config.entity.TagHandler;
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.consts.XpathConst;
+import com.blinkfox.fenix.helper.StringHelper;
+import com.blinkfox.fenix.helper.XmlNodeHelper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.dom4j.Attribute;
+import org.dom4j.Element;
+import org.dom4j.Node;
+
+/**
+ * 将 dom4j 的 {@code <fenix>} 节点预编译成不可变的 {@link FenixPlan} 渲染计划的编译器.
+ *
+ * <p>编译时会一次性提取好各个标签的属性、子节点和标签处理器，渲染时只需遍历渲染计划即可，
+ * 不再需要执行 XPath 查询或者访问 dom4j 文档，编译完成后原 XML 文档即可被释放.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixPlan
+ * @since v3.2.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FenixPlanCompiler {
+
+    private static final String MATCH = "match";
+
+    private static final String VALUE = "value";
+
+    private static final String WHEN = "when";
+
+    /**
+     * 将 {@code <fenix>} 节点编译成 {@link FenixPlan} 渲染计划.
+     *
+     * @param namespace XML 命名空间
+     * @param fenixNode dom4j 中的 fenix 节点
+     * @return {@link FenixPlan} 渲染计划
+     */
+    public static FenixPlan compile(String namespace, Node fenixNode) {
+        List<PlanStep> steps = compileSteps(fenixNode);
+        return new FenixPlan(namespace,
+                XmlNodeHelper.getNodeAttrText(fenixNode, XpathConst.ATTR_ID),
+                XmlNodeHelper.getNodeAttrText(fenixNode, XpathConst.ATTR_RESULT_TYPE),
+                XmlNodeHelper.getNodeAttrText(fenixNode, XpathConst.ATTR_REMOVE),
+                steps,
+                buildExpressionSlots(steps),
+                getSqlShapeCacheSize());
+    }
+
+    /**
+     * 找出 fenix 节点中重复出现的、无副作用的表达式，并为每个表达式分配一个槽位下标.
+     *
+     * <p>如：多个标签中相同的 {@code match="?blog.author != empty"} 或 {@code value="blog.author"}，
+     * 每次渲染时都只会计算一次，之后直接从槽位中获取计算结果.</p>
+     *
+     * @param steps 渲染步骤集合
+     * @return 表达式及其槽位下标的 Map
+     */
+    static Map<String, Integer> buildExpressionSlots(List<PlanStep> steps) {
+        Map<String, Integer> counts = new HashMap<>();
+        countExpressions(steps, counts);
+        Map<String, Integer> slots = new HashMap<>();
+        counts.forEach((exp, count) -> {
+            if (count > 1) {
+                slots.put(exp, slots.size());
+            }
+        });
+        return slots.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(slots);
+    }
+
+    private static void countExpressions(List<PlanStep> steps, Map<String, Integer> counts) {
+        for (PlanStep step : steps) {
+            if (!(step instanceof TagStep)) {
+                continue;
+            }
+
+            TagStep tagStep = (TagStep) step;
+            tagStep.getAttrs().forEach((attrName, exp) -> {
+                if (isExpressionAttr(attrName) && StringHelper.isNotBlank(exp) && isPureExpression(exp)) {
+                    counts.merge(exp, 1, Integer::sum);
+                }
+            });
+            countExpressions(tagStep.getChildren(), counts);
+        }
+    }
+
+    /**
+     * 判断标签属性的值是否是会被当作表达式来计算的属性，如：match、value、when、start、end、collection 等.
+     *
+     * @param attrName 属性所对应的 XPath 表达式
+     * @return 布尔值
+     */
+    private static boolean isExpressionAttr(String attrName) {
+        String name = attrName.substring(XpathConst.ATTR_PREFIX.length());
+        return name.startsWith(MATCH) || name.startsWith(VALUE) || name.startsWith(WHEN)
+                || XpathConst.ATTR_START.equals(attrName) || XpathConst.ATTR_ENT.equals(attrName)
+                || XpathConst.ATTR_COLLECTION.equals(attrName);
+    }
+
+    /**
+     * 保守地判断表达式是否没有副作用，含有方法调用、赋值、自增自减、多条语句或者 new 对象的表达式都视为有副作用.
+     *
+     * @param exp 表达式
+     * @return 布尔值
+     */
+    static boolean isPureExpression(String exp) {
+        char quote = 0;
+        char prev = ' ';
+        for (int i = 0, n = exp.length(); i < n; i++) {
+            char c = exp.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+
+            char next = i + 1 < n ? exp.charAt(i + 1) : ' ';
+            if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == ';'
+                    || (c == '(' && (Character.isJavaIdentifierPart(prev) || prev == '.'))
+                    || (c == '=' && next != '=' && "=!<>".indexOf(prev) < 0)
+                    || ((c == '+' || c == '-') && next == c)
+                    || (c == 'n' && exp.startsWith("new", i) && !Character.isJavaIdentifierPart(prev)
+                            && (i + 3 == n || !Character.isJavaIdentifierPart(exp.charAt(i + 3))))) {
+                return false;
+            }
+
+            if (!Character.isWhitespace(c)) {
+                prev = c;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取配置的每个 fenix 节点缓存 SQL 形态的最大数量，如果还未初始化配置信息，则使用默认值.
+     *
+     * @return 缓存的最大数量
+     */
+    private static int getSqlShapeCacheSize() {
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        return fenixConfig == null ? Const.DEFAULT_SQL_SHAPE_CACHE_SIZE : fenixConfig.getSqlShapeCacheSize();
+    }
+
+    /**
+     * 将节点下的所有文本和元素子节点编译成不可变的 {@link PlanStep} 集合，其他类型的子节点（如：注释）将被忽略.
+     *
+     * @param node dom4j 节点
+     * @return {@link PlanStep} 集合
+     */
+    public static List<PlanStep> compileSteps(Node node) {
+        List<Node> nodes = node.selectNodes(XpathConst.ATTR_CHILD);
+        List<PlanStep> steps = new ArrayList<>(nodes.size());
+        for (Node n : nodes) {
+            String nodeTypeName = n.getNodeTypeName();
+            if (Const.NODETYPE_TEXT.equals(nodeTypeName)) {
+                steps.add(new TextStep(n.getText()));
+            } else if (Const.NODETYPE_ELEMENT.equals(nodeTypeName)) {
+                steps.add(compileTag((Element) n));
+            }
+        }
+        return Collections.unmodifiableList(steps);
+    }
+
+    /**
+     * 将 XML 元素节点编译成 {@link TagStep}.
+     *
+     * <p>注：自定义的标签处理器可能仍然会通过 dom4j 节点来读取属性，所以会为其保留一份脱离了原 XML 文档的节点副本，
+     * 内置的标签处理器则不会保留任何 dom4j 节点，以便原 XML 文档能够被垃圾回收.</p>
+     *
+     * @param element dom4j 元素节点
+     * @return {@link TagStep} 实例
+     */
+    public static TagStep compileTag(Element element) {
+        List<Attribute> attributes = element.attributes();
+        Map<String, String> attrs = new HashMap<>(attributes.size() * 2);
+        for (Attribute attribute : attributes) {
+            attrs.put(XpathConst.ATTR_PREFIX + attribute.getName(), attribute.getValue());
+        }
+
+        String name = element.getName();
+        TagHandler tagHandler = FenixConfig.getTagHandlerMap().get(name);
+        return new TagStep(name, tagHandler, Collections.unmodifiableMap(attrs), compileSteps(element),
+                tagHandler != null && tagHandler.isBuiltIn() ? null : element.createCopy());
+    }
+
+}
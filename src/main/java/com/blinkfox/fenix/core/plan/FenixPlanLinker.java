@@ -0,0 +1,135 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.config.entity.TagHandler;
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.consts.XpathConst;
+import com.blinkfox.fenix.core.concrete.ImportHandler;
+import com.blinkfox.fenix.exception.FenixException;
+import com.blinkfox.fenix.helper.StringHelper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 在加载 XML 时，将各个渲染计划中的 {@code <import />} 标签链接到被导入的 fenix 节点渲染计划上的链接器.
+ *
+ * <p>链接之后，渲染 {@code <import />} 标签时无需再查找被导入的 fenix 节点，所有导入同一个 fenix 节点的标签都共享同一个渲染计划，
+ * 每次请求只需计算 {@code match} 和 {@code value} 属性中的表达式即可. 同时，链接时还会检测 fenix 节点之间是否存在循环导入，
+ * 如果存在，就在启动时直接抛出异常.</p>
+ *
+ * <p>注：被导入的 fenix 节点在加载时不存在的 {@code <import />} 标签不会被链接，渲染时仍然会再实时查找一次.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixPlan
+ * @see ImportHandler
+ * @since v3.2.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FenixPlanLinker {
+
+    /**
+     * 链接所有渲染计划中的 {@code <import />} 标签，并检测是否存在循环导入.
+     *
+     * <p>注：会先解析出所有的链接关系并检测循环导入，检测通过之后才会真正修改各个 {@code <import />} 标签的链接，
+     * 所以检测失败时不会影响到正在使用中的渲染计划.</p>
+     *
+     * @param fenixPlans 所有渲染计划的 Map，key 是由 namespace 和 fenixId 组成，用 "." 号分隔
+     * @throws FenixException 存在循环导入时抛出此异常
+     */
+    public static void link(Map<String, FenixPlan> fenixPlans) {
+        Map<TagStep, FenixPlan> links = new IdentityHashMap<>();
+        Map<FenixPlan, List<FenixPlan>> importMap = new IdentityHashMap<>(fenixPlans.size() * 2);
+        for (FenixPlan fenixPlan : fenixPlans.values()) {
+            List<FenixPlan> imports = new ArrayList<>(2);
+            resolveSteps(fenixPlans, fenixPlan.getNamespace(), fenixPlan.getSteps(), links, imports);
+            importMap.put(fenixPlan, imports);
+        }
+
+        Set<FenixPlan> checkedPlans = Collections.newSetFromMap(new IdentityHashMap<>(importMap.size() * 2));
+        for (FenixPlan fenixPlan : importMap.keySet()) {
+            checkCycle(importMap, fenixPlan, new LinkedHashSet<>(), checkedPlans);
+        }
+        links.forEach(TagStep::linkImportPlan);
+    }
+
+    /**
+     * 递归解析各个步骤中的 {@code <import />} 标签所导入的渲染计划.
+     *
+     * @param fenixPlans 所有渲染计划的 Map
+     * @param namespace 当前渲染计划的 XML 命名空间
+     * @param steps 步骤集合
+     * @param links 用于记录各个 {@code <import />} 标签所导入的渲染计划的 Map，未找到时 value 为 {@code null}
+     * @param imports 用于记录当前渲染计划所导入的渲染计划的集合
+     */
+    private static void resolveSteps(Map<String, FenixPlan> fenixPlans, String namespace, List<PlanStep> steps,
+            Map<TagStep, FenixPlan> links, List<FenixPlan> imports) {
+        for (PlanStep step : steps) {
+            if (!(step instanceof TagStep)) {
+                continue;
+            }
+
+            TagStep tagStep = (TagStep) step;
+            if (isImportStep(tagStep)) {
+                // 如果 import 中的命名空间是空的，则视为从本 XML 中的命名空间中去查找 fenixId.
+                String fenixId = tagStep.getAttrText(XpathConst.ATTR_FENIX_ID);
+                String nameSpaceText = tagStep.getAttrText(XpathConst.ATTR_NAME_SPACE);
+                String importNamespace = StringHelper.isNotBlank(nameSpaceText) ? nameSpaceText : namespace;
+                FenixPlan importPlan = StringHelper.isBlank(fenixId)
+                        ? null
+                        : fenixPlans.get(StringHelper.concat(importNamespace, Const.DOT, fenixId));
+                links.put(tagStep, importPlan);
+                if (importPlan != null) {
+                    imports.add(importPlan);
+                }
+            }
+            resolveSteps(fenixPlans, namespace, tagStep.getChildren(), links, imports);
+        }
+    }
+
+    private static boolean isImportStep(TagStep tagStep) {
+        TagHandler tagHandler = tagStep.getTagHandler();
+        return tagHandler != null && tagHandler.getFenixHandler() instanceof ImportHandler;
+    }
+
+    /**
+     * 使用深度优先遍历来检测某个渲染计划的导入链路中是否存在循环导入.
+     *
+     * @param importMap 各个渲染计划所导入的渲染计划的 Map
+     * @param fenixPlan 当前渲染计划
+     * @param importPath 当前的导入链路
+     * @param checkedPlans 已经检测过的渲染计划
+     */
+    private static void checkCycle(Map<FenixPlan, List<FenixPlan>> importMap, FenixPlan fenixPlan,
+            LinkedHashSet<FenixPlan> importPath, Set<FenixPlan> checkedPlans) {
+        if (checkedPlans.contains(fenixPlan)) {
+            return;
+        }
+
+        if (!importPath.add(fenixPlan)) {
+            List<FenixPlan> plans = new ArrayList<>(importPath);
+            List<FenixPlan> paths = new ArrayList<>(plans.subList(plans.indexOf(fenixPlan), plans.size()));
+            paths.add(fenixPlan);
+            throw new FenixException("【Fenix 异常提示】fenix 节点之间存在循环导入的情况，导入链路为：【"
+                    + paths.stream().map(FenixPlanLinker::getPlanKey).collect(Collectors.joining(" -> "))
+                    + "】，请检查！");
+        }
+
+        for (FenixPlan importPlan : importMap.getOrDefault(fenixPlan, Collections.emptyList())) {
+            checkCycle(importMap, importPlan, importPath, checkedPlans);
+        }
+        importPath.remove(fenixPlan);
+        checkedPlans.add(fenixPlan);
+    }
+
+    private static String getPlanKey(FenixPlan fenixPlan) {
+        return StringHelper.concat(fenixPlan.getNamespace(), Const.DOT, fenixPlan.getFenixId());
+    }
+
+}
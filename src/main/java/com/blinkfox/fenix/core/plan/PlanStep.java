@@ -0,0 +1,26 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.bean.SqlInfo;
+
+/**
+ * Fenix XML 节点预编译后的渲染计划中的一个步骤，如：静态文本、动态 SQL 标签等.
+ *
+ * <p>渲染时只需依次执行各个步骤即可，不再需要访问 dom4j 的文档节点或执行 XPath 查询.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see TextStep
+ * @see TagStep
+ * @since v3.2.0
+ */
+public interface PlanStep {
+
+    /**
+     * 根据上下文参数渲染本步骤，并将生成的 JPQL 或者 SQL 片段及参数追加到 {@link SqlInfo} 中.
+     *
+     * @param namespace XML 命名空间
+     * @param sqlInfo {@link SqlInfo} 信息
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     */
+    void render(String namespace, SqlInfo sqlInfo, Object context);
+
+}
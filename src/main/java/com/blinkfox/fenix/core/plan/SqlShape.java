@@ -0,0 +1,93 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.helper.ParseHelper;
+import com.blinkfox.fenix.helper.SqlNormalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * 某个 fenix 节点在某一种"形态"下最终生成的、已规范化的 SQL 结果.
+ *
+ * <p>对于同一个 fenix 节点来说，拼接得到的原始 SQL 文本只取决于哪些 match 条件成立及模板变量的值，
+ * 所以可以用原始 SQL 文本作为形态的 key，直接复用已去空白、已替换命名参数的最终 SQL 字符串，
+ * 每次渲染时只需要再绑定 {@code #{xxx}} 中的最新参数值即可.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixPlan
+ * @since v3.2.0
+ */
+public final class SqlShape {
+
+    /**
+     * 规范化之后的最终 SQL 语句.
+     */
+    @Getter
+    private final String sql;
+
+    /**
+     * SQL 中 '#{xxx}' 所对应的命名参数名称的数组.
+     */
+    private final String[] paramNames;
+
+    /**
+     * SQL 中 '#{xxx}' 所对应的参数表达式的数组，与 {@link #paramNames} 一一对应.
+     */
+    private final String[] paramExpressions;
+
+    /**
+     * 全构造方法.
+     *
+     * @param sql 最终 SQL 语句
+     * @param paramNames 命名参数名称的数组
+     * @param paramExpressions 参数表达式的数组
+     */
+    private SqlShape(String sql, String[] paramNames, String[] paramExpressions) {
+        this.sql = sql;
+        this.paramNames = paramNames;
+        this.paramExpressions = paramExpressions;
+    }
+
+    /**
+     * 根据已经渲染过 MVEL 模板的原始 SQL 文本来生成规范化的 {@link SqlShape} 实例.
+     *
+     * <p>该方法主要做如下操作：</p>
+     * <ul>
+     *     <li>1. 替换多余的空白、换行符等为一个空格；</li>
+     *     <li>2. 替换 '#{xxx}' 中的内容为 ':xxx' 形式的命名参数，并记录下参数名称和表达式；</li>
+     *     <li>3. 替换掉 'WHERE AND' 或者 'WHERE OR' 中的字符串为 'WHERE'；</li>
+     *     <li>4. 如果 removeText 不为空，就按字面量移除 SQL 中存在的该 SQL 片段.</li>
+     * </ul>
+     *
+     * <p>以上操作均由 {@link SqlNormalizer} 单趟扫描完成.</p>
+     *
+     * @param rawSql 已经渲染过 MVEL 模板的原始 SQL 文本
+     * @param removeText 需要移除的 SQL 片段，可以为空
+     * @return {@link SqlShape} 实例
+     */
+    public static SqlShape of(String rawSql, String removeText) {
+        List<String> names = new ArrayList<>(4);
+        List<String> expressions = new ArrayList<>(4);
+        String sql = SqlNormalizer.normalize(rawSql, removeText, names, expressions);
+        return new SqlShape(sql, names.toArray(new String[0]), expressions.toArray(new String[0]));
+    }
+
+    /**
+     * 将本形态的最终 SQL 设置到 {@link SqlInfo} 中，并根据上下文参数绑定 '#{xxx}' 中最新的参数值.
+     *
+     * @param sqlInfo {@link SqlInfo} 信息
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     * @return {@link SqlInfo} 实例
+     */
+    public SqlInfo bind(SqlInfo sqlInfo, Object context) {
+        Map<String, Object> params = sqlInfo.getParams();
+        for (int i = 0; i < this.paramNames.length; i++) {
+            params.put(this.paramNames[i], ParseHelper.parseExpressWithException(this.paramExpressions[i], context));
+        }
+        sqlInfo.setSql(this.sql);
+        return sqlInfo;
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.core.FenixXmlBuilder;
+import com.blinkfox.fenix.helper.ParseHelper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 枚举某个 fenix 节点所有可能生成的 SQL 形态的枚举器，主要用于启动时预热 SQL 形态的缓存和 JPA 查询计划的缓存.
+ *
+ * <p>枚举时，每个 match、when 等条件表达式都被视为一个"成立"或"不成立"的分支，
+ * 通过深度优先的方式依次遍历各个分支组合并渲染出对应的 SQL，其他的表达式都只会得到一个占位值，不会真正计算.
+ * 由于 SQL 中的参数值均使用命名参数来绑定，所以 SQL 形态只取决于各个条件是否成立.
+ * 注：含有 MVEL 模板变量（如：{@code @{xxx}}）的 SQL 形态无法被枚举出来，渲染失败的分支组合会被直接跳过.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see SqlShape
+ * @since v3.2.0
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SqlShapeEnumerator {
+
+    /**
+     * 枚举某个 fenix 节点中各个条件分支组合下，所有可能生成的、已规范化的不重复 SQL 语句.
+     *
+     * @param fenixPlan fenix 节点的渲染计划
+     * @param maxCombinations 最多遍历的分支组合数量
+     * @return 不重复的 SQL 语句集合，顺序与遍历的顺序一致
+     */
+    public static List<String> enumerate(FenixPlan fenixPlan, int maxCombinations) {
+        Set<String> sqls = new LinkedHashSet<>();
+        BranchWalker walker = new BranchWalker();
+        ParseHelper.startExplore(walker);
+        try {
+            for (int i = 0; i < maxCombinations && walker.next(); i++) {
+                try {
+                    sqls.add(render(fenixPlan));
+                } catch (RuntimeException e) {
+                    log.debug("【Fenix 提示】枚举 fenix 节点【{}.{}】的 SQL 形态时，跳过了渲染失败的分支组合.",
+                            fenixPlan.getNamespace(), fenixPlan.getFenixId(), e);
+                }
+            }
+        } finally {
+            ParseHelper.endExplore();
+        }
+        return new ArrayList<>(sqls);
+    }
+
+    private static String render(FenixPlan fenixPlan) {
+        Object context = new HashMap<>(4);
+        SqlInfo sqlInfo = new SqlInfo();
+        FenixXmlBuilder.renderSteps(fenixPlan.getNamespace(), sqlInfo, fenixPlan.getSteps(), context);
+        return fenixPlan.getSqlShape(ParseHelper.parseTemplate(sqlInfo.getJoin().toString(), context)).getSql();
+    }
+
+    /**
+     * 深度优先遍历各个条件分支组合的分支选择器.
+     *
+     * <p>每次渲染时，已确定的前缀中的分支按前缀选择，之后遇到的新分支都先选择"成立"，并记录下本次渲染的所有选择.
+     * 下一次渲染时，将最后一个选择了"成立"的分支改为"不成立"，并丢弃其后的所有选择，直到所有分支都选择过"不成立"为止.</p>
+     */
+    private static final class BranchWalker implements Predicate<String> {
+
+        /**
+         * 本次渲染须要遵循的分支选择前缀.
+         */
+        private final List<Boolean> prefix = new ArrayList<>();
+
+        /**
+         * 本次渲染中各个分支的实际选择.
+         */
+        private final List<Boolean> trace = new ArrayList<>();
+
+        /**
+         * 是否已经开始了第一次渲染.
+         */
+        private boolean started;
+
+        @Override
+        public boolean test(String exp) {
+            int index = this.trace.size();
+            boolean choice = index >= this.prefix.size() || this.prefix.get(index);
+            this.trace.add(choice);
+            return choice;
+        }
+
+        /**
+         * 根据上一次渲染的分支选择来准备下一次渲染的分支选择前缀.
+         *
+         * @return 是否还有未遍历的分支组合
+         */
+        boolean next() {
+            if (!this.started) {
+                this.started = true;
+                return true;
+            }
+
+            int last = this.trace.lastIndexOf(Boolean.TRUE);
+            if (last < 0) {
+                return false;
+            }
+
+            this.prefix.clear();
+            this.prefix.addAll(this.trace.subList(0, last));
+            this.prefix.add(Boolean.FALSE);
+            this.trace.clear();
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.entity.TagHandler;
+import com.blinkfox.fenix.consts.XpathConst;
+import com.blinkfox.fenix.core.FenixContext;
+import com.blinkfox.fenix.exception.FieldEmptyException;
+import com.blinkfox.fenix.helper.StringHelper;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.dom4j.Node;
+
+/**
+ * 渲染计划中的动态标签步骤，对应 XML 中的元素节点，如：{@code <andEqual />}、{@code <where>} 等.
+ *
+ * <p>标签的所有属性、子节点及其标签处理器均在编译时就已经提取和解析好了，渲染时无需再访问 dom4j 节点.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see PlanStep
+ * @see FenixPlanCompiler
+ * @since v3.2.0
+ */
+@Getter
+public final class TagStep implements PlanStep {
+
+    /**
+     * 标签名称.
+     */
+    private final String name;
+
+    /**
+     * 编译时该标签所对应的标签处理器，如果编译时还未注册该标签，则为 {@code null}，渲染时会再次查找.
+     */
+    private final TagHandler tagHandler;
+
+    /**
+     * 标签属性的 Map，key 是属性所对应的 XPath 表达式（如：{@link XpathConst#ATTR_MATCH}），value 是属性的文本值.
+     */
+    private final Map<String, String> attrs;
+
+    /**
+     * 该标签的所有子步骤.
+     */
+    private final List<PlanStep> children;
+
+    /**
+     * 该标签脱离了原 XML 文档的 dom4j 节点副本，仅自定义的标签处理器才会使用，内置的标签处理器对应的值为 {@code null}.
+     */
+    private final Node node;
+
+    /**
+     * 如果本标签是 {@code <import />} 标签，则为在加载 XML 时就已经链接好的被导入的 fenix 节点的渲染计划，
+     * 所有导入同一个 fenix 节点的标签都共享该渲染计划；未链接（如：debug 模式下实时编译的渲染计划）时为 {@code null}.
+     */
+    private volatile FenixPlan importPlan;
+
+    /**
+     * 全构造方法.
+     *
+     * @param name 标签名称
+     * @param tagHandler 标签处理器
+     * @param attrs 标签属性的 Map
+     * @param children 子步骤集合
+     * @param node 脱离了原 XML 文档的 dom4j 节点副本
+     */
+    public TagStep(String name, TagHandler tagHandler, Map<String, String> attrs, List<PlanStep> children, Node node) {
+        this.name = name;
+        this.tagHandler = tagHandler;
+        this.attrs = attrs;
+        this.children = children;
+        this.node = node;
+    }
+
+    /**
+     * 判断该标签中是否存在某个属性.
+     *
+     * @param attrName 属性所对应的 XPath 表达式，如：{@link XpathConst#ATTR_FIELD}
+     * @return 布尔值
+     */
+    public boolean hasAttr(String attrName) {
+        return this.attrs.containsKey(attrName);
+    }
+
+    /**
+     * 获取属性的文本值，如果属性不存在，则返回空字符串.
+     *
+     * @param attrName 属性所对应的 XPath 表达式，如：{@link XpathConst#ATTR_MATCH}
+     * @return 属性的文本值
+     */
+    public String getAttrText(String attrName) {
+        String text = this.attrs.get(attrName);
+        return text == null ? "" : text;
+    }
+
+    /**
+     * 获取和检查属性的文本值，如果属性不存在或者内容为空，则抛出 {@link FieldEmptyException} 异常.
+     *
+     * @param attrName 属性所对应的 XPath 表达式，如：{@link XpathConst#ATTR_FIELD}
+     * @return 属性的文本值
+     */
+    public String getAndCheckAttrText(String attrName) {
+        String text = this.getAttrText(attrName);
+        if (StringHelper.isBlank(text)) {
+            throw new FieldEmptyException("【Fenix 异常】【" + this.name + "】节点中填写的属性不存在或者属性内容是空的！");
+        }
+        return text;
+    }
+
+    /**
+     * 检查和获取开始和结束属性的文本值，返回一个二元数组，如果两者都为空，则抛出 {@link FieldEmptyException} 异常.
+     *
+     * @return 返回开始和结束文本的二元数组
+     */
+    public String[] getRangeCheckAttrText() {
+        String startText = this.getAttrText(XpathConst.ATTR_START);
+        String endText = this.getAttrText(XpathConst.ATTR_ENT);
+        if (StringHelper.isBlank(startText) && StringHelper.isBlank(endText)) {
+            throw new FieldEmptyException("【Fenix 异常】【" + this.name + "】标签中填写的【start】和【end】字段值都是空的！");
+        }
+        return new String[] {startText, endText};
+    }
+
+    /**
+     * 链接 {@code <import />} 标签所导入的 fenix 节点的渲染计划，仅在加载 XML 时由 {@link FenixPlanLinker} 调用.
+     *
+     * @param importPlan 被导入的 fenix 节点的渲染计划
+     */
+    void linkImportPlan(FenixPlan importPlan) {
+        this.importPlan = importPlan;
+    }
+
+    /**
+     * 使用该标签对应的标签处理器来渲染本步骤.
+     *
+     * @param namespace XML 命名空间
+     * @param sqlInfo {@link SqlInfo} 信息
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     */
+    @Override
+    public void render(String namespace, SqlInfo sqlInfo, Object context) {
+        FenixContext.buildSqlInfo(new BuildSource(namespace, sqlInfo, this.node, context).setTagStep(this), this);
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.core.FenixContext;
+import lombok.Getter;
+
+/**
+ * 渲染计划中的静态文本步骤，对应 XML 中的文本节点.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see PlanStep
+ * @since v3.2.0
+ */
+@Getter
+public final class TextStep implements PlanStep {
+
+    /**
+     * 文本节点中的原始文本内容.
+     */
+    private final String text;
+
+    /**
+     * 构造方法.
+     *
+     * @param text 文本内容
+     */
+    public TextStep(String text) {
+        this.text = text;
+    }
+
+    /**
+     * 直接将静态文本追加到 {@link SqlInfo} 中.
+     *
+     * @param namespace XML 命名空间
+     * @param sqlInfo {@link SqlInfo} 信息
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     */
+    @Override
+    public void render(String namespace, SqlInfo sqlInfo, Object context) {
+        FenixContext.buildPlainTextSqlInfo(sqlInfo, this.text);
+    }
+
+}
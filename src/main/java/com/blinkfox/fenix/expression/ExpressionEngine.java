@@ -0,0 +1,34 @@
+package com.blinkfox.fenix.expression;
+
+/**
+ * Fenix 中用于计算 XML 标签中 {@code match}、{@code value} 等属性表达式的表达式引擎接口（SPI）.
+ *
+ * <p>默认的实现是基于 MVEL 的 {@link MvelExpressionEngine}，你也可以通过
+ * {@link com.blinkfox.fenix.config.FenixConfig#setExpressionEngine(ExpressionEngine)} 来设置其他的实现，
+ * 如：内置的 {@link FastExpressionEngine} 或者你自定义的表达式引擎.</p>
+ *
+ * <p>注：表达式引擎的实现类必须是线程安全的.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see MvelExpressionEngine
+ * @see FastExpressionEngine
+ * @since v3.2.0
+ */
+public interface ExpressionEngine {
+
+    /**
+     * 根据上下文参数计算表达式的值，如果计算出错，可直接抛出运行时异常.
+     *
+     * @param expression 表达式
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     * @return 表达式计算的结果
+     */
+    Object evaluate(String expression, Object context);
+
+    /**
+     * 清空该表达式引擎中缓存的已编译的表达式等信息，默认什么都不做.
+     */
+    default void clearCache() {
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.blinkfox.fenix.expression;
+
+import com.blinkfox.fenix.consts.Const;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * 针对常见的简单表达式做了快速计算的表达式引擎，不能快速计算的表达式会交由 MVEL 等后备的表达式引擎来计算.
+ *
+ * <p>XML 标签中绝大多数的 {@code match} 属性都是形如 {@code ?foo != empty}、{@code foo != null}、
+ * {@code a.b == 'x'}、{@code age >= 18 && name != empty} 等的简单表达式，该引擎会将这类表达式编译为节点树，
+ * 并通过 {@link java.lang.invoke.MethodHandle} 来读取 Map 或 Java Bean 中的属性值，从而无需经过 MVEL.</p>
+ *
+ * <p>为了保证计算结果与 MVEL 完全一致，对于以下情况，都会将整个表达式交由后备的表达式引擎重新计算：</p>
+ * <ul>
+ *     <li>表达式不在支持的语法子集中，如：含有括号、方法调用、取反、算术运算等，详见 {@link FastExpressionParser}；</li>
+ *     <li>计算时需要 MVEL 做类型转换，如：用字符串与数字字面量相比较；</li>
+ *     <li>属性不存在、中间属性为 {@code null} 或者属性的读取存在歧义等.</li>
+ * </ul>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see ExpressionEngine
+ * @since v3.2.0
+ */
+public class FastExpressionEngine implements ExpressionEngine {
+
+    /**
+     * 已编译的快速表达式节点的有界并发缓存，不支持的表达式会缓存为 {@link FastNode#NONE}.
+     */
+    private final ConcurrentLruCache<String, FastNode> nodeCache;
+
+    /**
+     * 不能快速计算时所使用的后备表达式引擎.
+     */
+    private final ExpressionEngine fallbackEngine;
+
+    /**
+     * 使用默认的缓存大小 {@link Const#DEFAULT_EXPRESSION_CACHE_SIZE} 来构造实例，并使用 MVEL 作为后备的表达式引擎.
+     */
+    public FastExpressionEngine() {
+        this(Const.DEFAULT_EXPRESSION_CACHE_SIZE);
+    }
+
+    /**
+     * 使用指定的缓存大小来构造实例，并使用 MVEL 作为后备的表达式引擎.
+     *
+     * @param cacheSize 缓存已编译表达式的最大数量，小于等于 0 时使用默认值
+     */
+    public FastExpressionEngine(int cacheSize) {
+        this(cacheSize, new MvelExpressionEngine(cacheSize));
+    }
+
+    /**
+     * 使用指定的缓存大小和后备的表达式引擎来构造实例.
+     *
+     * @param cacheSize 缓存已编译表达式的最大数量，小于等于 0 时使用默认值
+     * @param fallbackEngine 后备的表达式引擎
+     */
+    public FastExpressionEngine(int cacheSize, ExpressionEngine fallbackEngine) {
+        this.nodeCache = new ConcurrentLruCache<>(cacheSize > 0 ? cacheSize : Const.DEFAULT_EXPRESSION_CACHE_SIZE,
+                FastExpressionEngine::compile);
+        this.fallbackEngine = fallbackEngine;
+    }
+
+    private static FastNode compile(String expression) {
+        FastNode node = FastExpressionParser.parse(expression);
+        return node == null ? FastNode.NONE : node;
+    }
+
+    /**
+     * 计算表达式的值，不能快速计算时就交由后备的表达式引擎来计算.
+     *
+     * @param expression 表达式
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     * @return 表达式计算的结果
+     */
+    @Override
+    public Object evaluate(String expression, Object context) {
+        Object result = this.nodeCache.get(expression).evaluate(context);
+        return result == FastNode.UNSUPPORTED ? this.fallbackEngine.evaluate(expression, context) : result;
+    }
+
+    /**
+     * 清空已编译的快速表达式节点及后备表达式引擎的缓存.
+     */
+    @Override
+    public void clearCache() {
+        this.nodeCache.clear();
+        this.fallbackEngine.clearCache();
+    }
+
+}
@@ -0,0 +1,282 @@
+package com.blinkfox.fenix.expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 将常见的简单表达式编译为 {@link FastNode} 的解析器.
+ *
+ * <p>只支持如下的表达式子集，其他任何表达式（如：含有括号、方法调用、取反、算术运算等）都视为不支持，会返回 {@code null}：</p>
+ * <pre>
+ *     or      := and ('||' and)*
+ *     and     := compare ('&amp;&amp;' compare)*
+ *     compare := path (('==' | '!=' | '&gt;' | '&gt;=' | '&lt;' | '&lt;=') literal)?
+ *     path    := '?'? identifier ('.' '?'? identifier)*
+ *     literal := null | empty | true | false | 'string' | "string" | integer
+ * </pre>
+ *
+ * <p>注：该类不是线程安全的，每次解析都需要新建一个实例.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FastExpressionEngine
+ * @since v3.2.0
+ */
+final class FastExpressionParser {
+
+    /**
+     * MVEL 中的关键字或字面量，这些标识符不能作为属性路径中的属性名称.
+     */
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList("null", "nil", "empty", "true", "false",
+            "this", "new", "def", "function", "var", "if", "else", "foreach", "for", "while", "until", "do", "return",
+            "assert", "in", "is", "isdef", "instanceof", "contains", "convertable_to", "soundslike", "strsim", "with",
+            "import", "import_static", "and", "or", "not", "switch", "case", "default", "proto"));
+
+    /**
+     * 待解析的表达式.
+     */
+    private final String expression;
+
+    /**
+     * 当前解析到的字符位置.
+     */
+    private int pos;
+
+    /**
+     * 是否已经解析过属性路径.
+     */
+    private boolean parsedPath;
+
+    private FastExpressionParser(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * 解析表达式，并返回编译后的节点.
+     *
+     * @param expression 表达式
+     * @return 编译后的节点，不支持的表达式将返回 {@code null}
+     */
+    static FastNode parse(String expression) {
+        if (expression == null) {
+            return null;
+        }
+
+        FastExpressionParser parser = new FastExpressionParser(expression);
+        FastNode node = parser.parseLogic(false);
+        parser.skipWhitespace();
+        return parser.pos == expression.length() ? node : null;
+    }
+
+    /**
+     * 解析逻辑或、逻辑与的表达式，逻辑与的优先级高于逻辑或.
+     *
+     * @param and 是否解析逻辑与
+     * @return 节点，不支持时返回 {@code null}
+     */
+    private FastNode parseLogic(boolean and) {
+        String operator = and ? "&&" : "||";
+        List<FastNode> operands = new ArrayList<>(2);
+        do {
+            FastNode operand = and ? this.parseCompare() : this.parseLogic(true);
+            if (operand == null) {
+                return null;
+            }
+            operands.add(operand);
+        } while (this.accept(operator));
+
+        return operands.size() == 1
+                ? operands.get(0)
+                : new FastNode.LogicNode(and, operands.toArray(new FastNode[0]));
+    }
+
+    private FastNode parseCompare() {
+        FastNode path = this.parsePath();
+        if (path == null) {
+            return null;
+        }
+
+        String operator = this.parseOperator();
+        if (operator == null) {
+            return path;
+        }
+
+        Object literal = this.parseLiteral();
+        if (literal == null) {
+            return null;
+        }
+        if (!"==".equals(operator) && !"!=".equals(operator) && !(literal instanceof Long)) {
+            return null;
+        }
+        return new FastNode.CompareNode(operator, path, literal == NullLiteral.INSTANCE ? null : literal);
+    }
+
+    private FastNode parsePath() {
+        List<String> names = new ArrayList<>(2);
+        List<Boolean> nullSafes = new ArrayList<>(2);
+        this.skipWhitespace();
+        do {
+            // 路径中的 '?' 和 '.' 前后均不允许出现空白字符.
+            boolean nullSafe = this.acceptChar('?');
+            String name = this.readIdentifier();
+            if (name == null || KEYWORDS.contains(name)) {
+                return null;
+            }
+
+            // MVEL 在编译 '&&' 或 '||' 之后以 '?' 开头的变量时会报错，所以这种情况不做处理，以保持一致.
+            if (nullSafe && names.isEmpty() && this.parsedPath) {
+                return null;
+            }
+            names.add(name);
+            nullSafes.add(nullSafe);
+        } while (this.acceptChar('.'));
+
+        this.parsedPath = true;
+        boolean[] nullSafeArray = new boolean[nullSafes.size()];
+        for (int i = 0; i < nullSafeArray.length; i++) {
+            nullSafeArray[i] = nullSafes.get(i);
+        }
+        return new FastNode.PathNode(names.toArray(new String[0]), nullSafeArray);
+    }
+
+    private String parseOperator() {
+        for (String operator : new String[] {"==", "!=", ">=", "<=", ">", "<"}) {
+            if (this.accept(operator)) {
+                // 形如 '===' 或 '>>' 等的符号都不支持.
+                char c = this.pos < this.expression.length() ? this.expression.charAt(this.pos) : ' ';
+                return "=<>!".indexOf(c) >= 0 ? null : operator;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析字面量.
+     *
+     * @return 字面量，{@code null} 用 {@link NullLiteral#INSTANCE} 表示，不支持时返回 {@code null}
+     */
+    private Object parseLiteral() {
+        this.skipWhitespace();
+        if (this.pos >= this.expression.length()) {
+            return null;
+        }
+
+        char c = this.expression.charAt(this.pos);
+        if (c == '\'' || c == '"') {
+            int end = this.expression.indexOf(c, this.pos + 1);
+            if (end < 0) {
+                return null;
+            }
+            String text = this.expression.substring(this.pos + 1, end);
+            this.pos = end + 1;
+            return text.indexOf('\\') >= 0 ? null : text;
+        } else if (c == '-' || isDigit(c)) {
+            return this.parseInteger();
+        }
+
+        String name = this.readIdentifier();
+        if (name == null) {
+            return null;
+        }
+        switch (name) {
+            case "null":
+                return NullLiteral.INSTANCE;
+            case "empty":
+                return FastNode.CompareNode.EMPTY;
+            case "true":
+                return Boolean.TRUE;
+            case "false":
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 解析十进制的整数字面量，以 0 开头的多位数字（MVEL 会视为八进制）或者带有后缀、小数点的数字均不支持.
+     *
+     * @return {@link Long} 型的整数，不支持时返回 {@code null}
+     */
+    private Object parseInteger() {
+        final int start = this.pos;
+        if (this.expression.charAt(this.pos) == '-') {
+            this.pos++;
+        }
+        int digitStart = this.pos;
+        while (this.pos < this.expression.length() && isDigit(this.expression.charAt(this.pos))) {
+            this.pos++;
+        }
+
+        int digits = this.pos - digitStart;
+        if (digits == 0 || digits > 18 || (digits > 1 && this.expression.charAt(digitStart) == '0')
+                || (this.pos < this.expression.length() && isIdentifierPart(this.expression.charAt(this.pos)))
+                || (this.pos < this.expression.length() && this.expression.charAt(this.pos) == '.')) {
+            return null;
+        }
+        return Long.parseLong(this.expression.substring(start, this.pos));
+    }
+
+    private String readIdentifier() {
+        int start = this.pos;
+        if (this.pos >= this.expression.length() || !isIdentifierStart(this.expression.charAt(this.pos))) {
+            return null;
+        }
+        while (this.pos < this.expression.length() && isIdentifierPart(this.expression.charAt(this.pos))) {
+            this.pos++;
+        }
+        return this.expression.substring(start, this.pos);
+    }
+
+    private boolean accept(String token) {
+        this.skipWhitespace();
+        if (this.expression.startsWith(token, this.pos)) {
+            this.pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 紧邻当前位置接受某个字符，不跳过空白字符.
+     *
+     * @param c 字符
+     * @return 是否接受
+     */
+    private boolean acceptChar(char c) {
+        if (this.pos < this.expression.length() && this.expression.charAt(this.pos) == c) {
+            this.pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (this.pos < this.expression.length() && Character.isWhitespace(this.expression.charAt(this.pos))) {
+            this.pos++;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || isDigit(c);
+    }
+
+    /**
+     * 表示字面量 {@code null} 的标记，以便与解析失败时返回的 {@code null} 区分开.
+     */
+    private enum NullLiteral {
+
+        INSTANCE
+
+    }
+
+}
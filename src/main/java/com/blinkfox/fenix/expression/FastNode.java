@@ -0,0 +1,205 @@
+package com.blinkfox.fenix.expression;
+
+import org.mvel2.compiler.BlankLiteral;
+
+/**
+ * {@link FastExpressionEngine} 中已编译的表达式节点.
+ *
+ * <p>各节点在计算时，凡是遇到不能确保与 MVEL 语义完全一致的情况，都会返回 {@link #UNSUPPORTED}，
+ * 此时整个表达式都会交由 MVEL 来重新计算.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FastExpressionParser
+ * @since v3.2.0
+ */
+@FunctionalInterface
+interface FastNode {
+
+    /**
+     * 表示当前表达式或上下文参数不能被快速计算的标记.
+     */
+    Object UNSUPPORTED = new Object();
+
+    /**
+     * 表示某个表达式不能被编译为快速节点的节点，会始终返回 {@link #UNSUPPORTED}.
+     */
+    FastNode NONE = context -> UNSUPPORTED;
+
+    /**
+     * 根据上下文参数计算该节点的值.
+     *
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     * @return 计算结果，不能快速计算时返回 {@link #UNSUPPORTED}
+     */
+    Object evaluate(Object context);
+
+    /**
+     * 属性路径的节点，如：{@code foo}、{@code ?foo}、{@code user.name} 等.
+     */
+    final class PathNode implements FastNode {
+
+        /**
+         * 路径中各个属性的名称.
+         */
+        private final String[] names;
+
+        /**
+         * 路径中各个属性是否是空安全的，与 {@link #names} 一一对应.
+         */
+        private final boolean[] nullSafes;
+
+        PathNode(String[] names, boolean[] nullSafes) {
+            this.names = names;
+            this.nullSafes = nullSafes;
+        }
+
+        @Override
+        public Object evaluate(Object context) {
+            Object value = PropertyAccessors.readVariable(context, this.names[0], this.nullSafes[0]);
+            for (int i = 1; i < this.names.length; i++) {
+                // 中间属性为 null 时，MVEL 会根据是否空安全来返回 null 或者报错，这里统一交由 MVEL 处理.
+                if (value == UNSUPPORTED || value == null) {
+                    return UNSUPPORTED;
+                }
+                value = PropertyAccessors.readProperty(value, this.names[i], this.nullSafes[i]);
+            }
+            return value;
+        }
+
+    }
+
+    /**
+     * 属性路径与字面量相比较的节点，如：{@code foo != empty}、{@code a.b == 'x'}、{@code age >= 18} 等.
+     */
+    final class CompareNode implements FastNode {
+
+        /**
+         * 表示字面量 {@code empty} 的标记.
+         */
+        static final Object EMPTY = BlankLiteral.INSTANCE;
+
+        /**
+         * 比较符号，如：{@code ==}、{@code !=}、{@code >} 等.
+         */
+        private final String operator;
+
+        /**
+         * 左边的属性路径节点.
+         */
+        private final FastNode left;
+
+        /**
+         * 右边的字面量，可以是 {@code null}、{@link #EMPTY}、{@link String}、{@link Long} 或 {@link Boolean}.
+         */
+        private final Object literal;
+
+        CompareNode(String operator, FastNode left, Object literal) {
+            this.operator = operator;
+            this.left = left;
+            this.literal = literal;
+        }
+
+        @Override
+        public Object evaluate(Object context) {
+            Object value = this.left.evaluate(context);
+            if (value == UNSUPPORTED) {
+                return UNSUPPORTED;
+            }
+
+            switch (this.operator) {
+                case "==":
+                    return this.equalsLiteral(value);
+                case "!=":
+                    Object result = this.equalsLiteral(value);
+                    return result == UNSUPPORTED ? UNSUPPORTED : !((Boolean) result);
+                default:
+                    return this.compareLiteral(value);
+            }
+        }
+
+        /**
+         * 判断值与字面量是否相等，只处理不涉及 MVEL 类型转换的情况.
+         *
+         * @param value 值
+         * @return 布尔值，或者 {@link #UNSUPPORTED}
+         */
+        private Object equalsLiteral(Object value) {
+            if (this.literal == null) {
+                return value == null;
+            } else if (this.literal == EMPTY) {
+                return EMPTY.equals(value);
+            } else if (this.literal instanceof String) {
+                return value instanceof String ? this.literal.equals(value) : UNSUPPORTED;
+            } else if (this.literal instanceof Boolean) {
+                return value instanceof Boolean ? this.literal.equals(value) : UNSUPPORTED;
+            }
+            return isIntegral(value) ? ((Number) value).longValue() == (Long) this.literal : UNSUPPORTED;
+        }
+
+        /**
+         * 比较整数值与整数字面量的大小，其他情况均交由 MVEL 处理.
+         *
+         * @param value 值
+         * @return 布尔值，或者 {@link #UNSUPPORTED}
+         */
+        private Object compareLiteral(Object value) {
+            if (!isIntegral(value) || !(this.literal instanceof Long)) {
+                return UNSUPPORTED;
+            }
+
+            int result = Long.compare(((Number) value).longValue(), (Long) this.literal);
+            switch (this.operator) {
+                case ">":
+                    return result > 0;
+                case ">=":
+                    return result >= 0;
+                case "<":
+                    return result < 0;
+                default:
+                    return result <= 0;
+            }
+        }
+
+        private static boolean isIntegral(Object value) {
+            return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+        }
+
+    }
+
+    /**
+     * 逻辑与（{@code &&}）或逻辑或（{@code ||}）的节点，会与 MVEL 一样进行短路计算.
+     */
+    final class LogicNode implements FastNode {
+
+        /**
+         * 是否是逻辑与，否则就是逻辑或.
+         */
+        private final boolean and;
+
+        /**
+         * 参与逻辑运算的各个子节点.
+         */
+        private final FastNode[] operands;
+
+        LogicNode(boolean and, FastNode[] operands) {
+            this.and = and;
+            this.operands = operands;
+        }
+
+        @Override
+        public Object evaluate(Object context) {
+            for (FastNode operand : this.operands) {
+                Object value = operand.evaluate(context);
+                if (!(value instanceof Boolean)) {
+                    return UNSUPPORTED;
+                }
+                if ((Boolean) value != this.and) {
+                    return value;
+                }
+            }
+            return this.and;
+        }
+
+    }
+
+}
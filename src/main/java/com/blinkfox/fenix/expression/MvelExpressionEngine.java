@@ -0,0 +1,82 @@
+package com.blinkfox.fenix.expression;
+
+import com.blinkfox.fenix.consts.Const;
+import java.io.Serializable;
+import java.util.Map;
+import org.mvel2.MVEL;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * 基于 MVEL 的表达式引擎，也是 Fenix 默认的表达式引擎.
+ *
+ * <p>表达式会被 MVEL 编译一次之后缓存在有界的 LRU 缓存中，之后每次只需执行已编译的表达式即可.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see ExpressionEngine
+ * @since v3.2.0
+ */
+public class MvelExpressionEngine implements ExpressionEngine {
+
+    /**
+     * 上下文参数是 Java Bean 时，已编译的 MVEL 表达式的有界并发缓存，key 是表达式文本，value 是 MVEL 编译后的表达式对象.
+     *
+     * <p>注：编译后的表达式可以被多个线程安全的共享和重复执行，但 MVEL 在首次执行时会根据上下文参数的类型来优化属性的访问方式，
+     * 上下文参数是 Map 时会优化为读取变量，再以 Java Bean 执行时就无法解析该属性了，反之亦然，
+     * 所以须要按上下文参数是否是 Map 来分别缓存.</p>
+     */
+    private final ConcurrentLruCache<String, Serializable> expressionCache;
+
+    /**
+     * 上下文参数是 Map 时，已编译的 MVEL 表达式的有界并发缓存.
+     */
+    private final ConcurrentLruCache<String, Serializable> mapExpressionCache;
+
+    /**
+     * 使用默认的缓存大小 {@link Const#DEFAULT_EXPRESSION_CACHE_SIZE} 来构造实例.
+     */
+    public MvelExpressionEngine() {
+        this(Const.DEFAULT_EXPRESSION_CACHE_SIZE);
+    }
+
+    /**
+     * 使用指定的缓存大小来构造实例.
+     *
+     * @param cacheSize 缓存已编译表达式的最大数量，小于等于 0 时使用默认值
+     */
+    public MvelExpressionEngine(int cacheSize) {
+        int size = cacheSize > 0 ? cacheSize : Const.DEFAULT_EXPRESSION_CACHE_SIZE;
+        this.expressionCache = new ConcurrentLruCache<>(size, MVEL::compileExpression);
+        this.mapExpressionCache = new ConcurrentLruCache<>(size, MVEL::compileExpression);
+    }
+
+    /**
+     * 从缓存中获取编译后的表达式并执行，得到表达式的值，如果缓存中不存在，就先编译该表达式再放入缓存中.
+     *
+     * <p>注：如果上下文参数是 Map，需要将其同时作为变量解析工厂来执行，以保持与 {@link MVEL#eval(String, Object)}
+     * 一致的语义，如：{@code ?foo != empty} 中的 {@code foo} 不存在时也不会报错.</p>
+     *
+     * @param expression 表达式
+     * @param context 上下文参数（一般是 Bean 或者 map）
+     * @return 表达式计算的结果
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object evaluate(String expression, Object context) {
+        if (context instanceof Map) {
+            return MVEL.executeExpression(this.mapExpressionCache.get(expression), context,
+                    new MapVariableResolverFactory((Map<String, Object>) context));
+        }
+        return MVEL.executeExpression(this.expressionCache.get(expression), context);
+    }
+
+    /**
+     * 清空已编译的 MVEL 表达式的缓存.
+     */
+    @Override
+    public void clearCache() {
+        this.expressionCache.clear();
+        this.mapExpressionCache.clear();
+    }
+
+}
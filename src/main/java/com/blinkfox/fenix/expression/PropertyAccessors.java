@@ -0,0 +1,175 @@
+package com.blinkfox.fenix.expression;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 基于 {@link MethodHandle} 来快速读取 Map 或者 Java Bean 中属性值的工具类.
+ *
+ * <p>为了与 MVEL 的属性解析语义保持一致，这里只处理没有歧义的情况，对于其他的情况，
+ * 都会返回 {@link FastNode#UNSUPPORTED}，交由 MVEL 来计算，如：</p>
+ * <ul>
+ *     <li>Java Bean 中只有标准的 {@code getXxx()} 或者 {@code isXxx()} 方法时，才使用该 getter 方法来读取；</li>
+ *     <li>Map 中的 key 与 Map 类的方法或者 getter 方法同名时（如：{@code size}），MVEL 会优先调用方法，所以不做处理；</li>
+ *     <li>读取的对象为 {@code null}、属性不存在或者 getter 方法执行出错时，均不做处理.</li>
+ * </ul>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FastExpressionEngine
+ * @since v3.2.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PropertyAccessors {
+
+    /**
+     * 表示某个类中的某个属性不能被快速读取的 {@link MethodHandle} 标记.
+     */
+    private static final MethodHandle NONE = MethodHandles.constant(Object.class, FastNode.UNSUPPORTED);
+
+    /**
+     * 所有 Java Bean 类中各个属性所对应的 getter 方法的 {@link MethodHandle} 缓存.
+     */
+    private static final Map<Class<?>, Map<String, MethodHandle>> getterMap = new ConcurrentHashMap<>();
+
+    /**
+     * 所有 Map 类中各个 key 是否可以直接通过 {@link Map#get(Object)} 读取的缓存.
+     */
+    private static final Map<Class<?>, Map<String, Boolean>> mapKeyMap = new ConcurrentHashMap<>();
+
+    /**
+     * 读取根上下文参数中的变量值，如果上下文参数是 Map，则与 MVEL 的变量解析工厂一样，直接从 Map 中读取.
+     *
+     * @param context 上下文参数
+     * @param name 变量名称
+     * @param nullSafe 变量是否是空安全的，即 {@code ?xxx}
+     * @return 变量的值，不能快速读取时返回 {@link FastNode#UNSUPPORTED}
+     */
+    @SuppressWarnings("unchecked")
+    static Object readVariable(Object context, String name, boolean nullSafe) {
+        if (context instanceof Map) {
+            // 变量不存在时，MVEL 会继续尝试读取 Map 本身的同名属性（如：{@code size}），所以需要再判断一下.
+            boolean plainNullSafe = nullSafe && isPlainMapKey(context.getClass(), name);
+            return readMapValue((Map<String, Object>) context, name, plainNullSafe);
+        }
+        return readBeanProperty(context, name);
+    }
+
+    /**
+     * 读取对象中某个属性的值.
+     *
+     * @param target 对象
+     * @param name 属性名称
+     * @param nullSafe 属性是否是空安全的，即 {@code xxx.?yyy}
+     * @return 属性的值，不能快速读取时返回 {@link FastNode#UNSUPPORTED}
+     */
+    @SuppressWarnings("unchecked")
+    static Object readProperty(Object target, String name, boolean nullSafe) {
+        if (target instanceof Map) {
+            return isPlainMapKey(target.getClass(), name)
+                    ? readMapValue((Map<String, Object>) target, name, nullSafe)
+                    : FastNode.UNSUPPORTED;
+        }
+        return readBeanProperty(target, name);
+    }
+
+    private static Object readMapValue(Map<String, Object> map, String name, boolean nullSafe) {
+        Object value = map.get(name);
+        if (value != null || map.containsKey(name)) {
+            return value;
+        }
+        return nullSafe ? null : FastNode.UNSUPPORTED;
+    }
+
+    private static Object readBeanProperty(Object target, String name) {
+        if (target == null) {
+            return FastNode.UNSUPPORTED;
+        }
+
+        MethodHandle getter = getterMap.computeIfAbsent(target.getClass(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, k -> findGetter(target.getClass(), name));
+        if (getter == NONE) {
+            return FastNode.UNSUPPORTED;
+        }
+
+        try {
+            return getter.invokeExact(target);
+        } catch (Throwable e) {
+            return FastNode.UNSUPPORTED;
+        }
+    }
+
+    /**
+     * 查找 Java Bean 类中某个属性唯一且没有歧义的 public getter 方法，并转换为 {@link MethodHandle}.
+     *
+     * @param cls Java Bean 类
+     * @param name 属性名称
+     * @return getter 方法的 {@link MethodHandle}，找不到时返回 {@link #NONE}
+     */
+    private static MethodHandle findGetter(Class<?> cls, String name) {
+        if (!Modifier.isPublic(cls.getModifiers()) || hasPublicMember(cls, name, name)) {
+            return NONE;
+        }
+
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        Method getter = findPublicMethod(cls, "get" + capitalized);
+        if (getter == null || getter.getReturnType() == void.class) {
+            getter = findPublicMethod(cls, "is" + capitalized);
+            Class<?> returnType = getter == null ? void.class : getter.getReturnType();
+            if (returnType != boolean.class && returnType != Boolean.class) {
+                return NONE;
+            }
+        }
+
+        try {
+            return MethodHandles.publicLookup().unreflect(getter)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * 判断 Map 中的 key 是否可以直接通过 {@link Map#get(Object)} 读取，即该 Map 类中没有与 key 同名的方法或者 getter 方法.
+     *
+     * @param cls Map 类
+     * @param name key 的名称
+     * @return 布尔值
+     */
+    private static boolean isPlainMapKey(Class<?> cls, String name) {
+        return mapKeyMap.computeIfAbsent(cls, k -> new ConcurrentHashMap<>()).computeIfAbsent(name, k -> {
+            String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            return !hasPublicMember(cls, name, name, "get" + capitalized, "is" + capitalized);
+        });
+    }
+
+    private static boolean hasPublicMember(Class<?> cls, String fieldName, String... methodNames) {
+        for (Field field : cls.getFields()) {
+            if (field.getName().equals(fieldName)) {
+                return true;
+            }
+        }
+        for (String methodName : methodNames) {
+            if (findPublicMethod(cls, methodName) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Method findPublicMethod(Class<?> cls, String methodName) {
+        try {
+            return cls.getMethod(methodName);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+}
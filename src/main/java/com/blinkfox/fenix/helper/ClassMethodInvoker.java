@@ -2,45 +2,151 @@ package com.blinkfox.fenix.helper;
 
 import com.blinkfox.fenix.bean.SqlInfo;
 import com.blinkfox.fenix.exception.FenixException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
-import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import org.springframework.data.repository.query.Param;
 
 /**
  * 通过反射调用 class 方法中的指定方法的工具类.
  *
+ * <p>v3.2.0 版本开始，被调用的方法只会查找一次，并在第一次调用时转换为 {@link MethodHandle}，
+ * 同时预先计算好各个参数在 Map 映射关系中的参数名；提供 SQL 的类的实例也会被复用，不再每次调用时都反射创建新的实例.
+ * 所以，每次调用时除了组装参数数组之外，不再有其他的反射开销.</p>
+ *
  * @author blinkfox on 2019-08-11.
  * @since v1.0.0
  */
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ClassMethodInvoker {
 
+    /**
+     * 各个 class 中各个方法名所对应的 {@link ClassMethodInvoker} 实例的缓存.
+     *
+     * <p>使用 {@link ClassValue} 来将缓存关联到 class 上，class 所在的类加载器被卸载时（如：热部署）缓存也会随之被回收，
+     * 不会因为持有旧的 class 而导致类加载器无法被回收.</p>
+     */
+    private static final ClassValue<Map<String, ClassMethodInvoker>> invokerMaps =
+            new ClassValue<Map<String, ClassMethodInvoker>>() {
+                @Override
+                protected Map<String, ClassMethodInvoker> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * 各个提供 SQL 的类的单例对象的缓存，同样使用 {@link ClassValue} 来关联到 class 上.
+     */
+    private static final ClassValue<Object> providers = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            return newProviderInstance(type);
+        }
+    };
+
+    /**
+     * 被调用类的 class.
+     */
+    private final Class<?> cls;
+
+    /**
+     * 被调用的方法.
+     */
+    private final Method method;
+
+    /**
+     * 各个参数在参数 Map 映射关系中的参数名，没有标注 {@link Param} 注解的参数为 {@code null}.
+     */
+    private final String[] paramNames;
+
+    /**
+     * 获取被调用类实例的 {@link Supplier}，静态方法时为 {@code null}.
+     */
+    private final Supplier<Object> instanceSupplier;
+
+    /**
+     * 将参数数组展开后再调用方法的 {@link MethodHandle}，会在第一次调用时再绑定被调用类的实例.
+     */
+    private volatile MethodHandle handle;
+
+    private ClassMethodInvoker(Class<?> cls, Method method, Supplier<Object> instanceSupplier) {
+        this.cls = cls;
+        this.method = method;
+        Parameter[] parameters = method.getParameters();
+        this.paramNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Param param = parameters[i].getAnnotation(Param.class);
+            this.paramNames[i] = param != null ? param.value() : null;
+        }
+        this.instanceSupplier = Modifier.isStatic(method.getModifiers()) ? null : instanceSupplier;
+    }
+
     /**
      * 根据被调用类的 class、被调用类的方法名和参数的 Map 映射关系来调用此方法.
      *
+     * <p>被调用类的实例会使用 {@link #getProviderInstance(Class)} 来获取单例对象.</p>
+     *
      * @param cls 被调用类的 class
      * @param method 被调用类的方法名
      * @param paramMap 被调用类的方法的参数 Map 映射关系，即 key 是参数名，value 是参数值.
      * @return {@link SqlInfo} 对象
      */
     public static SqlInfo invoke(Class<?> cls, String method, Map<String, Object> paramMap) {
-        Method[] methods = cls.getMethods();
-        for (Method m : methods) {
-            if (m.getName().equals(method)) {
-                Parameter[] parameters = m.getParameters();
-                List<Object> paramValues = new ArrayList<>(parameters.length);
-                for (Parameter p : parameters) {
-                    Param param = p.getAnnotation(Param.class);
-                    paramValues.add(param != null ? paramMap.get(param.value()) : null);
-                }
+        return invokerMaps.get(cls).computeIfAbsent(method,
+                key -> of(cls, method, () -> getProviderInstance(cls))).invoke(paramMap);
+    }
 
-                return invokeMethod(cls, m, paramValues);
+    /**
+     * 根据参数的 Map 映射关系来调用此方法.
+     *
+     * @param paramMap 被调用类的方法的参数 Map 映射关系，即 key 是参数名，value 是参数值.
+     * @return {@link SqlInfo} 对象
+     * @since v3.2.0
+     */
+    public SqlInfo invoke(Map<String, Object> paramMap) {
+        Object[] args = new Object[this.paramNames.length];
+        for (int i = 0; i < args.length; i++) {
+            if (this.paramNames[i] != null) {
+                args[i] = paramMap.get(this.paramNames[i]);
+            }
+        }
+
+        MethodHandle mh = this.handle;
+        if (mh == null) {
+            mh = this.buildHandle();
+            this.handle = mh;
+        }
+
+        // 方法抛出的运行时异常和错误原样抛出，只有受检异常才包装为 FenixException.
+        try {
+            return (SqlInfo) mh.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FenixException("【Fenix 异常】调用【" + this.cls.getName() + "】类的【" + this.method.getName()
+                    + "】方法异常，请检查该方法的参数和返回值！", e);
+        }
+    }
+
+    /**
+     * 查找被调用类中的公共方法，并创建可以重复调用该方法的 {@link ClassMethodInvoker} 实例.
+     *
+     * @param cls 被调用类的 class
+     * @param method 被调用类的方法名
+     * @param instanceSupplier 获取被调用类实例的 {@link Supplier}，会在第一次调用时才获取
+     * @return {@link ClassMethodInvoker} 实例
+     * @since v3.2.0
+     */
+    public static ClassMethodInvoker of(Class<?> cls, String method, Supplier<Object> instanceSupplier) {
+        for (Method m : cls.getMethods()) {
+            if (m.getName().equals(method)) {
+                return new ClassMethodInvoker(cls, m, instanceSupplier);
             }
         }
 
@@ -49,22 +155,46 @@ public final class ClassMethodInvoker {
     }
 
     /**
-     * 正式通过反射调用某个 class 的某个方法.
+     * 获取提供 SQL 的类的单例对象，第一次获取时会通过该类的无参构造方法来创建.
      *
-     * @param cls 被调用类的 class
-     * @param m 被调用类的方法名
-     * @param paramValues 参数值的集合.
-     * @return {@link SqlInfo} 对象
+     * @param cls 提供 SQL 的类的 class
+     * @return 单例对象
+     * @since v3.2.0
      */
-    private static SqlInfo invokeMethod(Class<?> cls, Method m, List<Object> paramValues) {
+    public static Object getProviderInstance(Class<?> cls) {
+        return providers.get(cls);
+    }
+
+    private static Object newProviderInstance(Class<?> cls) {
         try {
-            m.setAccessible(true);
-            return (SqlInfo) m.invoke(cls.getDeclaredConstructor().newInstance(), paramValues.toArray());
+            return cls.getDeclaredConstructor().newInstance();
         } catch (InstantiationException | NoSuchMethodException
                 | IllegalAccessException | InvocationTargetException e) {
-            throw new FenixException("【Fenix 异常】创建【" + cls.getName() + "】类的实例异常，请检查构造方法是否是无参 public 型的，"
-                    + "或者检查调用的【" + m.getName() + "】方法是否是 public 型的！", e);
+            throw new FenixException("【Fenix 异常】创建【" + cls.getName() + "】类的实例异常，"
+                    + "请检查构造方法是否是无参 public 型的！", e);
+        }
+    }
+
+    /**
+     * 将被调用的方法转换为接收参数数组、返回 {@link SqlInfo} 的 {@link MethodHandle}，非静态方法时会绑定被调用类的实例.
+     *
+     * @return {@link MethodHandle} 实例
+     */
+    private MethodHandle buildHandle() {
+        MethodHandle mh;
+        try {
+            this.method.setAccessible(true);
+            mh = MethodHandles.lookup().unreflect(this.method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new FenixException("【Fenix 异常】获取【" + this.cls.getName() + "】类的【" + this.method.getName()
+                    + "】方法的访问权限异常，请检查该方法是否是 public 型的！", e);
+        }
+
+        if (this.instanceSupplier != null) {
+            mh = mh.bindTo(this.instanceSupplier.get());
         }
+        return mh.asSpreader(Object[].class, this.paramNames.length)
+                .asType(MethodType.methodType(SqlInfo.class, Object[].class));
     }
 
 }
@@ -1,7 +1,13 @@
 package com.blinkfox.fenix.helper;
 
 import com.blinkfox.fenix.consts.Const;
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -14,6 +20,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class CollectionHelper {
 
+    /**
+     * int 类型能表示的最大的 2 的幂次方.
+     */
+    private static final int HIGHEST_POWER_OF_TWO = 1 << 30;
+
     /**
      * 判断数组是否不为空.
      *
@@ -55,7 +66,7 @@ public final class CollectionHelper {
         Object[] values;
         switch (objType) {
             case Const.OBJTYPE_ARRAY:
-                values = (Object[]) obj;
+                values = obj instanceof Object[] ? (Object[]) obj : PrimitiveArrayList.wrap(obj).toArray();
                 break;
             case Const.OBJTYPE_COLLECTION:
                 values = ((Collection<?>) obj).toArray();
@@ -66,4 +77,169 @@ public final class CollectionHelper {
         return values;
     }
 
+    /**
+     * 将数组转换为 {@link List} 集合，对象数组会使用 {@link Arrays#asList} 来包装，
+     * 基本类型的数组（如：{@code long[]}）则会包装成 {@link PrimitiveArrayList} 视图，两者都不会复制数组.
+     *
+     * @param array 数组
+     * @return 集合
+     * @since v3.2.0
+     */
+    public static List<?> asList(Object array) {
+        return array instanceof Object[] ? Arrays.asList((Object[]) array) : PrimitiveArrayList.wrap(array);
+    }
+
+    /**
+     * 如果对象是数组，就将其转换为 {@link List} 集合，否则原样返回.
+     *
+     * <p>注：{@code byte[]} 和 {@code char[]} 在 JPA 中通常是二进制、文本等单个的值，所以不会转换，见 {@link #isScalarArray}.</p>
+     *
+     * @param obj 对象
+     * @return 集合或者原对象
+     * @since v3.2.0
+     */
+    public static Object arrayToList(Object obj) {
+        return obj != null && obj.getClass().isArray() && !isScalarArray(obj) ? asList(obj) : obj;
+    }
+
+    /**
+     * 判断对象是否是会被 JPA 当作单个值来绑定的数组，即 {@code byte[]} 或者 {@code char[]}.
+     *
+     * @param obj 对象
+     * @return 布尔值
+     * @since v3.2.0
+     */
+    public static boolean isScalarArray(Object obj) {
+        return obj instanceof byte[] || obj instanceof char[];
+    }
+
+    /**
+     * 将 IN 查询的参数集合补齐到不小于其长度的桶大小，补齐的元素均为集合中的最后一个元素，不会改变 IN 查询的结果.
+     *
+     * @param values 参数集合
+     * @param buckets 从小到大排列的桶大小，为空时表示补齐到 2 的幂次方
+     * @return 补齐后的集合，如果无需补齐则返回原集合
+     * @since v3.2.0
+     */
+    public static Collection<?> padInValues(Collection<?> values, int[] buckets) {
+        int size = values.size();
+        int paddedSize = getPaddedSize(size, buckets);
+        if (paddedSize <= size) {
+            return values;
+        }
+        return new PaddedList(values instanceof List ? (List<?>) values : new ArrayList<>(values), paddedSize);
+    }
+
+    /**
+     * 获取集合长度补齐后的桶大小，超出最大桶大小的长度会补齐到最大桶大小的整数倍.
+     *
+     * @param size 集合长度
+     * @param buckets 从小到大排列的桶大小，为空时表示补齐到 2 的幂次方
+     * @return 补齐后的长度
+     * @since v3.2.0
+     */
+    public static int getPaddedSize(int size, int[] buckets) {
+        if (size <= 1) {
+            return size;
+        }
+
+        if (buckets == null || buckets.length == 0) {
+            int highestOneBit = Integer.highestOneBit(size);
+            return highestOneBit == size || highestOneBit == HIGHEST_POWER_OF_TWO ? size : highestOneBit << 1;
+        }
+
+        for (int bucket : buckets) {
+            if (bucket >= size) {
+                return bucket;
+            }
+        }
+        int maxBucket = buckets[buckets.length - 1];
+        return (size + maxBucket - 1) / maxBucket * maxBucket;
+    }
+
+    /**
+     * 判断集合的长度是否大于指定的阈值，阈值小于等于 0 时表示未开启，始终返回 {@code false}.
+     *
+     * @param values 集合
+     * @param threshold 阈值
+     * @return 布尔值
+     * @since v3.2.0
+     */
+    public static boolean isOverThreshold(Collection<?> values, int threshold) {
+        return threshold > 0 && values.size() > threshold;
+    }
+
+    /**
+     * 将集合按指定的大小拆分成多个子集合，子集合均为原集合的视图，如果需要补齐，则只会补齐最后一个子集合.
+     *
+     * @param values 集合
+     * @param chunkSize 每个子集合的大小
+     * @param padding 是否补齐最后一个子集合
+     * @return 子集合的列表
+     * @since v3.2.0
+     */
+    public static List<Collection<?>> chunk(Collection<?> values, int chunkSize, boolean padding) {
+        List<?> list = values instanceof List ? (List<?>) values : new ArrayList<>(values);
+        int size = list.size();
+        List<Collection<?>> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < size; from += chunkSize) {
+            List<?> chunk = list.subList(from, Math.min(from + chunkSize, size));
+            chunks.add(padding && chunk.size() < chunkSize ? new PaddedList(chunk, chunkSize) : chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * 将集合转换为以第一个非 {@code null} 元素的类型作为元素类型的数组，以便作为数组参数来绑定，
+     * 如果元素的类型不一致，则返回 {@code Object[]} 数组.
+     *
+     * @param values 集合
+     * @return 数组
+     * @since v3.2.0
+     */
+    public static Object[] toTypedArray(Collection<?> values) {
+        Class<?> componentType = Object.class;
+        for (Object value : values) {
+            if (value != null) {
+                componentType = value.getClass();
+                break;
+            }
+        }
+
+        try {
+            return values.toArray((Object[]) Array.newInstance(componentType, values.size()));
+        } catch (ArrayStoreException e) {
+            return values.toArray();
+        }
+    }
+
+    /**
+     * 在原集合的基础上，通过重复最后一个元素来补齐到指定长度的只读集合视图.
+     */
+    private static final class PaddedList extends AbstractList<Object> implements RandomAccess {
+
+        private final List<?> values;
+
+        private final int size;
+
+        PaddedList(List<?> values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+            }
+            return this.values.get(Math.min(index, this.values.size() - 1));
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+    }
+
 }
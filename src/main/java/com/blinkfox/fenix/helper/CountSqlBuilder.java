@@ -0,0 +1,386 @@
+package com.blinkfox.fenix.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 基于轻量级的词法扫描，将分页查询的 JPQL 或者 SQL 语句转换为求总记录数的 count 语句的构建器，用于替代之前的正则替换方式.
+ *
+ * <p>扫描时会跳过字符串字面量、带引号的标识符、注释和括号中的子查询，只识别最外层的关键字，并做如下处理：</p>
+ * <ul>
+ *     <li>1. 将最外层的 {@code SELECT ... FROM} 替换为 {@code select count(*) as count from}；</li>
+ *     <li>2. 去除最外层的 {@code ORDER BY} 子句，JPQL 中还会将 {@code JOIN FETCH} 替换为普通的 {@code JOIN}；</li>
+ *     <li>3. 含有 {@code GROUP BY}、{@code UNION} 等集合运算，或者开启了 distinct 检测且 {@code DISTINCT} 后有多个查询项时，
+ *            会将原查询包装为子查询，即：{@code select count(*) from (...) fenix_count_t}，JPQL 中还会为缺少别名的查询项补充别名；</li>
+ *     <li>4. 开启了 distinct 检测且 {@code DISTINCT} 后只有一个查询项时，生成 {@code count(distinct xxx)} 的语句.</li>
+ * </ul>
+ *
+ * <p>注：该类的实例是有状态的，仅在单次构建过程中使用，请使用静态方法 {@link #build(String, boolean, boolean)} 来调用.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see SqlNormalizer
+ * @since v3.2.0
+ */
+public final class CountSqlBuilder {
+
+    private static final String SELECT_COUNT = "select count(*) as count ";
+
+    private static final String SELECT_COUNT_FROM_SUBQUERY = "select count(*) as count from (";
+
+    private static final String SUBQUERY_ALIAS = ") fenix_count_t";
+
+    private static final String ITEM_ALIAS = " as fenix_c";
+
+    private static final String SELECT = "select";
+
+    private static final String DISTINCT = "distinct";
+
+    private static final String FROM = "from";
+
+    private static final String AS = "as";
+
+    private static final String BY = "by";
+
+    /**
+     * 集合运算的关键字.
+     */
+    private static final Set<String> SET_OPERATORS = new HashSet<>(Arrays.asList("union", "intersect", "except"));
+
+    /**
+     * 原生 SQL 中可能位于 {@code ORDER BY} 子句之后、且需要保留的子句的关键字.
+     */
+    private static final Set<String> ORDER_BY_TAILS = new HashSet<>(Arrays.asList("limit", "offset", "fetch", "for"));
+
+    /**
+     * 位于查询项末尾的标识符之前时，说明该标识符不是别名的关键字.
+     */
+    private static final Set<String> NON_ALIAS_PREFIXES = new HashSet<>(Arrays.asList(
+            SELECT, DISTINCT, "and", "or", "not", "is", "in", "like", "between", "case", "when", "then", "else",
+            "new", "escape", "member", "of"));
+
+    /**
+     * 不能作为别名的关键字.
+     */
+    private static final Set<String> NON_ALIAS_WORDS = new HashSet<>(Arrays.asList(
+            "end", "null", "true", "false", DISTINCT));
+
+    /**
+     * 要转换的 JPQL 或者 SQL 语句.
+     */
+    private final String sql;
+
+    /**
+     * 是否是原生 SQL.
+     */
+    private final boolean nativeQuery;
+
+    /**
+     * 最外层（不在括号中）的单词和逗号.
+     */
+    private final List<Token> tokens = new ArrayList<>();
+
+    private CountSqlBuilder(String sql, boolean nativeQuery) {
+        this.sql = sql;
+        this.nativeQuery = nativeQuery;
+    }
+
+    /**
+     * 将查询的 JPQL 或者 SQL 语句转换为求总记录数的 count 语句.
+     *
+     * @param sql 查询的 JPQL 或者 SQL 语句
+     * @param nativeQuery 是否是原生 SQL
+     * @param enableDistinct 是否开启 distinct 检测
+     * @return count 语句
+     */
+    public static String build(String sql, boolean nativeQuery, boolean enableDistinct) {
+        return new CountSqlBuilder(sql, nativeQuery).doBuild(enableDistinct);
+    }
+
+    private String doBuild(boolean enableDistinct) {
+        this.tokenize();
+        int select = this.indexOfWord(0, SELECT);
+        int from = this.indexOfWord(select + 1, FROM);
+        if (from < 0) {
+            return this.sql;
+        }
+
+        // 查询项的范围，以及是否含有 DISTINCT 关键字.
+        boolean distinct = select >= 0 && select + 1 < from && this.isWord(select + 1, DISTINCT);
+        int itemsFrom = select < 0 ? from : select + (distinct ? 2 : 1);
+
+        // 找到最外层的 ORDER BY 子句的范围，以及是否含有 GROUP BY 或者集合运算.
+        int orderByStart = -1;
+        int orderByEnd = this.sql.length();
+        boolean needSubquery = false;
+        for (int i = from + 1, n = this.tokens.size(); i < n; i++) {
+            Token token = this.tokens.get(i);
+            if (token.isWord("group") && this.isWord(i + 1, BY) || SET_OPERATORS.contains(token.word)) {
+                needSubquery = true;
+            } else if (token.isWord("order") && this.isWord(i + 1, BY)) {
+                orderByStart = token.start;
+                orderByEnd = this.sql.length();
+            } else if (orderByStart >= 0 && orderByEnd == this.sql.length() && ORDER_BY_TAILS.contains(token.word)) {
+                orderByEnd = token.start;
+            }
+        }
+
+        List<int[]> items = this.splitItems(itemsFrom, from);
+        if (needSubquery || (enableDistinct && distinct && items.size() > 1)) {
+            return this.buildSubqueryCount(select, items, orderByStart, orderByEnd);
+        }
+
+        StringBuilder countSql = new StringBuilder(this.sql.length());
+        if (enableDistinct && distinct && items.size() == 1) {
+            countSql.append("select count(distinct ").append(this.getItemExpression(items.get(0)))
+                    .append(") as count ");
+        } else {
+            countSql.append(SELECT_COUNT);
+        }
+        this.appendWithoutOrderBy(countSql, this.tokens.get(from).start, orderByStart, orderByEnd);
+        return countSql.toString().trim();
+    }
+
+    /**
+     * 将原查询包装为子查询来求总记录数，JPQL 中会为缺少别名的查询项补充别名.
+     */
+    private String buildSubqueryCount(int select, List<int[]> items, int orderByStart, int orderByEnd) {
+        StringBuilder countSql = new StringBuilder(this.sql.length() + 64).append(SELECT_COUNT_FROM_SUBQUERY);
+        if (this.nativeQuery || select < 0) {
+            this.appendWithoutOrderBy(countSql, 0, orderByStart, orderByEnd);
+        } else {
+            StringBuilder inner = new StringBuilder(this.sql.length() + 32);
+            int last = 0;
+            for (int i = 0, n = items.size(); i < n; i++) {
+                int[] item = items.get(i);
+                if (!this.hasAlias(item)) {
+                    inner.append(this.sql, last, item[1]).append(ITEM_ALIAS).append(i);
+                    last = item[1];
+                }
+            }
+            inner.append(this.sql, last, this.sql.length());
+            int offset = inner.length() - this.sql.length();
+            String innerSql = inner.toString();
+            countSql.append(new CountSqlBuilder(innerSql, false).removeOrderByAndFetch(
+                    orderByStart < 0 ? -1 : orderByStart + offset, orderByEnd + offset));
+        }
+        return countSql.append(SUBQUERY_ALIAS).toString();
+    }
+
+    /**
+     * 重新扫描当前语句，并去除指定范围内的 ORDER BY 子句和 FETCH 关键字.
+     */
+    private String removeOrderByAndFetch(int orderByStart, int orderByEnd) {
+        this.tokenize();
+        StringBuilder result = new StringBuilder(this.sql.length());
+        this.appendWithoutOrderBy(result, 0, orderByStart, orderByEnd);
+        return result.toString();
+    }
+
+    /**
+     * 追加从指定位置开始到末尾的语句，并去除其中的 ORDER BY 子句，JPQL 中还会去除 {@code JOIN FETCH} 中的 {@code FETCH}.
+     */
+    private void appendWithoutOrderBy(StringBuilder out, int start, int orderByStart, int orderByEnd) {
+        int last = start;
+        if (!this.nativeQuery) {
+            for (int i = 1, n = this.tokens.size(); i < n; i++) {
+                Token token = this.tokens.get(i);
+                if (token.start >= start && token.isWord("fetch") && this.isWord(i - 1, "join")
+                        && (orderByStart < 0 || token.start < orderByStart)) {
+                    out.append(this.sql, last, this.tokens.get(i - 1).end);
+                    last = token.end;
+                }
+            }
+        }
+
+        if (orderByStart < 0) {
+            out.append(this.sql, last, this.sql.length());
+        } else {
+            out.append(this.sql, last, orderByStart).append(this.sql, orderByEnd, this.sql.length());
+        }
+        // 去除因移除 ORDER BY 子句而产生的末尾空白.
+        int len = out.length();
+        while (len > 0 && Character.isWhitespace(out.charAt(len - 1))) {
+            len--;
+        }
+        out.setLength(len);
+    }
+
+    /**
+     * 按最外层的逗号拆分查询项，返回各个查询项去除首尾空白后的起止位置.
+     */
+    private List<int[]> splitItems(int itemsFrom, int from) {
+        List<int[]> items = new ArrayList<>();
+        if (itemsFrom >= from) {
+            return items;
+        }
+
+        int start = itemsFrom > 0 ? this.tokens.get(itemsFrom - 1).end : 0;
+        for (int i = itemsFrom; i <= from; i++) {
+            Token token = this.tokens.get(i);
+            if (i == from || token.comma) {
+                int[] item = this.trim(start, token.start);
+                if (item[0] < item[1]) {
+                    items.add(item);
+                }
+                start = token.end;
+            }
+        }
+        return items;
+    }
+
+    /**
+     * 获取查询项中去除别名之后的表达式.
+     */
+    private String getItemExpression(int[] item) {
+        for (Token token : this.tokens) {
+            if (token.start >= item[0] && token.end <= item[1] && token.isWord(AS)) {
+                return this.sql.substring(item[0], token.start).trim();
+            }
+        }
+        return this.sql.substring(item[0], item[1]);
+    }
+
+    /**
+     * 判断查询项是否已经有别名，如：{@code u.name as name} 或者 {@code u.name name}.
+     */
+    private boolean hasAlias(int[] item) {
+        Token last = null;
+        Token prev = null;
+        for (Token token : this.tokens) {
+            if (token.start >= item[0] && token.end <= item[1] && !token.comma) {
+                prev = last;
+                last = token;
+            }
+        }
+
+        if (last == null || prev == null || last.end != item[1] || last.word.indexOf('.') >= 0
+                || NON_ALIAS_WORDS.contains(last.word) || !Character.isJavaIdentifierStart(last.word.charAt(0))) {
+            return false;
+        }
+        if (prev.isWord(AS)) {
+            return true;
+        }
+
+        // 别名之前只能是标识符或者右括号，且两者之间要有空白字符.
+        int i = last.start - 1;
+        while (i >= item[0] && Character.isWhitespace(this.sql.charAt(i))) {
+            i--;
+        }
+        if (i < item[0] || i == last.start - 1) {
+            return false;
+        }
+        char c = this.sql.charAt(i);
+        return c == ')' || (prev.end == i + 1 && !NON_ALIAS_PREFIXES.contains(prev.word));
+    }
+
+    private int[] trim(int start, int end) {
+        while (start < end && Character.isWhitespace(this.sql.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(this.sql.charAt(end - 1))) {
+            end--;
+        }
+        return new int[] {start, end};
+    }
+
+    private int indexOfWord(int from, String word) {
+        for (int i = Math.max(from, 0), n = this.tokens.size(); i < n; i++) {
+            if (this.tokens.get(i).isWord(word)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isWord(int index, String word) {
+        return index >= 0 && index < this.tokens.size() && this.tokens.get(index).isWord(word);
+    }
+
+    /**
+     * 单趟扫描语句，记录下最外层的单词和逗号，并跳过字符串字面量、带引号的标识符、注释和括号中的内容.
+     */
+    private void tokenize() {
+        this.tokens.clear();
+        String s = this.sql;
+        int depth = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(s, i, c);
+            } else if (c == '-' && i + 1 < n && s.charAt(i + 1) == '-') {
+                int end = s.indexOf('\n', i);
+                i = end < 0 ? n : end;
+            } else if (c == '/' && i + 1 < n && s.charAt(i + 1) == '*') {
+                int end = s.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth = Math.max(depth - 1, 0);
+            } else if (depth == 0 && c == ',') {
+                this.tokens.add(new Token(null, i, i + 1));
+            } else if (isWordChar(c)) {
+                int end = i + 1;
+                while (end < n && isWordChar(s.charAt(end))) {
+                    end++;
+                }
+                if (depth == 0) {
+                    this.tokens.add(new Token(s.substring(i, end).toLowerCase(Locale.ENGLISH), i, end));
+                }
+                i = end - 1;
+            }
+        }
+    }
+
+    private static int skipQuoted(String s, int start, char quote) {
+        for (int i = start + 1, n = s.length(); i < n; i++) {
+            if (s.charAt(i) == quote) {
+                // 两个连续的引号表示转义后的引号.
+                if (i + 1 < n && s.charAt(i + 1) == quote) {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+        }
+        return s.length();
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.' || c == ':' || c == '?';
+    }
+
+    /**
+     * 最外层的单词或者逗号.
+     */
+    private static final class Token {
+
+        /**
+         * 小写的单词，为 {@code null} 时表示逗号.
+         */
+        private final String word;
+
+        private final boolean comma;
+
+        private final int start;
+
+        private final int end;
+
+        Token(String word, int start, int end) {
+            this.word = word == null ? "," : word;
+            this.comma = word == null;
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean isWord(String text) {
+            return !this.comma && this.word.equals(text);
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.blinkfox.fenix.helper;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 单次渲染某个 fenix 节点时，用于缓存节点中重复出现的表达式计算结果的槽位表.
+ *
+ * <p>哪些表达式会被缓存及其槽位下标是在编译 fenix 节点时就确定好的，每次渲染时只需要创建一个对应大小的数组即可.
+ * 只有以渲染该节点时的上下文参数来计算的表达式才会被缓存，{@code <import value="">} 或 {@code <foreach>} 等标签中
+ * 使用了新的上下文参数来计算的表达式不会被缓存.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see ParseHelper
+ * @since v3.2.0
+ */
+public final class ExpressionMemo {
+
+    /**
+     * 表示槽位中还没有缓存计算结果的标记对象.
+     */
+    private static final Object UNSET = new Object();
+
+    /**
+     * 重复出现的表达式及其槽位下标的 Map.
+     */
+    private final Map<String, Integer> slots;
+
+    /**
+     * 渲染该节点时的上下文参数.
+     */
+    private final Object context;
+
+    /**
+     * 各个槽位中缓存的计算结果.
+     */
+    private final Object[] values;
+
+    /**
+     * 构造方法.
+     *
+     * @param slots 重复出现的表达式及其槽位下标的 Map
+     * @param context 渲染该节点时的上下文参数
+     */
+    ExpressionMemo(Map<String, Integer> slots, Object context) {
+        this.slots = slots;
+        this.context = context;
+        this.values = new Object[slots.size()];
+        Arrays.fill(this.values, UNSET);
+    }
+
+    /**
+     * 获取该表达式在当前上下文参数下的槽位下标，如果该表达式不需要缓存，则返回 {@code -1}.
+     *
+     * @param exp 表达式
+     * @param context 上下文参数
+     * @return 槽位下标
+     */
+    int slotOf(String exp, Object context) {
+        if (context != this.context) {
+            return -1;
+        }
+        Integer slot = this.slots.get(exp);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * 判断槽位中是否已经缓存了计算结果.
+     *
+     * @param slot 槽位下标
+     * @return 布尔值
+     */
+    boolean isSet(int slot) {
+        return this.values[slot] != UNSET;
+    }
+
+    Object get(int slot) {
+        return this.values[slot];
+    }
+
+    void set(int slot, Object value) {
+        this.values[slot] = value;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.blinkfox.fenix.helper;
+
+import com.blinkfox.fenix.exception.FenixException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 在有界的 {@link ForkJoinPool} 中并行处理集合元素的工具类，主要用于启动时并行扫描、解析和编译 Fenix XML 文件.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ParallelHelper {
+
+    /**
+     * 并行处理时最大的线程数.
+     */
+    private static final int MAX_PARALLELISM = 8;
+
+    /**
+     * 在有界的 {@link ForkJoinPool} 中并行地将集合中的每个元素转换为新的元素，返回结果的顺序与原集合的顺序保持一致.
+     *
+     * <p>如果有多个元素转换失败，总是会抛出原集合中排在最前面的那个元素的异常，所以异常信息也是确定的.
+     * 工作线程会沿用调用线程的上下文类加载器，以便在 Spring Boot 的 fat jar 等环境中也能正确加载资源.</p>
+     *
+     * @param items 原集合
+     * @param mapper 转换函数
+     * @param <T> 原集合元素的类型
+     * @param <R> 结果元素的类型
+     * @return 与原集合顺序一致的结果集合
+     */
+    public static <T, R> List<R> mapInOrder(List<T> items, Function<T, R> mapper) {
+        int parallelism = Math.min(Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARALLELISM), items.size());
+        List<R> results = new ArrayList<>(items.size());
+        if (parallelism <= 1) {
+            items.forEach(item -> results.add(mapper.apply(item)));
+            return results;
+        }
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("fenix-parallel-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+
+        try {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            items.forEach(item -> futures.add(pool.submit(() -> mapper.apply(item))));
+            for (Future<R> future : futures) {
+                results.add(getResult(future));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <R> R getResult(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FenixException("【Fenix 异常】并行处理任务时被中断！", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FenixException("【Fenix 异常】并行处理任务时出错！", cause);
+        }
+    }
+
+}
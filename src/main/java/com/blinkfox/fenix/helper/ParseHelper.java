@@ -1,11 +1,20 @@
 package com.blinkfox.fenix.helper;
 
+import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.exception.ParseExpressionException;
+import com.blinkfox.fenix.expression.ExpressionEngine;
+import com.blinkfox.fenix.expression.MvelExpressionEngine;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.mvel2.MVEL;
+import org.mvel2.templates.CompiledTemplate;
+import org.mvel2.templates.TemplateCompiler;
 import org.mvel2.templates.TemplateRuntime;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * MVEL 表达式解析相关的工具类.
@@ -18,15 +27,165 @@ import org.mvel2.templates.TemplateRuntime;
 public final class ParseHelper {
 
     /**
-     * 通过 MVEL 来解析表达式的值，该方法如果解析出错也不抛出异常.
+     * MVEL 模板中各种标记（如：{@code @{}}、{@code @if{}}、{@code @@} 转义等）的起始字符.
+     */
+    private static final char TEMPLATE_MARKER = '@';
+
+    /**
+     * 计算 XML 标签中 match、value 等属性表达式时所使用的表达式引擎，默认是基于 MVEL 的表达式引擎.
+     *
+     * @since v3.2.0
+     */
+    private static volatile ExpressionEngine expressionEngine = new MvelExpressionEngine();
+
+    /**
+     * 上下文参数是 Java Bean 时，已编译的 MVEL 模板的有界并发缓存，key 是模板文本，value 是 MVEL 编译后的模板对象.
+     *
+     * <p>注：MVEL 在首次执行模板时会根据上下文参数的类型来优化属性的访问方式，所以须要按上下文参数是否是 Map 来分别缓存.</p>
+     *
+     * @since v3.2.0
+     */
+    private static volatile ConcurrentLruCache<String, CompiledTemplate> templateCache =
+            new ConcurrentLruCache<>(Const.DEFAULT_EXPRESSION_CACHE_SIZE, TemplateCompiler::compileTemplate);
+
+    /**
+     * 上下文参数是 Map 时，已编译的 MVEL 模板的有界并发缓存.
+     *
+     * @since v3.2.0
+     */
+    private static volatile ConcurrentLruCache<String, CompiledTemplate> mapTemplateCache =
+            new ConcurrentLruCache<>(Const.DEFAULT_EXPRESSION_CACHE_SIZE, TemplateCompiler::compileTemplate);
+
+    /**
+     * 正在枚举 SQL 形态的线程数，大于 0 时才会去获取当前线程的分支选择器，以免影响正常渲染时的性能.
+     *
+     * @since v3.2.0
+     */
+    private static final AtomicInteger exploringCount = new AtomicInteger();
+
+    /**
+     * 当前线程在枚举 SQL 形态时所使用的分支选择器，用来代替计算 match、when 等条件表达式的结果.
+     *
+     * @since v3.2.0
+     */
+    private static final ThreadLocal<Predicate<String>> branchChooser = new ThreadLocal<>();
+
+    /**
+     * 当前线程中正在渲染的 fenix 节点的表达式计算结果的槽位表.
+     *
+     * @since v3.2.0
+     */
+    private static final ThreadLocal<ExpressionMemo> memoHolder = new ThreadLocal<>();
+
+    /**
+     * 根据缓存的最大容量来重新初始化已编译的 MVEL 模板的缓存.
+     *
+     * @param cacheSize 缓存的最大容量
+     * @since v3.2.0
+     */
+    public static void initCache(int cacheSize) {
+        int size = cacheSize > 0 ? cacheSize : Const.DEFAULT_EXPRESSION_CACHE_SIZE;
+        templateCache = new ConcurrentLruCache<>(size, TemplateCompiler::compileTemplate);
+        mapTemplateCache = new ConcurrentLruCache<>(size, TemplateCompiler::compileTemplate);
+    }
+
+    /**
+     * 设置计算表达式时所使用的表达式引擎.
+     *
+     * @param engine 表达式引擎，为 {@code null} 时使用默认的 MVEL 表达式引擎
+     * @since v3.2.0
+     */
+    public static void setExpressionEngine(ExpressionEngine engine) {
+        expressionEngine = engine == null ? new MvelExpressionEngine() : engine;
+    }
+
+    /**
+     * 清空表达式引擎中已编译的表达式和已编译的 MVEL 模板的缓存.
+     *
+     * @since v3.2.0
+     */
+    public static void clearCache() {
+        expressionEngine.clearCache();
+        templateCache.clear();
+        mapTemplateCache.clear();
+    }
+
+    /**
+     * 使当前线程进入枚举 SQL 形态的模式，该模式下不会真正计算表达式的值.
+     *
+     * <p>进入该模式后，{@link #isTrue(String, Object)} 的结果将由分支选择器来决定，其他表达式则统一返回一个空 Map 作为占位值，
+     * 使用完毕后必须调用 {@link #endExplore()} 来退出该模式.</p>
+     *
+     * @param chooser 分支选择器，参数为条件表达式，返回值为该条件是否成立
+     * @since v3.2.0
+     */
+    public static void startExplore(Predicate<String> chooser) {
+        if (branchChooser.get() == null) {
+            exploringCount.incrementAndGet();
+        }
+        branchChooser.set(chooser);
+    }
+
+    /**
+     * 使当前线程退出枚举 SQL 形态的模式.
+     *
+     * @since v3.2.0
+     */
+    public static void endExplore() {
+        if (branchChooser.get() != null) {
+            branchChooser.remove();
+            exploringCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * 开始渲染某个 fenix 节点，在本次渲染中，以该上下文参数计算的重复表达式都只会计算一次.
+     *
+     * <p>使用完毕后必须调用 {@link #endMemo(ExpressionMemo)} 并传入本方法的返回值，以恢复外层渲染的槽位表.</p>
+     *
+     * @param slots 重复出现的表达式及其槽位下标的 Map
+     * @param context 渲染该节点时的上下文参数
+     * @return 外层渲染的槽位表，可能为 {@code null}
+     * @since v3.2.0
+     */
+    public static ExpressionMemo startMemo(Map<String, Integer> slots, Object context) {
+        ExpressionMemo previous = memoHolder.get();
+        memoHolder.set(new ExpressionMemo(slots, context));
+        return previous;
+    }
+
+    /**
+     * 结束本次渲染，并恢复外层渲染的槽位表.
+     *
+     * @param previous 外层渲染的槽位表，为 {@code null} 时表示没有外层渲染
+     * @since v3.2.0
+     */
+    public static void endMemo(ExpressionMemo previous) {
+        if (previous == null) {
+            memoHolder.remove();
+        } else {
+            memoHolder.set(previous);
+        }
+    }
+
+    private static boolean isExploring() {
+        return exploringCount.get() > 0 && branchChooser.get() != null;
+    }
+
+    /**
+     * 通过表达式引擎（默认是 MVEL）来解析表达式的值，该方法如果解析出错也不抛出异常.
      *
      * @param exp 待解析表达式
      * @param context 上下文参数（一般是 Bean 或者 map）
      * @return 返回解析后的值
      */
     public static Object parseExpress(String exp, Object context) {
+        if (isExploring()) {
+            return Collections.emptyMap();
+        }
+
         try {
-            return MVEL.eval(exp, context);
+            return evaluate(exp, context);
         } catch (Exception e) {
             log.error("【Fenix 错误警示】解析表达式出错，表达式为:【{}】.", exp, e);
             return null;
@@ -34,30 +193,75 @@ public final class ParseHelper {
     }
 
     /**
-     * 通过 MVEL 来解析表达式的值，该方法如果解析出错就抛出 {@link ParseExpressionException} 异常.
+     * 通过表达式引擎（默认是 MVEL）来解析表达式的值，该方法如果解析出错就抛出 {@link ParseExpressionException} 异常.
      *
      * @param exp 待解析表达式
      * @param context 上下文参数（一般是 Bean 或者 map）
      * @return 返回解析后的值
      */
     public static Object parseExpressWithException(String exp, Object context) {
+        if (isExploring()) {
+            return Collections.emptyMap();
+        }
+
         try {
-            return MVEL.eval(exp, context);
+            return evaluate(exp, context);
         } catch (Exception e) {
             throw new ParseExpressionException("【Fenix 异常提示】解析表达式异常，解析出错的表达式为:【" + exp + "】.", e);
         }
     }
 
+    /**
+     * 通过表达式引擎来计算表达式的值，如果当前正在渲染的 fenix 节点中该表达式会重复出现，就只计算一次并缓存到槽位表中.
+     *
+     * @param exp 待计算的表达式
+     * @param context 上下文参数
+     * @return 计算结果
+     */
+    private static Object evaluate(String exp, Object context) {
+        ExpressionMemo memo = memoHolder.get();
+        int slot = memo == null ? -1 : memo.slotOf(exp, context);
+        if (slot < 0) {
+            return expressionEngine.evaluate(exp, context);
+        }
+
+        if (!memo.isSet(slot)) {
+            memo.set(slot, expressionEngine.evaluate(exp, context));
+        }
+        return memo.get(slot);
+    }
+
+    /**
+     * 判断文本中是否可能含有 MVEL 模板的标记，不含任何模板标记的文本无需经过模板引擎渲染.
+     *
+     * @param text 待判断的文本
+     * @return 布尔值
+     * @since v3.2.0
+     */
+    public static boolean hasTemplateMarker(String text) {
+        return text == null || text.indexOf(TEMPLATE_MARKER) >= 0;
+    }
+
     /**
      * 通过 MVEL 来解析模板的值，该方法如果解析出错就抛出 {@link ParseExpressionException} 异常.
      *
+     * <p>注：v3.2.0 版本开始，不含任何模板标记的文本将直接返回，不再经过模板引擎；
+     * 否则将从缓存中获取已编译的模板 {@link CompiledTemplate} 来执行.</p>
+     *
      * @param template 待解析表达式
      * @param context 上下文参数（一般是 Bean 或者 map）
      * @return 返回解析后的字符串结果
      */
     public static String parseTemplate(String template, Object context) {
+        if (!hasTemplateMarker(template)) {
+            return template;
+        }
+
         try {
-            return (String) TemplateRuntime.eval(template, context);
+            CompiledTemplate compiled = context instanceof Map
+                    ? mapTemplateCache.get(template)
+                    : templateCache.get(template);
+            return (String) TemplateRuntime.execute(compiled, context);
         } catch (Exception e) {
             throw new ParseExpressionException("【Fenix 异常提示】解析模板异常，解析出错的模板为:【" + template + "】.", e);
         }
@@ -93,6 +297,9 @@ public final class ParseHelper {
      * @return 布尔值
      */
     public static boolean isTrue(String exp, Object context) {
+        if (isExploring()) {
+            return branchChooser.get().test(exp);
+        }
         return Boolean.TRUE.equals(ParseHelper.parseExpressWithException(exp, context));
     }
 
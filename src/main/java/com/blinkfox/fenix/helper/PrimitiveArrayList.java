@@ -0,0 +1,111 @@
+package com.blinkfox.fenix.helper;
+
+import com.blinkfox.fenix.exception.FenixException;
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * 基本类型数组（如：{@code long[]}、{@code int[]} 等）的只读 {@link java.util.List} 视图.
+ *
+ * <p>该视图不会复制原数组，也不会预先装箱所有的元素，只有在 JPA 最终绑定参数、遍历到某个元素时才会装箱该元素，
+ * 从而避免为了传递 IN 查询等的参数而把大量的主键 ID 提前装箱成 {@code List<Long>} 集合.</p>
+ *
+ * <p>在 XML 标签中，基本类型的数组会被自动包装成本视图；在 Java API 中，可以通过 {@link #of(long...)} 等方法来包装，
+ * 再作为集合参数传递，如：{@code Fenix.start().andIn("u.id", PrimitiveArrayList.of(ids))}.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see CollectionHelper#asList(Object)
+ * @since v3.2.0
+ */
+public final class PrimitiveArrayList extends AbstractList<Object> implements RandomAccess {
+
+    /**
+     * 被包装的基本类型数组.
+     */
+    private final Object array;
+
+    /**
+     * 数组的长度.
+     */
+    private final int size;
+
+    private PrimitiveArrayList(Object array) {
+        this.array = array;
+        this.size = Array.getLength(array);
+    }
+
+    /**
+     * 包装任意的基本类型数组.
+     *
+     * @param array 基本类型的数组
+     * @return {@link PrimitiveArrayList} 实例
+     */
+    public static PrimitiveArrayList wrap(Object array) {
+        if (array == null || !array.getClass().isArray() || !array.getClass().getComponentType().isPrimitive()) {
+            throw new FenixException("【Fenix 异常提示】被包装的对象不是基本类型的数组，请检查！");
+        }
+        return new PrimitiveArrayList(array);
+    }
+
+    /**
+     * 包装 {@code long[]} 数组.
+     *
+     * @param values 数组
+     * @return {@link PrimitiveArrayList} 实例
+     */
+    public static PrimitiveArrayList of(long... values) {
+        return new PrimitiveArrayList(values);
+    }
+
+    /**
+     * 包装 {@code int[]} 数组.
+     *
+     * @param values 数组
+     * @return {@link PrimitiveArrayList} 实例
+     */
+    public static PrimitiveArrayList of(int... values) {
+        return new PrimitiveArrayList(values);
+    }
+
+    /**
+     * 包装 {@code double[]} 数组.
+     *
+     * @param values 数组
+     * @return {@link PrimitiveArrayList} 实例
+     */
+    public static PrimitiveArrayList of(double... values) {
+        return new PrimitiveArrayList(values);
+    }
+
+    /**
+     * 获取被包装的原始数组，以便支持数组类型绑定的场景可以直接使用，而无需装箱.
+     *
+     * @return 基本类型的数组
+     */
+    public Object getArray() {
+        return this.array;
+    }
+
+    /**
+     * 获取指定下标的元素，只有在获取时才会装箱该元素.
+     *
+     * @param index 下标
+     * @return 装箱后的元素
+     */
+    @Override
+    public Object get(int index) {
+        if (this.array instanceof long[]) {
+            return ((long[]) this.array)[index];
+        } else if (this.array instanceof int[]) {
+            return ((int[]) this.array)[index];
+        }
+        return Array.get(this.array, index);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+}
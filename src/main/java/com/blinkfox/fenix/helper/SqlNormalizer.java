@@ -0,0 +1,387 @@
+package com.blinkfox.fenix.helper;
+
+import com.blinkfox.fenix.consts.Const;
+import java.util.List;
+
+/**
+ * 手写的、单趟线性扫描的 SQL 规范化器，用于替代之前由多个正则表达式串联而成的 SQL 处理流程.
+ *
+ * <p>一次扫描即可完成如下操作，且结果与之前的正则处理流程完全一致：</p>
+ * <ul>
+ *     <li>1. 去除换行符、回车符，并将多个连续的空白字符替换为一个空格，最后去除首尾的空白字符；</li>
+ *     <li>2. 将 '#{xxx}' 替换为 ':xxx' 形式的命名参数，并记录下参数名称和表达式；</li>
+ *     <li>3. 将 {@code WHERE AND}、{@code WHERE OR} 替换为 {@code WHERE}，
+ *            将 {@code WHERE ORDER BY}、{@code WHERE GROUP BY} 中的 {@code WHERE} 去除，并去除末尾多余的 {@code WHERE}；</li>
+ *     <li>4. 按字面量移除 {@code removeIfExist} 中的 SQL 片段.</li>
+ * </ul>
+ *
+ * <p>注：该类的实例是有状态的，仅在单次规范化过程中使用，请使用静态方法来调用.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see StringHelper
+ * @since v3.2.0
+ */
+public final class SqlNormalizer {
+
+    private static final char[] WHERE_AND = " WHERE AND ".toCharArray();
+
+    private static final char[] WHERE_OR = " WHERE OR ".toCharArray();
+
+    private static final char[] WHERE_ORDER_BY = " WHERE ORDER BY ".toCharArray();
+
+    private static final char[] WHERE_GROUP_BY = " WHERE GROUP BY ".toCharArray();
+
+    private static final char[] WHERE = " WHERE ".toCharArray();
+
+    private static final char[] ORDER_BY = " ORDER BY ".toCharArray();
+
+    private static final char[] GROUP_BY = " GROUP BY ".toCharArray();
+
+    private static final String WHERE_PREV_SPACE = " WHERE";
+
+    /**
+     * 是否需要去除多余的空白字符.
+     */
+    private final boolean blank;
+
+    /**
+     * 是否需要处理 {@code WHERE} 后多余的关键字.
+     */
+    private final boolean where;
+
+    /**
+     * 用于收集 '#{xxx}' 命名参数名称的集合，为 {@code null} 时表示不处理 '#{xxx}'.
+     */
+    private final List<String> paramNames;
+
+    /**
+     * 用于收集 '#{xxx}' 参数表达式的集合，与 {@link #paramNames} 一一对应.
+     */
+    private final List<String> paramExpressions;
+
+    /**
+     * 输出的字符缓冲区.
+     */
+    private char[] out;
+
+    /**
+     * 输出的字符缓冲区中已写入的字符长度.
+     */
+    private int len;
+
+    /**
+     * 连续空白字符的个数及最后一个空白字符.
+     */
+    private int blankCount;
+
+    private char blankChar;
+
+    /**
+     * 是否已经输出过非空白字符，以及输出第一个非空白字符之后，暂存的首尾空白或控制字符，用于实现与 {@link String#trim()} 一致的效果.
+     */
+    private boolean started;
+
+    private final StringBuilder trimPending = new StringBuilder();
+
+    /**
+     * 是否暂存了一个 '#' 字符，以及正在捕获中的 '#{' 和 '}' 之间的文本，为 {@code null} 时表示未在捕获中.
+     */
+    private boolean hashPending;
+
+    private StringBuilder capture;
+
+    /**
+     * 各个 {@code WHERE} 替换规则上一次替换结束的位置，同一规则的两次替换之间不能重叠，与正则的 replaceAll 语义保持一致.
+     */
+    private int andOrGuard;
+
+    private int orderByGuard;
+
+    private int groupByGuard;
+
+    /**
+     * 私有构造方法.
+     *
+     * @param capacity 初始的缓冲区大小
+     * @param blank 是否需要去除多余的空白字符
+     * @param where 是否需要处理 {@code WHERE} 后多余的关键字
+     * @param paramNames 用于收集命名参数名称的集合
+     * @param paramExpressions 用于收集参数表达式的集合
+     */
+    private SqlNormalizer(int capacity, boolean blank, boolean where,
+            List<String> paramNames, List<String> paramExpressions) {
+        this.out = new char[Math.max(capacity, 16)];
+        this.blank = blank;
+        this.where = where;
+        this.paramNames = paramNames;
+        this.paramExpressions = paramExpressions;
+    }
+
+    /**
+     * 对 Fenix 渲染出的原始 SQL 做完整的规范化处理.
+     *
+     * @param rawSql 原始 SQL
+     * @param removeText 需要按字面量移除的 SQL 片段，可以为空
+     * @param paramNames 用于收集 '#{xxx}' 命名参数名称的集合，为 {@code null} 时表示不处理 '#{xxx}'
+     * @param paramExpressions 用于收集 '#{xxx}' 参数表达式的集合
+     * @return 规范化之后的 SQL
+     */
+    public static String normalize(String rawSql, String removeText,
+            List<String> paramNames, List<String> paramExpressions) {
+        String sql = new SqlNormalizer(rawSql.length(), true, true, paramNames, paramExpressions).run(rawSql);
+        return StringHelper.isNotBlank(removeText) && sql.contains(removeText) ? sql.replace(removeText, "") : sql;
+    }
+
+    /**
+     * 去除多余的空白字符，并处理 {@code WHERE} 后多余的关键字，不处理 '#{xxx}'，常用于 Java API 拼接出的 SQL.
+     *
+     * @param rawSql 原始 SQL
+     * @return 规范化之后的 SQL
+     */
+    public static String normalize(String rawSql) {
+        return new SqlNormalizer(rawSql.length(), true, true, null, null).run(rawSql);
+    }
+
+    /**
+     * 仅去除多余的空白字符，见 {@link StringHelper#replaceBlank(String)}.
+     *
+     * @param str 待处理的字符串
+     * @return 处理后的字符串
+     */
+    static String replaceBlank(String str) {
+        return new SqlNormalizer(str.length(), true, false, null, null).run(str);
+    }
+
+    /**
+     * 仅处理 {@code WHERE} 后多余的关键字，见 {@link StringHelper#replaceWhereAndOr(String)}.
+     *
+     * @param str 待处理的字符串
+     * @return 处理后的字符串
+     */
+    static String replaceWhereAndOr(String str) {
+        return new SqlNormalizer(str.length(), false, true, null, null).run(str);
+    }
+
+    /**
+     * 单趟扫描所有字符，依次经过空白处理、'#{xxx}' 处理和 {@code WHERE} 处理等各个阶段，最终输出结果.
+     *
+     * @param s 原始字符串
+     * @return 处理后的字符串
+     */
+    private String run(String s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (!this.blank) {
+                this.acceptParamChar(c);
+            } else if (c == '|' && i + 1 < n && s.charAt(i + 1) == '\t') {
+                // 与之前的正则保持一致：'|' 紧跟制表符、回车符和换行符会被直接删除.
+                i++;
+            } else if (c != '\r' && c != '\n') {
+                this.acceptBlankChar(c);
+            }
+        }
+        this.finish();
+        return new String(this.out, 0, this.len);
+    }
+
+    /**
+     * 空白处理阶段：连续两个及以上的空白字符会被替换为一个空格，单个的空白字符原样保留.
+     *
+     * @param c 字符
+     */
+    private void acceptBlankChar(char c) {
+        if (isWhitespace(c)) {
+            this.blankCount++;
+            this.blankChar = c;
+            return;
+        }
+
+        this.flushBlank();
+        this.acceptTrimChar(c);
+    }
+
+    private void flushBlank() {
+        if (this.blankCount == 1) {
+            this.acceptTrimChar(this.blankChar);
+        } else if (this.blankCount > 1) {
+            this.acceptTrimChar(' ');
+        }
+        this.blankCount = 0;
+    }
+
+    /**
+     * 去除首尾空白阶段：首部的空白或控制字符直接丢弃，中间的则暂存起来，遇到下一个可见字符时再输出.
+     *
+     * @param c 字符
+     */
+    private void acceptTrimChar(char c) {
+        if (c <= ' ') {
+            if (this.started) {
+                this.trimPending.append(c);
+            }
+            return;
+        }
+
+        this.started = true;
+        for (int i = 0, n = this.trimPending.length(); i < n; i++) {
+            this.acceptParamChar(this.trimPending.charAt(i));
+        }
+        this.trimPending.setLength(0);
+        this.acceptParamChar(c);
+    }
+
+    /**
+     * '#{xxx}' 处理阶段：'#{' 与其后第一个 '}' 之间有内容时，将其替换为 ':xxx' 形式的命名参数.
+     *
+     * @param c 字符
+     */
+    private void acceptParamChar(char c) {
+        if (this.paramNames == null) {
+            this.acceptWhereChar(c);
+            return;
+        }
+
+        // 如果正在捕获 '#{' 和 '}' 之间的文本，遇到 '}' 时，如果中间有内容就替换为命名参数，否则原样输出.
+        if (this.capture != null) {
+            if (c != '}') {
+                this.capture.append(c);
+                return;
+            }
+
+            String text = this.capture.toString();
+            this.capture = null;
+            if (text.isEmpty()) {
+                this.acceptWhereChars("#{}");
+            } else {
+                String namedText = StringHelper.fixDot(text);
+                this.paramNames.add(namedText);
+                this.paramExpressions.add(text);
+                this.acceptWhereChar(':');
+                this.acceptWhereChars(namedText);
+            }
+            return;
+        }
+
+        if (this.hashPending) {
+            this.hashPending = false;
+            if (c == '{') {
+                this.capture = new StringBuilder();
+                return;
+            }
+            this.acceptWhereChar('#');
+        }
+
+        if (c == '#') {
+            this.hashPending = true;
+        } else {
+            this.acceptWhereChar(c);
+        }
+    }
+
+    private void acceptWhereChars(String s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            this.acceptWhereChar(s.charAt(i));
+        }
+    }
+
+    /**
+     * {@code WHERE} 处理阶段：写入字符到输出缓冲区，每当写入空格时，检查缓冲区的末尾是否需要替换.
+     *
+     * @param c 字符
+     */
+    private void acceptWhereChar(char c) {
+        if (this.len == this.out.length) {
+            char[] newOut = new char[this.len << 1];
+            System.arraycopy(this.out, 0, newOut, 0, this.len);
+            this.out = newOut;
+        }
+        this.out[this.len++] = c;
+
+        if (!this.where || c != ' ') {
+            return;
+        }
+
+        if (this.endsWithIgnoreCase(WHERE_AND, this.andOrGuard)) {
+            this.andOrGuard = this.replaceSuffix(this.len - WHERE_AND.length, WHERE);
+        } else if (this.endsWithIgnoreCase(WHERE_OR, this.andOrGuard)) {
+            this.andOrGuard = this.replaceSuffix(this.len - WHERE_OR.length, WHERE);
+        } else if (this.endsWithIgnoreCase(WHERE_ORDER_BY, this.orderByGuard)) {
+            this.orderByGuard = this.replaceSuffix(this.len - WHERE_ORDER_BY.length, ORDER_BY);
+        } else if (this.endsWithIgnoreCase(WHERE_GROUP_BY, this.groupByGuard)) {
+            this.groupByGuard = this.replaceSuffix(this.len - WHERE_GROUP_BY.length, GROUP_BY);
+        }
+    }
+
+    /**
+     * 判断输出缓冲区是否以某个大写的关键字片段结尾（忽略 ASCII 大小写），且该片段的起始位置不早于 guard.
+     *
+     * @param suffix 大写的关键字片段
+     * @param guard 允许的最早起始位置
+     * @return 布尔值
+     */
+    private boolean endsWithIgnoreCase(char[] suffix, int guard) {
+        int start = this.len - suffix.length;
+        if (start < guard) {
+            return false;
+        }
+
+        for (int i = 0; i < suffix.length; i++) {
+            char c = this.out[start + i];
+            if (c != suffix[i] && (c < 'a' || c > 'z' || c - 32 != suffix[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 将输出缓冲区中从 start 开始的末尾内容替换为新的内容，并返回替换后的结束位置.
+     *
+     * @param start 开始位置
+     * @param replacement 新的内容
+     * @return 替换后的结束位置
+     */
+    private int replaceSuffix(int start, char[] replacement) {
+        System.arraycopy(replacement, 0, this.out, start, replacement.length);
+        this.len = start + replacement.length;
+        return this.len;
+    }
+
+    /**
+     * 扫描结束时，依次结束各个阶段，丢弃末尾的空白字符，输出未匹配的 '#{' 文本，并去除末尾多余的 {@code WHERE}.
+     */
+    private void finish() {
+        if (this.blank) {
+            this.flushBlank();
+            this.trimPending.setLength(0);
+        }
+
+        if (this.hashPending) {
+            this.hashPending = false;
+            this.acceptWhereChar('#');
+        }
+        if (this.capture != null) {
+            String text = this.capture.toString();
+            this.capture = null;
+            this.acceptWhereChars("#{");
+            this.acceptWhereChars(text);
+        }
+
+        if (this.where && this.len >= WHERE_PREV_SPACE.length()
+                && new String(this.out, this.len - WHERE_PREV_SPACE.length(), WHERE_PREV_SPACE.length())
+                        .equals(WHERE_PREV_SPACE)) {
+            this.len -= WHERE_PREV_SPACE.length();
+        }
+    }
+
+    /**
+     * 判断字符是否是正则表达式中 {@code \s} 所代表的空白字符.
+     *
+     * @param c 字符
+     * @return 布尔值
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.blinkfox.fenix.helper;
+
+import com.blinkfox.fenix.exception.FenixException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 流式查询结果相关的工具类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StreamHelper {
+
+    /**
+     * 将 {@link Stream} 中的元素按指定的大小分批交给消费者处理，处理完毕或者出现异常时都会关闭该 {@link Stream}.
+     *
+     * <p>通常和返回值为 {@link Stream} 的 {@code @QueryFenix} 查询方法一起使用（需要在事务中调用），
+     * 如：{@code StreamHelper.forEachChunk(userRepository.streamUsers(name), 500, userList -> export(userList))}，
+     * 这样内存中最多只会同时持有一批数据. 每批数据都是新的集合，消费者可以放心地持有或修改它，最后一批的数量可能小于指定的大小.</p>
+     *
+     * @param stream 流式查询结果
+     * @param size 每批的大小，必须大于 0
+     * @param consumer 每批数据的消费者
+     * @param <T> 元素的类型
+     */
+    public static <T> void forEachChunk(Stream<T> stream, int size, Consumer<List<T>> consumer) {
+        try (Stream<T> s = stream) {
+            if (size <= 0) {
+                throw new FenixException("【Fenix 异常】分批处理流式查询结果时，每批的大小必须大于 0，当前值为【" + size + "】！");
+            }
+
+            List<T> chunk = new ArrayList<>(size);
+            for (Iterator<T> it = s.iterator(); it.hasNext();) {
+                chunk.add(it.next());
+                if (chunk.size() == size) {
+                    consumer.accept(chunk);
+                    chunk = new ArrayList<>(size);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                consumer.accept(chunk);
+            }
+        }
+    }
+
+}
@@ -1,8 +1,6 @@
 package com.blinkfox.fenix.helper;
 
 import com.blinkfox.fenix.consts.Const;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.slf4j.helpers.MessageFormatter;
@@ -16,17 +14,6 @@ import org.slf4j.helpers.MessageFormatter;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class StringHelper {
 
-    /**
-     * 替换空格、换行符、制表符等为一个空格的预编译正则表达式模式对象.
-     */
-    private static final Pattern BLANK_PATTERN = Pattern.compile("\\|\t|\r|\n");
-
-    private static final String PATTERN_WHERE_AND_OR_BLANK = "(?i) WHERE AND | WHERE OR ";
-
-    private static final String WHERE = " WHERE ";
-
-    private static final String WHERE_PREV_SPACE = " WHERE";
-
     /**
      * XML文件扩展名常量.
      */
@@ -45,30 +32,27 @@ public final class StringHelper {
     /**
      * 将字符串中的“大空格（包括换行、回车、制表符）”等转成普通空格来处理，最后去掉所有多余空格.
      *
+     * <p>注：v3.2.0 版本开始，使用 {@link SqlNormalizer} 单趟扫描来处理，不再使用正则表达式.</p>
+     *
      * @param str 待处理的字符串
      * @return 替换后的字符串
      */
     public static String replaceBlank(String str) {
-        Matcher m = BLANK_PATTERN.matcher(str);
-        return m.replaceAll("").replaceAll("\\s{2,}", " ").trim();
+        return SqlNormalizer.replaceBlank(str);
     }
 
     /**
      * 替换 SQL 字符串中的 {@code WHERE AND} 或者 {@code WHERE OR} 等字符串为 {@code WHERE}，且查找时忽略大小写.
      *
+     * <p>注：v3.2.0 版本开始，使用 {@link SqlNormalizer} 单趟扫描来处理，不再使用正则表达式.</p>
+     *
      * @param s 待替换的原字符串
      * @return 替换后的总字符串
      * @author blinkfox on 2020-12-31.
      * @since v2.4.1
      */
     public static String replaceWhereAndOr(String s) {
-        s = s.replaceAll(PATTERN_WHERE_AND_OR_BLANK, WHERE)
-                .replaceAll("(?i) WHERE ORDER BY ", " ORDER BY ")
-                .replaceAll("(?i) WHERE GROUP BY ", " GROUP BY ");
-        if (s.endsWith(WHERE_PREV_SPACE)) {
-            s = s.substring(0, s.lastIndexOf(WHERE_PREV_SPACE));
-        }
-        return s;
+        return SqlNormalizer.replaceWhereAndOr(s);
     }
 
     /**
@@ -2,7 +2,6 @@ package com.blinkfox.fenix.helper;
 
 import com.blinkfox.fenix.config.FenixConfig;
 import com.blinkfox.fenix.config.FenixConfigManager;
-import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.exception.ConfigNotFoundException;
 import com.blinkfox.fenix.exception.FieldEmptyException;
@@ -35,45 +34,58 @@ public final class XmlNodeHelper {
     private static final FenixConfigManager fenixConfigManager = FenixConfigManager.getInstance();
 
     /**
-     * 获取 namespace 文档中的指定的 fenixId 的节点对应的 Node 节点，如果是 debug 模式，则实时获取；否则从缓存中获取.
+     * 实时读取 namespace 对应的 XML 文件，获取其中指定的 fenixId 的节点对应的 Node 节点.
      *
      * <p>注意：v2.4.1 版本开始了 debug 模式的功能，当开启了 debug 模式之后，
      * 将实时根据已知的 namespace 去读取之前缓存过的 XML 文件中的内容.</p>
      *
+     * <p>v3.2.0 版本开始，fenix 节点会在加载时被预编译成渲染计划，内存中不再缓存 dom4j 节点，
+     * 所以本方法将始终从 XML 文件中实时读取和解析，请勿在性能敏感的地方调用.</p>
+     *
      * @param namespace XML 文件对应命名空间
      * @param fenixId fenixId
      * @return dom4j的Node节点
      */
     public static Node getNodeBySpaceAndId(String namespace, String fenixId) {
-        if (fenixConfigManager.getFenixConfig().isDebug()) {
-            Set<URL> urlSet = FenixConfig.getXmlUrlMap().get(namespace);
-            if (CollectionUtils.isEmpty(urlSet)) {
-                throw new ConfigNotFoundException("【Fenix 异常提示】在 debug 模式下，未找到命名空间为【" + namespace + "】的 XML 文件，请检查！");
+        Set<URL> urlSet = FenixConfig.getXmlUrlMap().get(namespace);
+        if (CollectionUtils.isEmpty(urlSet)) {
+            if (fenixConfigManager.getFenixConfig().isDebug()) {
+                throw new ConfigNotFoundException("【Fenix 异常提示】在 debug 模式下，未找到命名空间为【" + namespace
+                        + "】的 XML 文件，请检查！");
             }
+            return null;
+        }
 
-            Document doc;
-            Node node = null;
-            for (URL url : urlSet) {
-                // 实时读取 XML 文件中指定 fenixId 的内容节点.
-                try (InputStream in = new UrlResource(url).getInputStream()) {
-                    doc = new SAXReader().read(in);
-                } catch (Exception e) {
-                    throw new XmlParseException("【Fenix 异常提示】读取或解析 XML 文件失败，读取到的 XML 路径是:【" + url.getPath() + "】.", e);
-                }
-
-                try {
-                    node = doc.selectSingleNode("/fenixs/fenix[@id='" + fenixId + "']");
-                    if (Objects.nonNull(node)) {
-                        break;
-                    }
-                } catch (Exception e) {
-                    throw new NodeNotFoundException("【Fenix 异常提示】在 XML 文件【" + url.getPath()
-                            + "】中未找到 ID 为【" + fenixId + "】的 Fenix 节点.");
+        Node node = null;
+        for (URL url : urlSet) {
+            // 实时读取 XML 文件中指定 fenixId 的内容节点.
+            Document doc = readDocument(url);
+            try {
+                node = doc.selectSingleNode("/fenixs/fenix[@id='" + fenixId + "']");
+                if (Objects.nonNull(node)) {
+                    break;
                 }
+            } catch (Exception e) {
+                throw new NodeNotFoundException("【Fenix 异常提示】在 XML 文件【" + url.getPath()
+                        + "】中未找到 ID 为【" + fenixId + "】的 Fenix 节点.");
             }
-            return node;
-        } else {
-            return FenixConfig.getFenixs().get(StringHelper.concat(namespace, Const.DOT, fenixId));
+        }
+        return node;
+    }
+
+    /**
+     * 实时读取和解析 XML 文件，得到 dom4j 的文档对象.
+     *
+     * @param url XML 文件的 URL
+     * @return dom4j 的文档对象
+     * @throws XmlParseException 读取或解析 XML 文件失败时抛出此异常
+     * @since v3.2.0
+     */
+    public static Document readDocument(URL url) {
+        try (InputStream in = new UrlResource(url).getInputStream()) {
+            return new SAXReader().read(in);
+        } catch (Exception e) {
+            throw new XmlParseException("【Fenix 异常提示】读取或解析 XML 文件失败，读取到的 XML 路径是:【" + url.getPath() + "】.", e);
         }
     }
 
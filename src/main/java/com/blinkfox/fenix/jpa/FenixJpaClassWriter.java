@@ -8,6 +8,7 @@ import javassist.LoaderClassPath;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NativeDetector;
 import org.springframework.data.jpa.repository.query.DefaultJpaQueryMethodFactory;
 import org.springframework.data.jpa.repository.query.JpaQueryMethodFactory;
 
@@ -82,6 +83,11 @@ public class FenixJpaClassWriter {
      * </ul>
      */
     public static synchronized void modify() {
+        // 原生镜像中无法在运行时修改字节码，且原生镜像只支持 Spring Data JPA v3 及以上的版本，所以直接跳过.
+        if (NativeDetector.inNativeImage()) {
+            return;
+        }
+
         // 如果有 DefaultJpaQueryMethodFactory 类，说明 Spring Data JPA 版本是 v2.3.0 及以上，
         // 可不用修改兼容老版本 JPA 的部分 class.
         if (hasDefaultJpaQueryMethodFactoryClass()) {
@@ -1,29 +1,30 @@
 package com.blinkfox.fenix.jpa;
 
 import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.FenixConfigManager;
 import com.blinkfox.fenix.consts.Const;
-import com.blinkfox.fenix.core.Fenix;
-import com.blinkfox.fenix.helper.ClassMethodInvoker;
-import com.blinkfox.fenix.helper.QueryHelper;
+import com.blinkfox.fenix.core.FenixXmlBuilder;
+import com.blinkfox.fenix.core.plan.FenixPlan;
+import com.blinkfox.fenix.core.plan.SqlShapeEnumerator;
+import com.blinkfox.fenix.helper.CountSqlBuilder;
 import com.blinkfox.fenix.helper.StringHelper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import jakarta.persistence.Tuple;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.query.AbstractJpaQuery;
 import org.springframework.data.jpa.repository.query.JpaParameters;
 import org.springframework.data.jpa.repository.query.JpaParametersParameterAccessor;
+import org.springframework.data.jpa.repository.query.JpaQueryExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryMethod;
-import org.springframework.data.jpa.repository.query.QueryUtils;
-import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.ReturnedType;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * 继承了 {@code AbstractJpaQuery} 抽象类，
@@ -37,64 +38,155 @@ import org.springframework.data.repository.query.ReturnedType;
  * @author blinkfox on 2019-08-04.
  * @since v1.0.0
  */
+@Slf4j
 public class FenixJpaQuery extends AbstractJpaQuery {
 
     /**
-     * 用来替换 'select ... from' 为 'select count(*) as count from ' 的正则表达式.
+     * 按查询 SQL 的形态缓存的求总记录数的 count 语句，同一个查询方法的 SQL 形态通常只有少数几种，无需每次分页查询都重新生成.
+     *
+     * <p>缓存的最大数量与 {@link FenixConfig#getSqlShapeCacheSize()} 一致.</p>
+     *
+     * @since v3.2.0
      */
-    private static final String REGX_SELECT_FROM = "((?i)select)([\\s\\S]*?)((?i)from)";
+    private final ConcurrentLruCache<String, String> countSqlCache =
+            new ConcurrentLruCache<>(getSqlShapeCacheSize(), this::buildCountSql);
 
     /**
-     * 用来替换 'select ... from' 为 'select count(*) as count from ' 的求 count(*) 的常量.
+     * 按查询 SQL 的形态缓存的 SQL 结构信息，用于在分页、排序和原生 SQL 查询时避免每次都用正则表达式分析整条 SQL.
+     *
+     * <p>缓存的最大数量与 {@link FenixConfig#getSqlShapeCacheSize()} 一致.</p>
+     *
+     * @since v3.2.0
      */
-    private static final String SELECT_COUNT = "select count(*) as count from ";
+    private final ConcurrentLruCache<String, FenixQuerySqlShape> sqlShapeCache = new ConcurrentLruCache<>(
+            getSqlShapeCacheSize(), sql -> new FenixQuerySqlShape(sql, this.queryFenix.nativeQuery()));
 
     /**
-     * 用来匹配 SQL 中的 DISTINCT 条件.
+     * 标注了 {@code QueryFenix} 注解的注解实例.
      */
-    private static final String REGX_SELECT_FROM_DISTINCT =
-            "((?i)select)([\\s\\S]*?)((?i)distinct)\\s+([\\s\\S]*?)((?i)from)";
+    private QueryFenix queryFenix;
 
     /**
-     * 匹配 SQL 中别名的正则.
+     * 执行 {@code QueryFenix} 注解的执行的类 class.
      */
-    private static final String REGX_SQL_ALIAS = "\\s+((?i)as)\\s+[^,\\s]+";
+    private Class<?> queryClass;
 
     /**
-     * select from 正则表达式 Pattern.
+     * 在解析查询方法时就一次性计算好的查询方法描述信息.
+     *
+     * @since v3.2.0
      */
-    private static final Pattern SELECT_FROM_PATTERN = Pattern.compile(REGX_SELECT_FROM);
+    private FenixQueryDescriptor descriptor;
 
     /**
-     * select distinct from 正则表达式 Pattern.
+     * 返回值为 {@code Stream} 时使用的流式查询执行器，其他返回值类型时为 {@code null}.
+     *
+     * @since v3.2.0
      */
-    private static final Pattern SELECT_FROM_DISTINCT_PATTERN = Pattern.compile(REGX_SELECT_FROM_DISTINCT);
+    private final JpaQueryExecution streamExecution;
 
     /**
-     * JPA 参数对象.
+     * Creates a new {@code AbstractJpaQuery} from the given {@code JpaQueryMethod}.
+     *
+     * @param method JpaQueryMethod
+     * @param em EntityManager
      */
-    private JpaParameters jpaParams;
+    FenixJpaQuery(JpaQueryMethod method, EntityManager em) {
+        super(method, em);
+        this.streamExecution = method.isStreamQuery() ? new FenixStreamExecution(this, em) : null;
+    }
 
     /**
-     * 标注了 {@code QueryFenix} 注解的注解实例.
+     * 获取配置的缓存 SQL 形态的最大数量，如果还未初始化配置信息，则使用默认值，小于等于 0 时表示不缓存.
+     *
+     * @return 缓存的最大数量
+     * @since v3.2.0
      */
-    @Setter
-    private QueryFenix queryFenix;
+    private static int getSqlShapeCacheSize() {
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        int cacheSize = fenixConfig == null ? Const.DEFAULT_SQL_SHAPE_CACHE_SIZE : fenixConfig.getSqlShapeCacheSize();
+        return Math.max(cacheSize, 0);
+    }
 
     /**
-     * 执行 {@code QueryFenix} 注解的执行的类 class.
+     * 设置在解析查询方法时就一次性计算好的查询方法描述信息.
+     *
+     * @param descriptor 查询方法描述信息
+     * @since v3.2.0
      */
-    @Setter
-    private Class<?> queryClass;
+    void setDescriptor(FenixQueryDescriptor descriptor) {
+        this.descriptor = descriptor;
+        this.queryFenix = descriptor.getQueryFenix();
+        this.queryClass = descriptor.getQueryClass();
+    }
 
     /**
-     * Creates a new {@code AbstractJpaQuery} from the given {@code JpaQueryMethod}.
+     * 设置标注了 {@code QueryFenix} 注解的注解实例，并据此重新构建查询方法的描述信息.
      *
-     * @param method JpaQueryMethod
-     * @param em EntityManager
+     * @param queryFenix {@code QueryFenix} 注解实例
+     * @deprecated v3.2.0 版本开始，查询方法的描述信息会在 {@link FenixQueryLookupStrategy} 解析查询方法时就一次性计算好，
+     *     无需再调用本方法，后续会移除此方法.
      */
-    FenixJpaQuery(JpaQueryMethod method, EntityManager em) {
-        super(method, em);
+    @Deprecated
+    public void setQueryFenix(QueryFenix queryFenix) {
+        this.queryFenix = queryFenix;
+        this.rebuildDescriptor();
+    }
+
+    /**
+     * 设置执行 {@code QueryFenix} 注解的执行的类 class，并据此重新构建查询方法的描述信息.
+     *
+     * @param queryClass 执行 {@code QueryFenix} 注解的执行的类 class
+     * @deprecated v3.2.0 版本开始，查询方法的描述信息会在 {@link FenixQueryLookupStrategy} 解析查询方法时就一次性计算好，
+     *     无需再调用本方法，后续会移除此方法.
+     */
+    @Deprecated
+    public void setQueryClass(Class<?> queryClass) {
+        this.queryClass = queryClass;
+        this.rebuildDescriptor();
+    }
+
+    /**
+     * 注解实例和执行的类 class 都不为空时，根据两者重新构建查询方法的描述信息，并沿用之前描述信息中的 Bean 工厂.
+     */
+    private void rebuildDescriptor() {
+        if (this.queryFenix == null || this.queryClass == null) {
+            return;
+        }
+
+        JpaQueryMethod method = super.getQueryMethod();
+        this.descriptor = new FenixQueryDescriptor(this.queryClass, method.getName(), this.queryFenix,
+                method.getParameters(), this.descriptor == null ? null : this.descriptor.getBeanFactory());
+    }
+
+    /**
+     * 获取查询的执行器，返回值为 {@code Stream} 时使用 Fenix 基于游标逐行读取的 {@link FenixStreamExecution} 执行器.
+     *
+     * @return 查询执行器
+     * @since v3.2.0
+     */
+    @Override
+    protected JpaQueryExecution getExecution() {
+        return this.streamExecution != null ? this.streamExecution : super.getExecution();
+    }
+
+    /**
+     * 创建用于流式查询的 Hibernate {@link org.hibernate.query.Query} 实例.
+     *
+     * <p>如果查询方法上没有通过 {@code @QueryHints} 注解设置 fetchSize，就使用全局配置中的
+     * {@link com.blinkfox.fenix.config.FenixConfig#getStreamFetchSize()} 来设置每次从数据库游标中获取的记录数.</p>
+     *
+     * @param accessor JPA 参数访问对象
+     * @return Hibernate 的 {@link org.hibernate.query.Query} 实例
+     * @since v3.2.0
+     */
+    org.hibernate.query.Query<?> createStreamQuery(JpaParametersParameterAccessor accessor) {
+        org.hibernate.query.Query<?> query = super.createQuery(accessor).unwrap(org.hibernate.query.Query.class);
+        int fetchSize = FenixConfigManager.getInstance().getFenixConfig().getStreamFetchSize();
+        if (query.getFetchSize() == null && fetchSize > 0) {
+            query.setFetchSize(fetchSize);
+        }
+        return query;
     }
 
     /**
@@ -120,12 +212,12 @@ public class FenixJpaQuery extends AbstractJpaQuery {
     protected Query doCreateQuery(Object[] values) {
         // 获取 QueryFenix 上下文参数，来从 XML 文件或 Java 中动态构建出 SQL 信息.
         JpaQueryMethod jpaMethod = super.getQueryMethod();
-        this.jpaParams = jpaMethod.getParameters();
 
         // 构造和设置 FenixQueryInfo 所需的 SQL 和 参数信息.
         FenixQueryInfo fenixQueryInfo = FenixQueryInfo.getInstance();
-        fenixQueryInfo.setContextParams(this.buildContextParams(values));
-        SqlInfo sqlInfo = this.getSqlInfoByFenix();
+        Map<String, Object> contextParams = this.descriptor.buildContextParams(values);
+        fenixQueryInfo.setContextParams(contextParams);
+        SqlInfo sqlInfo = this.descriptor.getQuerySource().build(contextParams, queryFenix.nativeQuery());
         fenixQueryInfo.setSqlInfo(sqlInfo);
         fenixQueryInfo.setQuerySql(sqlInfo.getSql());
 
@@ -138,7 +230,8 @@ public class FenixJpaQuery extends AbstractJpaQuery {
         String querySql = fenixQueryInfo.getQuerySql();
         if (queryFenix.nativeQuery()) {
             Class<?> type = this.getTypeToQueryFor(jpaMethod.getResultProcessor().withDynamicProjection(
-                    new ParametersParameterAccessor(jpaMethod.getParameters(), values)).getReturnedType(), querySql);
+                    new ParametersParameterAccessor(this.descriptor.getParameters(), values)).getReturnedType(),
+                    sqlInfo.getSql());
             query = type == null ? em.createNativeQuery(querySql) : em.createNativeQuery(querySql, type);
         } else {
             query = em.createQuery(querySql);
@@ -154,7 +247,7 @@ public class FenixJpaQuery extends AbstractJpaQuery {
         // 如果自定义设置的返回类型不为空，就做额外的返回结果处理.
         String resultType = sqlInfo.getResultType();
         if (StringHelper.isNotBlank(resultType) || queryFenix.resultType() != Void.class) {
-            query = QueryResultContext.buildTransformer(query, resultType, queryFenix);
+            query = QueryResultContext.buildTransformer(query, resultType, this.descriptor);
         }
 
         // 如果分页参数为空，说明不需要再做分页查询，须要从 ThreadLocal 中移除当前线程中的 fenixQueryInfo 信息.
@@ -221,15 +314,14 @@ public class FenixJpaQuery extends AbstractJpaQuery {
      * 根据返回类型获取对应的 class.
      *
      * @param returnedType ReturnedType 实例
-     * @param querySql 要执行的 SQL 字符串
+     * @param sql Fenix 构建出来的、还未追加排序子句的 SQL 字符串
      * @return class
      */
-    private Class<?> getTypeToQueryFor(ReturnedType returnedType, String querySql) {
+    private Class<?> getTypeToQueryFor(ReturnedType returnedType, String sql) {
         Class<?> result = getQueryMethod().isQueryForEntity() ? returnedType.getDomainType() : null;
 
         // 如果 sql 中有构造器表达式或者投影，就直接返回该结果.
-        if (QueryUtils.hasConstructorExpression(querySql)
-                || QueryUtils.getProjection(querySql).equalsIgnoreCase(QueryHelper.detectAlias(querySql))) {
+        if (this.sqlShapeCache.get(sql).isEntityProjection()) {
             return result;
         }
 
@@ -239,164 +331,151 @@ public class FenixJpaQuery extends AbstractJpaQuery {
     }
 
     /**
-     * 根据 JPA 参数和值的数组来分析构建出 JPQL 语句和参数的 Map 型上下文参数.
+     * 继续构建 Spring Data JPA 分页和排序参数的SQL.
      *
-     * @param values JPA 的有序数组参数
-     * @return Map
+     * @param values 参数数组
+     * @param querySql 执行的 SQL 字符串
+     * @return 分页参数信息
      */
-    private Map<String, Object> buildContextParams(Object[] values) {
-        int len = this.jpaParams.getNumberOfParameters();
-        Map<String, Object> context = new HashMap<>(len);
-        for (int i = 0; i < len; i++) {
-            Parameter parameter = this.jpaParams.getParameter(i);
-            if (parameter.isSpecialParameter()) {
-                continue;
+    private Pageable buildPagableAndSortSql(Object[] values, String querySql) {
+        Pageable pageable = null;
+        FenixQueryInfo fenixQueryInfo = FenixQueryInfo.getInstance();
+        JpaParameters jpaParams = this.descriptor.getParameters();
+        if (jpaParams.hasPageableParameter()) {
+            pageable = (Pageable) (values[jpaParams.getPageableIndex()]);
+            if (pageable != null) {
+                fenixQueryInfo.setQuerySql(this.sqlShapeCache.get(querySql).applySorting(pageable.getSort()));
             }
+        }
 
-            // 获取参数
-            Optional<String> nameOptional = parameter.getName();
-            if (nameOptional.isPresent()) {
-                context.put(nameOptional.get(), values[i]);
-            }
+        // 判断是否有排序参数，如果有，就追加排序相关的参数.
+        if (jpaParams.hasSortParameter()) {
+            fenixQueryInfo.setQuerySql(this.sqlShapeCache.get(querySql)
+                    .applySorting(new ParametersParameterAccessor(jpaParams, values).getSort()));
         }
-        return context;
+        return pageable;
     }
 
     /**
-     * 根据 {@link QueryFenix} 注解来生成并获取 {@link SqlInfo} 信息.
-     *
-     * <p>并区分判断 Java 或者 XML 两种方式来构建 {@link SqlInfo} 信息，基于约定优于配置的方式来查找对应的生成 SqlInfo 的方式.</p>
+     * 获取总记录数查询的 JPQL 或者 SQL 语句.
      *
-     * @return {@link SqlInfo} 对象实例
+     * @return 总记录数 SQL 语句
      */
-    private SqlInfo getSqlInfoByFenix() {
-        // 在 QueryFenix 注解中 provider 不为空的情况下，
-        // 如果 method 不为空，将直接反射调用该 provider 下的 method 方法；
-        // 如果 method 为空，但 fullFenixId 不为空，则视为使用 XML 的方式来生成和构建 SqlInfo 信息.
-        // 否则，两者皆为空时，则默认视为 provider 中存在与本查询方法相同方法名，直接使用该查询的方法名来进行执行.
-        Class<?> provider = queryFenix.provider();
-        String method = queryFenix.method();
-        String fenixId = queryFenix.value();
-        Map<String, Object> contextParams = FenixQueryInfo.getInstance().getContextParams();
-        if (provider != Void.class) {
-            if (StringHelper.isNotBlank(method)) {
-                return ClassMethodInvoker.invoke(provider, method, contextParams);
-            } else if (StringHelper.isNotBlank(fenixId)) {
-                return this.getXmlSqlInfo(fenixId, contextParams);
-            } else {
-                return ClassMethodInvoker.invoke(provider, getQueryMethod().getName(), contextParams);
-            }
+    private String getCountSql() {
+        // 优先使用 countMethod 或 countQuery 重新构建 sqlInfo，如果两者都没有，则默认将之前的查询 SQL 结果替换修改成求 count(*) 的 SQL.
+        FenixQueryInfo fenixQueryInfo = FenixQueryInfo.getInstance();
+        FenixQueryDescriptor.SqlSource countSource = this.descriptor.getCountSource();
+        if (countSource == null) {
+            return this.getCountSqlByQuerySql(fenixQueryInfo.getSqlInfo().getSql());
         }
 
-        // 如果 QueryFenix 注解中 value 不为空，即表明 fenixId 不为空，则说明是使用 XML 的方式来拼接 SQL 的.
-        // 否则将执行类的全路径名和方法名来分别对应 XML 中的 namespace 和 fenixId 来对应进行查找，生成 SqlInfo 信息.
-        return StringHelper.isNotBlank(fenixId)
-                ? this.getXmlSqlInfo(fenixId, contextParams)
-                : Fenix.getXmlSqlInfo(queryClass.getName(), getQueryMethod().getName(), contextParams);
+        fenixQueryInfo.setSqlInfo(countSource.build(fenixQueryInfo.getContextParams(), queryFenix.nativeQuery()));
+        return fenixQueryInfo.getSqlInfo().getSql();
     }
 
     /**
-     * 根据 fenixId 来构建 SqlInfo 信息.
+     * 通过查询的 SQL 获取 CountSql，生成的 count 语句会按查询 SQL 的形态缓存起来.
      *
-     * <p>区分该 fenixId 是否有 '.' 号，如果有就分割 namespace 和 fenixId，
-     * 否则就用查询方法所在的 class 全路径名来作为 namespace.</p>
-     *
-     * @param fenixId fenix XML 中的 id，可能包含 namespace.
-     * @param contextParams 上下文参数.
-     * @return {@link SqlInfo} 信息.
+     * @param infoSql 查询的 SQL
+     * @return countSql
      */
-    private SqlInfo getXmlSqlInfo(String fenixId, Map<String, Object> contextParams) {
-        if (fenixId.contains(Const.DOT)) {
-            int i = fenixId.lastIndexOf(Const.DOT);
-            return Fenix.getXmlSqlInfo(fenixId.substring(0, i), fenixId.substring(i + 1), contextParams);
-        } else {
-            return Fenix.getXmlSqlInfo(queryClass.getName(), fenixId, contextParams);
-        }
+    private String getCountSqlByQuerySql(String infoSql) {
+        return this.countSqlCache.get(infoSql);
     }
 
     /**
-     * 继续构建 Spring Data JPA 分页和排序参数的SQL.
+     * 使用 {@link CountSqlBuilder} 来将查询的 SQL 转换为求总记录数的 count 语句.
      *
-     * @param values 参数数组
-     * @param querySql 执行的 SQL 字符串
-     * @return 分页参数信息
+     * @param infoSql 查询的 SQL
+     * @return countSql
      */
-    private Pageable buildPagableAndSortSql(Object[] values, String querySql) {
-        Pageable pageable = null;
-        FenixQueryInfo fenixQueryInfo = FenixQueryInfo.getInstance();
-        if (this.jpaParams.hasPageableParameter()) {
-            pageable = (Pageable) (values[this.jpaParams.getPageableIndex()]);
-            if (pageable != null) {
-                fenixQueryInfo.setQuerySql(
-                        QueryUtils.applySorting(querySql, pageable.getSort(), QueryHelper.detectAlias(querySql)));
-            }
-        }
-
-        // 判断是否有排序参数，如果有，就追加排序相关的参数.
-        if (this.jpaParams.hasSortParameter()) {
-            fenixQueryInfo.setQuerySql(QueryUtils.applySorting(querySql,
-                    new ParametersParameterAccessor(this.jpaParams, values).getSort(),
-                    QueryHelper.detectAlias(querySql)));
-        }
-        return pageable;
+    private String buildCountSql(String infoSql) {
+        return CountSqlBuilder.build(infoSql, queryFenix.nativeQuery(), queryFenix.enableDistinct());
     }
 
     /**
-     * 获取总记录数查询的 JPQL 或者 SQL 语句.
+     * 枚举本查询方法所对应 fenix 节点的各个 SQL 形态，并交给 JPA 来解析，从而预热 JPA 的查询计划缓存.
      *
-     * @return 总记录数 SQL 语句
+     * <p>只会预热使用 XML 方式拼接的 JPQL 查询，原生 SQL 查询和使用 Java 方式拼接的查询都会被跳过.
+     * 如果是分页查询，还会同时预热对应的求总记录数的查询. 解析失败的 JPQL 语句会打印错误日志，但不会中断启动.</p>
+     *
+     * @param maxCombinations 每个 fenix 节点最多遍历的分支组合数量
+     * @since v3.2.0
      */
-    private String getCountSql() {
-        // 在 QueryFenix 注解中 provider 不为空的情况下，优先查询 countMethod，其次是 countQuery，得到新的 sqlInfo.
-        // 如果两者都没有，则默认将之前的查询 SQL 结果替换修改成求 count(*) 的 SQL.
-        Class<?> provider = queryFenix.provider();
-        String xmlCountQuery = queryFenix.countQuery();
-        String countMethod = queryFenix.countMethod();
-        FenixQueryInfo fenixQueryInfo = FenixQueryInfo.getInstance();
-        Map<String, Object> contextParams = fenixQueryInfo.getContextParams();
-        if (provider != Void.class) {
-            if (StringHelper.isNotBlank(countMethod)) {
-                fenixQueryInfo.setSqlInfo(ClassMethodInvoker.invoke(provider, countMethod, contextParams));
-                return fenixQueryInfo.getSqlInfo().getSql();
+    void prewarm(int maxCombinations) {
+        FenixQueryDescriptor.SqlSource querySource = this.descriptor.getQuerySource();
+        if (queryFenix.nativeQuery() || !querySource.isXml()) {
+            return;
+        }
+
+        EntityManager em = super.getEntityManager().getEntityManagerFactory().createEntityManager();
+        try {
+            String queryId = querySource.getFenixId();
+            List<String> querySqls = this.enumerateSqls(querySource, maxCombinations);
+            querySqls.forEach(sql -> this.prewarmQuery(em, queryId, sql, null));
+            FenixQueryDescriptor.SqlSource countSource = this.descriptor.getCountSource();
+            if (!this.descriptor.getParameters().hasPageableParameter()
+                    || (countSource != null && !countSource.isXml())) {
+                return;
             }
-            if (StringHelper.isNotBlank(xmlCountQuery)) {
-                fenixQueryInfo.setSqlInfo(this.getXmlSqlInfo(xmlCountQuery, contextParams));
-                return fenixQueryInfo.getSqlInfo().getSql();
+
+            // 预热求总记录数的查询，优先使用 countQuery 对应的 fenix 节点，否则将各个查询的 SQL 转换成求 count(*) 的 SQL.
+            if (countSource != null) {
+                this.enumerateSqls(countSource, maxCombinations)
+                        .forEach(sql -> this.prewarmQuery(em, countSource.getFenixId(), sql, Long.class));
             } else {
-                return getCountSqlByQueryInfo(fenixQueryInfo);
+                querySqls.forEach(sql -> this.prewarmQuery(em, queryId, this.getCountSqlByQuerySql(sql), Long.class));
             }
+        } finally {
+            em.close();
         }
+    }
 
-        // 接下来则是查询 countQuery，得到新的 sqlInfo.
-        // 如果没有 countQuery，则默认将之前的查询 SQL 结果替换修改成求 count(*) 的 SQL.
-        if (StringHelper.isNotBlank(xmlCountQuery)) {
-            fenixQueryInfo.setSqlInfo(this.getXmlSqlInfo(xmlCountQuery, contextParams));
-            return fenixQueryInfo.getSqlInfo().getSql();
-        }
-        return getCountSqlByQueryInfo(fenixQueryInfo);
+    /**
+     * 校验本查询方法所使用的 XML 节点是否存在，需要在 Fenix 的配置信息加载完毕之后才能调用.
+     *
+     * @since v3.2.0
+     */
+    void validate() {
+        this.descriptor.validate();
     }
 
     /**
-     * 通过QueryInfo获取CountSql.
+     * 枚举 XML 方式的 {@link FenixQueryDescriptor.SqlSource} 所对应 fenix 节点的各个 SQL 形态.
      *
-     * @param fenixQueryInfo {@link FenixQueryInfo}
-     * @return countSql
+     * @param source XML 方式的 SQL 来源
+     * @param maxCombinations 最多遍历的分支组合数量
+     * @return 不重复的 SQL 语句集合
      */
-    private String getCountSqlByQueryInfo(FenixQueryInfo fenixQueryInfo) {
-        boolean enableDistinct = queryFenix.enableDistinct();
-        String infoSql = fenixQueryInfo.getSqlInfo().getSql();
-        Matcher matcher = SELECT_FROM_PATTERN.matcher(infoSql);
-        String countSql = matcher.replaceFirst(SELECT_COUNT);
-        if (!enableDistinct) {
-            return countSql;
+    private List<String> enumerateSqls(FenixQueryDescriptor.SqlSource source, int maxCombinations) {
+        FenixPlan fenixPlan = FenixXmlBuilder.getFenixPlan(source.getNamespace(), source.getFenixId());
+        if (fenixPlan == null) {
+            log.error("【Fenix 错误警示】预热查询方法【{}】时，未找到 namespace 为:【{}】, fenixId 为:【{}】的 XML 节点!",
+                    getQueryMethod().getName(), source.getNamespace(), source.getFenixId());
+            return Collections.emptyList();
         }
-        String selectPrefix = matcher.group();
-        matcher = SELECT_FROM_DISTINCT_PATTERN.matcher(selectPrefix);
-        if (!matcher.find()) {
-            return countSql;
+        return SqlShapeEnumerator.enumerate(fenixPlan, maxCombinations);
+    }
+
+    /**
+     * 将 JPQL 语句交给 JPA 来解析，解析失败时打印错误日志.
+     *
+     * @param em 实体管理器
+     * @param fenixId fenix XML 中的 id
+     * @param sql JPQL 语句
+     * @param resultClass 结果类型，为 {@code null} 时表示不指定结果类型
+     */
+    private void prewarmQuery(EntityManager em, String fenixId, String sql, Class<?> resultClass) {
+        try {
+            if (resultClass == null) {
+                em.createQuery(sql);
+            } else {
+                em.createQuery(sql, resultClass);
+            }
+        } catch (RuntimeException e) {
+            log.error("【Fenix 错误警示】预热查询方法【{}】时，fenixId 为【{}】的 JPQL 语句解析出错，JPQL 为:【{}】.",
+                    getQueryMethod().getName(), fenixId, sql, e);
         }
-        String distinctColumn = matcher.group(4).replaceAll(REGX_SQL_ALIAS, "");
-        return countSql.replaceFirst("count\\(\\*\\)", String.format("count(distinct %s)", distinctColumn));
     }
 
 }
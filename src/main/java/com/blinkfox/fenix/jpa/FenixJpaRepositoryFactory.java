@@ -3,6 +3,8 @@ package com.blinkfox.fenix.jpa;
 import jakarta.persistence.EntityManager;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.data.jpa.provider.PersistenceProvider;
 import org.springframework.data.jpa.provider.QueryExtractor;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
@@ -33,6 +35,13 @@ public class FenixJpaRepositoryFactory extends JpaRepositoryFactory {
      */
     private final QueryExtractor extractor;
 
+    /**
+     * Spring 的 Bean 工厂，用于获取 {@link QueryFenix} 注解中 provider 类型的 Bean 实例.
+     *
+     * @since v3.2.0
+     */
+    private BeanFactory beanFactory;
+
     /**
      * 创建 {@link JpaRepositoryFactory} 实例.
      *
@@ -47,6 +56,19 @@ public class FenixJpaRepositoryFactory extends JpaRepositoryFactory {
         FenixJpaClassWriter.modify();
     }
 
+    /**
+     * 设置 Spring 的 Bean 工厂，并记录下来，便于 {@link FenixQueryLookupStrategy} 获取 provider 类型的 Bean 实例.
+     *
+     * @param beanFactory Spring 的 Bean 工厂
+     * @throws BeansException Bean 异常
+     * @since v3.2.0
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        super.setBeanFactory(beanFactory);
+        this.beanFactory = beanFactory;
+    }
+
     /**
      * 创建 {@link QueryLookupStrategy} 实例.
      *
@@ -76,7 +98,8 @@ public class FenixJpaRepositoryFactory extends JpaRepositoryFactory {
     @Override
     protected Optional<QueryLookupStrategy> getQueryLookupStrategy(
             @Nullable QueryLookupStrategy.Key key, ValueExpressionDelegate expressionDelegate) {
-        return Optional.of(FenixQueryLookupStrategy.create(entityManager, key, this.extractor, expressionDelegate));
+        return Optional.of(FenixQueryLookupStrategy.create(entityManager, key, this.extractor, expressionDelegate,
+                this.beanFactory));
     }
 
     /**
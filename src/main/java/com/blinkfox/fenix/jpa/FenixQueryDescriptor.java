@@ -0,0 +1,374 @@
+package com.blinkfox.fenix.jpa;
+
+import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.core.Fenix;
+import com.blinkfox.fenix.core.FenixXmlBuilder;
+import com.blinkfox.fenix.core.plan.FenixPlan;
+import com.blinkfox.fenix.exception.NodeNotFoundException;
+import com.blinkfox.fenix.helper.ClassMethodInvoker;
+import com.blinkfox.fenix.helper.StringHelper;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.jpa.repository.query.JpaParameters;
+import org.springframework.data.repository.query.Parameter;
+
+/**
+ * 标注了 {@link QueryFenix} 注解的查询方法的描述信息，在 {@link FenixQueryLookupStrategy} 解析查询方法时就一次性计算好.
+ *
+ * <p>包括各个参数的参数名、查询和求总记录数时构建 {@link SqlInfo} 的来源（XML 节点的 namespace 和 fenixId，或者 Java 方法）、
+ * 结果类型的 class 和结果转换器的工厂等，从而避免每次执行查询时都重复分析 {@link QueryFenix} 注解和方法参数.</p>
+ *
+ * <p>使用 XML 方式拼接 SQL 的查询，会在 Fenix 的配置信息加载完毕之后调用 {@link #validate()} 方法校验 XML 节点是否存在，
+ * 如果该命名空间的 XML 文件已加载、但其中没有对应的 fenixId 节点，就直接抛出 {@link NodeNotFoundException} 异常，
+ * 以便在启动时就尽早发现错误. 延迟加载模式下还未加载的命名空间不会被校验，以免在启动时就解析和编译它.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixJpaQuery
+ * @since v3.2.0
+ */
+@Slf4j
+@Getter
+final class FenixQueryDescriptor {
+
+    /**
+     * 查询方法上的 {@link QueryFenix} 注解.
+     */
+    private final QueryFenix queryFenix;
+
+    /**
+     * 查询方法所在的 class.
+     */
+    private final Class<?> queryClass;
+
+    /**
+     * 查询方法的名称.
+     */
+    private final String methodName;
+
+    /**
+     * Spring 的 Bean 工厂，用于获取提供 SQL 的类的 Bean 实例，可能为 {@code null}.
+     */
+    private final BeanFactory beanFactory;
+
+    /**
+     * 查询方法的 JPA 参数信息.
+     */
+    private final JpaParameters parameters;
+
+    /**
+     * 各个参数的参数名，下标与方法参数的下标一一对应，分页、排序等特殊参数或者没有参数名的参数为 {@code null}.
+     */
+    @Getter(AccessLevel.NONE)
+    private final String[] paramNames;
+
+    /**
+     * 查询时构建 {@link SqlInfo} 的来源.
+     */
+    private final SqlSource querySource;
+
+    /**
+     * 求总记录数时构建 {@link SqlInfo} 的来源，为 {@code null} 时表示将查询的 SQL 转换为求 count(*) 的 SQL.
+     */
+    private final SqlSource countSource;
+
+    /**
+     * {@link QueryFenix} 注解中配置的结果类型，没有配置时为 {@code null}.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Class<?> resultClass;
+
+    /**
+     * 创建结果转换器对象实例的工厂.
+     */
+    private final Supplier<AbstractResultTransformer> transformerFactory;
+
+    /**
+     * 查询的 XML 节点中配置的结果类型，会在校验 XML 节点时解析.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Class<?> xmlResultClass;
+
+    /**
+     * 构造方法，会一次性分析好查询方法和 {@link QueryFenix} 注解中的各项信息.
+     *
+     * @param method 查询方法
+     * @param queryFenix 查询方法上的 {@link QueryFenix} 注解
+     * @param parameters 查询方法的 JPA 参数信息
+     * @param beanFactory Spring 的 Bean 工厂，可以为 {@code null}
+     */
+    FenixQueryDescriptor(Method method, QueryFenix queryFenix, JpaParameters parameters, BeanFactory beanFactory) {
+        this(method.getDeclaringClass(), method.getName(), queryFenix, parameters, beanFactory);
+    }
+
+    /**
+     * 构造方法，会一次性分析好查询方法和 {@link QueryFenix} 注解中的各项信息.
+     *
+     * @param queryClass 查询方法所在的 class
+     * @param methodName 查询方法的名称
+     * @param queryFenix 查询方法上的 {@link QueryFenix} 注解
+     * @param parameters 查询方法的 JPA 参数信息
+     * @param beanFactory Spring 的 Bean 工厂，可以为 {@code null}
+     */
+    FenixQueryDescriptor(Class<?> queryClass, String methodName, QueryFenix queryFenix, JpaParameters parameters,
+            BeanFactory beanFactory) {
+        this.queryFenix = queryFenix;
+        this.queryClass = queryClass;
+        this.methodName = methodName;
+        this.beanFactory = beanFactory;
+        this.parameters = parameters;
+        this.paramNames = buildParamNames(parameters);
+        this.querySource = this.buildQuerySource();
+        this.countSource = this.buildCountSource();
+        this.resultClass = queryFenix.resultType() == Void.class ? null : queryFenix.resultType();
+        this.transformerFactory = QueryResultContext.getTransformerFactory(queryFenix.resultTransformer());
+    }
+
+    private static String[] buildParamNames(JpaParameters parameters) {
+        String[] names = new String[parameters.getNumberOfParameters()];
+        for (int i = 0; i < names.length; i++) {
+            Parameter parameter = parameters.getParameter(i);
+            names[i] = parameter.isSpecialParameter() ? null : parameter.getName().orElse(null);
+        }
+        return names;
+    }
+
+    /**
+     * 构建查询时的 {@link SqlSource}.
+     *
+     * <p>在 provider 不为空的情况下，如果 method 不为空，将直接调用该 provider 下的 method 方法；
+     * 如果 method 为空，但 fenixId 不为空，则视为使用 XML 的方式；否则，使用 provider 中与本查询方法同名的方法.
+     * 在 provider 为空的情况下，如果 fenixId 不为空，则使用该 fenixId 对应的 XML 节点；
+     * 否则将查询方法所在类的全路径名和方法名分别作为 XML 中的 namespace 和 fenixId.</p>
+     *
+     * @return {@link SqlSource} 实例
+     */
+    private SqlSource buildQuerySource() {
+        Class<?> provider = this.queryFenix.provider();
+        String method = this.queryFenix.method();
+        String fenixId = this.queryFenix.value();
+        if (provider != Void.class) {
+            if (StringHelper.isNotBlank(method)) {
+                return this.newJavaSource(provider, method);
+            }
+            return StringHelper.isNotBlank(fenixId)
+                    ? this.newXmlSource(fenixId)
+                    : this.newJavaSource(provider, this.methodName);
+        }
+
+        return StringHelper.isNotBlank(fenixId)
+                ? this.newXmlSource(fenixId)
+                : SqlSource.ofXml(this.queryClass.getName(), this.methodName);
+    }
+
+    /**
+     * 构建求总记录数时的 {@link SqlSource}，优先使用 provider 中的 countMethod 方法，其次是 countQuery 对应的 XML 节点.
+     *
+     * @return {@link SqlSource} 实例，两者都没有时返回 {@code null}
+     */
+    private SqlSource buildCountSource() {
+        Class<?> provider = this.queryFenix.provider();
+        String countMethod = this.queryFenix.countMethod();
+        if (provider != Void.class && StringHelper.isNotBlank(countMethod)) {
+            return this.newJavaSource(provider, countMethod);
+        }
+
+        String countQuery = this.queryFenix.countQuery();
+        return StringHelper.isNotBlank(countQuery) ? this.newXmlSource(countQuery) : null;
+    }
+
+    /**
+     * 创建 Java 方式的 {@link SqlSource}，会预先查找好提供 SQL 的方法.
+     *
+     * <p>如果 Spring 容器中有该 provider 类型的唯一 Bean，就使用该 Bean 来调用方法，否则使用该 provider 类的单例对象.
+     * 为了避免在创建 Repository 时就提前初始化其他的 Bean，provider 的实例会在第一次调用时才获取.</p>
+     *
+     * @param provider 提供 SQL 的类
+     * @param method 提供 SQL 的方法名
+     * @return {@link SqlSource} 实例
+     */
+    private SqlSource newJavaSource(Class<?> provider, String method) {
+        BeanFactory factory = this.beanFactory;
+        return SqlSource.ofJava(provider, method, ClassMethodInvoker.of(provider, method, () -> {
+            Object bean = factory == null ? null : factory.getBeanProvider(provider).getIfUnique();
+            return bean != null ? bean : ClassMethodInvoker.getProviderInstance(provider);
+        }));
+    }
+
+    /**
+     * 根据 fenixId 来创建 XML 方式的 {@link SqlSource}，如果 fenixId 中没有 '.' 号，就用查询方法所在的 class 全路径名来作为 namespace.
+     *
+     * @param fenixId fenix XML 中的 id，可能包含 namespace.
+     * @return {@link SqlSource} 实例
+     */
+    private SqlSource newXmlSource(String fenixId) {
+        int i = fenixId.lastIndexOf(Const.DOT);
+        return i < 0
+                ? SqlSource.ofXml(this.queryClass.getName(), fenixId)
+                : SqlSource.ofXml(fenixId.substring(0, i), fenixId.substring(i + 1));
+    }
+
+    /**
+     * 根据 JPA 参数值的数组来构建出 Map 型的上下文参数.
+     *
+     * @param values JPA 的有序数组参数
+     * @return Map
+     */
+    Map<String, Object> buildContextParams(Object[] values) {
+        Map<String, Object> context = new HashMap<>(this.paramNames.length);
+        for (int i = 0; i < this.paramNames.length; i++) {
+            if (this.paramNames[i] != null) {
+                context.put(this.paramNames[i], values[i]);
+            }
+        }
+        return context;
+    }
+
+    /**
+     * 获取结果类型的 class，优先使用 {@link QueryFenix} 注解中配置的结果类型，其次是 XML 节点中已解析好的结果类型.
+     *
+     * @param resultType 生成的 {@link SqlInfo} 中的结果类型字符串
+     * @return 结果类型的 class
+     */
+    Class<?> getResultClass(String resultType) {
+        if (this.resultClass != null) {
+            return this.resultClass;
+        }
+
+        Class<?> cls = this.xmlResultClass;
+        return cls != null && cls.getName().equals(resultType)
+                ? cls
+                : QueryResultContext.getResultTypeClass(resultType);
+    }
+
+    /**
+     * 校验查询方法所使用的 XML 节点是否存在，并解析好 XML 节点中配置的结果类型.
+     *
+     * <p>注：需要在 Fenix 的配置信息加载完毕之后才能调用本方法.</p>
+     */
+    void validate() {
+        if (this.countSource != null) {
+            this.countSource.validate(this.methodName);
+        }
+
+        FenixPlan fenixPlan = this.querySource.validate(this.methodName);
+        if (this.resultClass == null && fenixPlan != null && StringHelper.isNotBlank(fenixPlan.getResultType())) {
+            this.xmlResultClass = QueryResultContext.getResultTypeClass(fenixPlan.getResultType().trim());
+        }
+    }
+
+    /**
+     * 构建 {@link SqlInfo} 的来源，可以是 XML 节点，也可以是 Java 类中的方法.
+     */
+    @Getter
+    static final class SqlSource {
+
+        /**
+         * XML 命名空间，使用 Java 方式时为 {@code null}.
+         */
+        private final String namespace;
+
+        /**
+         * XML 中的 fenixId，使用 Java 方式时为 {@code null}.
+         */
+        private final String fenixId;
+
+        /**
+         * 提供 SQL 的 Java 类，使用 XML 方式时为 {@code null}.
+         */
+        private final Class<?> provider;
+
+        /**
+         * 提供 SQL 的 Java 类中的方法名，使用 XML 方式时为 {@code null}.
+         */
+        private final String method;
+
+        /**
+         * 调用提供 SQL 的 Java 方法的调用器，使用 XML 方式时为 {@code null}.
+         */
+        @Getter(AccessLevel.NONE)
+        private final ClassMethodInvoker invoker;
+
+        private SqlSource(String namespace, String fenixId, Class<?> provider, String method,
+                ClassMethodInvoker invoker) {
+            this.namespace = namespace;
+            this.fenixId = fenixId;
+            this.provider = provider;
+            this.method = method;
+            this.invoker = invoker;
+        }
+
+        static SqlSource ofXml(String namespace, String fenixId) {
+            return new SqlSource(namespace, fenixId, null, null, null);
+        }
+
+        static SqlSource ofJava(Class<?> provider, String method, ClassMethodInvoker invoker) {
+            return new SqlSource(null, null, provider, method, invoker);
+        }
+
+        /**
+         * 是否是使用 XML 方式来拼接 SQL 的.
+         *
+         * @return 布尔值
+         */
+        boolean isXml() {
+            return this.provider == null;
+        }
+
+        /**
+         * 根据上下文参数来构建 {@link SqlInfo} 信息.
+         *
+         * @param contextParams 上下文参数
+         * @param nativeQuery 是否是原生 SQL
+         * @return {@link SqlInfo} 信息
+         */
+        SqlInfo build(Map<String, Object> contextParams, boolean nativeQuery) {
+            return this.isXml()
+                    ? Fenix.getXmlSqlInfo(this.namespace, this.fenixId, contextParams, nativeQuery)
+                    : this.invoker.invoke(contextParams);
+        }
+
+        /**
+         * 如果是使用 XML 方式的，就校验该 XML 节点是否存在，不存在时抛出 {@link NodeNotFoundException} 异常.
+         *
+         * @param queryMethod 查询方法的名称，用于异常信息中
+         * @return XML 节点对应的渲染计划，使用 Java 方式时为 {@code null}
+         */
+        private FenixPlan validate(String queryMethod) {
+            if (!this.isXml()) {
+                return null;
+            }
+
+            // 如果当前加载的 XML 文件中还没有该命名空间，可能是由其他的 XML 路径配置来加载的，这里只打印警告日志.
+            if (!FenixConfig.getXmlUrlMap().containsKey(this.namespace)) {
+                log.warn("【Fenix 警示】查询方法【{}】所使用的 namespace 为:【{}】的 XML 文件还未加载，暂时无法校验 fenixId 为:【{}】的"
+                        + " XML 节点是否存在.", queryMethod, this.namespace, this.fenixId);
+                return null;
+            }
+
+            // 延迟加载模式下还未加载的命名空间，为了不在启动时就解析和编译该命名空间，这里不做校验，
+            // XML 节点中的结果类型也会在查询时再解析.
+            if (FenixConfig.isLazyNamespace(this.namespace)) {
+                log.debug("【Fenix 提示】查询方法【{}】所使用的 namespace 为:【{}】的 XML 文件是延迟加载的，将在首次查询时再校验"
+                        + " fenixId 为:【{}】的 XML 节点是否存在.", queryMethod, this.namespace, this.fenixId);
+                return null;
+            }
+
+            FenixPlan fenixPlan = FenixXmlBuilder.getFenixPlan(this.namespace, this.fenixId);
+            if (fenixPlan == null) {
+                throw new NodeNotFoundException(StringHelper.format("【Fenix 异常】查询方法【{}】所使用的 namespace 为:【{}】,"
+                        + " fenixId 为:【{}】的 XML 节点不存在，请检查！", queryMethod, this.namespace, this.fenixId));
+            }
+            return fenixPlan;
+        }
+
+    }
+
+}
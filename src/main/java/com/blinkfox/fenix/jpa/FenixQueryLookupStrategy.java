@@ -3,6 +3,7 @@ package com.blinkfox.fenix.jpa;
 import jakarta.persistence.EntityManager;
 import java.lang.reflect.Method;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.data.jpa.provider.QueryExtractor;
 import org.springframework.data.jpa.repository.query.DefaultJpaQueryMethodFactory;
 import org.springframework.data.jpa.repository.query.EscapeCharacter;
@@ -60,6 +61,13 @@ public class FenixQueryLookupStrategy implements QueryLookupStrategy {
      */
     private Object queryMethodFactory;
 
+    /**
+     * Spring 的 Bean 工厂，用于获取 {@link QueryFenix} 注解中 provider 类型的 Bean 实例，可能为 {@code null}.
+     *
+     * @since v3.2.0
+     */
+    private BeanFactory beanFactory;
+
     /**
      * 构造方法.
      *
@@ -151,6 +159,25 @@ public class FenixQueryLookupStrategy implements QueryLookupStrategy {
         return new FenixQueryLookupStrategy(entityManager, key, extractor, valueExpressionDelegate);
     }
 
+    /**
+     * 创建 {@link FenixQueryLookupStrategy} 实例，并优先从 Spring 的 Bean 工厂中获取 provider 类型的 Bean 实例.
+     *
+     * @param entityManager entityManager
+     * @param key key
+     * @param extractor extractor
+     * @param valueExpressionDelegate valueExpressionDelegate
+     * @param beanFactory Spring 的 Bean 工厂，可以为 {@code null}
+     * @return QueryLookupStrategy
+     * @since v3.2.0
+     */
+    static QueryLookupStrategy create(EntityManager entityManager, QueryLookupStrategy.Key key,
+            QueryExtractor extractor, ValueExpressionDelegate valueExpressionDelegate, BeanFactory beanFactory) {
+        FenixQueryLookupStrategy strategy = new FenixQueryLookupStrategy(entityManager, key, extractor,
+                valueExpressionDelegate);
+        strategy.beanFactory = beanFactory;
+        return strategy;
+    }
+
     /**
      * 判断执行的方法上是否有 {@link QueryFenix} 注解，如果有的话，就构造 {@link FenixJpaQuery} 实例，否则就是用 JPA 默认的处理方式.
      *
@@ -169,7 +196,7 @@ public class FenixQueryLookupStrategy implements QueryLookupStrategy {
             return this.jpaQueryLookupStrategy.resolveQuery(method, metadata, factory, namedQueries);
         }
 
-        // 如果有 QueryFenix 注解，就构造 FenixJpaQuery 实例，并注入 QueryFenix 和调用方法的 class 到该实例中，便于后续使用.
+        // 如果有 QueryFenix 注解，就构造 FenixJpaQuery 实例，并一次性分析好该查询方法的描述信息，注入到该实例中，便于后续使用.
         FenixJpaQuery fenixJpaQuery;
         if (this.queryMethodFactory == null) {
             // 为了兼容 SpringData JPA v2.3.0 之前的版本，此处使用字节码注入的方式来解决编译错误.
@@ -179,8 +206,9 @@ public class FenixQueryLookupStrategy implements QueryLookupStrategy {
                     .build(method, metadata, factory), this.entityManager);
         }
 
-        fenixJpaQuery.setQueryFenix(queryFenixAnnotation);
-        fenixJpaQuery.setQueryClass(method.getDeclaringClass());
+        fenixJpaQuery.setDescriptor(new FenixQueryDescriptor(method, queryFenixAnnotation,
+                fenixJpaQuery.getQueryMethod().getParameters(), this.beanFactory));
+        FenixQueryPrewarmer.prewarmOrDefer(fenixJpaQuery);
         return fenixJpaQuery;
     }
 
@@ -0,0 +1,76 @@
+package com.blinkfox.fenix.jpa;
+
+import com.blinkfox.fenix.config.FenixConfig;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 在启动时校验各个 {@link FenixJpaQuery} 查询所使用的 XML 节点，并预热其 JPA 查询计划缓存的预热器.
+ *
+ * <p>Spring Data JPA 解析各个查询方法时，Fenix 的配置信息不一定已经加载完毕，
+ * 所以在加载完毕之前解析到的查询会先暂存起来，等加载完毕之后再统一校验和预热；加载完毕之后解析到的查询则会立即校验和预热.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixJpaQuery
+ * @since v3.2.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FenixQueryPrewarmer {
+
+    /**
+     * 用于同步的锁对象.
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * Fenix 配置信息加载完毕之前解析到的、待预热的查询集合.
+     */
+    private static final List<FenixJpaQuery> pendingQueries = new ArrayList<>();
+
+    /**
+     * 已加载完毕的 Fenix 配置信息，为 {@code null} 时表示还未加载完毕.
+     */
+    private static FenixConfig loadedConfig;
+
+    /**
+     * 如果 Fenix 的配置信息已经加载完毕，就校验并根据配置来预热该查询；否则先暂存起来，等加载完毕之后再校验和预热.
+     *
+     * @param fenixJpaQuery {@link FenixJpaQuery} 实例
+     */
+    static void prewarmOrDefer(FenixJpaQuery fenixJpaQuery) {
+        FenixConfig fenixConfig;
+        synchronized (LOCK) {
+            fenixConfig = loadedConfig;
+            if (fenixConfig == null) {
+                pendingQueries.add(fenixJpaQuery);
+                return;
+            }
+        }
+        prewarm(fenixJpaQuery, fenixConfig);
+    }
+
+    /**
+     * Fenix 的配置信息加载完毕之后，校验并根据配置来预热所有暂存的查询，并清空暂存的查询.
+     *
+     * @param fenixConfig 已加载完毕的 Fenix 配置信息
+     */
+    public static void prewarmPendingQueries(FenixConfig fenixConfig) {
+        List<FenixJpaQuery> queries;
+        synchronized (LOCK) {
+            loadedConfig = fenixConfig;
+            queries = new ArrayList<>(pendingQueries);
+            pendingQueries.clear();
+        }
+        queries.forEach(query -> prewarm(query, fenixConfig));
+    }
+
+    private static void prewarm(FenixJpaQuery fenixJpaQuery, FenixConfig fenixConfig) {
+        fenixJpaQuery.validate();
+        if (fenixConfig.isPrewarm() && !fenixConfig.isDebug()) {
+            fenixJpaQuery.prewarm(fenixConfig.getPrewarmMaxCombinations());
+        }
+    }
+
+}
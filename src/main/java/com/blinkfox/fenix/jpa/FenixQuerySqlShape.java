@@ -0,0 +1,76 @@
+package com.blinkfox.fenix.jpa;
+
+import com.blinkfox.fenix.helper.QueryHelper;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * 某个查询方法的某一种 JPQL 或者 SQL 形态的结构信息，如：别名、投影、是否有构造器表达式和排序子句等.
+ *
+ * <p>这些信息都需要使用较复杂的正则表达式来分析整条 SQL 才能得到，但对同一种 SQL 形态来说都是固定不变的，
+ * 所以只会在该形态第一次出现时计算一次，并由 {@link FenixJpaQuery} 按 SQL 形态缓存起来.</p>
+ *
+ * <p>由于 {@link QueryUtils#applySorting(String, Sort, String)} 总是在原 SQL 的末尾追加排序子句，
+ * 所以本类只缓存各个 {@link Sort} 对应的排序子句，应用排序时只需要将其追加到原 SQL 的末尾即可.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+final class FenixQuerySqlShape {
+
+    /**
+     * 每种 SQL 形态下最多缓存的排序子句的数量.
+     */
+    private static final int SORT_CACHE_SIZE = 16;
+
+    /**
+     * 该形态的 JPQL 或者 SQL 语句.
+     */
+    @Getter
+    private final String sql;
+
+    /**
+     * SQL 中 from 后的实体或表的别名，可能为 {@code null}.
+     */
+    @Getter
+    private final String alias;
+
+    /**
+     * 是否是查询实体本身的 SQL，即有构造器表达式或者查询的投影就是实体的别名，仅原生 SQL 时才会计算.
+     */
+    @Getter
+    private final boolean entityProjection;
+
+    /**
+     * 各个 {@link Sort} 对应的要追加到 SQL 末尾的排序子句的缓存.
+     */
+    private final ConcurrentLruCache<Sort, String> orderByCache;
+
+    /**
+     * 构造方法，会分析并计算出该 SQL 形态的各个结构信息.
+     *
+     * @param sql JPQL 或者 SQL 语句
+     * @param nativeQuery 是否是原生 SQL
+     */
+    FenixQuerySqlShape(String sql, boolean nativeQuery) {
+        this.sql = sql;
+        this.alias = QueryHelper.detectAlias(sql);
+        this.entityProjection = nativeQuery && (QueryUtils.hasConstructorExpression(sql)
+                || QueryUtils.getProjection(sql).equalsIgnoreCase(this.alias));
+        this.orderByCache = new ConcurrentLruCache<>(SORT_CACHE_SIZE,
+                sort -> QueryUtils.applySorting(this.sql, sort, this.alias).substring(this.sql.length()));
+    }
+
+    /**
+     * 将排序信息应用到该形态的 SQL 上，返回追加了排序子句之后的 SQL.
+     *
+     * @param sort 排序信息
+     * @return 追加了排序子句之后的 SQL
+     */
+    String applySorting(Sort sort) {
+        return sort == null || sort.isUnsorted() ? this.sql : this.sql.concat(this.orderByCache.get(sort));
+    }
+
+}
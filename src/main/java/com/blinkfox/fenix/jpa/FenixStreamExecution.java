@@ -0,0 +1,185 @@
+package com.blinkfox.fenix.jpa;
+
+import com.blinkfox.fenix.config.FenixConfigManager;
+import jakarta.persistence.EntityManager;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.jpa.repository.query.AbstractJpaQuery;
+import org.springframework.data.jpa.repository.query.JpaParametersParameterAccessor;
+import org.springframework.data.jpa.repository.query.JpaQueryExecution;
+import org.springframework.data.repository.core.support.SurroundingTransactionDetectorMethodInterceptor;
+
+/**
+ * 返回值为 {@link Stream} 的 {@link QueryFenix} 查询方法的执行器.
+ *
+ * <p>该执行器使用 Hibernate 只能向前滚动的 {@link ScrollableResults} 游标来逐行读取查询结果，
+ * 自定义的结果转换器也会由 Hibernate 在读取每一行时逐行转换，不会一次性将所有结果加载到内存中.
+ * 如果 {@code streamClearInterval} 大于 0，每读取该数量的记录，就会将开始查询之后才进入持久化上下文的所有实体逐个移除（evict），
+ * 包括游标返回的实体、急加载（EAGER）的关联实体和转换结果时加载的实体，使持久化上下文的大小不随结果集的大小而增长.
+ * 开始查询之前就已受管理的实体不受影响，也不会因此刷新（flush）持久化上下文.</p>
+ *
+ * <p>注意：与 Spring Data JPA 的流式查询一样，需要在事务中调用该查询方法，并在使用完毕后关闭返回的 {@link Stream}.</p>
+ *
+ * @author blinkfox on 2026-10-18.
+ * @see FenixJpaQuery
+ * @since v3.2.0
+ */
+final class FenixStreamExecution extends JpaQueryExecution {
+
+    private static final String NO_SURROUNDING_TRANSACTION = "You're trying to execute a streaming query method "
+            + "without a surrounding transaction that keeps the connection open so that the Stream can actually be "
+            + "consumed; Make sure the code consuming the stream uses @Transactional or any other way of declaring "
+            + "a (read-only) transaction";
+
+    /**
+     * 执行流式查询的 {@link FenixJpaQuery} 实例.
+     */
+    private final FenixJpaQuery fenixJpaQuery;
+
+    /**
+     * 实体管理器.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * 构造方法.
+     *
+     * @param fenixJpaQuery 执行流式查询的 {@link FenixJpaQuery} 实例
+     * @param entityManager 实体管理器
+     */
+    FenixStreamExecution(FenixJpaQuery fenixJpaQuery, EntityManager entityManager) {
+        this.fenixJpaQuery = fenixJpaQuery;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * 创建查询并以只能向前滚动的游标来执行，返回逐行读取查询结果的 {@link Stream}.
+     *
+     * @param query 查询对象
+     * @param accessor JPA 参数访问对象
+     * @return {@link Stream} 实例
+     */
+    @Override
+    protected Object doExecute(AbstractJpaQuery query, JpaParametersParameterAccessor accessor) {
+        if (!SurroundingTransactionDetectorMethodInterceptor.INSTANCE.isSurroundingTransactionActive()) {
+            throw new InvalidDataAccessApiUsageException(NO_SURROUNDING_TRANSACTION);
+        }
+
+        SessionImplementor session = this.entityManager.unwrap(SessionImplementor.class);
+        ScrollableResults<?> results = this.fenixJpaQuery.createStreamQuery(accessor).scroll(ScrollMode.FORWARD_ONLY);
+        ScrollSpliterator spliterator = new ScrollSpliterator(results, session,
+                FenixConfigManager.getInstance().getFenixConfig().getStreamClearInterval());
+        return StreamSupport.stream(spliterator, false).onClose(results::close);
+    }
+
+    /**
+     * 逐行读取 {@link ScrollableResults} 游标中查询结果的 {@link Spliterator}.
+     */
+    private static final class ScrollSpliterator extends Spliterators.AbstractSpliterator<Object> {
+
+        /**
+         * 只能向前滚动的查询结果游标.
+         */
+        private final ScrollableResults<?> results;
+
+        /**
+         * 当前查询所在的 Hibernate 会话.
+         */
+        private final SessionImplementor session;
+
+        /**
+         * 定期移除实体的间隔记录数，小于等于 0 时表示不移除.
+         */
+        private final int clearInterval;
+
+        /**
+         * 开始查询之前就已受管理的实体，定期移除实体时会保留这些实体，开启了定期移除时才会记录.
+         */
+        private final Set<Object> retainedEntities;
+
+        /**
+         * 已读取的记录数.
+         */
+        private long rowCount;
+
+        /**
+         * 游标是否已经读取完毕.
+         */
+        private boolean finished;
+
+        ScrollSpliterator(ScrollableResults<?> results, SessionImplementor session, int clearInterval) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.results = results;
+            this.session = session;
+            this.clearInterval = clearInterval;
+            this.retainedEntities = clearInterval > 0
+                    ? snapshotEntities(session.getPersistenceContextInternal())
+                    : null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Object> action) {
+            if (this.finished) {
+                return false;
+            }
+
+            // 在读取下一行之前移除新进入持久化上下文的实体，这样已交给调用方的实体都会变为游离状态，也不会影响即将读取的这一行.
+            if (this.clearInterval > 0 && this.rowCount > 0 && this.rowCount % this.clearInterval == 0) {
+                this.evictNewEntities();
+            }
+
+            // 游标读取完毕时就及时关闭，尽早释放数据库连接上的游标资源.
+            if (!this.results.next()) {
+                this.finished = true;
+                this.results.close();
+                return false;
+            }
+
+            this.rowCount++;
+            action.accept(this.results.get());
+            return true;
+        }
+
+        /**
+         * 记录持久化上下文中当前所有受管理的实体.
+         *
+         * @param persistenceContext 持久化上下文
+         * @return 按对象身份比较的实体集合
+         */
+        private static Set<Object> snapshotEntities(PersistenceContext persistenceContext) {
+            Set<Object> entities = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Map.Entry<Object, EntityEntry> entry : persistenceContext.reentrantSafeEntityEntries()) {
+                entities.add(entry.getKey());
+            }
+            return entities;
+        }
+
+        /**
+         * 将开始查询之后才进入持久化上下文的实体逐个移除，移除某个实体时级联移除的实体会被跳过.
+         */
+        private void evictNewEntities() {
+            PersistenceContext persistenceContext = this.session.getPersistenceContextInternal();
+            for (Map.Entry<Object, EntityEntry> entry : persistenceContext.reentrantSafeEntityEntries()) {
+                Object entity = entry.getKey();
+                if (!this.retainedEntities.contains(entity) && persistenceContext.getEntry(entity) != null) {
+                    this.session.evict(entity);
+                }
+            }
+        }
+
+    }
+
+}
@@ -6,6 +6,7 @@ import com.blinkfox.fenix.jpa.transformer.ColumnAnnotationTransformer;
 import com.blinkfox.fenix.jpa.transformer.PrefixUnderscoreTransformer;
 import com.blinkfox.fenix.jpa.transformer.UnderscoreTransformer;
 import jakarta.persistence.Query;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
@@ -47,18 +48,18 @@ final class QueryResultContext {
      *
      * @param query 查询对象
      * @param resultTypeClassStr Fenix XML 文件中配置的结果类型字符串.
-     * @param queryFenix Fenix 的查询注解
+     * @param descriptor 查询方法的描述信息
      * @return 额外改造后的 {@code Query} 实例.
      */
     @SuppressWarnings("deprecation")
-    static Query buildTransformer(Query query, String resultTypeClassStr, QueryFenix queryFenix) {
+    static Query buildTransformer(Query query, String resultTypeClassStr, FenixQueryDescriptor descriptor) {
         // 创建 ResultTransformer 的对象实例，然后设置结果类型的 class，并进行初始化设置.
-        AbstractResultTransformer transformer = newTransformerInstance(queryFenix);
-        transformer.setResultClass(getResultTypeClass(queryFenix.resultType(), resultTypeClassStr));
+        AbstractResultTransformer transformer = descriptor.getTransformerFactory().get();
+        transformer.setResultClass(descriptor.getResultClass(resultTypeClassStr));
         transformer.init();
 
         // 根据是否原生 SQL 来包装并设置查询结果转换器对象.
-        if (queryFenix.nativeQuery()) {
+        if (descriptor.getQueryFenix().nativeQuery()) {
             // 获取该查询对应的 NativeQuery，设置转换类型.
             query.unwrap(NativeQuery.class).setResultTransformer(transformer);
         } else {
@@ -68,42 +69,50 @@ final class QueryResultContext {
     }
 
     /**
-     * 创建查询结果转换器的对象实例.
+     * 获取创建查询结果转换器对象实例的工厂.
      *
-     * <p>如果检测出是 Fenix 内置的转换器就通过 new 来创建对象，提高性能；否则，才通过反射创建 ResultTransformer 对象.</p>
+     * <p>如果检测出是 Fenix 内置的转换器就通过 new 来创建对象，提高性能；否则，会预先获取好该类的无参构造方法，
+     * 每次创建时再通过该构造方法反射创建 ResultTransformer 对象.</p>
      *
-     * @param queryFenix {@link QueryFenix} 的对象实例
-     * @return 结果转换器对象实例
+     * @param transformer 结果转换器的 class
+     * @return 结果转换器对象实例的工厂
+     * @since v3.2.0
      */
-    private static AbstractResultTransformer newTransformerInstance(QueryFenix queryFenix) {
-        Class<? extends AbstractResultTransformer> transformer = queryFenix.resultTransformer();
+    static Supplier<AbstractResultTransformer> getTransformerFactory(
+            Class<? extends AbstractResultTransformer> transformer) {
         Supplier<AbstractResultTransformer> transformerSupplier = buildInTransformerMap.get(transformer.getName());
         if (transformerSupplier != null) {
-            return transformerSupplier.get();
+            return transformerSupplier;
         }
 
+        Constructor<? extends AbstractResultTransformer> constructor;
         try {
-            return transformer.getDeclaredConstructor().newInstance();
-        } catch (InstantiationException | IllegalAccessException
-                | InvocationTargetException | NoSuchMethodException e) {
-            throw new FenixException(StringHelper.format("【Fenix 异常】通过反射创建【{}】类的对象实例异常，请检查该类的"
-                    + "构造方法是否有 public 的无参构造方法，建议你参考【com.blinkfox.fenix.jpa.FenixResultTransformer】类来实现"
-                    + "自己的 ResultTransformer 类。", transformer.getName()), e);
+            constructor = transformer.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw newTransformerException(transformer, e);
         }
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw newTransformerException(transformer, e);
+            }
+        };
+    }
+
+    private static FenixException newTransformerException(Class<?> transformer, Exception e) {
+        return new FenixException(StringHelper.format("【Fenix 异常】通过反射创建【{}】类的对象实例异常，请检查该类的"
+                + "构造方法是否有 public 的无参构造方法，建议你参考【com.blinkfox.fenix.jpa.FenixResultTransformer】类来实现"
+                + "自己的 ResultTransformer 类。", transformer.getName()), e);
     }
 
     /**
-     * 根据多个结果类型优先选取或得到一个可用的结果类型，如果 class 为空，就返回类型字符串所对应的 {@code Class} 实例.
+     * 获取结果类型字符串所对应的 {@code Class} 实例.
      *
-     * @param resultTypeClass 结果类型的 Class 对象
      * @param resultTypeClassStr 结果类型
      * @return {@code Class} 实例
      */
-    private static Class<?> getResultTypeClass(Class<?> resultTypeClass, String resultTypeClassStr) {
-        if (resultTypeClass != null && resultTypeClass != Void.class) {
-            return resultTypeClass;
-        }
-
+    static Class<?> getResultTypeClass(String resultTypeClassStr) {
         try {
             return Class.forName(resultTypeClassStr);
         } catch (ClassNotFoundException e) {
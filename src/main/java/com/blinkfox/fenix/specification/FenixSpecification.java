@@ -206,7 +206,7 @@ public final class FenixSpecification {
 
         // 获取到真正的数据库持久类 POJO 实体的属性值 fieldName 和该属性的值 value.
         try {
-            String fieldName = (String) annotation.getClass().getMethod("value").invoke(annotation);
+            String fieldName = (String) annotation.annotationType().getMethod("value").invoke(annotation);
             fieldName = StringHelper.isBlank(fieldName) ? field.getName() : fieldName;
             return Pair.of(fieldName, descriptor.getReadMethod().invoke(beanParam));
         } catch (ReflectiveOperationException e) {
@@ -32,4 +32,12 @@ public @interface In {
      */
     boolean allowNull() default false;
 
+    /**
+     * 是否将参数集合补齐到固定的桶大小，默认为 {@code false}，表示使用全局配置中的值.
+     *
+     * @return 值
+     * @since v3.2.0
+     */
+    boolean padding() default false;
+
 }
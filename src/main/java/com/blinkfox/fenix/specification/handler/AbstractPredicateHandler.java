@@ -1,18 +1,22 @@
 package com.blinkfox.fenix.specification.handler;
 
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.FenixConfigManager;
 import com.blinkfox.fenix.exception.BuildSpecificationException;
+import com.blinkfox.fenix.helper.CollectionHelper;
 import com.blinkfox.fenix.specification.handler.bean.BetweenValue;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.From;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 
 /**
  * 用来动态构造 JPA 中 {@link Predicate} 的抽象类.
@@ -220,22 +224,91 @@ public abstract class AbstractPredicateHandler implements PredicateHandler {
      */
     protected <Z, X> Predicate buildInPredicate(
             CriteriaBuilder criteriaBuilder, From<Z, X> from, String fieldName, Object value, boolean allowNull) {
-        value = value.getClass().isArray() ? Arrays.asList((Object[]) value) : value;
-        Path<Object> path = from.get(fieldName);
-        CriteriaBuilder.In<Object> in = criteriaBuilder.in(path);
+        return this.buildInPredicate(criteriaBuilder, from, fieldName, value, allowNull, false);
+    }
 
+    /**
+     * 构造范围条件 {@code IN} 的 {@link Predicate} 条件，并指定是否将参数集合补齐到固定的桶大小.
+     *
+     * <p>注：全局配置中开启了 IN 参数补齐时，无论 padding 参数是否为 {@code true}，都会补齐参数集合.</p>
+     *
+     * @param criteriaBuilder {@link CriteriaBuilder} 实例
+     * @param from {@link From} 实例
+     * @param fieldName 实体类的属性名
+     * @param value 对应属性的值
+     * @param allowNull 是否允许 null 值
+     * @param padding 是否将参数集合补齐到固定的桶大小
+     * @param <Z> 泛型 Z
+     * @param <X> 泛型 X
+     * @return {@link Predicate} 实例
+     * @since v3.2.0
+     */
+    protected <Z, X> Predicate buildInPredicate(CriteriaBuilder criteriaBuilder, From<Z, X> from, String fieldName,
+            Object value, boolean allowNull, boolean padding) {
+        value = CollectionHelper.arrayToList(value);
+        Path<Object> path = from.get(fieldName);
+        Predicate predicate;
         if (value instanceof Collection) {
             Collection<?> list = (Collection<?>) value;
             if (list.isEmpty()) {
                 return criteriaBuilder.conjunction();
-            } else {
-                list.forEach(in::value);
             }
+            predicate = this.buildCollectionInPredicate(criteriaBuilder, path, list, padding);
         } else {
-            in.value(value);
+            predicate = criteriaBuilder.in(path).value(value);
         }
 
-        return allowNull ? criteriaBuilder.or(in, criteriaBuilder.isNull(path)) : in;
+        return allowNull ? criteriaBuilder.or(predicate, criteriaBuilder.isNull(path)) : predicate;
+    }
+
+    /**
+     * 构造参数值为集合时的 {@code IN} 条件，超大的参数集合会根据配置的阈值，以单个数组参数来绑定，或者拆分成多个 OR 连接的 IN 条件.
+     *
+     * @param criteriaBuilder {@link CriteriaBuilder} 实例
+     * @param path 属性路径
+     * @param values 参数集合
+     * @param padding 是否将参数集合补齐到固定的桶大小
+     * @return {@link Predicate} 实例
+     * @since v3.2.0
+     */
+    private Predicate buildCollectionInPredicate(
+            CriteriaBuilder criteriaBuilder, Path<Object> path, Collection<?> values, boolean padding) {
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        if (CollectionHelper.isOverThreshold(values, fenixConfig.getInArrayThreshold())
+                && ArrayInPredicates.isSupported(criteriaBuilder)) {
+            return ArrayInPredicates.build(criteriaBuilder, path, values);
+        }
+
+        int chunkThreshold = fenixConfig.getInChunkThreshold();
+        if (!CollectionHelper.isOverThreshold(values, chunkThreshold)) {
+            CriteriaBuilder.In<Object> in = criteriaBuilder.in(path);
+            this.padInValues(values, padding).forEach(in::value);
+            return in;
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        boolean chunkPadding = padding || fenixConfig.isInPadding();
+        for (Collection<?> chunk : CollectionHelper.chunk(values, chunkThreshold, chunkPadding)) {
+            CriteriaBuilder.In<Object> in = criteriaBuilder.in(path);
+            chunk.forEach(in::value);
+            predicates.add(in);
+        }
+        return criteriaBuilder.or(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * 如果注解中或者全局配置中开启了 IN 参数补齐，就将参数集合补齐到固定的桶大小，否则原样返回.
+     *
+     * @param values 参数集合
+     * @param padding 注解中是否开启了 IN 参数补齐
+     * @return 集合
+     * @since v3.2.0
+     */
+    protected Collection<?> padInValues(Collection<?> values, boolean padding) {
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        return padding || fenixConfig.isInPadding()
+                ? CollectionHelper.padInValues(values, fenixConfig.getInPaddingBuckets())
+                : values;
     }
 
     /**
@@ -254,6 +327,23 @@ public abstract class AbstractPredicateHandler implements PredicateHandler {
         }
     }
 
+    /**
+     * 获取注解中是否开启了 IN 参数补齐的值.
+     *
+     * @param annotation 注解实例
+     * @return 布尔值
+     * @since v3.2.0
+     */
+    protected boolean isPadding(Object annotation) {
+        try {
+            return (boolean) this.getAnnotation().getMethod("padding").invoke(annotation);
+        } catch (IllegalAccessException | IllegalArgumentException
+                 | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            log.error("【Fenix 错误提示】获取【@In】、【@OrIn】、【@NotIn】、【@OrNotIn】相关注解中的【padding】的值失败，将默认返回 false 的值.", e);
+            return false;
+        }
+    }
+
     /**
      * 构造模糊匹配条件 {@code LIKE} 的 {@link Predicate} 条件.
      *
@@ -421,10 +511,8 @@ public abstract class AbstractPredicateHandler implements PredicateHandler {
      */
     protected <Z, X> Predicate buildBetweenPredicate(
             CriteriaBuilder criteriaBuilder, From<Z, X> from, String fieldName, Object value) {
-        if (value.getClass().isArray()) {
-            Object[] arr = (Object[]) value;
-            return this.buildBetweenPredicate(criteriaBuilder, from, fieldName, arr[0], arr[1]);
-        } else if (value instanceof List) {
+        value = CollectionHelper.arrayToList(value);
+        if (value instanceof List) {
             List<?> list = (List<?>) value;
             return this.buildBetweenPredicate(criteriaBuilder, from, fieldName, list.get(0), list.get(1));
         } else if (value instanceof BetweenValue) {
@@ -455,4 +543,38 @@ public abstract class AbstractPredicateHandler implements PredicateHandler {
         }
     }
 
+    /**
+     * 使用 Hibernate 的 {@code array_contains} 函数，以单个数组参数来构造 {@code IN} 条件的辅助类.
+     *
+     * <p>注：Hibernate 是可选依赖，将相关代码放到单独的内部类中，以保证没有 Hibernate 时不会加载相关的类.</p>
+     */
+    private static final class ArrayInPredicates {
+
+        private static final boolean HIBERNATE_PRESENT = isHibernatePresent();
+
+        private static boolean isHibernatePresent() {
+            try {
+                Class.forName("org.hibernate.query.criteria.HibernateCriteriaBuilder");
+                return true;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+
+        private static boolean isSupported(CriteriaBuilder criteriaBuilder) {
+            return HIBERNATE_PRESENT && criteriaBuilder instanceof HibernateCriteriaBuilder;
+        }
+
+        private static Predicate build(CriteriaBuilder criteriaBuilder, Path<Object> path, Collection<?> values) {
+            return arrayContains((HibernateCriteriaBuilder) criteriaBuilder,
+                    criteriaBuilder.literal(CollectionHelper.toTypedArray(values)), path);
+        }
+
+        private static <T> Predicate arrayContains(HibernateCriteriaBuilder criteriaBuilder, Expression<T[]> array,
+                Expression<T> element) {
+            return criteriaBuilder.arrayContains(array, element);
+        }
+
+    }
+
 }
@@ -1,13 +1,12 @@
 package com.blinkfox.fenix.specification.handler.impl;
 
+import com.blinkfox.fenix.helper.CollectionHelper;
 import com.blinkfox.fenix.specification.annotation.NotIn;
 import com.blinkfox.fenix.specification.handler.AbstractPredicateHandler;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.From;
-import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.lang.annotation.Annotation;
-import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -27,26 +26,23 @@ public class NotInPredicateHandler extends AbstractPredicateHandler {
     @Override
     public <Z, X> Predicate buildPredicate(
             CriteriaBuilder criteriaBuilder, From<Z, X> from, String fieldName, Object value, Annotation annotation) {
-        return this.buildPredicate(criteriaBuilder, from, fieldName, value);
+        return this.buildNotInPredicate(criteriaBuilder, from, fieldName, value, super.isPadding(annotation));
     }
 
     @Override
     public Predicate buildPredicate(
             CriteriaBuilder criteriaBuilder, From<?, ?> from, String fieldName, Object value) {
-        Path<Object> path = from.get(fieldName);
-        CriteriaBuilder.In<Object> in = criteriaBuilder.in(path);
-        value = value.getClass().isArray() ? Arrays.asList((Object[]) value) : value;
+        return this.buildNotInPredicate(criteriaBuilder, from, fieldName, value, false);
+    }
 
-        if (value instanceof Collection) {
-            Collection<?> list = (Collection<?>) value;
-            if (list.isEmpty()) {
-                return criteriaBuilder.conjunction();
-            }
-            list.forEach(in::value);
-        } else {
-            in.value(value);
+    private Predicate buildNotInPredicate(
+            CriteriaBuilder criteriaBuilder, From<?, ?> from, String fieldName, Object value, boolean padding) {
+        value = CollectionHelper.arrayToList(value);
+        if (value instanceof Collection && ((Collection<?>) value).isEmpty()) {
+            return criteriaBuilder.conjunction();
         }
-        return criteriaBuilder.and(criteriaBuilder.not(in));
+        return criteriaBuilder.and(criteriaBuilder.not(
+                super.buildInPredicate(criteriaBuilder, from, fieldName, value, false, padding)));
     }
 
 }
@@ -1,13 +1,13 @@
 package com.blinkfox.fenix.specification.handler.impl;
 
 import com.blinkfox.fenix.exception.BuildSpecificationException;
+import com.blinkfox.fenix.helper.CollectionHelper;
 import com.blinkfox.fenix.specification.annotation.OrLikeOrLike;
 import com.blinkfox.fenix.specification.handler.AbstractPredicateHandler;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.From;
 import jakarta.persistence.criteria.Predicate;
 import java.lang.annotation.Annotation;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -27,7 +27,7 @@ public class OrLikeOrLikePredicateHandler extends AbstractPredicateHandler {
     @Override
     public <Z, X> Predicate buildPredicate(
             CriteriaBuilder criteriaBuilder, From<Z, X> from, String name, Object value, Annotation annotation) {
-        value = value.getClass().isArray() ? Arrays.asList((Object[]) value) : value;
+        value = CollectionHelper.arrayToList(value);
         if (!(value instanceof List)) {
             throw new BuildSpecificationException(
                     "【Fenix 异常】对【" + name + "】使用【@OrLikeOrLike】时，属性类型不是数组或者 List 集合！");
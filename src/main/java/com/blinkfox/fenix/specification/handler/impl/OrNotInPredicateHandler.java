@@ -25,7 +25,8 @@ public class OrNotInPredicateHandler extends AbstractPredicateHandler {
     public <Z, X> Predicate buildPredicate(
             CriteriaBuilder criteriaBuilder, From<Z, X> from, String fieldName, Object value, Annotation annotation) {
         return criteriaBuilder.or(criteriaBuilder.not(
-                super.buildInPredicate(criteriaBuilder, from, fieldName, value, super.isAllowNull(annotation))));
+                super.buildInPredicate(criteriaBuilder, from, fieldName, value,
+                        super.isAllowNull(annotation), super.isPadding(annotation))));
     }
 
     @Override
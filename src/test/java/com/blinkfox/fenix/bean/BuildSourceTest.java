@@ -4,6 +4,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
 import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.core.concrete.NormalHandler;
+import com.blinkfox.fenix.exception.FenixException;
+import java.util.Collections;
+import org.dom4j.DocumentException;
+import org.dom4j.DocumentHelper;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -65,4 +70,29 @@ public class BuildSourceTest {
         assertNull(source.getNode());
     }
 
+    /**
+     * 测试没有预编译的渲染步骤时，会根据 dom4j 节点实时编译，使外部仍然可以直接调用内置的标签处理器.
+     *
+     * @throws DocumentException 解析 XML 的异常
+     */
+    @Test
+    public void getTagStepFromNode() throws DocumentException {
+        BuildSource nodeSource = new BuildSource("", new SqlInfo(),
+                DocumentHelper.parseText("<andEqual field=\"u.name\" value=\"name\"/>").getRootElement(),
+                Collections.singletonMap("name", "blinkfox")).setPrefix(" AND ").setSymbol(" = ");
+        assertEquals("andEqual", nodeSource.getTagStep().getName());
+
+        new NormalHandler().buildSqlInfo(nodeSource);
+        assertEquals(" AND u.name = :name", nodeSource.getSqlInfo().getJoin().toString());
+        assertEquals("blinkfox", nodeSource.getSqlInfo().getParams().get("name"));
+    }
+
+    /**
+     * 测试渲染步骤和 dom4j 节点都为空时，会抛出明确的异常.
+     */
+    @Test(expected = FenixException.class)
+    public void getTagStepWithoutNode() {
+        new BuildSource("", new SqlInfo(), null, null).getTagStep();
+    }
+
 }
@@ -0,0 +1,98 @@
+package com.blinkfox.fenix.config;
+
+import com.blinkfox.fenix.core.plan.FenixPlan;
+import com.blinkfox.fenix.core.plan.TagStep;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link FenixLazyLoader} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class FenixLazyLoaderTest {
+
+    private static final String USER_NAMESPACE = "com.blinkfox.fenix.repository.UserRepository";
+
+    /**
+     * 以延迟加载的模式来初始化加载 Fenix 的配置信息.
+     */
+    @Before
+    public void init() {
+        FenixConfigManager.getInstance().initLoad(new FenixConfig().setLazyLoad(true));
+    }
+
+    /**
+     * 恢复为默认的加载模式.
+     */
+    @After
+    public void destroy() {
+        FenixConfigManager.getInstance().initLoad(new FenixConfig());
+    }
+
+    /**
+     * 测试启动时只建立命名空间的索引，第一次使用某个命名空间时才会加载该命名空间，并链接其他命名空间导入它的 import 标签.
+     */
+    @Test
+    public void load() {
+        Assert.assertTrue(FenixConfig.getFenixPlans().isEmpty());
+        Assert.assertTrue(FenixConfig.getXmlUrlMap().containsKey("fenix"));
+        Assert.assertTrue(FenixConfig.getXmlUrlMap().containsKey(USER_NAMESPACE));
+
+        // 加载 UnitTestRepository 时，其导入的 UserRepository 还未加载，所以不会被链接.
+        FenixPlan testImport = FenixConfig.getFenixPlan("UnitTestRepository", "testImport");
+        Assert.assertNotNull(testImport);
+        Assert.assertNull(getFirstImportPlan(testImport));
+        Assert.assertTrue(FenixConfig.getFenixPlans().keySet().stream()
+                .allMatch(key -> key.startsWith("UnitTestRepository.")));
+
+        // 加载 UserRepository 之后，重新构建注册表时会链接已加载命名空间中导入它的 import 标签.
+        FenixPlan queryUserByIds = FenixConfig.getFenixPlan(USER_NAMESPACE, "queryUserByIds");
+        Assert.assertNotNull(queryUserByIds);
+        Assert.assertSame(queryUserByIds, getFirstImportPlan(testImport));
+        Assert.assertSame(testImport, FenixConfig.getFenixPlan("UnitTestRepository", "testImport"));
+        Assert.assertNull(FenixConfig.getFenixPlan("fenix", "notExists"));
+        Assert.assertNull(FenixConfig.getFenixPlan("notExistsNamespace", "notExists"));
+    }
+
+    private static FenixPlan getFirstImportPlan(FenixPlan plan) {
+        return plan.getSteps().stream()
+                .filter(step -> step instanceof TagStep)
+                .map(step -> (TagStep) step)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new)
+                .getImportPlan();
+    }
+
+    /**
+     * 测试多个线程同时第一次使用同一个命名空间时，该命名空间只会被加载一次.
+     */
+    @Test
+    public void loadConcurrently() {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<CompletableFuture<FenixPlan>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return FenixConfig.getFenixPlan("fenix", "equal");
+            }));
+        }
+        latch.countDown();
+
+        FenixPlan plan = futures.get(0).join();
+        Assert.assertNotNull(plan);
+        futures.forEach(future -> Assert.assertSame(plan, future.join()));
+    }
+
+}
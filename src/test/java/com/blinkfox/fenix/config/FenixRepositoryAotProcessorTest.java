@@ -0,0 +1,62 @@
+package com.blinkfox.fenix.config;
+
+import com.blinkfox.fenix.jpa.FenixJpaRepositoryFactoryBean;
+import com.blinkfox.fenix.jpa.transformer.PrefixUnderscoreTransformer;
+import com.blinkfox.fenix.provider.TransformerTestSqlInfoProvider;
+import com.blinkfox.fenix.repository.transformer.PrefixUnderscoreRepository;
+import com.blinkfox.fenix.vo.transformer.PrefixUnderscoreVo;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.aot.BeanRegistrationAotContribution;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.javapoet.ClassName;
+
+/**
+ * {@link FenixRepositoryAotProcessor} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class FenixRepositoryAotProcessorTest {
+
+    /**
+     * 测试会为 Repository 接口中 {@code @QueryFenix} 查询方法所使用的类注册反射提示信息.
+     */
+    @Test
+    public void processAheadOfTime() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        RootBeanDefinition repositoryDefinition = new RootBeanDefinition(FenixJpaRepositoryFactoryBean.class);
+        repositoryDefinition.getConstructorArgumentValues()
+                .addIndexedArgumentValue(0, PrefixUnderscoreRepository.class.getName());
+        beanFactory.registerBeanDefinition("prefixUnderscoreRepository", repositoryDefinition);
+        beanFactory.registerBeanDefinition("other", new RootBeanDefinition(String.class));
+
+        FenixRepositoryAotProcessor processor = new FenixRepositoryAotProcessor();
+        Assert.assertNull(processor.processAheadOfTime(RegisteredBean.of(beanFactory, "other")));
+        BeanRegistrationAotContribution contribution =
+                processor.processAheadOfTime(RegisteredBean.of(beanFactory, "prefixUnderscoreRepository"));
+        Assert.assertNotNull(contribution);
+
+        RuntimeHints hints = new RuntimeHints();
+        contribution.applyTo(new DefaultGenerationContext(new ClassNameGenerator(
+                ClassName.get(FenixRepositoryAotProcessorTest.class)), new InMemoryGeneratedFiles(), hints), null);
+        Assert.assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(TransformerTestSqlInfoProvider.class, "queryPrefixUnderscoreVoResultType").test(hints));
+        Assert.assertTrue(RuntimeHintsPredicates.reflection().onType(TransformerTestSqlInfoProvider.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        Assert.assertTrue(RuntimeHintsPredicates.reflection().onType(PrefixUnderscoreVo.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .test(hints));
+        Assert.assertTrue(RuntimeHintsPredicates.reflection().onType(PrefixUnderscoreTransformer.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+}
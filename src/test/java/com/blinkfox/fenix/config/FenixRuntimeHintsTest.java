@@ -0,0 +1,68 @@
+package com.blinkfox.fenix.config;
+
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.handler.HelloTagHandler;
+import com.blinkfox.fenix.specification.annotation.Equals;
+import com.blinkfox.fenix.specification.annotation.In;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+/**
+ * {@link FenixRuntimeHints} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class FenixRuntimeHintsTest {
+
+    /**
+     * 测试注册的资源和反射提示信息.
+     *
+     * @throws IOException IO 异常
+     */
+    @Test
+    public void registerHints() throws IOException {
+        Path dir = Files.createTempDirectory("fenix-runtime-hints");
+        Path index = dir.resolve(Const.TAGGER_INDEX_LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, (HelloTagHandler.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+
+        RuntimeHints hints = new RuntimeHints();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {dir.toUri().toURL()}, null)) {
+            new FenixRuntimeHints().registerHints(hints, classLoader);
+        } finally {
+            Files.delete(index);
+            Files.delete(index.getParent());
+            Files.delete(index.getParent().getParent());
+            Files.delete(dir);
+        }
+
+        Assert.assertTrue(RuntimeHintsPredicates.resource().forResource("fenix/UserRepository.xml").test(hints));
+        Assert.assertTrue(RuntimeHintsPredicates.resource().forResource("fenix/ar/ArRepository.xml").test(hints));
+        Assert.assertTrue(RuntimeHintsPredicates.resource().forResource(Const.TAGGER_INDEX_LOCATION).test(hints));
+        Assert.assertTrue(RuntimeHintsPredicates.reflection().onType(HelloTagHandler.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+
+        // 动态条件查询注解中会被反射调用的方法.
+        Assert.assertTrue(RuntimeHintsPredicates.reflection().onMethod(In.class, "allowNull").test(hints));
+        Assert.assertTrue(RuntimeHintsPredicates.reflection().onMethod(In.class, "padding").test(hints));
+        Assert.assertTrue(RuntimeHintsPredicates.reflection().onMethod(Equals.class, "value").test(hints));
+
+        // XML 中 fenix 节点的结果类.
+        Assert.assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.blinkfox.fenix.vo.UserBlogInfo"))
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .test(hints));
+    }
+
+}
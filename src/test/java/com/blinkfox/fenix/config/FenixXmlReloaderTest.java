@@ -0,0 +1,159 @@
+package com.blinkfox.fenix.config;
+
+import com.blinkfox.fenix.config.scanner.XmlScanner;
+import com.blinkfox.fenix.core.plan.FenixPlan;
+import com.blinkfox.fenix.core.plan.TextStep;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link FenixXmlReloader} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class FenixXmlReloaderTest {
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<fenixs namespace=\"HotReload\">%s</fenixs>";
+
+    private FenixRegistry originalRegistry;
+
+    private Path dir;
+
+    private Path xmlFile;
+
+    /**
+     * 初始化一个临时的 XML 文件，并将其加载到注册表中.
+     *
+     * @throws IOException IO 异常
+     */
+    @Before
+    public void init() throws IOException {
+        this.originalRegistry = FenixConfig.getFenixRegistry();
+        this.dir = Files.createTempDirectory("fenix-hot-reload");
+        this.xmlFile = this.writeXml("<fenix id=\"query\">SELECT 1</fenix>");
+
+        URL url = this.xmlFile.toUri().toURL();
+        try (InputStream in = Files.newInputStream(this.xmlFile)) {
+            FenixConfig.setFenixRegistry(this.originalRegistry.reload(Collections.singletonMap(url.getPath(),
+                    FenixRegistry.compile(XmlScanner.getFenixXmlResource(in, url.getPath()).setUrl(url))),
+                    Collections.emptyList()));
+        }
+    }
+
+    /**
+     * 恢复原来的注册表，并删除临时文件.
+     *
+     * @throws IOException IO 异常
+     */
+    @After
+    public void destroy() throws IOException {
+        FenixConfig.setFenixRegistry(this.originalRegistry);
+        Files.deleteIfExists(this.xmlFile);
+        Files.deleteIfExists(this.dir);
+    }
+
+    private Path writeXml(String fenixNodes) throws IOException {
+        return Files.write(this.dir.resolve("HotReload.xml"),
+                String.format(XML, fenixNodes).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getSql(String fenixId) {
+        FenixPlan plan = FenixConfig.getFenixPlans().get("HotReload." + fenixId);
+        return plan == null ? null : ((TextStep) plan.getSteps().get(0)).getText();
+    }
+
+    /**
+     * 测试重新加载发生了变化的 XML 文件，每次都会整体替换注册表，且其他 XML 文件的渲染计划不受影响.
+     *
+     * @throws IOException IO 异常
+     */
+    @Test
+    public void reload() throws IOException {
+        FenixRegistry registry = FenixConfig.getFenixRegistry();
+        this.writeXml("<fenix id=\"query\">SELECT 2</fenix><fenix id=\"other\">SELECT 3</fenix>");
+        FenixXmlReloader.reload(Collections.singleton(this.xmlFile));
+        Assert.assertNotSame(registry, FenixConfig.getFenixRegistry());
+        Assert.assertEquals("SELECT 2", getSql("query"));
+        Assert.assertEquals("SELECT 3", getSql("other"));
+        Assert.assertEquals(this.originalRegistry.getFenixPlans().size() + 2, FenixConfig.getFenixPlans().size());
+
+        // 解析失败或者存在循环导入时，会继续使用之前的注册表.
+        registry = FenixConfig.getFenixRegistry();
+        this.writeXml("<fenix id=\"query\">SELECT 4");
+        FenixXmlReloader.reload(Collections.singleton(this.xmlFile));
+        this.writeXml("<fenix id=\"query\"><import fenixId=\"query\"/></fenix>");
+        FenixXmlReloader.reload(Collections.singleton(this.xmlFile));
+        Assert.assertSame(registry, FenixConfig.getFenixRegistry());
+        Assert.assertEquals("SELECT 2", getSql("query"));
+
+        // 删除文件之后，该文件中的渲染计划也会被移除.
+        Files.delete(this.xmlFile);
+        FenixXmlReloader.reload(Collections.singleton(this.xmlFile));
+        Assert.assertNull(getSql("query"));
+        Assert.assertEquals(this.originalRegistry.getFenixPlans().size(), FenixConfig.getFenixPlans().size());
+    }
+
+    /**
+     * 测试延迟加载模式下，修改还未加载的命名空间中的 XML 文件时，只会更新 URL 索引，第一次使用时才会编译最新的内容.
+     *
+     * @throws IOException IO 异常
+     */
+    @Test
+    public void reloadLazyNamespace() throws IOException {
+        URL url = this.xmlFile.toUri().toURL();
+        FenixConfig.setFenixRegistry(this.originalRegistry.reload(Collections.emptyMap(),
+                Collections.singletonMap("HotReload", Collections.singleton(url)), Collections.emptyList()));
+        Assert.assertTrue(FenixConfig.isLazyNamespace("HotReload"));
+        Assert.assertNull(getSql("query"));
+
+        this.writeXml("<fenix id=\"query\">SELECT 6</fenix>");
+        FenixXmlReloader.reload(Collections.singleton(this.xmlFile));
+        Assert.assertTrue(FenixConfig.isLazyNamespace("HotReload"));
+        Assert.assertNull(getSql("query"));
+        Assert.assertEquals(Collections.singleton(url), FenixConfig.getFenixRegistry().getLazyXmlUrls("HotReload"));
+
+        // 第一次使用该命名空间时，才会读取最新的文件内容来编译.
+        FenixPlan plan = FenixConfig.getFenixPlan("HotReload", "query");
+        Assert.assertEquals("SELECT 6", ((TextStep) plan.getSteps().get(0)).getText());
+        Assert.assertFalse(FenixConfig.isLazyNamespace("HotReload"));
+
+        // 删除还未加载的命名空间中的文件之后，该文件也会从 URL 索引中移除.
+        FenixConfig.setFenixRegistry(this.originalRegistry.reload(Collections.emptyMap(),
+                Collections.singletonMap("HotReload", Collections.singleton(url)), Collections.emptyList()));
+        Files.delete(this.xmlFile);
+        FenixXmlReloader.reload(Collections.singleton(this.xmlFile));
+        Assert.assertFalse(FenixConfig.isLazyNamespace("HotReload"));
+        Assert.assertFalse(FenixConfig.getXmlUrlMap().containsKey("HotReload"));
+    }
+
+    /**
+     * 测试启动热加载器之后，修改 XML 文件会在后台被自动加载.
+     *
+     * @throws Exception 异常
+     */
+    @Test
+    public void watch() throws Exception {
+        FenixXmlReloader reloader = FenixXmlReloader.start(FenixConfig.getFenixRegistry());
+        try {
+            this.writeXml("<fenix id=\"query\">SELECT 5</fenix>");
+            for (int i = 0; i < 100 && !"SELECT 5".equals(getSql("query")); i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals("SELECT 5", getSql("query"));
+        } finally {
+            reloader.stop();
+        }
+    }
+
+}
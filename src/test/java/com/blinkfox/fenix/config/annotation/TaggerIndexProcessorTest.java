@@ -0,0 +1,115 @@
+package com.blinkfox.fenix.config.annotation;
+
+import com.blinkfox.fenix.consts.Const;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link TaggerIndexProcessor} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class TaggerIndexProcessorTest {
+
+    private static final String SOURCE = "package demo;\n"
+            + "import com.blinkfox.fenix.bean.BuildSource;\n"
+            + "import com.blinkfox.fenix.config.annotation.Tagger;\n"
+            + "import com.blinkfox.fenix.core.FenixHandler;\n"
+            + "@Tagger(value = \"demo\")\n"
+            + "@Tagger(value = \"andDemo\", prefix = \" AND \")\n"
+            + "public class DemoHandler implements FenixHandler {\n"
+            + "    public void buildSqlInfo(BuildSource source) {}\n"
+            + "    @Tagger(value = \"inner\")\n"
+            + "    public static class InnerHandler extends DemoHandler {}\n"
+            + "}\n";
+
+    private static final String OTHER_SOURCE = "package demo;\n"
+            + "import com.blinkfox.fenix.bean.BuildSource;\n"
+            + "import com.blinkfox.fenix.config.annotation.Tagger;\n"
+            + "import com.blinkfox.fenix.core.FenixHandler;\n"
+            + "@Tagger(value = \"other\")\n"
+            + "public class OtherHandler implements FenixHandler {\n"
+            + "    public void buildSqlInfo(BuildSource source) {}\n"
+            + "}\n";
+
+    /**
+     * 测试编译时会为标注了 {@link Tagger} 注解的类生成索引文件.
+     *
+     * @throws IOException IO 异常
+     */
+    @Test
+    public void process() throws IOException {
+        Path dir = Files.createTempDirectory("fenix-tagger-index");
+        try {
+            Path source = Files.createDirectories(dir.resolve("demo")).resolve("DemoHandler.java");
+            Files.write(source, SOURCE.getBytes(StandardCharsets.UTF_8));
+
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            int result = compiler.run(null, null, null, "-proc:only",
+                    "-processor", TaggerIndexProcessor.class.getName(),
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", dir.toString(), source.toString());
+            Assert.assertEquals(0, result);
+
+            List<String> classNames = Files.readAllLines(dir.resolve(Const.TAGGER_INDEX_LOCATION));
+            Assert.assertEquals(Arrays.asList("demo.DemoHandler", "demo.DemoHandler$InnerHandler"), classNames);
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * 测试增量编译时，会合并已有索引文件中仍然有效的类，并移除已经不存在的类.
+     *
+     * @throws IOException IO 异常
+     */
+    @Test
+    public void processIncrementally() throws IOException {
+        Path dir = Files.createTempDirectory("fenix-tagger-index");
+        try {
+            Path sourceDir = Files.createDirectories(dir.resolve("src").resolve("demo"));
+            Path source = sourceDir.resolve("DemoHandler.java");
+            Files.write(source, SOURCE.getBytes(StandardCharsets.UTF_8));
+            Path otherSource = sourceDir.resolve("OtherHandler.java");
+            Files.write(otherSource, OTHER_SOURCE.getBytes(StandardCharsets.UTF_8));
+
+            // 先完整编译 DemoHandler，并在已有的索引中加入一个已经不存在的类.
+            Path classes = Files.createDirectories(dir.resolve("classes"));
+            Assert.assertEquals(0, this.compile(classes, source));
+            Path index = classes.resolve(Const.TAGGER_INDEX_LOCATION);
+            Files.write(index, "demo.RemovedHandler\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+            // 再只编译 OtherHandler 时，索引中仍然会保留 DemoHandler.
+            Assert.assertEquals(0, this.compile(classes, otherSource));
+            Assert.assertEquals(Arrays.asList("demo.DemoHandler", "demo.DemoHandler$InnerHandler", "demo.OtherHandler"),
+                    Files.readAllLines(index));
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private int compile(Path classes, Path source) {
+        return ToolProvider.getSystemJavaCompiler().run(null, null, null,
+                "-processor", TaggerIndexProcessor.class.getName(),
+                "-classpath", System.getProperty("java.class.path") + File.pathSeparator + classes,
+                "-d", classes.toString(), source.toString());
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.blinkfox.fenix.config.entity;
+
+import com.blinkfox.fenix.bean.BuildSource;
+import com.blinkfox.fenix.config.annotation.Stateless;
+import com.blinkfox.fenix.core.FenixHandler;
+import com.blinkfox.fenix.core.concrete.NormalHandler;
+import com.blinkfox.fenix.exception.FenixException;
+import com.blinkfox.fenix.handler.HelloTagHandler;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link TagHandler} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class TagHandlerTest {
+
+    /**
+     * 用于测试的无状态的标签处理器.
+     */
+    @Stateless
+    public static class StatelessHandler implements FenixHandler {
+
+        @Override
+        public void buildSqlInfo(BuildSource source) {
+            // 什么都不做.
+        }
+
+    }
+
+    /**
+     * 用于测试的有状态且构造方法是私有的标签处理器.
+     */
+    static class StatefulHandler implements FenixHandler {
+
+        private int count;
+
+        private StatefulHandler() {
+            super();
+        }
+
+        @Override
+        public void buildSqlInfo(BuildSource source) {
+            this.count++;
+        }
+
+    }
+
+    /**
+     * 用于测试的没有无参构造方法的标签处理器.
+     */
+    public static class NoDefaultConstructorHandler implements FenixHandler {
+
+        public NoDefaultConstructorHandler(String name) {
+            super();
+        }
+
+        @Override
+        public void buildSqlInfo(BuildSource source) {
+            // 什么都不做.
+        }
+
+    }
+
+    /**
+     * 测试标注了 {@link Stateless} 注解的标签处理器（含内置的标签处理器）只会被实例化一次.
+     */
+    @Test
+    public void getStatelessFenixHandler() {
+        TagHandler clsHandler = new TagHandler(StatelessHandler.class);
+        FenixHandler fenixHandler = clsHandler.getFenixHandler();
+        Assert.assertTrue(fenixHandler instanceof StatelessHandler);
+        Assert.assertSame(fenixHandler, clsHandler.getFenixHandler());
+
+        TagHandler factoryHandler = new TagHandler(NormalHandler::new);
+        Assert.assertSame(factoryHandler.getFenixHandler(), factoryHandler.getFenixHandler());
+    }
+
+    /**
+     * 测试没有标注 {@link Stateless} 注解的标签处理器默认每次都会新建实例，非 public 的构造方法也能被调用.
+     */
+    @Test
+    public void getStatefulFenixHandler() {
+        TagHandler helloHandler = new TagHandler(HelloTagHandler.class);
+        Assert.assertTrue(helloHandler.getFenixHandler() instanceof HelloTagHandler);
+        Assert.assertNotSame(helloHandler.getFenixHandler(), helloHandler.getFenixHandler());
+
+        TagHandler clsHandler = new TagHandler(StatefulHandler.class);
+        Assert.assertTrue(clsHandler.getFenixHandler() instanceof StatefulHandler);
+        Assert.assertNotSame(clsHandler.getFenixHandler(), clsHandler.getFenixHandler());
+
+        TagHandler factoryHandler = new TagHandler(StatefulHandler::new);
+        Assert.assertNotSame(factoryHandler.getFenixHandler(), factoryHandler.getFenixHandler());
+    }
+
+    /**
+     * 测试实例化标签处理器出错的情况.
+     */
+    @Test(expected = FenixException.class)
+    public void getFenixHandlerWithException() {
+        new TagHandler(NoDefaultConstructorHandler.class).getFenixHandler();
+    }
+
+}
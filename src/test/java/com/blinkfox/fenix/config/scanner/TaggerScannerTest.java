@@ -0,0 +1,123 @@
+package com.blinkfox.fenix.config.scanner;
+
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.entity.TagHandler;
+import com.blinkfox.fenix.consts.Const;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link TaggerScanner} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class TaggerScannerTest {
+
+    private static final String HANDLER_PACKAGE = "com.blinkfox.fenix.handler";
+
+    private static final List<String> TAGS = Arrays.asList("hello", "andHello", "orHello", "userIdEmail");
+
+    private Map<String, TagHandler> originalTagHandlerMap;
+
+    /**
+     * 备份并移除测试用的标签处理器.
+     */
+    @Before
+    public void init() {
+        this.originalTagHandlerMap = new HashMap<>(FenixConfig.getTagHandlerMap());
+        TAGS.forEach(FenixConfig.getTagHandlerMap()::remove);
+    }
+
+    /**
+     * 恢复原来的标签处理器.
+     */
+    @After
+    public void destroy() {
+        TAGS.forEach(FenixConfig.getTagHandlerMap()::remove);
+        FenixConfig.getTagHandlerMap().putAll(this.originalTagHandlerMap);
+    }
+
+    /**
+     * 测试不存在索引文件时，会扫描包下所有的类.
+     */
+    @Test
+    public void scanWithoutIndex() {
+        new TaggerScanner().scan(HANDLER_PACKAGE);
+        TAGS.forEach(tag -> Assert.assertTrue(FenixConfig.getTagHandlerMap().containsKey(tag)));
+    }
+
+    /**
+     * 测试其他目录或 jar 包中的索引文件不会影响对没有索引的目录的扫描，该包下所有的类仍然都会被加载.
+     *
+     * @throws IOException IO 异常
+     */
+    @Test
+    public void scanWithOtherIndex() throws IOException {
+        this.scanWithOtherIndex("\n" + HANDLER_PACKAGE + ".UserIdEmailHandler\ncom.other.Handler\n");
+        TAGS.forEach(tag -> Assert.assertTrue(FenixConfig.getTagHandlerMap().containsKey(tag)));
+    }
+
+    /**
+     * 测试包所在的目录中存在索引文件时，只会加载该索引中该包下的类，而不再扫描该目录.
+     *
+     * @throws IOException IO 异常
+     * @throws URISyntaxException URI 语法异常
+     */
+    @Test
+    public void scanWithIndex() throws IOException, URISyntaxException {
+        Path root = Paths.get(TaggerScannerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path index = root.resolve(Const.TAGGER_INDEX_LOCATION);
+        Path metaInf = index.getParent().getParent();
+        boolean metaInfExists = Files.exists(metaInf);
+        Files.createDirectories(index.getParent());
+        Files.write(index, (HANDLER_PACKAGE + ".UserIdEmailHandler\n").getBytes(StandardCharsets.UTF_8));
+        try {
+            new TaggerScanner().scan(HANDLER_PACKAGE);
+        } finally {
+            Files.delete(index);
+            Files.delete(index.getParent());
+            if (!metaInfExists) {
+                Files.delete(metaInf);
+            }
+        }
+
+        Assert.assertTrue(FenixConfig.getTagHandlerMap().containsKey("userIdEmail"));
+        Assert.assertFalse(FenixConfig.getTagHandlerMap().containsKey("hello"));
+    }
+
+    private void scanWithOtherIndex(String indexContent) throws IOException {
+        Path dir = Files.createTempDirectory("fenix-tagger-index");
+        Path index = dir.resolve(Const.TAGGER_INDEX_LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, indexContent.getBytes(StandardCharsets.UTF_8));
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {dir.toUri().toURL()}, original)) {
+            thread.setContextClassLoader(classLoader);
+            new TaggerScanner().scan(HANDLER_PACKAGE);
+        } finally {
+            thread.setContextClassLoader(original);
+            Files.delete(index);
+            Files.delete(index.getParent());
+            Files.delete(index.getParent().getParent());
+            Files.delete(dir);
+        }
+    }
+
+}
@@ -4,6 +4,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.FenixConfigManager;
+import com.blinkfox.fenix.consts.Const;
 import com.blinkfox.fenix.helper.ParamWrapper;
 import com.blinkfox.fenix.helper.StringHelper;
 import java.util.Arrays;
@@ -695,4 +698,25 @@ public class FenixTest {
         assertEquals(2, sqlInfo.getParams().size());
     }
 
+    /**
+     * 测试 Java API 拼接出的 SQL 会按照配置的缓存容量来缓存，容量小于等于 0 时不缓存，生成的 SQL 都相同.
+     */
+    @Test
+    public void endWithJavaSqlCacheSize() {
+        try {
+            for (int cacheSize : new int[] {0, 2, Const.DEFAULT_JAVA_SQL_CACHE_SIZE}) {
+                FenixConfigManager.getInstance().initLoad(new FenixConfig().setJavaSqlCacheSize(cacheSize));
+                SqlInfo sqlInfo = Fenix.start()
+                        .select("u")
+                        .from("User")
+                        .whereDynamic()
+                        .andEqual("u.id", context.get("id"))
+                        .end();
+                assertEquals("SELECT u FROM User WHERE u.id = :u_id", sqlInfo.getSql());
+            }
+        } finally {
+            FenixConfigManager.getInstance().initLoad(new FenixConfig());
+        }
+    }
+
 }
@@ -6,12 +6,21 @@ import static org.junit.Assert.assertTrue;
 import com.blinkfox.fenix.bean.SqlInfo;
 import com.blinkfox.fenix.config.FenixConfig;
 import com.blinkfox.fenix.config.FenixConfigManager;
+import com.blinkfox.fenix.consts.XpathConst;
 import com.blinkfox.fenix.entity.User;
+import com.blinkfox.fenix.exception.FenixException;
 import com.blinkfox.fenix.handler.HelloTagHandler;
+import com.blinkfox.fenix.helper.XmlNodeHelper;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.dom4j.Node;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -249,6 +258,79 @@ public class FenixXmlBuilderTest {
         assertEquals(3, sqlInfo.getParams().size());
     }
 
+    /**
+     * 测试 in 标签的值为基本类型数组的情况.
+     */
+    @Test
+    public void inWithPrimitiveArray() {
+        context.put("names", new long[] {1L, 2L, 3L});
+        context.put("emails", new int[] {7});
+        SqlInfo sqlInfo = Fenix.getXmlSqlInfo("fenix.in", context);
+        assertEquals(BASE_QUERY + " u.id IN :user_id AND u.name IN :names OR u.email IN :emails",
+                sqlInfo.getSql());
+        assertEquals(Arrays.asList(1L, 2L, 3L), sqlInfo.getParams().get("names"));
+        assertEquals(Collections.singletonList(7), sqlInfo.getParams().get("emails"));
+
+        // byte[] 是单个的值，会作为 IN 集合中的一个元素.
+        byte[] bytes = {1, 2};
+        context.put("emails", bytes);
+        List<?> emails = (List<?>) Fenix.getXmlSqlInfo("fenix.in", context).getParams().get("emails");
+        assertEquals(1, emails.size());
+        Assert.assertSame(bytes, emails.get(0));
+    }
+
+    /**
+     * 测试 in 标签补齐参数集合的情况.
+     */
+    @Test
+    public void inWithPadding() {
+        context.put("ids", new long[] {1L, 2L, 3L});
+        context.put("names", Arrays.asList("a", "b", "c"));
+        context.put("emails", Arrays.asList("a", "b", "c", "d", "e"));
+        SqlInfo sqlInfo = Fenix.getXmlSqlInfo("fenix.inPadding", context);
+        Map<String, Object> params = sqlInfo.getParams();
+        assertEquals(Arrays.asList(1L, 2L, 3L, 3L), params.get("ids"));
+        assertEquals(3, ((Collection<?>) params.get("names")).size());
+        assertEquals(5, ((Collection<?>) params.get("emails")).size());
+
+        // 开启全局的补齐配置后，没有 padding 属性的标签也会按配置的桶大小补齐，padding 为 false 的标签则不会补齐.
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        fenixConfig.setInPadding(true).setInPaddingBuckets(8, 4);
+        try {
+            params = Fenix.getXmlSqlInfo("fenix.inPadding", context).getParams();
+            assertEquals(Arrays.asList(1L, 2L, 3L, 3L), params.get("ids"));
+            assertEquals(3, ((Collection<?>) params.get("names")).size());
+            assertEquals(Arrays.asList("a", "b", "c", "d", "e", "e", "e", "e"), params.get("emails"));
+        } finally {
+            fenixConfig.setInPadding(false).setInPaddingBuckets((int[]) null);
+        }
+    }
+
+    /**
+     * 测试 in 标签的参数集合超过阈值时，以单个数组参数来绑定或者拆分成多个 IN 条件的情况.
+     */
+    @Test
+    public void inWithLargeStrategies() {
+        this.buildInParams();
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        try {
+            fenixConfig.setInChunkThreshold(2);
+            SqlInfo sqlInfo = Fenix.getXmlSqlInfo("fenix.notIn", context);
+            assertEquals(BASE_QUERY + " u.id NOT IN :user_id AND (u.name NOT IN :names_0 AND u.name NOT IN :names_1)"
+                    + " OR (u.email NOT IN :emails_0 AND u.email NOT IN :emails_1)", sqlInfo.getSql());
+            assertEquals(Arrays.asList(NAME, "Lisi"), sqlInfo.getParams().get("names_0"));
+            assertEquals(Collections.singletonList("WangWu"), sqlInfo.getParams().get("names_1"));
+
+            fenixConfig.setInArrayThreshold(2);
+            sqlInfo = Fenix.getXmlSqlInfo("fenix.in", context);
+            assertEquals(BASE_QUERY + " u.id IN :user_id AND array_contains(:names, u.name)"
+                    + " OR array_contains(:emails, u.email)", sqlInfo.getSql());
+            assertTrue(sqlInfo.getParams().get("names") instanceof String[]);
+        } finally {
+            fenixConfig.setInChunkThreshold(0).setInArrayThreshold(0);
+        }
+    }
+
     /**
      * 测试 notIn 标签的情况.
      */
@@ -522,4 +604,132 @@ public class FenixXmlBuilderTest {
         assertTrue(sqlInfo.getParams().isEmpty());
     }
 
+    /**
+     * 测试同一 fenix 节点在相同 SQL 形态下会复用已规范化的 SQL，且参数为最新的值.
+     */
+    @Test
+    public void testSqlShapeCache() {
+        SqlInfo sqlInfo = Fenix.getXmlSqlInfo("fenix.testTrimWhere3", context);
+
+        Map<String, Object> newContext = new HashMap<>(context);
+        newContext.put("user", new User().setId("456").setName("LiSi"));
+        SqlInfo newSqlInfo = Fenix.getXmlSqlInfo("fenix.testTrimWhere3", newContext);
+        Assert.assertSame(sqlInfo.getSql(), newSqlInfo.getSql());
+        assertEquals("456", newSqlInfo.getParams().get("user_id"));
+        assertEquals("%LiSi%", newSqlInfo.getParams().get("user_name"));
+
+        // 不同的 SQL 形态会生成不同的 SQL.
+        newContext.put("user", new User().setId("789"));
+        SqlInfo otherSqlInfo = Fenix.getXmlSqlInfo("fenix.testTrimWhere3", newContext);
+        assertEquals(BASE_QUERY + " u.id = :user_id ORDER BY u.updateTime DESC", otherSqlInfo.getSql());
+        assertEquals("789", otherSqlInfo.getParams().get("user_id"));
+    }
+
+    /**
+     * 测试 foreach 标签生成 IN 范围查询的情况，每个元素都会生成一个带下标后缀的命名参数.
+     */
+    @Test
+    public void testForeach() {
+        Map<String, Object> newContext = new HashMap<>(context);
+        newContext.put("ids", new String[] {"1", "2", "3"});
+        SqlInfo sqlInfo = Fenix.getXmlSqlInfo("fenix.testForeach", newContext);
+        assertEquals(SELECT_QUERY + " AS u WHERE u.id IN (:id_0, :id_1, :id_2)", sqlInfo.getSql());
+        assertEquals(3, sqlInfo.getParams().size());
+        assertEquals("1", sqlInfo.getParams().get("id_0"));
+        assertEquals("3", sqlInfo.getParams().get("id_2"));
+    }
+
+    /**
+     * 测试 foreach 标签生成多列 OR 条件组的情况，循环体中的其他标签生成的参数也会追加下标后缀.
+     */
+    @Test
+    public void testForeachOr() {
+        Map<String, Object> newContext = new HashMap<>(context);
+        newContext.put("users", Arrays.asList(new User().setName("a").setSex("0"), new User().setName("b")));
+        SqlInfo sqlInfo = Fenix.getXmlSqlInfo("fenix.testForeachOr", newContext);
+        assertEquals(SELECT_QUERY + " AS u WHERE ( (u.name = :u_name_0 AND u.sex = :u_sex_0) "
+                + "OR (u.name = :u_name_1 ) )", sqlInfo.getSql());
+        assertEquals(3, sqlInfo.getParams().size());
+        assertEquals("a", sqlInfo.getParams().get("u_name_0"));
+        assertEquals("0", sqlInfo.getParams().get("u_sex_0"));
+        assertEquals("b", sqlInfo.getParams().get("u_name_1"));
+
+        // 集合为空时，不生成任何 SQL 片段.
+        newContext.put("users", Collections.emptyList());
+        sqlInfo = Fenix.getXmlSqlInfo("fenix.testForeachOr", newContext);
+        assertEquals(SELECT_QUERY + " AS u", sqlInfo.getSql());
+        assertTrue(sqlInfo.getParams().isEmpty());
+    }
+
+    /**
+     * 测试 foreach 标签生成批量插入的 VALUES 行的情况.
+     */
+    @Test
+    public void testForeachValues() {
+        Map<String, Object> newContext = new HashMap<>(context);
+        newContext.put("users", Arrays.asList(new User().setId("1").setName("a"), new User().setId("2").setName("b")));
+        SqlInfo sqlInfo = Fenix.getXmlSqlInfo("fenix.testForeachValues", newContext);
+        assertEquals("INSERT INTO t_user (c_id, c_name) VALUES (:user_id_0, :user_name_0), (:user_id_1, :user_name_1)",
+                sqlInfo.getSql());
+        assertEquals("2", sqlInfo.getParams().get("user_id_1"));
+        assertEquals("b", sqlInfo.getParams().get("user_name_1"));
+    }
+
+    /**
+     * 测试 foreach 标签中由表达式生成的参数名只含合法的字符且不会重名，上下文参数是 Java Bean 时循环体中也能访问其属性.
+     */
+    @Test
+    public void testForeachParamNames() {
+        SqlInfo sqlInfo = Fenix.getXmlSqlInfo("fenix.testForeachParamNames",
+                new ForeachContext(Arrays.asList("a", "b"), "p_"));
+        assertEquals("SELECT u FROM User AS u WHERE u.name IN (:item_toUpperCase_0, :item_toUpperCase_1) "
+                + "OR u.nickName IN (:prefix_item_0, :prefix_item_1) "
+                + "OR u.email IN (:item_toUpperCase_0_1, :item_toUpperCase_1_1)", sqlInfo.getSql());
+        assertEquals(6, sqlInfo.getParams().size());
+        assertEquals("A", sqlInfo.getParams().get("item_toUpperCase_0"));
+        assertEquals("p_b", sqlInfo.getParams().get("prefix_item_1"));
+        assertEquals("B", sqlInfo.getParams().get("item_toUpperCase_1_1"));
+    }
+
+    /**
+     * 测试内存中不再缓存 dom4j 节点时，仍然能够从 XML 文件中实时读取到 fenix 节点对应的 dom4j 节点.
+     */
+    @Test
+    public void getFenixNodeFromXml() {
+        Node node = XmlNodeHelper.getNodeBySpaceAndId("fenix", "equal");
+        Assert.assertNotNull(node);
+        Assert.assertEquals("equal", node.valueOf(XpathConst.ATTR_ID));
+        Assert.assertNull(XmlNodeHelper.getNodeBySpaceAndId("fenix", "notExistsNode"));
+        Assert.assertNull(XmlNodeHelper.getNodeBySpaceAndId("notExistsNamespace", "equal"));
+
+        Map<String, Node> fenixNodes = FenixConfig.getFenixs();
+        Assert.assertTrue(fenixNodes.keySet().containsAll(FenixConfig.getFenixPlans().keySet()));
+        Assert.assertEquals(node.asXML(), fenixNodes.get("fenix.equal").asXML());
+
+        // 使用 dom4j 节点来构建 SQL 时，与直接使用 fenixId 构建的结果一致.
+        SqlInfo sqlInfo = FenixXmlBuilder.buildSqlInfo("fenix", new SqlInfo(), node, context);
+        Assert.assertEquals(Fenix.getXmlSqlInfo("fenix.equal", context).getSql(), sqlInfo.getSql());
+    }
+
+    /**
+     * 测试传入的 dom4j 节点为空时，会抛出明确的异常.
+     */
+    @Test(expected = FenixException.class)
+    public void buildSqlInfoWithNullNode() {
+        FenixXmlBuilder.buildSqlInfo("fenix", new SqlInfo(), null, context);
+    }
+
+    /**
+     * 用于测试 foreach 标签的 Java Bean 上下文参数.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ForeachContext {
+
+        private List<String> names;
+
+        private String prefix;
+
+    }
+
 }
@@ -0,0 +1,121 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.consts.SymbolConst;
+import com.blinkfox.fenix.consts.XpathConst;
+import com.blinkfox.fenix.core.concrete.NormalHandler;
+import com.blinkfox.fenix.handler.HelloTagHandler;
+import java.util.List;
+import java.util.Map;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Node;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * {@link FenixPlanCompiler} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class FenixPlanCompilerTest {
+
+    private static final String XML = "<fenixs namespace=\"PlanTest\">"
+            + "<fenix id=\"queryUser\" resultType=\"com.blinkfox.fenix.entity.User\" removeIfExist=\"1 = 1 AND\">"
+            + "SELECT u FROM User AS u WHERE 1 = 1 <!-- 注释 -->"
+            + "<andEqual field=\"u.name\" value=\"name\" match=\"name != empty\"/>"
+            + "<hi value=\"name\"/>"
+            + "</fenix>"
+            + "</fenixs>";
+
+    /**
+     * 初始化注册测试所需的标签处理器.
+     */
+    @BeforeClass
+    public static void init() {
+        FenixConfig.add("andEqual", SymbolConst.AND, NormalHandler::new, SymbolConst.EQUAL);
+        FenixConfig.add("hi", HelloTagHandler.class);
+    }
+
+    /**
+     * 测试编译 fenix 节点的方法.
+     *
+     * @throws Exception 解析 XML 的异常
+     */
+    @Test
+    public void compile() throws Exception {
+        Node fenixNode = DocumentHelper.parseText(XML).selectSingleNode("/fenixs/fenix");
+        FenixPlan plan = FenixPlanCompiler.compile("PlanTest", fenixNode);
+        Assert.assertEquals("PlanTest", plan.getNamespace());
+        Assert.assertEquals("queryUser", plan.getFenixId());
+        Assert.assertEquals("com.blinkfox.fenix.entity.User", plan.getResultType());
+        Assert.assertEquals("1 = 1 AND", plan.getRemoveIfExist());
+
+        // 注释节点会被忽略，只保留文本和标签步骤.
+        List<PlanStep> steps = plan.getSteps();
+        Assert.assertEquals(3, steps.size());
+        Assert.assertEquals("SELECT u FROM User AS u WHERE 1 = 1 ", ((TextStep) steps.get(0)).getText());
+
+        // 内置标签的属性在编译时就已提取好，且不会保留 dom4j 节点.
+        TagStep equalStep = (TagStep) steps.get(1);
+        Assert.assertEquals("andEqual", equalStep.getName());
+        Assert.assertNotNull(equalStep.getTagHandler());
+        Assert.assertNull(equalStep.getNode());
+        Assert.assertEquals("u.name", equalStep.getAndCheckAttrText(XpathConst.ATTR_FIELD));
+        Assert.assertEquals("name != empty", equalStep.getAttrText(XpathConst.ATTR_MATCH));
+        Assert.assertEquals("", equalStep.getAttrText(XpathConst.ATTR_NAME));
+        Assert.assertFalse(equalStep.hasAttr(XpathConst.ATTR_NAME));
+
+        // 自定义标签会保留一份脱离了原文档的 dom4j 节点副本.
+        TagStep hiStep = (TagStep) steps.get(2);
+        Assert.assertNotNull(hiStep.getNode());
+        Assert.assertNull(hiStep.getNode().getDocument());
+        Assert.assertEquals("name", hiStep.getNode().valueOf(XpathConst.ATTR_VALUE));
+    }
+
+    /**
+     * 测试编译时会找出重复出现且无副作用的表达式，并为其分配槽位.
+     *
+     * @throws Exception 解析 XML 的异常
+     */
+    @Test
+    public void compileExpressionSlots() throws Exception {
+        String xml = "<fenixs namespace=\"PlanTest\"><fenix id=\"querySlots\">"
+                + "SELECT u FROM User AS u WHERE 1 = 1 "
+                + "<andEqual field=\"u.name\" value=\"name\" match=\"name != empty\"/>"
+                + "<andEqual field=\"u.nickName\" value=\"name\" match=\"name != empty\"/>"
+                + "<andEqual field=\"u.email\" value=\"email.trim()\" match=\"email.trim() != empty\"/>"
+                + "<andEqual field=\"u.email\" value=\"email.trim()\" match=\"email != empty\"/>"
+                + "</fenix></fenixs>";
+        FenixPlan plan = FenixPlanCompiler.compile("PlanTest",
+                DocumentHelper.parseText(xml).selectSingleNode("/fenixs/fenix"));
+        Map<String, Integer> slots = plan.getExpressionSlots();
+        Assert.assertEquals(2, slots.size());
+        Assert.assertTrue(slots.containsKey("name"));
+        Assert.assertTrue(slots.containsKey("name != empty"));
+
+        // 没有重复表达式的节点，槽位为空.
+        Node fenixNode = DocumentHelper.parseText("<fenix id=\"noSlots\">SELECT u FROM User AS u "
+                + "<andEqual field=\"u.name\" value=\"name\" match=\"name != empty\"/></fenix>").getRootElement();
+        Assert.assertTrue(FenixPlanCompiler.compile("PlanTest", fenixNode).getExpressionSlots().isEmpty());
+    }
+
+    /**
+     * 测试判断表达式是否无副作用的方法.
+     */
+    @Test
+    public void isPureExpression() {
+        Assert.assertTrue(FenixPlanCompiler.isPureExpression("?blog.author != empty"));
+        Assert.assertTrue(FenixPlanCompiler.isPureExpression("age >= 18 && age <= 60 || (vip == true)"));
+        Assert.assertTrue(FenixPlanCompiler.isPureExpression("name == 'a = b; c()'"));
+        Assert.assertTrue(FenixPlanCompiler.isPureExpression("renewed != null"));
+        Assert.assertFalse(FenixPlanCompiler.isPureExpression("list.size() > 0"));
+        Assert.assertFalse(FenixPlanCompiler.isPureExpression("count = 1"));
+        Assert.assertFalse(FenixPlanCompiler.isPureExpression("count += 1"));
+        Assert.assertFalse(FenixPlanCompiler.isPureExpression("count++ > 0"));
+        Assert.assertFalse(FenixPlanCompiler.isPureExpression("a; b"));
+        Assert.assertFalse(FenixPlanCompiler.isPureExpression("new java.util.Date()"));
+    }
+
+}
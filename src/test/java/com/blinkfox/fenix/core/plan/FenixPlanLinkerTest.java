@@ -0,0 +1,77 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.exception.FenixException;
+import java.util.HashMap;
+import java.util.Map;
+import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Node;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link FenixPlanLinker} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class FenixPlanLinkerTest {
+
+    private static Map<String, FenixPlan> compilePlans(String namespace, String xml) throws Exception {
+        Document document = DocumentHelper.parseText("<fenixs namespace=\"" + namespace + "\">" + xml + "</fenixs>");
+        Map<String, FenixPlan> fenixPlans = new HashMap<>();
+        for (Node fenixNode : document.selectNodes("/fenixs/fenix")) {
+            FenixPlan plan = FenixPlanCompiler.compile(namespace, fenixNode);
+            fenixPlans.put(namespace + "." + plan.getFenixId(), plan);
+        }
+        return fenixPlans;
+    }
+
+    /**
+     * 测试链接 import 标签，被导入的渲染计划会被所有导入者共享.
+     *
+     * @throws Exception 解析 XML 的异常
+     */
+    @Test
+    public void link() throws Exception {
+        Map<String, FenixPlan> fenixPlans = compilePlans("Link", "<fenix id=\"header\">SELECT u FROM User AS u</fenix>"
+                + "<fenix id=\"query1\"><import fenixId=\"header\"/> WHERE u.id = 1</fenix>"
+                + "<fenix id=\"query2\"><where><import namespace=\"Link\" fenixId=\"header\" match=\"a\"/></where></fenix>"
+                + "<fenix id=\"query3\"><import fenixId=\"notExists\"/></fenix>");
+        FenixPlanLinker.link(fenixPlans);
+
+        FenixPlan header = fenixPlans.get("Link.header");
+        Assert.assertSame(header, ((TagStep) fenixPlans.get("Link.query1").getSteps().get(0)).getImportPlan());
+        TagStep whereStep = (TagStep) fenixPlans.get("Link.query2").getSteps().get(0);
+        Assert.assertSame(header, ((TagStep) whereStep.getChildren().get(0)).getImportPlan());
+
+        // 加载时不存在的 fenix 节点不会被链接，渲染时才会再查找.
+        Assert.assertNull(((TagStep) fenixPlans.get("Link.query3").getSteps().get(0)).getImportPlan());
+    }
+
+    /**
+     * 测试 fenix 节点之间存在循环导入时，会抛出异常.
+     *
+     * @throws Exception 解析 XML 的异常
+     */
+    @Test
+    public void linkWithCycle() throws Exception {
+        Map<String, FenixPlan> fenixPlans = compilePlans("Cycle", "<fenix id=\"a\"><import fenixId=\"b\"/></fenix>"
+                + "<fenix id=\"b\"><where><import fenixId=\"c\" match=\"x != empty\"/></where></fenix>"
+                + "<fenix id=\"c\"><import fenixId=\"a\"/></fenix>"
+                + "<fenix id=\"d\"><import fenixId=\"a\"/></fenix>");
+        try {
+            FenixPlanLinker.link(fenixPlans);
+            Assert.fail("存在循环导入时应该抛出异常.");
+        } catch (FenixException e) {
+            Assert.assertTrue(e.getMessage().contains("Cycle.a -> Cycle.b -> Cycle.c -> Cycle.a")
+                    || e.getMessage().contains("Cycle.b -> Cycle.c -> Cycle.a -> Cycle.b")
+                    || e.getMessage().contains("Cycle.c -> Cycle.a -> Cycle.b -> Cycle.c"));
+        }
+
+        // 导入自身也属于循环导入.
+        Map<String, FenixPlan> selfPlans = compilePlans("Self", "<fenix id=\"a\"><import fenixId=\"a\"/></fenix>");
+        Assert.assertThrows(FenixException.class, () -> FenixPlanLinker.link(selfPlans));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.blinkfox.fenix.core.plan;
+
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.consts.SymbolConst;
+import com.blinkfox.fenix.core.concrete.InHandler;
+import com.blinkfox.fenix.core.concrete.NormalHandler;
+import com.blinkfox.fenix.helper.ParamWrapper;
+import com.blinkfox.fenix.helper.ParseHelper;
+import java.util.Arrays;
+import java.util.List;
+import org.dom4j.DocumentHelper;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * {@link SqlShapeEnumerator} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class SqlShapeEnumeratorTest {
+
+    private static final String XML = "<fenixs namespace=\"ShapeTest\">"
+            + "<fenix id=\"queryUser\" removeIfExist=\"1 = 1 AND\">"
+            + "SELECT u FROM User AS u WHERE 1 = 1 "
+            + "<andEqual field=\"u.name\" value=\"name\" match=\"name != empty\"/>"
+            + "<andIn field=\"u.id\" value=\"ids\" match=\"ids != empty\"/>"
+            + "</fenix>"
+            + "</fenixs>";
+
+    private static FenixPlan plan;
+
+    /**
+     * 初始化注册测试所需的标签处理器，并编译测试用的 fenix 节点.
+     *
+     * @throws Exception 解析 XML 的异常
+     */
+    @BeforeClass
+    public static void init() throws Exception {
+        FenixConfig.add("andEqual", SymbolConst.AND, NormalHandler::new, SymbolConst.EQUAL);
+        FenixConfig.add("andIn", SymbolConst.AND, InHandler::new, SymbolConst.IN);
+        plan = FenixPlanCompiler.compile("ShapeTest",
+                DocumentHelper.parseText(XML).selectSingleNode("/fenixs/fenix"));
+    }
+
+    /**
+     * 测试枚举出所有分支组合下的 SQL 形态.
+     */
+    @Test
+    public void enumerate() {
+        List<String> sqls = SqlShapeEnumerator.enumerate(plan, 64);
+        Assert.assertEquals(Arrays.asList(
+                "SELECT u FROM User AS u WHERE  u.name = :name AND u.id IN :ids",
+                "SELECT u FROM User AS u WHERE  u.name = :name",
+                "SELECT u FROM User AS u WHERE  u.id IN :ids",
+                "SELECT u FROM User AS u WHERE 1 = 1"), sqls);
+
+        // 枚举完毕之后，表达式会恢复正常计算.
+        Assert.assertFalse(ParseHelper.isTrue("name != empty", ParamWrapper.newInstance("name", "").toMap()));
+        Assert.assertEquals("fenix", ParseHelper.parseExpress("name", ParamWrapper.newInstance("name", "fenix").toMap()));
+    }
+
+    /**
+     * 测试最多只会遍历指定数量的分支组合.
+     */
+    @Test
+    public void enumerateWithMaxCombinations() {
+        Assert.assertEquals(2, SqlShapeEnumerator.enumerate(plan, 2).size());
+        Assert.assertTrue(SqlShapeEnumerator.enumerate(plan, 0).isEmpty());
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.blinkfox.fenix.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * 评论实体类，回复的评论会急加载其所回复的评论，用于测试流式查询时急加载的关联实体也会被定期移除.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+@Entity
+@Table(name = "t_comment")
+@ToString
+@NoArgsConstructor
+public class Comment {
+
+    /**
+     * ID.
+     */
+    @Id
+    @Column(name = "c_id")
+    private String id;
+
+    /**
+     * 评论内容.
+     */
+    @Column(name = "c_content")
+    private String content;
+
+    /**
+     * 所回复的评论.
+     */
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "c_parent_id")
+    private Comment parent;
+
+}
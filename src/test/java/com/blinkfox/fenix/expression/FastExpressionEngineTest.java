@@ -0,0 +1,160 @@
+package com.blinkfox.fenix.expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link FastExpressionEngine} 的单元测试类，会与 {@link MvelExpressionEngine} 做对比，确保两者的计算结果完全一致.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class FastExpressionEngineTest {
+
+    private static final String[] PATHS = {"name", "?name", "blank", "age", "?age", "longAge", "shortAge", "str",
+        "enabled", "none", "?none", "missing", "?missing", "ids", "emptyIds", "array", "user.name", "user.?name",
+        "user.age", "user.enabled", "user.missing", "user.?missing", "nobody.name", "?nobody.name", "nobody.?name",
+        "map.size", "map.key", "map.?absent", "map.absent", "size", "?size", "decimal"};
+
+    private static final String[] TAILS = {"", " == null", " != null", " == empty", " != empty", " == 'blinkfox'",
+        " != \"blinkfox\"", " == ''", " == 5", " != 5", " == -3", " > 5", " >= 5", " < 5", " <= 18", " == true",
+        " != false", " == 05", " == 5L", " == 5.0", " > 'a'", " === 5", " == 'a\\'b'"};
+
+    private static final String[] OTHERS = {"", "  ", "name != empty && age > 3", "?none == null || age > 100",
+        "name == empty && age > 3", "name != empty || none.x == 1", "age && enabled", "enabled && age",
+        "enabled || name", "!enabled", "(age > 3)", "age + 1 > 3", "name.length() > 3", "ids.size > 1",
+        "?none != empty && ?missing != empty", "age >= 5 && age <= 18 || enabled == false", "age > 3 ? 1 : 2",
+        "null", "empty == name", "'x' == name", "this", "name contains 'x'", "age == 5 &&", "|| age == 5",
+        "age == 5 || || enabled", "user. name", "? name != empty", "age >> 1", "age = 5", "user.name is empty"};
+
+    private final MvelExpressionEngine mvelEngine = new MvelExpressionEngine();
+
+    private final AtomicInteger fallbackCount = new AtomicInteger();
+
+    private final FastExpressionEngine fastEngine = new FastExpressionEngine(0, (expression, context) -> {
+        this.fallbackCount.incrementAndGet();
+        return this.mvelEngine.evaluate(expression, context);
+    });
+
+    /**
+     * 表达式中所使用的 Java Bean.
+     */
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class Person {
+
+        private String name;
+
+        private Integer age;
+
+        private boolean enabled;
+
+        private Person user;
+
+        private Person nobody;
+
+        private Object decimal;
+
+    }
+
+    private static Map<String, Object> buildMapContext() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put("size", "shadowed");
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("name", "blinkfox");
+        context.put("blank", "  ");
+        context.put("age", 5);
+        context.put("longAge", 18L);
+        context.put("shortAge", (short) 5);
+        context.put("str", "5");
+        context.put("enabled", true);
+        context.put("none", null);
+        context.put("ids", Arrays.asList(1, 2, 3));
+        context.put("emptyIds", Collections.emptyList());
+        context.put("array", new int[0]);
+        context.put("user", new Person().setName("blinkfox").setAge(18).setEnabled(true));
+        context.put("nobody", null);
+        context.put("map", map);
+        context.put("decimal", 5.0);
+        return context;
+    }
+
+    private static List<String> buildExpressions() {
+        List<String> expressions = new ArrayList<>();
+        for (String path : PATHS) {
+            for (String tail : TAILS) {
+                expressions.add(path + tail);
+            }
+        }
+        expressions.addAll(Arrays.asList(OTHERS));
+        return expressions;
+    }
+
+    private static String evaluate(ExpressionEngine engine, String expression, Object context) {
+        try {
+            Object result = engine.evaluate(expression, context);
+            return result == null ? "null" : result.getClass().getName() + ":" + result;
+        } catch (Exception e) {
+            return "exception";
+        }
+    }
+
+    private void assertSameAsMvel(Object context) {
+        for (String expression : buildExpressions()) {
+            Assert.assertEquals("表达式为：【" + expression + "】", evaluate(this.mvelEngine, expression, context),
+                    evaluate(this.fastEngine, expression, context));
+        }
+    }
+
+    /**
+     * 测试上下文参数是 Map 时，快速表达式引擎的计算结果与 MVEL 完全一致.
+     */
+    @Test
+    public void evaluateWithMap() {
+        this.assertSameAsMvel(buildMapContext());
+    }
+
+    /**
+     * 测试上下文参数是 Java Bean 时，快速表达式引擎的计算结果与 MVEL 完全一致.
+     */
+    @Test
+    public void evaluateWithBean() {
+        this.assertSameAsMvel(new Person().setName("blinkfox").setAge(5).setEnabled(true).setDecimal(5.0)
+                .setUser(new Person().setName("").setAge(20)));
+    }
+
+    /**
+     * 测试常见的简单表达式不会交由 MVEL 计算.
+     */
+    @Test
+    public void evaluateWithoutFallback() {
+        Map<String, Object> context = buildMapContext();
+        Assert.assertEquals(true, this.fastEngine.evaluate("?name != empty", context));
+        Assert.assertEquals(false, this.fastEngine.evaluate("?missing != empty", context));
+        Assert.assertEquals(true, this.fastEngine.evaluate("none == null", context));
+        Assert.assertEquals(true, this.fastEngine.evaluate("user.name == 'blinkfox'", context));
+        Assert.assertEquals(true, this.fastEngine.evaluate("age >= 5 && user.enabled == true", context));
+        Assert.assertEquals(false, this.fastEngine.evaluate("emptyIds != empty || longAge < 18", context));
+        Assert.assertEquals("value", this.fastEngine.evaluate("map.key", context));
+        Assert.assertEquals(0, this.fallbackCount.get());
+
+        // 需要类型转换或者语法不支持的表达式，会交由 MVEL 计算.
+        Assert.assertEquals(true, this.fastEngine.evaluate("str == 5", context));
+        Assert.assertEquals(true, this.fastEngine.evaluate("!(age > 5)", context));
+        Assert.assertEquals(2, this.fallbackCount.get());
+    }
+
+}
@@ -1,9 +1,16 @@
 package com.blinkfox.fenix.helper;
 
+import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.entity.User;
 import com.blinkfox.fenix.exception.FenixException;
 import com.blinkfox.fenix.provider.SqlExceptionProvider;
 import com.blinkfox.fenix.provider.UserSqlInfoProvider;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
 import org.junit.Test;
 
 /**
@@ -37,4 +44,48 @@ public class ClassMethodInvokerTest {
         ClassMethodInvoker.invoke(UserSqlInfoProvider.class, "privateMethod", new HashMap<>());
     }
 
+    /**
+     * 测试被调用的方法抛出运行时异常时会原样抛出，抛出受检异常时才会包装为 {@link FenixException}.
+     */
+    @Test
+    public void invokeWithException() {
+        try {
+            ClassMethodInvoker.invoke(SqlExceptionProvider.class, "buildWithRuntimeException",
+                    Collections.singletonMap("name", "fenix"));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("名称【fenix】不合法.", e.getMessage());
+        }
+
+        try {
+            ClassMethodInvoker.invoke(SqlExceptionProvider.class, "buildWithCheckedException", new HashMap<>());
+            Assert.fail();
+        } catch (FenixException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    /**
+     * 测试提供 SQL 的类的实例只会获取一次，且参数会按 {@code @Param} 注解的名称来传递.
+     */
+    @Test
+    public void invokeWithReusedInstance() {
+        AtomicInteger count = new AtomicInteger();
+        ClassMethodInvoker invoker = ClassMethodInvoker.of(UserSqlInfoProvider.class, "queryUsersWithJava", () -> {
+            count.incrementAndGet();
+            return ClassMethodInvoker.getProviderInstance(UserSqlInfoProvider.class);
+        });
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", "1");
+        params.put("user", new User().setName("fenix"));
+        for (int i = 0; i < 3; i++) {
+            SqlInfo sqlInfo = invoker.invoke(params);
+            Assert.assertEquals("1", sqlInfo.getParams().get("userId"));
+        }
+        Assert.assertEquals(1, count.get());
+        Assert.assertSame(ClassMethodInvoker.getProviderInstance(UserSqlInfoProvider.class),
+                ClassMethodInvoker.getProviderInstance(UserSqlInfoProvider.class));
+    }
+
 }
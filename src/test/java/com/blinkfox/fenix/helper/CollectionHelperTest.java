@@ -1,11 +1,17 @@
 package com.blinkfox.fenix.helper;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.exception.FenixException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import org.junit.Test;
 
@@ -44,6 +50,7 @@ public class CollectionHelperTest {
     public void testToArray() {
         assertArrayEquals(new Object[] {3}, CollectionHelper.toArray(3, 0));
         assertArrayEquals(new Object[] {1, 2}, CollectionHelper.toArray(new Object[] {1, 2}, Const.OBJTYPE_ARRAY));
+        assertArrayEquals(new Object[] {1, 2}, CollectionHelper.toArray(new int[] {1, 2}, Const.OBJTYPE_ARRAY));
 
         List<String> lists = new ArrayList<>();
         lists.add("hello");
@@ -51,4 +58,77 @@ public class CollectionHelperTest {
         assertArrayEquals(new Object[] {"hello", "world"}, CollectionHelper.toArray(lists, Const.OBJTYPE_COLLECTION));
     }
 
+    /**
+     * 测试将数组转换为集合的方法.
+     */
+    @Test
+    public void testAsList() {
+        assertEquals(Arrays.asList("a", "b"), CollectionHelper.asList(new String[] {"a", "b"}));
+        assertEquals(Arrays.asList(1L, 2L), CollectionHelper.asList(new long[] {1L, 2L}));
+        assertEquals(Arrays.asList(1, 2), CollectionHelper.arrayToList(new int[] {1, 2}));
+        assertEquals(Arrays.asList('a', 'b'), CollectionHelper.asList(new char[] {'a', 'b'}));
+
+        // byte[] 和 char[] 是单个的值，不会被转换为集合.
+        byte[] bytes = {1, 2};
+        char[] chars = {'a', 'b'};
+        assertSame(bytes, CollectionHelper.arrayToList(bytes));
+        assertSame(chars, CollectionHelper.arrayToList(chars));
+        assertTrue(CollectionHelper.isScalarArray(bytes));
+        assertFalse(CollectionHelper.isScalarArray(new Byte[] {1}));
+        assertEquals("a", CollectionHelper.arrayToList("a"));
+        assertNull(CollectionHelper.arrayToList(null));
+
+        // 基本类型数组的视图不会复制数组.
+        long[] ids = {1L, 2L};
+        PrimitiveArrayList list = PrimitiveArrayList.of(ids);
+        ids[1] = 3L;
+        assertEquals(Arrays.asList(1L, 3L), list);
+        assertSame(ids, list.getArray());
+        assertEquals(Arrays.asList(1.5d), PrimitiveArrayList.of(1.5d));
+    }
+
+    /**
+     * 测试包装非基本类型数组时抛出异常的情况.
+     */
+    @Test(expected = FenixException.class)
+    public void testWrapWithException() {
+        PrimitiveArrayList.wrap(new Long[] {1L});
+    }
+
+    /**
+     * 测试补齐 IN 查询参数集合的方法.
+     */
+    @Test
+    public void testPadInValues() {
+        assertEquals(0, CollectionHelper.getPaddedSize(0, null));
+        assertEquals(1, CollectionHelper.getPaddedSize(1, null));
+        assertEquals(4, CollectionHelper.getPaddedSize(3, null));
+        assertEquals(16, CollectionHelper.getPaddedSize(16, null));
+        assertEquals(32, CollectionHelper.getPaddedSize(17, new int[0]));
+        assertEquals(10, CollectionHelper.getPaddedSize(7, new int[] {5, 10, 50}));
+        assertEquals(100, CollectionHelper.getPaddedSize(51, new int[] {5, 10, 50}));
+
+        assertEquals(Arrays.asList(1, 2, 3, 3), CollectionHelper.padInValues(new LinkedHashSet<>(Arrays.asList(1, 2, 3)),
+                null));
+        List<Integer> values = Arrays.asList(1, 2);
+        assertSame(values, CollectionHelper.padInValues(values, null));
+    }
+
+    /**
+     * 测试拆分集合和转换为数组的方法.
+     */
+    @Test
+    public void testChunkAndToTypedArray() {
+        List<Integer> values = Arrays.asList(1, 2, 3, 4, 5);
+        assertTrue(CollectionHelper.isOverThreshold(values, 4));
+        assertFalse(CollectionHelper.isOverThreshold(values, 0));
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)),
+                CollectionHelper.chunk(values, 2, false));
+        assertEquals(Arrays.asList(5, 5), CollectionHelper.chunk(values, 2, true).get(2));
+
+        assertTrue(CollectionHelper.toTypedArray(values) instanceof Integer[]);
+        assertTrue(CollectionHelper.toTypedArray(Arrays.asList(null, "a")) instanceof String[]);
+        assertEquals(Object[].class, CollectionHelper.toTypedArray(Arrays.asList(1, "a")).getClass());
+    }
+
 }
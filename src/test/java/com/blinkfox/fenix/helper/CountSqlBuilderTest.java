@@ -0,0 +1,87 @@
+package com.blinkfox.fenix.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link CountSqlBuilder} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class CountSqlBuilderTest {
+
+    /**
+     * 测试普通查询会替换为 count(*)，并去除最外层的 ORDER BY 子句.
+     */
+    @Test
+    public void buildSimple() {
+        Assert.assertEquals("select count(*) as count FROM User AS u WHERE u.age > :age",
+                CountSqlBuilder.build("SELECT u FROM User AS u WHERE u.age > :age ORDER BY u.id DESC", false, false));
+        Assert.assertEquals("select count(*) as count from User u",
+                CountSqlBuilder.build("from User u order by u.name", false, false));
+        Assert.assertEquals("select count(*) as count FROM t_user AS u LIMIT 10",
+                CountSqlBuilder.build("SELECT u.* FROM t_user AS u ORDER BY u.id LIMIT 10", true, false));
+
+        // 没有 FROM 关键字的语句会原样返回.
+        Assert.assertEquals("SELECT 1", CountSqlBuilder.build("SELECT 1", true, false));
+    }
+
+    /**
+     * 测试子查询、字符串和注释中的关键字不会被识别.
+     */
+    @Test
+    public void buildWithNestedKeywords() {
+        Assert.assertEquals("select count(*) as count FROM User AS u WHERE u.name <> 'select x from y order by z' "
+                + "AND u.id IN (SELECT b.userId FROM Blog AS b GROUP BY b.userId ORDER BY b.userId)",
+                CountSqlBuilder.build("SELECT u.id, (SELECT max(b.id) FROM Blog AS b) AS maxId "
+                        + "FROM User AS u WHERE u.name <> 'select x from y order by z' "
+                        + "AND u.id IN (SELECT b.userId FROM Blog AS b GROUP BY b.userId ORDER BY b.userId) "
+                        + "ORDER BY u.id", false, false));
+        Assert.assertEquals("select count(*) as count FROM t_user -- order by",
+                CountSqlBuilder.build("SELECT * /* group by */ FROM t_user -- order by\n", true, false));
+    }
+
+    /**
+     * 测试 JPQL 中会将 {@code JOIN FETCH} 替换为普通的 {@code JOIN}，原生 SQL 则不会.
+     */
+    @Test
+    public void buildWithFetchJoin() {
+        Assert.assertEquals("select count(*) as count FROM User AS u LEFT JOIN u.blogs AS b WHERE b.id > 0",
+                CountSqlBuilder.build("SELECT u FROM User AS u LEFT JOIN FETCH u.blogs AS b WHERE b.id > 0",
+                        false, false));
+        Assert.assertEquals("select count(*) as count FROM t ORDER_T FETCH FIRST 5 ROWS ONLY",
+                CountSqlBuilder.build("SELECT * FROM t ORDER_T ORDER BY id FETCH FIRST 5 ROWS ONLY", true, false));
+    }
+
+    /**
+     * 测试含有 GROUP BY 或集合运算的查询会被包装为子查询，JPQL 中缺少别名的查询项会补充别名.
+     */
+    @Test
+    public void buildWithSubquery() {
+        Assert.assertEquals("select count(*) as count from (SELECT u.name as fenix_c0, count(u.id) AS cnt, "
+                + "max(u.age) maxAge FROM User AS u GROUP BY u.name) fenix_count_t",
+                CountSqlBuilder.build("SELECT u.name, count(u.id) AS cnt, max(u.age) maxAge "
+                        + "FROM User AS u GROUP BY u.name ORDER BY u.name", false, false));
+        Assert.assertEquals("select count(*) as count from "
+                + "(SELECT u.name FROM t_user u GROUP BY u.name) fenix_count_t",
+                CountSqlBuilder.build("SELECT u.name FROM t_user u GROUP BY u.name ORDER BY u.name", true, false));
+        Assert.assertEquals("select count(*) as count from (SELECT id FROM a UNION SELECT id FROM b) fenix_count_t",
+                CountSqlBuilder.build("SELECT id FROM a UNION SELECT id FROM b", true, false));
+    }
+
+    /**
+     * 测试开启了 distinct 检测时的 count 语句.
+     */
+    @Test
+    public void buildWithDistinct() {
+        Assert.assertEquals("select count(distinct userId) as count FROM Blog AS b",
+                CountSqlBuilder.build("SELECT DISTINCT userId as userId FROM Blog AS b", false, true));
+        Assert.assertEquals("select count(*) as count FROM Blog AS b",
+                CountSqlBuilder.build("SELECT DISTINCT userId as userId FROM Blog AS b", false, false));
+        Assert.assertEquals("select count(*) as count from (SELECT DISTINCT b.userId as fenix_c0, "
+                + "b.title AS title FROM Blog AS b) fenix_count_t",
+                CountSqlBuilder.build("SELECT DISTINCT b.userId, b.title AS title FROM Blog AS b", false, true));
+    }
+
+}
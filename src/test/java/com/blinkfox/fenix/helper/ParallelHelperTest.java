@@ -0,0 +1,54 @@
+package com.blinkfox.fenix.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link ParallelHelper} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class ParallelHelperTest {
+
+    /**
+     * 测试并行转换之后，结果的顺序与原集合的顺序保持一致，且工作线程沿用了调用线程的上下文类加载器.
+     */
+    @Test
+    public void mapInOrder() {
+        List<Integer> items = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+        Assert.assertEquals(items.stream().map(i -> i * 2).collect(Collectors.toList()),
+                ParallelHelper.mapInOrder(items, i -> i * 2));
+        Assert.assertTrue(ParallelHelper.mapInOrder(new ArrayList<Integer>(), i -> i).isEmpty());
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ParallelHelper.mapInOrder(items, i -> Thread.currentThread().getContextClassLoader())
+                .forEach(loader -> Assert.assertSame(classLoader, loader));
+    }
+
+    /**
+     * 测试多个元素转换失败时，总是抛出排在最前面的那个元素的异常.
+     */
+    @Test
+    public void mapInOrderWithException() {
+        List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        for (int i = 0; i < 10; i++) {
+            try {
+                ParallelHelper.mapInOrder(items, item -> {
+                    if (item % 10 == 3) {
+                        throw new IllegalStateException("error-" + item);
+                    }
+                    return item;
+                });
+                Assert.fail();
+            } catch (IllegalStateException e) {
+                Assert.assertEquals("error-3", e.getMessage());
+            }
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.blinkfox.fenix.helper;
 
+import com.blinkfox.fenix.entity.User;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -122,4 +124,74 @@ public class ParseHelperTest {
         Assert.assertNull(ParseHelper.parseExpress("", ParamWrapper.newInstance("bb", "1").toMap()));
     }
 
+    /**
+     * 测试多次执行缓存中已编译的表达式，结果与首次执行时保持一致.
+     */
+    @Test
+    public void parseExpressWithCompiledCache() {
+        for (int i = 0; i < 3; i++) {
+            Assert.assertFalse(ParseHelper.isTrue("?foo != empty", context));
+            Assert.assertTrue(ParseHelper.isTrue("hello == 'world'", context));
+            Assert.assertEquals(1, ParseHelper.parseExpress("size()", context));
+        }
+
+        // 同一个表达式用于不同类型的上下文参数时，也能正确的得到结果.
+        User user = new User().setName("world");
+        Assert.assertEquals("world", ParseHelper.parseExpressWithException("name", user));
+        Assert.assertEquals("world", ParseHelper.parseExpressWithException("name",
+                ParamWrapper.newInstance("name", "world").toMap()));
+
+        // 先以 Map 执行、再以 Java Bean 执行同一个表达式时，也能正确的得到结果.
+        Assert.assertEquals("a@b.com", ParseHelper.parseExpressWithException("email",
+                ParamWrapper.newInstance("email", "a@b.com").toMap()));
+        Assert.assertEquals("c@d.com", ParseHelper.parseExpressWithException("email",
+                new User().setEmail("c@d.com")));
+    }
+
+    /**
+     * 测试不含模板标记的文本直接返回，含有模板标记的文本使用缓存中已编译的模板来渲染.
+     */
+    @Test
+    public void parseTemplateWithCompiledCache() {
+        String sql = "SELECT u FROM User AS u WHERE u.email LIKE '%163.com'";
+        Assert.assertFalse(ParseHelper.hasTemplateMarker(sql));
+        Assert.assertSame(sql, ParseHelper.parseTemplate(sql, context));
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(ParseHelper.hasTemplateMarker("say @{hello}."));
+            Assert.assertEquals("say world.", ParseHelper.parseTemplate("say @{hello}.", context));
+            Assert.assertEquals("a@b", ParseHelper.parseTemplate("a@@b", context));
+        }
+
+        // 同一个模板先后用于 Map 和 Java Bean 类型的上下文参数时，也能正确的渲染.
+        Assert.assertEquals("name: world", ParseHelper.parseTemplate("name: @{name}",
+                ParamWrapper.newInstance("name", "world").toMap()));
+        Assert.assertEquals("name: fenix", ParseHelper.parseTemplate("name: @{name}", new User().setName("fenix")));
+        Assert.assertEquals("name: world", ParseHelper.parseTemplate("name: @{name}",
+                ParamWrapper.newInstance("name", "world").toMap()));
+    }
+
+    /**
+     * 测试渲染期间，槽位表中的表达式在同一上下文参数下只会计算一次.
+     */
+    @Test
+    public void parseExpressWithMemo() {
+        Map<String, Object> memoContext = new HashMap<>();
+        memoContext.put("name", "fenix");
+        ExpressionMemo previous = ParseHelper.startMemo(Collections.singletonMap("name", 0), memoContext);
+        try {
+            Assert.assertEquals("fenix", ParseHelper.parseExpressWithException("name", memoContext));
+            memoContext.put("name", "blinkfox");
+            Assert.assertEquals("fenix", ParseHelper.parseExpress("name", memoContext));
+
+            // 其他上下文参数或者不在槽位表中的表达式不会被缓存.
+            Assert.assertEquals("world", ParseHelper.parseExpress("hello", context));
+            Assert.assertEquals("blinkfox", ParseHelper.parseExpress("name",
+                    ParamWrapper.newInstance("name", "blinkfox").toMap()));
+        } finally {
+            ParseHelper.endMemo(previous);
+        }
+        Assert.assertEquals("blinkfox", ParseHelper.parseExpress("name", memoContext));
+    }
+
 }
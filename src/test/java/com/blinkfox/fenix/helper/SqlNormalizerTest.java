@@ -0,0 +1,156 @@
+package com.blinkfox.fenix.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.dom4j.Document;
+import org.dom4j.Node;
+import org.dom4j.io.SAXReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link SqlNormalizer} 的单元测试类，会与之前基于正则表达式的处理流程做对比，确保两者的结果完全一致.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class SqlNormalizerTest {
+
+    private static final Pattern BLANK_PATTERN = Pattern.compile("\\|\t|\r|\n");
+
+    private static final Pattern PARAM_PATTERN = Pattern.compile("(#\\{[^}]+})");
+
+    private static final String[] TOKENS = {" ", "  ", "\n", "\r\n", "\t", "|\t", "|", "\f", "WHERE", "where",
+        "AND", "and", "OR", "Or", "ORDER", "order", "GROUP", "BY", "by", "u.id", "=", "#{user.id}", "#{", "}",
+        "#{}", "#", "{", "1 = 1 AND", "@{name}", "ORD", ":"};
+
+    /**
+     * 使用之前的正则表达式处理流程来规范化 SQL，作为对比的基准.
+     *
+     * @param rawSql 原始 SQL
+     * @param removeText 需要移除的 SQL 片段
+     * @param names 命名参数名称的集合
+     * @param expressions 参数表达式的集合
+     * @return 规范化之后的 SQL
+     */
+    private static String normalizeByRegex(String rawSql, String removeText, List<String> names,
+            List<String> expressions) {
+        String sql = BLANK_PATTERN.matcher(rawSql).replaceAll("").replaceAll("\\s{2,}", " ").trim();
+        Matcher matcher = PARAM_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            String hashTagText = matcher.group(1);
+            String text = hashTagText.substring(2, hashTagText.length() - 1);
+            String namedText = StringHelper.fixDot(text);
+            names.add(namedText);
+            expressions.add(text);
+            sql = sql.replace(hashTagText, ":" + namedText);
+        }
+
+        sql = sql.replaceAll("(?i) WHERE AND | WHERE OR ", " WHERE ")
+                .replaceAll("(?i) WHERE ORDER BY ", " ORDER BY ")
+                .replaceAll("(?i) WHERE GROUP BY ", " GROUP BY ");
+        if (sql.endsWith(" WHERE")) {
+            sql = sql.substring(0, sql.lastIndexOf(" WHERE"));
+        }
+        return StringHelper.isNotBlank(removeText) && sql.contains(removeText) ? sql.replace(removeText, "") : sql;
+    }
+
+    private static void assertSameAsRegex(String rawSql, String removeText) {
+        List<String> names = new ArrayList<>();
+        List<String> expressions = new ArrayList<>();
+        String expected = normalizeByRegex(rawSql, removeText, names, expressions);
+
+        // 参数表达式中包含 '#' 时不是合法的 MVEL 表达式，绑定参数时本就会报错，
+        // 且之前的处理流程对每个匹配都会全局替换一次，其结果依赖于匹配的先后顺序，所以这种情况不做对比.
+        if (expressions.stream().anyMatch(e -> e.indexOf('#') >= 0)) {
+            return;
+        }
+
+        List<String> actualNames = new ArrayList<>();
+        List<String> actualExpressions = new ArrayList<>();
+        String message = "原始 SQL 为：【" + rawSql + "】";
+        Assert.assertEquals(message, expected,
+                SqlNormalizer.normalize(rawSql, removeText, actualNames, actualExpressions));
+        Assert.assertEquals(message, names, actualNames);
+        Assert.assertEquals(message, expressions, actualExpressions);
+    }
+
+    /**
+     * 测试所有 XML 测试文件中的 fenix 节点文本，规范化之后的结果与之前的正则处理流程完全一致.
+     *
+     * @throws Exception 异常
+     */
+    @Test
+    public void normalizeXmlFixtures() throws Exception {
+        int count = 0;
+        for (Path path : listXmlFiles()) {
+            Document document = new SAXReader().read(path.toFile());
+            for (Node fenixNode : document.selectNodes("/fenixs/fenix")) {
+                String removeText = XmlNodeHelper.getNodeText(fenixNode.selectSingleNode("attribute::removeIfExist"));
+                String text = fenixNode.getStringValue();
+                assertSameAsRegex(text, removeText);
+                assertSameAsRegex(text + " WHERE", removeText);
+                assertSameAsRegex(text.replace("WHERE", "WHERE AND "), removeText);
+                Assert.assertEquals(normalizeByRegex(text, null, new ArrayList<>(), new ArrayList<>()),
+                        SqlNormalizer.normalize(text, null, new ArrayList<>(), new ArrayList<>()));
+                count++;
+            }
+        }
+        Assert.assertTrue(count > 50);
+    }
+
+    /**
+     * 测试随机生成的各种 SQL 片段，规范化之后的结果与之前的正则处理流程完全一致.
+     */
+    @Test
+    public void normalizeRandomSql() {
+        Random random = new Random(20261018L);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0, n = random.nextInt(24); j < n; j++) {
+                sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+                if (random.nextBoolean()) {
+                    sb.append(' ');
+                }
+            }
+            assertSameAsRegex(sb.toString(), random.nextInt(4) == 0 ? "1 = 1 AND" : null);
+        }
+    }
+
+    /**
+     * 测试 Java API 所使用的规范化方法，不会处理 '#{xxx}'.
+     */
+    @Test
+    public void normalizeWithoutParams() {
+        Assert.assertEquals("SELECT u FROM User AS u WHERE u.id = #{id} ORDER BY u.id",
+                SqlNormalizer.normalize("  SELECT u FROM User AS u \n  WHERE  and u.id = #{id} where ORDER BY u.id "));
+        Assert.assertEquals("a b\tc", StringHelper.replaceBlank(" \n a  \t b\tc \r\n"));
+    }
+
+    private static List<Path> listXmlFiles() throws IOException {
+        try (Stream<Path> stream = Files.walk(Paths.get("src", "test", "resources"))) {
+            return stream.filter(p -> p.toString().endsWith(".xml"))
+                    .filter(p -> readQuietly(p.toFile()).contains("<fenixs"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String readQuietly(File file) {
+        try {
+            return new String(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+}
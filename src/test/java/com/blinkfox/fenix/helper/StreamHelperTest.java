@@ -0,0 +1,51 @@
+package com.blinkfox.fenix.helper;
+
+import com.blinkfox.fenix.exception.FenixException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link StreamHelper} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class StreamHelperTest {
+
+    /**
+     * 测试按指定的大小分批处理流中的元素，最后一批可以不满，且处理完毕后会关闭流.
+     */
+    @Test
+    public void forEachChunk() {
+        AtomicBoolean closed = new AtomicBoolean();
+        List<List<Integer>> chunks = new ArrayList<>();
+        StreamHelper.forEachChunk(IntStream.range(0, 7).boxed().onClose(() -> closed.set(true)), 3, chunks::add);
+        Assert.assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Arrays.asList(6)), chunks);
+        Assert.assertTrue(closed.get());
+
+        chunks.clear();
+        StreamHelper.forEachChunk(Stream.<Integer>empty(), 3, chunks::add);
+        Assert.assertTrue(chunks.isEmpty());
+    }
+
+    /**
+     * 测试每批的大小不大于 0 时会抛出异常，并且同样会关闭流.
+     */
+    @Test
+    public void forEachChunkWithIllegalSize() {
+        AtomicBoolean closed = new AtomicBoolean();
+        try {
+            StreamHelper.forEachChunk(Stream.of(1).onClose(() -> closed.set(true)), 0, chunk -> Assert.fail());
+            Assert.fail();
+        } catch (FenixException e) {
+            Assert.assertTrue(closed.get());
+        }
+    }
+
+}
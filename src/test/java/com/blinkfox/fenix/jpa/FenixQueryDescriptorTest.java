@@ -0,0 +1,121 @@
+package com.blinkfox.fenix.jpa;
+
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.FenixConfigManager;
+import com.blinkfox.fenix.entity.User;
+import com.blinkfox.fenix.exception.NodeNotFoundException;
+import com.blinkfox.fenix.provider.UserSqlInfoProvider;
+import com.blinkfox.fenix.repository.UserRepository;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.JpaParameters;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.query.ParametersSource;
+
+/**
+ * {@link FenixQueryDescriptor} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class FenixQueryDescriptorTest {
+
+    /**
+     * 引用了不存在的 XML 节点的查询方法.
+     */
+    interface MissingNodeRepository {
+
+        @QueryFenix("com.blinkfox.fenix.repository.UserRepository.notExistsNode")
+        List<User> queryMissingNode(@Param("name") String name);
+
+    }
+
+    /**
+     * 初始化加载 Fenix 的配置信息.
+     */
+    @Before
+    public void init() {
+        FenixConfigManager.getInstance().initLoad(new FenixConfig());
+    }
+
+    private static FenixQueryDescriptor newDescriptor(Method method) {
+        return new FenixQueryDescriptor(method, method.getAnnotation(QueryFenix.class),
+                new JpaParameters(ParametersSource.of(method)), null);
+    }
+
+    /**
+     * 测试会一次性解析好查询和求总记录数时构建 SQL 的来源，以及各个参数的参数名.
+     *
+     * @throws NoSuchMethodException 方法不存在的异常
+     */
+    @Test
+    public void resolveSources() throws NoSuchMethodException {
+        FenixQueryDescriptor descriptor = newDescriptor(
+                UserRepository.class.getMethod("queryUserByIds", Map.class, Pageable.class));
+        FenixQueryDescriptor.SqlSource querySource = descriptor.getQuerySource();
+        Assert.assertTrue(querySource.isXml());
+        Assert.assertEquals(UserRepository.class.getName(), querySource.getNamespace());
+        Assert.assertEquals("queryUserByIds", querySource.getFenixId());
+
+        // 没有 provider 时，countMethod 会被忽略，而使用 countQuery 对应的 XML 节点.
+        Assert.assertTrue(descriptor.getCountSource().isXml());
+        Assert.assertEquals("queryAllUsersCount", descriptor.getCountSource().getFenixId());
+
+        // 分页参数不会放到上下文参数中.
+        Map<String, Object> userMap = Collections.singletonMap("ids", Collections.emptyList());
+        Assert.assertEquals(Collections.singletonMap("userMap", userMap),
+                descriptor.buildContextParams(new Object[] {userMap, PageRequest.of(0, 2)}));
+        descriptor.validate();
+
+        // 使用 Java 方式拼接 SQL 的查询.
+        descriptor = newDescriptor(UserRepository.class.getMethod("queryUsersWithJava", String.class,
+                User.class, Integer.class, String.class));
+        Assert.assertSame(UserSqlInfoProvider.class, descriptor.getQuerySource().getProvider());
+        Assert.assertEquals("queryUsersWithJava", descriptor.getQuerySource().getMethod());
+        Assert.assertNull(descriptor.getCountSource());
+
+        // 其他命名空间中的 XML 节点.
+        querySource = newDescriptor(UserRepository.class.getMethod("queryUsersByName", User.class)).getQuerySource();
+        Assert.assertEquals("otherFenix", querySource.getNamespace());
+        Assert.assertEquals("queryUsersByName", querySource.getFenixId());
+    }
+
+    /**
+     * 测试命名空间已加载、但 XML 节点不存在时，校验会抛出异常.
+     *
+     * @throws NoSuchMethodException 方法不存在的异常
+     */
+    @Test(expected = NodeNotFoundException.class)
+    public void validateWithMissingNode() throws NoSuchMethodException {
+        newDescriptor(MissingNodeRepository.class.getMethod("queryMissingNode", String.class)).validate();
+    }
+
+    /**
+     * 测试延迟加载模式下，校验时不会加载还未加载的命名空间，也不会因此抛出异常.
+     *
+     * @throws NoSuchMethodException 方法不存在的异常
+     */
+    @Test
+    public void validateWithLazyNamespace() throws NoSuchMethodException {
+        String namespace = UserRepository.class.getName();
+        try {
+            FenixConfigManager.getInstance().initLoad(new FenixConfig().setLazyLoad(true));
+            Assert.assertTrue(FenixConfig.isLazyNamespace(namespace));
+
+            newDescriptor(MissingNodeRepository.class.getMethod("queryMissingNode", String.class)).validate();
+            newDescriptor(UserRepository.class.getMethod("queryUserByIds", Map.class, Pageable.class)).validate();
+            Assert.assertTrue(FenixConfig.isLazyNamespace(namespace));
+        } finally {
+            FenixConfigManager.getInstance().initLoad(new FenixConfig());
+        }
+        Assert.assertFalse(FenixConfig.isLazyNamespace(namespace));
+    }
+
+}
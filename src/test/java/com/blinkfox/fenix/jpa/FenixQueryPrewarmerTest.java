@@ -0,0 +1,166 @@
+package com.blinkfox.fenix.jpa;
+
+import com.blinkfox.fenix.FenixTestApplication;
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.FenixConfigManager;
+import com.blinkfox.fenix.entity.User;
+import com.blinkfox.fenix.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.core.NamedQueries;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.ValueExpressionDelegate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * {@link FenixQueryPrewarmer} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = FenixTestApplication.class)
+public class FenixQueryPrewarmerTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 解析的 JPQL 语句及结果类型的记录.
+     */
+    private final List<String> createdQueries = new ArrayList<>();
+
+    /**
+     * 以开启预热的模式来初始化加载 Fenix 的配置信息.
+     */
+    @Before
+    public void init() {
+        FenixConfigManager.getInstance().initLoad(new FenixConfig().setPrewarm(true));
+    }
+
+    /**
+     * 恢复为默认的加载模式.
+     */
+    @After
+    public void destroy() {
+        FenixConfigManager.getInstance().initLoad(new FenixConfig());
+    }
+
+    /**
+     * 测试解析查询方法时，会枚举该方法对应 fenix 节点的各个 SQL 形态，并交给 JPA 来解析.
+     *
+     * @throws NoSuchMethodException 方法不存在的异常
+     */
+    @Test
+    public void prewarm() throws NoSuchMethodException {
+        this.resolveQuery(UserRepository.class.getMethod("queryUsersWithSameName", Map.class, User.class), false);
+        Assert.assertEquals(Arrays.asList(
+                "SELECT u FROM User AS u WHERE u.id IN :userMap_ids AND u.name LIKE :user_name | null",
+                "SELECT u FROM User AS u WHERE u.id IN :userMap_ids | null"), this.createdQueries);
+
+        // 分页查询还会预热 countQuery 对应的求总记录数的查询.
+        this.createdQueries.clear();
+        this.resolveQuery(UserRepository.class.getMethod("queryUserByIds", Map.class, Pageable.class), false);
+        Assert.assertEquals(Arrays.asList(
+                "SELECT u FROM User AS u WHERE u.id IN :userMap_ids | null",
+                "SELECT count(*) FROM User AS u | Long"), this.createdQueries);
+
+        // 使用 Java 方式拼接 SQL 的查询会被跳过.
+        this.createdQueries.clear();
+        this.resolveQuery(UserRepository.class.getMethod("queryUsersWithJava", String.class,
+                User.class, Integer.class, String.class), false);
+        Assert.assertTrue(this.createdQueries.isEmpty());
+    }
+
+    /**
+     * 测试 JPQL 语句解析失败时，只会打印错误日志，不会抛出异常.
+     *
+     * @throws NoSuchMethodException 方法不存在的异常
+     */
+    @Test
+    public void prewarmWithInvalidQuery() throws NoSuchMethodException {
+        RepositoryQuery query = this.resolveQuery(UserRepository.class.getMethod("queryUsersWithSameName", Map.class,
+                User.class), true);
+        Assert.assertTrue(query instanceof FenixJpaQuery);
+        Assert.assertEquals(2, this.createdQueries.size());
+    }
+
+    private RepositoryQuery resolveQuery(Method method, boolean invalid) {
+        EntityManager em = this.recordingEntityManager(invalid);
+        QueryLookupStrategy strategy = FenixQueryLookupStrategy.create(em, QueryLookupStrategy.Key.CREATE_IF_NOT_FOUND,
+                PersistenceProvider.HIBERNATE, ValueExpressionDelegate.create());
+        return strategy.resolveQuery(method, new DefaultRepositoryMetadata(UserRepository.class),
+                new SpelAwareProxyProjectionFactory(), new NamedQueries() {
+                    @Override
+                    public boolean hasQuery(String name) {
+                        return false;
+                    }
+
+                    @Override
+                    public String getQuery(String name) {
+                        return null;
+                    }
+                });
+    }
+
+    /**
+     * 创建一个会记录 createQuery 调用的 {@link EntityManager} 代理，其他的方法都委托给真实的实体管理器.
+     */
+    private EntityManager recordingEntityManager(boolean invalid) {
+        EntityManagerFactory emf = this.entityManager.getEntityManagerFactory();
+        EntityManagerFactory emfProxy = proxy(EntityManagerFactory.class, (proxy, method, args) -> {
+            if (!"createEntityManager".equals(method.getName()) || args != null) {
+                return invoke(method, emf, args);
+            }
+
+            EntityManager target = emf.createEntityManager();
+            return proxy(EntityManager.class, (p, m, a) -> {
+                if ("createQuery".equals(m.getName()) && a[0] instanceof String) {
+                    this.createdQueries.add(a[0] + " | " + (a.length > 1 ? ((Class<?>) a[1]).getSimpleName() : null));
+                    if (invalid) {
+                        throw new IllegalArgumentException("invalid JPQL.");
+                    }
+                }
+                return invoke(m, target, a);
+            });
+        });
+        return proxy(EntityManager.class, (proxy, method, args) -> "getEntityManagerFactory".equals(method.getName())
+                ? emfProxy
+                : invoke(method, this.entityManager, args));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(FenixQueryPrewarmerTest.class.getClassLoader(), new Class<?>[] {type},
+                handler);
+    }
+
+}
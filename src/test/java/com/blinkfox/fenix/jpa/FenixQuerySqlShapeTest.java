@@ -0,0 +1,49 @@
+package com.blinkfox.fenix.jpa;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+/**
+ * {@link FenixQuerySqlShape} 的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public class FenixQuerySqlShapeTest {
+
+    private static final String JPQL = "SELECT b FROM Blog AS b WHERE b.userId = :userId";
+
+    /**
+     * 测试应用排序后的 SQL 与 {@link QueryUtils#applySorting(String, Sort, String)} 的结果一致.
+     */
+    @Test
+    public void applySorting() {
+        FenixQuerySqlShape shape = new FenixQuerySqlShape(JPQL, false);
+        Assert.assertEquals("b", shape.getAlias());
+        Assert.assertSame(JPQL, shape.applySorting(Sort.unsorted()));
+        Assert.assertSame(JPQL, shape.applySorting(null));
+
+        Sort sort = Sort.by(Sort.Order.asc("createTime"), Sort.Order.desc("id"));
+        Assert.assertEquals(QueryUtils.applySorting(JPQL, sort, "b"), shape.applySorting(sort));
+        Assert.assertEquals("SELECT b FROM Blog AS b WHERE b.userId = :userId order by b.createTime asc, b.id desc",
+                shape.applySorting(Sort.by(Sort.Order.asc("createTime"), Sort.Order.desc("id"))));
+
+        // 已经有排序子句的 SQL 会在末尾追加新的排序字段.
+        String sql = "SELECT * FROM t_blog AS b ORDER BY b.c_id";
+        Assert.assertEquals(sql + ", b.c_title desc",
+                new FenixQuerySqlShape(sql, true).applySorting(Sort.by(Sort.Order.desc("c_title"))));
+    }
+
+    /**
+     * 测试原生 SQL 是否查询实体本身的判断.
+     */
+    @Test
+    public void isEntityProjection() {
+        Assert.assertTrue(new FenixQuerySqlShape("SELECT b FROM t_blog AS b", true).isEntityProjection());
+        Assert.assertFalse(new FenixQuerySqlShape("SELECT b.c_id FROM t_blog AS b", true).isEntityProjection());
+        Assert.assertFalse(new FenixQuerySqlShape(JPQL, false).isEntityProjection());
+    }
+
+}
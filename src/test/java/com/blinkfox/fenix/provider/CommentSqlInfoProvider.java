@@ -0,0 +1,30 @@
+package com.blinkfox.fenix.provider;
+
+import com.blinkfox.fenix.bean.SqlInfo;
+import com.blinkfox.fenix.core.Fenix;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * 使用 Java 拼接评论动态 SQL 的 Java 类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+public final class CommentSqlInfoProvider {
+
+    /**
+     * 获取内容以指定前缀开头的所有回复评论.
+     *
+     * @param prefix 评论内容的前缀
+     * @return sqlInfo 对象
+     */
+    public SqlInfo streamReplies(@Param("prefix") String prefix) {
+        return Fenix.start()
+                .select("c")
+                .from("Comment").as("c")
+                .where("c.parent IS NOT NULL")
+                .andStartsWith("c.content", prefix)
+                .end();
+    }
+
+}
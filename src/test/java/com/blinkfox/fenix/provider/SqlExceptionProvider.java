@@ -1,8 +1,10 @@
 package com.blinkfox.fenix.provider;
 
 import com.blinkfox.fenix.bean.SqlInfo;
+import java.io.IOException;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.springframework.data.repository.query.Param;
 
 /**
  * 这是用来测试异常调用情况下的类.
@@ -21,4 +23,24 @@ public class SqlExceptionProvider {
         return new SqlInfo();
     }
 
+    /**
+     * 构建 SQL 时抛出运行时异常.
+     *
+     * @param name 名称
+     * @return SqlInfo
+     */
+    public static SqlInfo buildWithRuntimeException(@Param("name") String name) {
+        throw new IllegalArgumentException("名称【" + name + "】不合法.");
+    }
+
+    /**
+     * 构建 SQL 时抛出受检异常.
+     *
+     * @return SqlInfo
+     * @throws IOException IO 异常
+     */
+    public static SqlInfo buildWithCheckedException() throws IOException {
+        throw new IOException("读取 SQL 出错.");
+    }
+
 }
@@ -2,6 +2,8 @@ package com.blinkfox.fenix.repository;
 
 import com.alibaba.fastjson.JSON;
 import com.blinkfox.fenix.FenixTestApplication;
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.FenixConfigManager;
 import com.blinkfox.fenix.entity.Book;
 import com.blinkfox.fenix.helper.CollectionHelper;
 import com.blinkfox.fenix.helper.StringHelper;
@@ -969,6 +971,31 @@ public class BookRepositoryPredicateTest {
         Assert.assertEquals(10, books6.size());
     }
 
+    /**
+     * 测试超大的参数集合，以单个数组参数来绑定或者拆分成多个 IN 条件时，查询结果不变.
+     */
+    @Test
+    public void testInWithLargeStrategies() {
+        @SuppressWarnings("unchecked")
+        List<String> idList = (List<String>) paramMap.get("idList");
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        try {
+            fenixConfig.setInChunkThreshold(3);
+            Assert.assertEquals(7, bookRepository.findAll(FenixSpecification.of(builder ->
+                    builder.andIn("id", idList).build())).size());
+            Assert.assertEquals(3, bookRepository.findAll(FenixSpecification.of(builder ->
+                    builder.andNotIn("id", idList).build())).size());
+
+            fenixConfig.setInArrayThreshold(5);
+            Assert.assertEquals(7, bookRepository.findAll(FenixSpecification.of(builder ->
+                    builder.andIn("id", idList).build())).size());
+            Assert.assertEquals(3, bookRepository.findAll(FenixSpecification.of(builder ->
+                    builder.andNotIn("id", idList).build())).size());
+        } finally {
+            fenixConfig.setInChunkThreshold(0).setInArrayThreshold(0);
+        }
+    }
+
     /**
      * 测试使用 {@code Specification} 的方式来范围查询图书信息.
      */
@@ -0,0 +1,29 @@
+package com.blinkfox.fenix.repository;
+
+import com.blinkfox.fenix.entity.Comment;
+import com.blinkfox.fenix.jpa.QueryFenix;
+import com.blinkfox.fenix.provider.CommentSqlInfoProvider;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 评论的 Repository 接口.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, String> {
+
+    /**
+     * 使用 {@link QueryFenix} 注解和 Java 拼接 SQL 的方式来流式查询所有的回复评论.
+     *
+     * @param prefix 评论内容的前缀
+     * @return 评论的流
+     */
+    @QueryFenix(provider = CommentSqlInfoProvider.class)
+    Stream<Comment> streamReplies(@Param("prefix") String prefix);
+
+}
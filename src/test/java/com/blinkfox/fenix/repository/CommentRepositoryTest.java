@@ -0,0 +1,109 @@
+package com.blinkfox.fenix.repository;
+
+import com.blinkfox.fenix.FenixTestApplication;
+import com.blinkfox.fenix.config.FenixConfig;
+import com.blinkfox.fenix.config.FenixConfigManager;
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.entity.Comment;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link CommentRepository} 接口功能的单元测试类.
+ *
+ * @author blinkfox on 2026-10-18.
+ * @since v3.2.0
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = FenixTestApplication.class)
+public class CommentRepositoryTest {
+
+    /**
+     * 回复评论的数量.
+     */
+    private static final int COUNT = 10;
+
+    /**
+     * 流式查询时移除实体的间隔记录数.
+     */
+    private static final int CLEAR_INTERVAL = 2;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 初始化 Fenix 配置信息，并保存每条回复评论及其所回复的评论，每条回复评论所回复的评论都不相同.
+     */
+    @PostConstruct
+    public void init() {
+        if (FenixConfigManager.getInstance().getFenixConfig() == null) {
+            FenixConfigManager.getInstance().initLoad(new FenixConfig());
+        }
+
+        if (commentRepository.count() == 0) {
+            List<Comment> comments = new ArrayList<>();
+            for (int i = 0; i < COUNT; i++) {
+                Comment parent = new Comment().setId("parent-" + i).setContent("parent-" + i);
+                comments.add(parent);
+                comments.add(new Comment().setId("reply-" + i).setContent("reply-" + i).setParent(parent));
+            }
+            commentRepository.saveAll(comments);
+        }
+    }
+
+    /**
+     * 测试流式查询带有急加载关联实体的实体时，持久化上下文中受管理的实体数量不会随结果集的增长而增长.
+     */
+    @Test
+    public void streamRepliesWithEagerParent() {
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        try {
+            fenixConfig.setStreamFetchSize(CLEAR_INTERVAL).setStreamClearInterval(CLEAR_INTERVAL);
+            List<Comment> replies = new ArrayList<>();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Comment other = entityManager.find(Comment.class, "parent-0");
+                SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+                int before = session.getPersistenceContextInternal().getNumberOfManagedEntities();
+                try (Stream<Comment> stream = commentRepository.streamReplies("reply-")) {
+                    stream.forEach(reply -> {
+                        // 每读取一条回复评论，就会急加载其所回复的评论，但新增受管理的实体不会超过每批记录中的实体数量.
+                        Assert.assertNotNull(reply.getParent());
+                        int managed = session.getPersistenceContextInternal().getNumberOfManagedEntities();
+                        Assert.assertTrue(managed - before <= CLEAR_INTERVAL * 2);
+                        replies.add(reply);
+                    });
+                }
+
+                // 读取过的实体及其急加载的关联实体都已是游离状态了，开始查询之前就已受管理的实体不受影响.
+                replies.forEach(reply -> Assert.assertFalse(entityManager.contains(reply)));
+                replies.stream().map(Comment::getParent).filter(parent -> parent != other)
+                        .forEach(parent -> Assert.assertFalse(entityManager.contains(parent)));
+                Assert.assertTrue(entityManager.contains(other));
+            });
+            Assert.assertEquals(COUNT, replies.size());
+        } finally {
+            fenixConfig.setStreamFetchSize(Const.DEFAULT_STREAM_FETCH_SIZE)
+                    .setStreamClearInterval(Const.DEFAULT_STREAM_FETCH_SIZE);
+        }
+    }
+
+}
@@ -5,6 +5,7 @@ import com.blinkfox.fenix.jpa.QueryFenix;
 import com.blinkfox.fenix.provider.UserSqlInfoProvider;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -75,6 +76,15 @@ public interface UserRepository extends JpaRepository<User, String> {
     @QueryFenix(countQuery = "queryAllUsersCount", countMethod = "queryUsersCount")
     Page<User> queryUserByIds(@Param("userMap") Map<String, Object> userMap, Pageable pageable);
 
+    /**
+     * 使用原生 SQL 查询多个 ID 的用户信息.
+     *
+     * @param userMap 用户 Map 信息
+     * @return 用户信息集合
+     */
+    @QueryFenix(nativeQuery = true)
+    List<User> queryUserByIdsNative(@Param("userMap") Map<String, Object> userMap);
+
     /**
      * 根据名称分页查询其它目录下的 xml 文件的数据.
      *
@@ -84,4 +94,13 @@ public interface UserRepository extends JpaRepository<User, String> {
     @QueryFenix("otherFenix.queryUsersByName")
     List<User> queryUsersByName(@Param("user") User user);
 
+    /**
+     * 流式查询多个 ID 的用户信息.
+     *
+     * @param userMap 用户 Map 信息
+     * @return 用户信息的流
+     */
+    @QueryFenix("queryUserByIds")
+    Stream<User> streamUserByIds(@Param("userMap") Map<String, Object> userMap);
+
 }
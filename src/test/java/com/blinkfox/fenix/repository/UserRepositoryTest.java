@@ -2,12 +2,20 @@ package com.blinkfox.fenix.repository;
 
 import com.alibaba.fastjson.JSON;
 import com.blinkfox.fenix.FenixTestApplication;
+import com.blinkfox.fenix.bean.SqlInfo;
 import com.blinkfox.fenix.config.FenixConfig;
 import com.blinkfox.fenix.config.FenixConfigManager;
+import com.blinkfox.fenix.consts.Const;
+import com.blinkfox.fenix.core.Fenix;
 import com.blinkfox.fenix.entity.User;
+import com.blinkfox.fenix.helper.StreamHelper;
 import com.blinkfox.fenix.jpa.QueryFenix;
 import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,12 +26,15 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.FileCopyUtils;
 
 /**
@@ -44,6 +55,12 @@ public class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Value("/data/user.json")
     private Resource userResource;
 
@@ -125,6 +142,53 @@ public class UserRepositoryTest {
         Assert.assertFalse(userPage.getContent().isEmpty());
     }
 
+    /**
+     * 测试超大的 IN 参数集合，以单个数组参数来绑定或者拆分成多个 IN 条件时，查询结果不变.
+     */
+    @Test
+    public void queryUserByIdsWithLargeStrategies() {
+        Map<String, Object> userMap = new HashMap<>(2);
+        userMap.put("ids", new String[] {"2", "4", "6", "8", "10"});
+        int total = userRepository.queryUserByIds(userMap, Pageable.unpaged()).getContent().size();
+
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        try {
+            fenixConfig.setInChunkThreshold(2);
+            Assert.assertEquals(total, userRepository.queryUserByIds(userMap, Pageable.unpaged()).getContent().size());
+
+            fenixConfig.setInArrayThreshold(3);
+            Assert.assertEquals(total, userRepository.queryUserByIds(userMap, Pageable.unpaged()).getContent().size());
+        } finally {
+            fenixConfig.setInChunkThreshold(0).setInArrayThreshold(0);
+        }
+    }
+
+    /**
+     * 测试原生 SQL 中超大的 IN 参数集合超过数组参数的阈值时，会改为拆分成多个 IN 条件，查询结果不变.
+     */
+    @Test
+    public void queryUserByIdsNativeWithArrayThreshold() {
+        Map<String, Object> userMap = new HashMap<>(2);
+        userMap.put("ids", new String[] {"2", "4", "6", "8", "10"});
+        int total = userRepository.queryUserByIdsNative(userMap).size();
+        Assert.assertTrue(total > 0);
+
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        try {
+            fenixConfig.setInArrayThreshold(3);
+            Assert.assertEquals(total, userRepository.queryUserByIdsNative(userMap).size());
+            SqlInfo sqlInfo = Fenix.getXmlSqlInfo(UserRepository.class.getName(), "queryUserByIdsNative",
+                    Collections.singletonMap("userMap", userMap), true);
+            Assert.assertFalse(sqlInfo.getSql().contains("array_contains"));
+            Assert.assertEquals(2, sqlInfo.getParams().size());
+
+            fenixConfig.setInChunkThreshold(2);
+            Assert.assertEquals(total, userRepository.queryUserByIdsNative(userMap).size());
+        } finally {
+            fenixConfig.setInChunkThreshold(0).setInArrayThreshold(0);
+        }
+    }
+
     /**
      * 测试使用 {@link QueryFenix} 来根据名称分页查询其它目录下的 xml 文件的数据..
      */
@@ -135,4 +199,50 @@ public class UserRepositoryTest {
         Assert.assertFalse(users.isEmpty());
     }
 
+    /**
+     * 测试流式查询用户信息时，会分批处理结果，并定期从持久化上下文中移除已读取过的实体，其他的实体不受影响.
+     */
+    @Test
+    public void streamUserByIds() {
+        Map<String, Object> userMap = new HashMap<>(2);
+        userMap.put("ids", new String[] {"2", "4", "6", "8", "10"});
+        int total = userRepository.queryUserByIds(userMap, Pageable.unpaged()).getContent().size();
+
+        FenixConfig fenixConfig = FenixConfigManager.getInstance().getFenixConfig();
+        try {
+            fenixConfig.setStreamFetchSize(2).setStreamClearInterval(2);
+            List<List<User>> chunks = new ArrayList<>();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                User other = entityManager.find(User.class, "1");
+                StreamHelper.forEachChunk(userRepository.streamUserByIds(userMap), 2, userList -> {
+                    // 每读取 2 条记录就会移除一次已读取过的实体，所以先前批次中的实体都已是游离状态了.
+                    if (!chunks.isEmpty()) {
+                        chunks.get(chunks.size() - 1)
+                                .forEach(user -> Assert.assertFalse(entityManager.contains(user)));
+                    }
+                    userList.forEach(user -> Assert.assertTrue(entityManager.contains(user)));
+                    chunks.add(userList);
+                });
+
+                // 不是该查询返回的实体仍然受持久化上下文管理.
+                Assert.assertTrue(entityManager.contains(other));
+            });
+
+            Assert.assertEquals(total, chunks.stream().mapToInt(List::size).sum());
+            Assert.assertEquals(3, chunks.size());
+            Assert.assertEquals(1, chunks.get(2).size());
+        } finally {
+            fenixConfig.setStreamFetchSize(Const.DEFAULT_STREAM_FETCH_SIZE)
+                    .setStreamClearInterval(Const.DEFAULT_STREAM_FETCH_SIZE);
+        }
+    }
+
+    /**
+     * 测试没有事务时流式查询用户信息会抛出异常.
+     */
+    @Test(expected = InvalidDataAccessApiUsageException.class)
+    public void streamUserByIdsWithoutTransaction() {
+        userRepository.streamUserByIds(new HashMap<>(2));
+    }
+
 }
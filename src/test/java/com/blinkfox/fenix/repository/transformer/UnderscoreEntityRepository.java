@@ -7,6 +7,7 @@ import com.blinkfox.fenix.jpa.transformer.UnderscoreTransformer;
 import com.blinkfox.fenix.vo.transformer.UnderscoreColumnVo;
 import com.blinkfox.fenix.vo.transformer.UnderscoreVo;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -39,4 +40,14 @@ public interface UnderscoreEntityRepository extends JpaRepository<UnderscoreEnti
             nativeQuery = true)
     List<UnderscoreColumnVo> queryAtColumnVoList(@Param("num") long num);
 
+    /**
+     * 使用 {@link QueryFenix} 注解来流式查询自定义的实体信息，结果转换器会逐行转换每一条记录.
+     *
+     * @param num 数字
+     * @return 自定义实体信息的流
+     */
+    @QueryFenix(value = "queryFenixResultType", resultType = UnderscoreVo.class,
+            resultTransformer = UnderscoreTransformer.class, nativeQuery = true)
+    Stream<UnderscoreVo> streamFenixResultType(@Param("num") long num);
+
 }
@@ -3,6 +3,7 @@ package com.blinkfox.fenix.repository.transformer;
 import com.blinkfox.fenix.FenixTestApplication;
 import com.blinkfox.fenix.config.FenixConfigManager;
 import com.blinkfox.fenix.entity.transformer.UnderscoreEntity;
+import com.blinkfox.fenix.helper.StreamHelper;
 import com.blinkfox.fenix.vo.transformer.UnderscoreColumnVo;
 import com.blinkfox.fenix.vo.transformer.UnderscoreVo;
 import jakarta.annotation.PostConstruct;
@@ -10,6 +11,7 @@ import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import lombok.Setter;
@@ -19,6 +21,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * UnderscoreEntityRepository 的单元测试类.
@@ -36,6 +40,9 @@ public class UnderscoreEntityRepositoryTest {
     @Resource
     private UnderscoreEntityRepository underscoreEntityRepository;
 
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
     /**
      * 是否加载过的标识.
      */
@@ -107,6 +114,25 @@ public class UnderscoreEntityRepositoryTest {
         }
     }
 
+    /**
+     * 测试流式查询时，结果转换器会逐行转换每一条记录，并分批交给消费者处理.
+     */
+    @Test
+    public void streamFenixResultType() {
+        int num = 1;
+        List<Integer> chunkSizes = new ArrayList<>();
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> StreamHelper.forEachChunk(
+                this.underscoreEntityRepository.streamFenixResultType(num), 3, underscoreVoList -> {
+                    chunkSizes.add(underscoreVoList.size());
+                    for (UnderscoreVo underscoreVo : underscoreVoList) {
+                        Assert.assertNotNull(underscoreVo.getId());
+                        Assert.assertTrue(underscoreVo.getColumnName().startsWith(COLUMN_VALUE));
+                        Assert.assertTrue(underscoreVo.getColumnLongName() > num);
+                    }
+                }));
+        Assert.assertEquals(Arrays.asList(3, 1), chunkSizes);
+    }
+
     /**
      * 销毁.
      */